@@ -32,7 +32,9 @@ module org.trellisldp.jpms.app.triplestore {
     requires org.trellisldp.jpms.api;
     requires org.trellisldp.jpms.app;
     requires org.trellisldp.jpms.audit;
+    requires org.trellisldp.jpms.event;
     requires org.trellisldp.jpms.file;
+    requires org.trellisldp.jpms.http;
     requires org.trellisldp.jpms.id;
     requires org.trellisldp.jpms.io;
     requires org.trellisldp.jpms.kafka;
@@ -40,6 +42,7 @@ module org.trellisldp.jpms.app.triplestore {
     requires org.trellisldp.jpms.rdfa;
     requires org.trellisldp.jpms.triplestore;
     requires org.trellisldp.jpms.vocabulary;
+    requires org.trellisldp.jpms.websub;
     requires slf4j.api;
     requires validation.api;
 }
\ No newline at end of file
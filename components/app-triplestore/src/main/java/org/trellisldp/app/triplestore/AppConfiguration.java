@@ -39,6 +39,8 @@ public class AppConfiguration extends TrellisConfiguration {
 
     private String resourceLocation = null;
 
+    private String mementoJournal = null;
+
     /**
      * Get the Memento configuration.
      * @return the Memento resource location
@@ -57,6 +59,27 @@ public class AppConfiguration extends TrellisConfiguration {
         this.mementos = config;
     }
 
+    /**
+     * Get the Memento journal location.
+     *
+     * @implNote When a journal location is defined, new Mementos are recorded in the journal
+     *           and written to the Memento storage location in the background.
+     * @return the Memento journal location, or null if Mementos are written directly to storage
+     */
+    @JsonProperty
+    public String getMementoJournal() {
+        return mementoJournal;
+    }
+
+    /**
+     * Set the Memento journal location.
+     * @param config the Memento journal location
+     */
+    @JsonProperty
+    public void setMementoJournal(final String config) {
+        this.mementoJournal = config;
+    }
+
     /**
      * Get the binary configuration.
      * @return the binary configuration
@@ -20,6 +20,7 @@ import static org.apache.jena.arq.query.DatasetFactory.wrap;
 import static org.apache.jena.dboe.tdb2.DatabaseMgr.connectDatasetGraph;
 import static org.apache.jena.rdfconnection.RDFConnectionFactory.connect;
 import static org.slf4j.LoggerFactory.getLogger;
+import static org.trellisldp.app.config.NotificationsConfiguration.Format.BINARY;
 import static org.trellisldp.app.config.NotificationsConfiguration.Type.KAFKA;
 
 import io.dropwizard.lifecycle.AutoCloseableManager;
@@ -34,6 +35,8 @@ import org.slf4j.Logger;
 import org.trellisldp.api.EventService;
 import org.trellisldp.api.NoopEventService;
 import org.trellisldp.app.config.NotificationsConfiguration;
+import org.trellisldp.event.BinaryEventSerializer;
+import org.trellisldp.kafka.KafkaBinaryPublisher;
 import org.trellisldp.kafka.KafkaPublisher;
 
 final class AppUtils {
@@ -44,14 +47,34 @@ final class AppUtils {
 
     public static Properties getKafkaProperties(final NotificationsConfiguration config) {
         final Properties p = new Properties();
+        // An idempotent producer retries through leader elections without duplicating or reordering records
         p.setProperty("acks", config.any().getOrDefault("acks", "all"));
-        p.setProperty("batch.size", config.any().getOrDefault("batch.size", "16384"));
-        p.setProperty("retries", config.any().getOrDefault("retries", "0"));
-        p.setProperty("linger.ms", config.any().getOrDefault("linger.ms", "1"));
+        p.setProperty("enable.idempotence", config.any().getOrDefault("enable.idempotence", "true"));
+        p.setProperty("retries", config.any().getOrDefault("retries", Integer.toString(Integer.MAX_VALUE)));
+        p.setProperty("max.in.flight.requests.per.connection",
+                config.any().getOrDefault("max.in.flight.requests.per.connection", "5"));
         p.setProperty("buffer.memory", config.any().getOrDefault("buffer.memory", "33554432"));
+        switch (config.getBatching()) {
+            case LATENCY:
+                p.setProperty("batch.size", "16384");
+                p.setProperty("linger.ms", "0");
+                p.setProperty("compression.type", "none");
+                break;
+            case THROUGHPUT:
+                p.setProperty("batch.size", "262144");
+                p.setProperty("linger.ms", "50");
+                p.setProperty("compression.type", "lz4");
+                break;
+            default:
+                p.setProperty("batch.size", "65536");
+                p.setProperty("linger.ms", "5");
+                p.setProperty("compression.type", "lz4");
+        }
         config.any().forEach(p::setProperty);
         p.setProperty("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
-        p.setProperty("value.serializer", "org.apache.kafka.common.serialization.StringSerializer");
+        p.setProperty("value.serializer", BINARY.equals(config.getFormat())
+                ? "org.apache.kafka.common.serialization.ByteArraySerializer"
+                : "org.apache.kafka.common.serialization.StringSerializer");
         p.setProperty("bootstrap.servers", config.getConnectionString());
         return p;
     }
@@ -59,6 +82,11 @@ final class AppUtils {
     private static EventService buildKafkaPublisher(final NotificationsConfiguration config, final Environment
             environment) {
         LOGGER.info("Connecting to Kafka broker at {}", config.getConnectionString());
+        if (BINARY.equals(config.getFormat())) {
+            final KafkaProducer<String, byte[]> kafkaProducer = new KafkaProducer<>(getKafkaProperties(config));
+            environment.lifecycle().manage(new AutoCloseableManager(kafkaProducer));
+            return new KafkaBinaryPublisher(kafkaProducer, config.getTopicName(), new BinaryEventSerializer());
+        }
         final KafkaProducer<String, String> kafkaProducer = new KafkaProducer<>(getKafkaProperties(config));
         environment.lifecycle().manage(new AutoCloseableManager(kafkaProducer));
         return new KafkaPublisher(kafkaProducer, config.getTopicName());
@@ -13,17 +13,25 @@
  */
 package org.trellisldp.app.triplestore;
 
+import static java.util.Objects.nonNull;
+
 import io.dropwizard.setup.Environment;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import org.trellisldp.api.AccessControlService;
 import org.trellisldp.api.ServiceBundler;
 import org.trellisldp.app.AbstractTrellisApplication;
+import org.trellisldp.http.ChangeFeedResource;
+import org.trellisldp.websub.WebSubHubResource;
 
 /**
  * A deployable Trellis application.
  */
 public class TrellisApplication extends AbstractTrellisApplication<AppConfiguration> {
 
-    private ServiceBundler serviceBundler;
+    private TrellisServiceBundler serviceBundler;
 
     /**
      * The main entry point.
@@ -40,6 +48,21 @@ public class TrellisApplication extends AbstractTrellisApplication<AppConfigurat
         return serviceBundler;
     }
 
+    @Override
+    protected Map<String, Object> getEndpoints(final AppConfiguration config,
+            final AccessControlService accessService) {
+        final Map<String, Object> endpoints = new HashMap<>();
+        if (nonNull(serviceBundler.getWebSubHub())) {
+            endpoints.put(config.getWebsub().getPath(), new WebSubHubResource(serviceBundler.getWebSubHub(),
+                        accessService, config.getBaseUrl()));
+        }
+        if (nonNull(serviceBundler.getChangeFeed())) {
+            endpoints.put(config.getChangeFeed().getPath(), new ChangeFeedResource(serviceBundler.getChangeFeed(),
+                        accessService, config.getBaseUrl(), config.getChangeFeed().getTimeout()));
+        }
+        return endpoints;
+    }
+
     @Override
     protected void initialize(final AppConfiguration config, final Environment environment) {
         super.initialize(config, environment);
@@ -13,13 +13,28 @@
  */
 package org.trellisldp.app.triplestore;
 
+import static com.codahale.metrics.MetricRegistry.name;
 import static com.google.common.cache.CacheBuilder.newBuilder;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.stream.Collectors.toList;
+import static org.trellisldp.api.RDFUtils.getInstance;
+import static org.trellisldp.app.config.NotificationsConfiguration.OutboxMode.FAILURES;
 
+import com.codahale.metrics.Gauge;
 import com.google.common.cache.Cache;
 
+import io.dropwizard.lifecycle.Managed;
 import io.dropwizard.setup.Environment;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
 import org.apache.jena.rdfconnection.RDFConnection;
 import org.trellisldp.agent.SimpleAgentService;
 import org.trellisldp.api.AgentService;
@@ -34,13 +49,30 @@ import org.trellisldp.api.RDFaWriterService;
 import org.trellisldp.api.ResourceService;
 import org.trellisldp.api.ServiceBundler;
 import org.trellisldp.app.TrellisCache;
+import org.trellisldp.app.config.ChangeFeedConfiguration;
+import org.trellisldp.app.config.NotificationsConfiguration;
+import org.trellisldp.app.config.WebSubConfiguration;
+import org.trellisldp.event.AsyncEventService;
+import org.trellisldp.event.CoalescingEventService;
+import org.trellisldp.event.CompositeEventService;
+import org.trellisldp.event.EventFilter;
+import org.trellisldp.event.EventSerializer;
+import org.trellisldp.event.FilteredEventService;
+import org.trellisldp.event.OutboxEventService;
 import org.trellisldp.file.FileBinaryService;
+import org.trellisldp.file.FileMementoCompactor;
 import org.trellisldp.file.FileMementoService;
+import org.trellisldp.file.JournaledMementoService;
+import org.trellisldp.http.impl.ChangeFeed;
 import org.trellisldp.id.UUIDGenerator;
 import org.trellisldp.io.JenaIOService;
+import org.trellisldp.kafka.AbstractKafkaPublisher;
 import org.trellisldp.namespaces.NamespacesJsonContext;
 import org.trellisldp.rdfa.HtmlSerializer;
 import org.trellisldp.triplestore.TriplestoreResourceService;
+import org.trellisldp.vocabulary.AS;
+import org.trellisldp.vocabulary.LDP;
+import org.trellisldp.websub.WebSubHub;
 
 /**
  * A triplestore-based service bundler for Trellis.
@@ -51,6 +83,9 @@ import org.trellisldp.triplestore.TriplestoreResourceService;
  */
 public class TrellisServiceBundler implements ServiceBundler {
 
+    private static final RDF rdf = getInstance();
+    private static final String FAILURES_SPILL_DIR = "failures";
+
     private final MementoService mementoService;
     private final AuditService auditService;
     private final TriplestoreResourceService resourceService;
@@ -58,6 +93,8 @@ public class TrellisServiceBundler implements ServiceBundler {
     private final AgentService agentService;
     private final IOService ioService;
     private final EventService eventService;
+    private final WebSubHub webSubHub;
+    private final ChangeFeed changeFeed;
 
     /**
      * Create a new application service bundler.
@@ -67,11 +104,29 @@ public class TrellisServiceBundler implements ServiceBundler {
     public TrellisServiceBundler(final AppConfiguration config, final Environment environment) {
         final IdentifierService idService = new UUIDGenerator();
         agentService = new SimpleAgentService();
-        mementoService = new FileMementoService(config.getMementos());
+        mementoService = buildMementoService(config, environment);
         auditService = resourceService = buildResourceService(idService, config, environment);
         binaryService = buildBinaryService(idService, config);
         ioService = buildIoService(config);
-        eventService = AppUtils.getNotificationService(config.getNotifications(), environment);
+        webSubHub = buildWebSubHub(config.getWebsub(), environment);
+        changeFeed = buildChangeFeed(config.getChangeFeed(), environment);
+        eventService = buildEventService(config.getNotifications(), webSubHub, changeFeed, environment);
+    }
+
+    /**
+     * Get the change feed.
+     * @return the change feed, or {@code null} if the change feed is not enabled
+     */
+    public ChangeFeed getChangeFeed() {
+        return changeFeed;
+    }
+
+    /**
+     * Get the embedded WebSub hub.
+     * @return the WebSub hub, or {@code null} if the hub is not enabled
+     */
+    public WebSubHub getWebSubHub() {
+        return webSubHub;
     }
 
     @Override
@@ -109,6 +164,271 @@ public class TrellisServiceBundler implements ServiceBundler {
         return eventService;
     }
 
+    private static MementoService buildMementoService(final AppConfiguration config,
+            final Environment environment) {
+        final FileMementoService fileService = new FileMementoService(config.getMementos());
+        final FileMementoCompactor compactor = new FileMementoCompactor(fileService);
+        environment.lifecycle().manage(new Managed() {
+            @Override
+            public void start() {
+                // Compaction passes are scheduled when the compactor is created
+            }
+
+            @Override
+            public void stop() {
+                compactor.close();
+            }
+        });
+        environment.metrics().register(name(FileMementoCompactor.class, "scanned"),
+                (Gauge<Long>) compactor::getResourcesScanned);
+        environment.metrics().register(name(FileMementoCompactor.class, "removed"),
+                (Gauge<Long>) compactor::getMementosRemoved);
+        if (isNull(config.getMementoJournal())) {
+            return fileService;
+        }
+
+        final JournaledMementoService journaled = new JournaledMementoService(fileService,
+                config.getMementoJournal());
+        environment.lifecycle().manage(new Managed() {
+            @Override
+            public void start() {
+                // The journal is replayed when the service is created
+            }
+
+            @Override
+            public void stop() throws InterruptedException {
+                journaled.close();
+            }
+        });
+        environment.metrics().register(name(JournaledMementoService.class, "backlog"),
+                (Gauge<Integer>) journaled::getBacklog);
+        environment.metrics().register(name(JournaledMementoService.class, "completed"),
+                (Gauge<Long>) journaled::getCompletedCount);
+        environment.metrics().register(name(JournaledMementoService.class, "failures"),
+                (Gauge<Long>) journaled::getFailureCount);
+        environment.metrics().register(name(JournaledMementoService.class, "writeThrough"),
+                (Gauge<Long>) journaled::getWriteThroughCount);
+        return journaled;
+    }
+
+    private static WebSubHub buildWebSubHub(final WebSubConfiguration config, final Environment environment) {
+        if (!config.getEnabled()) {
+            return null;
+        }
+
+        final WebSubHub hub = new WebSubHub(config.getThreads(), config.getBatchSize(), config.getQueueSize(),
+                config.getRateLimit(), config.getRetries(), config.getRetryDelay(), config.getLeaseSeconds(),
+                config.getTimeout(), config.getVerifyThreads(), config.getMaxSubscriptions(),
+                config.getMaxAgentSubscriptions(), new HashSet<>(config.getAllowedHosts()));
+        environment.lifecycle().manage(new Managed() {
+            @Override
+            public void start() {
+                // The delivery threads are started when the hub is created
+            }
+
+            @Override
+            public void stop() {
+                hub.close();
+            }
+        });
+        environment.metrics().register(name(WebSubHub.class, "subscriptions"),
+                (Gauge<Integer>) hub::getSubscriptionCount);
+        environment.metrics().register(name(WebSubHub.class, "delivered"),
+                (Gauge<Long>) hub::getDeliveredCount);
+        environment.metrics().register(name(WebSubHub.class, "failures"),
+                (Gauge<Long>) hub::getFailureCount);
+        environment.metrics().register(name(WebSubHub.class, "dropped"),
+                (Gauge<Long>) hub::getDroppedCount);
+        return hub;
+    }
+
+    private static ChangeFeed buildChangeFeed(final ChangeFeedConfiguration config, final Environment environment) {
+        if (!config.getEnabled()) {
+            return null;
+        }
+
+        final ChangeFeed feed = new ChangeFeed(new EventSerializer(), config.getCapacity(), config.getSpillPath(),
+                config.getSpillSize());
+        environment.lifecycle().manage(new Managed() {
+            @Override
+            public void start() {
+                // The spilled events are read when the feed is created
+            }
+
+            @Override
+            public void stop() {
+                feed.close();
+            }
+        });
+        environment.metrics().register(name(ChangeFeed.class, "latest"),
+                (Gauge<Long>) feed::getLatestSequence);
+        environment.metrics().register(name(ChangeFeed.class, "waiting"),
+                (Gauge<Integer>) feed::getWaitingCount);
+        return feed;
+    }
+
+    private static EventService buildEventService(final NotificationsConfiguration config, final WebSubHub hub,
+            final ChangeFeed feed, final Environment environment) {
+        final List<EventService> services = new ArrayList<>();
+        services.add(buildFanOutEventService(config, environment));
+        // The hub and the change feed do not block on delivery, so they do not delay the other sinks
+        if (nonNull(hub)) {
+            services.add(hub);
+        }
+        if (nonNull(feed)) {
+            services.add(feed);
+        }
+        final EventService service = services.size() == 1 ? services.get(0) : new CompositeEventService(services);
+        if (!config.getEnabled() || config.getCoalesceWindow() <= 0) {
+            return service;
+        }
+
+        final CoalescingEventService coalescing = new CoalescingEventService(service, config.getCoalesceWindow());
+        environment.lifecycle().manage(new Managed() {
+            @Override
+            public void start() {
+                // The coalescing timer is started when the service is created
+            }
+
+            @Override
+            public void stop() {
+                coalescing.close();
+            }
+        });
+        environment.metrics().register(name(CoalescingEventService.class, "pending"),
+                (Gauge<Integer>) coalescing::getPendingCount);
+        environment.metrics().register(name(CoalescingEventService.class, "coalesced"),
+                (Gauge<Long>) coalescing::getCoalescedCount);
+        return coalescing;
+    }
+
+    private static EventService buildFanOutEventService(final NotificationsConfiguration config,
+            final Environment environment) {
+        final EventService primary = buildFilteredEventService(config, environment, null, config.getAsync());
+        if (!config.getEnabled() || config.getSinks().isEmpty()) {
+            return primary;
+        }
+
+        final List<EventService> sinks = new ArrayList<>();
+        sinks.add(primary);
+        for (int i = 0; i < config.getSinks().size(); ++i) {
+            final NotificationsConfiguration sink = config.getSinks().get(i);
+            if (sink.getEnabled()) {
+                // Each sink has its own queue, so that a slow or unavailable sink does not delay the others
+                sinks.add(buildFilteredEventService(sink, environment, "sink" + i, true));
+            }
+        }
+        return new CompositeEventService(sinks);
+    }
+
+    private static EventService buildFilteredEventService(final NotificationsConfiguration config,
+            final Environment environment, final String sinkName, final boolean queued) {
+        final EventService service = buildQueuedEventService(config, environment, sinkName, queued);
+        if (config.getActivityTypes().isEmpty() && config.getResourceTypes().isEmpty()
+                && config.getPathPrefixes().isEmpty()) {
+            return service;
+        }
+        return new FilteredEventService(service, new EventFilter(toIRIs(config.getActivityTypes(), AS.getNamespace()),
+                    toIRIs(config.getResourceTypes(), LDP.getNamespace()), config.getPathPrefixes()));
+    }
+
+    private static List<IRI> toIRIs(final List<String> values, final String namespace) {
+        return values.stream().map(value -> value.contains(":") ? value : namespace + value)
+            .map(rdf::createIRI).collect(toList());
+    }
+
+    private static EventService buildQueuedEventService(final NotificationsConfiguration config,
+            final Environment environment, final String sinkName, final boolean queued) {
+        final EventService publisher = AppUtils.getNotificationService(config, environment);
+        if (publisher instanceof AbstractKafkaPublisher) {
+            registerDeliveryMetrics((AbstractKafkaPublisher<?>) publisher, environment, sinkName);
+        }
+        if (config.getEnabled() && nonNull(config.getOutboxPath())) {
+            final OutboxEventService outbox = buildOutboxService(publisher, config, environment, sinkName);
+            if (FAILURES.equals(config.getOutboxMode()) && publisher instanceof AbstractKafkaPublisher) {
+                // Publish directly, keeping only the events that the cluster did not acknowledge in the outbox.
+                // The failure handler runs on the producer's I/O thread, so failed events are queued for the
+                // outbox rather than written (and forced to disk) inline; a full queue spills to disk.
+                final AsyncEventService failures = buildAsyncService(outbox, environment, sinkName + "-failures",
+                        config.getQueueCapacity(), config.getQueueBatchSize(), AsyncEventService.OverflowPolicy.SPILL,
+                        new File(config.getOutboxPath(), FAILURES_SPILL_DIR).getPath());
+                ((AbstractKafkaPublisher<?>) publisher).setFailureHandler(failures::emit);
+                return publisher;
+            }
+            return outbox;
+        }
+        if (!config.getEnabled() || !queued) {
+            return publisher;
+        }
+
+        return buildAsyncService(publisher, environment, sinkName, config.getQueueCapacity(),
+                config.getQueueBatchSize(), AsyncEventService.OverflowPolicy.valueOf(config.getQueueOverflow().name()),
+                config.getQueueSpillPath());
+    }
+
+    private static AsyncEventService buildAsyncService(final EventService delegate, final Environment environment,
+            final String sinkName, final Integer capacity, final Integer batchSize,
+            final AsyncEventService.OverflowPolicy overflow, final String spillPath) {
+        final AsyncEventService async = new AsyncEventService(delegate, capacity, batchSize, overflow, spillPath);
+        environment.lifecycle().manage(new Managed() {
+            @Override
+            public void start() {
+                // The publisher thread is started when the service is created
+            }
+
+            @Override
+            public void stop() throws InterruptedException {
+                async.close();
+            }
+        });
+        environment.metrics().register(name(AsyncEventService.class, sinkName, "queueDepth"),
+                (Gauge<Integer>) async::getQueueDepth);
+        environment.metrics().register(name(AsyncEventService.class, sinkName, "published"),
+                (Gauge<Long>) async::getPublishedCount);
+        environment.metrics().register(name(AsyncEventService.class, sinkName, "dropped"),
+                (Gauge<Long>) async::getDroppedCount);
+        environment.metrics().register(name(AsyncEventService.class, sinkName, "spilled"),
+                (Gauge<Long>) async::getSpilledCount);
+        environment.metrics().register(name(AsyncEventService.class, sinkName, "failures"),
+                (Gauge<Long>) async::getFailureCount);
+        return async;
+    }
+
+    private static OutboxEventService buildOutboxService(final EventService publisher,
+            final NotificationsConfiguration config, final Environment environment, final String sinkName) {
+        final OutboxEventService outbox = new OutboxEventService(publisher, config.getOutboxPath());
+        environment.lifecycle().manage(new Managed() {
+            @Override
+            public void start() {
+                // The outbox is replayed when the service is created
+            }
+
+            @Override
+            public void stop() throws InterruptedException {
+                outbox.close();
+            }
+        });
+        environment.metrics().register(name(OutboxEventService.class, sinkName, "backlog"),
+                (Gauge<Long>) outbox::getBacklog);
+        environment.metrics().register(name(OutboxEventService.class, sinkName, "relayed"),
+                (Gauge<Long>) outbox::getRelayedCount);
+        environment.metrics().register(name(OutboxEventService.class, sinkName, "failures"),
+                (Gauge<Long>) outbox::getFailureCount);
+        environment.metrics().register(name(OutboxEventService.class, sinkName, "writeThrough"),
+                (Gauge<Long>) outbox::getWriteThroughCount);
+        return outbox;
+    }
+
+    private static void registerDeliveryMetrics(final AbstractKafkaPublisher<?> publisher,
+            final Environment environment, final String sinkName) {
+        environment.metrics().register(name(AbstractKafkaPublisher.class, sinkName, "sent"),
+                (Gauge<Long>) publisher::getSentCount);
+        environment.metrics().register(name(AbstractKafkaPublisher.class, sinkName, "acknowledged"),
+                (Gauge<Long>) publisher::getAcknowledgedCount);
+        environment.metrics().register(name(AbstractKafkaPublisher.class, sinkName, "failures"),
+                (Gauge<Long>) publisher::getFailureCount);
+    }
+
     private static TriplestoreResourceService buildResourceService(final IdentifierService idService,
             final AppConfiguration config, final Environment environment) {
         final RDFConnection rdfConnection = AppUtils.getRDFConnection(config);
@@ -125,7 +445,8 @@ public class TrellisServiceBundler implements ServiceBundler {
         final TrellisCache<String, String> profileCache = new TrellisCache<>(cache);
         final NamespaceService namespaceService = new NamespacesJsonContext(config.getNamespaces());
         final RDFaWriterService htmlSerializer = new HtmlSerializer(namespaceService, config.getAssets().getTemplate(),
-                config.getAssets().getCss(), config.getAssets().getJs(), config.getAssets().getIcon());
+                config.getAssets().getCss(), config.getAssets().getJs(), config.getAssets().getIcon(),
+                config.getAssets().getMaxTriples());
         return new JenaIOService(namespaceService, htmlSerializer, profileCache,
                 config.getJsonld().getContextWhitelist(), config.getJsonld().getContextDomainWhitelist());
     }
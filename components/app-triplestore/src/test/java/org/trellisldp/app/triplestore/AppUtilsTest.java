@@ -131,12 +131,42 @@ public class AppUtilsTest {
         c.setConnectionString("localhost:9092");
         final Properties p = AppUtils.getKafkaProperties(c);
         assertEquals("all", p.getProperty("acks"), "Incorrect kafka acks property!");
+        assertEquals("true", p.getProperty("enable.idempotence"), "Idempotent producer not enabled!");
+        assertEquals("10", p.getProperty("retries"), "Incorrect retries property!");
+        assertEquals("1000", p.getProperty("batch.size"), "Incorrect batch.size property!");
+        assertEquals("lz4", p.getProperty("compression.type"), "Incorrect compression.type property!");
         assertEquals("value", p.getProperty("some.other"), "Incorrect custom property!");
         assertEquals("org.apache.kafka.common.serialization.StringSerializer", p.getProperty("key.serializer"),
                 "Incorrect serializer class property!");
         assertEquals("localhost:9092", p.getProperty("bootstrap.servers"), "Incorrect bootstrap.servers property!");
     }
 
+    @Test
+    public void testGetKafkaBatchingProps() {
+        final NotificationsConfiguration c = new NotificationsConfiguration();
+        c.setConnectionString("localhost:9092");
+        c.setBatching(NotificationsConfiguration.Batching.LATENCY);
+        assertEquals("0", AppUtils.getKafkaProperties(c).getProperty("linger.ms"), "Incorrect linger.ms property!");
+        assertEquals("none", AppUtils.getKafkaProperties(c).getProperty("compression.type"),
+                "Incorrect compression.type property!");
+
+        c.setBatching(NotificationsConfiguration.Batching.THROUGHPUT);
+        assertEquals("262144", AppUtils.getKafkaProperties(c).getProperty("batch.size"),
+                "Incorrect batch.size property!");
+        assertEquals(Integer.toString(Integer.MAX_VALUE), AppUtils.getKafkaProperties(c).getProperty("retries"),
+                "Incorrect retries property!");
+    }
+
+    @Test
+    public void testGetKafkaBinaryProps() {
+        final NotificationsConfiguration c = new NotificationsConfiguration();
+        c.setFormat(NotificationsConfiguration.Format.BINARY);
+        c.setConnectionString("localhost:9092");
+        final Properties p = AppUtils.getKafkaProperties(c);
+        assertEquals("org.apache.kafka.common.serialization.ByteArraySerializer", p.getProperty("value.serializer"),
+                "Incorrect serializer class property!");
+    }
+
     @Disabled
     @Test
     public void testEventServiceJms() throws Exception {
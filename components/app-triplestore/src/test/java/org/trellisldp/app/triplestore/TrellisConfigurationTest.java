@@ -99,6 +99,7 @@ public class TrellisConfigurationTest {
 
         assertEquals("/tmp/trellisData/binaries", config.getBinaries(), "Incorrect binary location!");
         assertEquals("/tmp/trellisData/mementos", config.getMementos(), "Incorrect memento location!");
+        assertEquals("/tmp/trellisData/journal", config.getMementoJournal(), "Incorrect memento journal!");
         assertEquals("http://localhost:8080/", config.getBaseUrl(), "Incorrect base URL!");
         assertEquals("http://hub.example.com/", config.getHubUrl(), "Incorrect hub URL!");
 
@@ -13,7 +13,9 @@
  */
 package org.trellisldp.app;
 
+import static com.codahale.metrics.MetricRegistry.name;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static java.util.Optional.of;
 import static java.util.Optional.ofNullable;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -21,12 +23,16 @@ import static org.trellisldp.app.TrellisUtils.getAuthFilters;
 import static org.trellisldp.app.TrellisUtils.getCorsConfiguration;
 import static org.trellisldp.app.TrellisUtils.getWebacCache;
 
+import com.codahale.metrics.Gauge;
+
 import io.dropwizard.Application;
 import io.dropwizard.auth.chained.ChainedAuthFilter;
 import io.dropwizard.setup.Environment;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import org.apache.tamaya.ConfigurationProvider;
 import org.slf4j.Logger;
@@ -38,9 +44,11 @@ import org.trellisldp.app.config.TrellisConfiguration;
 import org.trellisldp.http.AgentAuthorizationFilter;
 import org.trellisldp.http.CacheControlFilter;
 import org.trellisldp.http.CrossOriginResourceSharingFilter;
+import org.trellisldp.http.EndpointResource;
 import org.trellisldp.http.TrellisHttpResource;
 import org.trellisldp.http.WebAcFilter;
 import org.trellisldp.http.WebSubHeaderFilter;
+import org.trellisldp.http.impl.StripedWriteQueue;
 import org.trellisldp.webac.WebACService;
 
 /**
@@ -70,6 +78,18 @@ public abstract class AbstractTrellisApplication<T extends TrellisConfiguration>
         return emptyList();
     }
 
+    /**
+     * Get the endpoints served under the reserved path of the {@link EndpointResource}, such as the change feed.
+     *
+     * @implSpec By default, this returns an empty map.
+     * @param config the configuration
+     * @param accessService the access control service, or {@code null} if WebAC is not enabled
+     * @return the JAX-RS resources of the endpoints, by name
+     */
+    protected Map<String, Object> getEndpoints(final T config, final AccessControlService accessService) {
+        return emptyMap();
+    }
+
     /**
      * Get the TrellisHttpResource matcher.
      *
@@ -97,6 +117,15 @@ public abstract class AbstractTrellisApplication<T extends TrellisConfiguration>
         LOGGER.debug("Initializing Trellis application with {}", config.getClass());
     }
 
+    private static void registerWriteQueueMetrics(final StripedWriteQueue queue, final Environment environment) {
+        environment.metrics().register(name(StripedWriteQueue.class, "pending"), (Gauge<Integer>) queue::getPending);
+        environment.metrics().register(name(StripedWriteQueue.class, "submitted"),
+                (Gauge<Long>) queue::getSubmittedCount);
+        environment.metrics().register(name(StripedWriteQueue.class, "contended"),
+                (Gauge<Long>) queue::getContendedCount);
+        environment.metrics().register(name(StripedWriteQueue.class, "waitTime"), (Gauge<Long>) queue::getWaitTime);
+    }
+
     @Override
     public String getName() {
         return "Trellis LDP";
@@ -109,8 +138,12 @@ public abstract class AbstractTrellisApplication<T extends TrellisConfiguration>
         getAuthFilters(config).ifPresent(filters -> environment.jersey().register(new ChainedAuthFilter<>(filters)));
 
         // Resource matchers
-        environment.jersey().register(getLdpComponent(config, ConfigurationProvider.getConfiguration()
-                    .getOrDefault(APPLICATION_SELF_INITIALIZE, Boolean.class, true)));
+        final Object ldpComponent = getLdpComponent(config, ConfigurationProvider.getConfiguration()
+                    .getOrDefault(APPLICATION_SELF_INITIALIZE, Boolean.class, true));
+        environment.jersey().register(ldpComponent);
+        if (ldpComponent instanceof TrellisHttpResource) {
+            registerWriteQueueMetrics(((TrellisHttpResource) ldpComponent).getWriteQueue(), environment);
+        }
 
         // Authentication
         final AgentAuthorizationFilter agentFilter
@@ -123,8 +156,9 @@ public abstract class AbstractTrellisApplication<T extends TrellisConfiguration>
                     config.getCache().getMustRevalidate(), config.getCache().getNoCache()));
 
         // Authorization
-        getWebacCache(config).ifPresent(cache -> {
-            final AccessControlService webac = new WebACService(getServiceBundler().getResourceService(), cache);
+        final Optional<AccessControlService> accessService = getWebacCache(config)
+            .map(cache -> new WebACService(getServiceBundler().getResourceService(), cache));
+        accessService.ifPresent(webac -> {
             final WebAcFilter filter = new WebAcFilter(webac);
             final List<String> challenges = new ArrayList<>();
             of(config.getAuth().getJwt()).filter(JwtAuthConfiguration::getEnabled)
@@ -135,6 +169,12 @@ public abstract class AbstractTrellisApplication<T extends TrellisConfiguration>
             environment.jersey().register(filter);
         });
 
+        // Endpoints
+        final Map<String, Object> endpoints = getEndpoints(config, accessService.orElse(null));
+        if (!endpoints.isEmpty()) {
+            environment.jersey().register(new EndpointResource(endpoints));
+        }
+
         // WebSub
         ofNullable(config.getHubUrl()).ifPresent(hub -> environment.jersey().register(new WebSubHeaderFilter(hub)));
 
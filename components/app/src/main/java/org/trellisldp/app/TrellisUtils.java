@@ -73,9 +73,11 @@ final class TrellisUtils {
                         case 0:
                             return empty();
                         case 1:
-                            return of(new JwtAuthenticator(ks.getCertificate(keyIds.get(0)).getPublicKey()));
+                            return of(new JwtAuthenticator(ks.getCertificate(keyIds.get(0)).getPublicKey(),
+                                        config.getCacheSize(), config.getCacheExpireSeconds()));
                         default:
-                            return of(new FederatedJwtAuthenticator(ks, keyIds));
+                            return of(new FederatedJwtAuthenticator(ks, keyIds, config.getCacheSize(),
+                                        config.getCacheExpireSeconds()));
                     }
                 } catch (final IOException | CertificateException | NoSuchAlgorithmException | KeyStoreException ex) {
                     LOGGER.error("Error reading keystore: {}", ex.getMessage());
@@ -87,7 +89,8 @@ final class TrellisUtils {
             return empty();
         }
         return ofNullable(config.getKey()).filter(key -> !key.isEmpty())
-            .map(key -> new JwtAuthenticator(key, config.getBase64Encoded()));
+            .map(key -> new JwtAuthenticator(key, config.getBase64Encoded(), config.getCacheSize(),
+                        config.getCacheExpireSeconds()));
     }
 
     public static Optional<CacheService<String, Set<IRI>>> getWebacCache(final TrellisConfiguration config) {
@@ -115,7 +118,8 @@ final class TrellisUtils {
 
         if (auth.getBasic().getEnabled()) {
             filters.add(new BasicCredentialAuthFilter.Builder<Principal>()
-                    .setAuthenticator(new BasicAuthenticator(auth.getBasic().getUsersFile()))
+                    .setAuthenticator(new BasicAuthenticator(auth.getBasic().getUsersFile(),
+                                auth.getBasic().getCacheSize(), auth.getBasic().getCacheExpireSeconds()))
                     .setRealm("Trellis Basic Authentication")
                     .buildAuthFilter());
         }
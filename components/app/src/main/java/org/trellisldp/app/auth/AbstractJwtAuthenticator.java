@@ -13,12 +13,19 @@
  */
 package org.trellisldp.app.auth;
 
+import static com.google.common.cache.CacheBuilder.newBuilder;
+import static java.lang.System.currentTimeMillis;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static java.util.Optional.ofNullable;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.slf4j.LoggerFactory.getLogger;
 
+import com.google.common.cache.Cache;
+
 import io.dropwizard.auth.AuthenticationException;
 import io.dropwizard.auth.Authenticator;
 import io.dropwizard.auth.PrincipalImpl;
@@ -26,13 +33,21 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.SignatureException;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.Principal;
+import java.util.Base64;
+import java.util.Date;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 
 /**
  * A JWT-based authenticator.
+ *
+ * <p>Verified tokens are cached, keyed by a hash of the token, so that repeated requests with the same token
+ * skip signature verification. A cached token is used until it expires or until the cache expiration elapses,
+ * whichever comes first.
  */
 public abstract class AbstractJwtAuthenticator implements Authenticator<String, Principal> {
 
@@ -42,44 +57,54 @@ public abstract class AbstractJwtAuthenticator implements Authenticator<String,
 
     public static final String WEBSITE = "website";
 
-    protected abstract Claims parse(String credentials);
+    /** The default maximum number of cached tokens. **/
+    public static final long DEFAULT_CACHE_SIZE = 1000L;
 
-    @Override
-    public Optional<Principal> authenticate(final String credentials) throws AuthenticationException {
-        try {
-            final Claims claims = parse(credentials);
+    /** The default time, in seconds, that a verified token is cached. **/
+    public static final long DEFAULT_CACHE_EXPIRE_SECONDS = 300L;
 
-            // Use a webid claim, if one exists
-            if (claims.containsKey(WEBID)) {
-                final String webid = claims.get(WEBID, String.class);
-                LOGGER.debug("Using JWT claim with webid: {}", webid);
-                return ofNullable(webid).map(PrincipalImpl::new);
-            }
+    private final Cache<String, VerifiedToken> cache;
 
-            // Try generating a webid from other elements
-            final String sub = claims.getSubject();
-            if (nonNull(sub)) {
-                // use the sub claim if it looks like a webid
-                if (isUrl(sub)) {
-                    LOGGER.debug("Using JWT claim with sub: {}", sub);
-                    return of(new PrincipalImpl(sub));
-                }
+    /**
+     * Create a JWT-based authenticator with the default token cache.
+     */
+    protected AbstractJwtAuthenticator() {
+        this(DEFAULT_CACHE_SIZE, DEFAULT_CACHE_EXPIRE_SECONDS);
+    }
 
-                final String iss = claims.getIssuer();
-                // combine the iss and sub fields if that appears possible
-                if (nonNull(iss) && isUrl(iss)) {
-                    final String webid = iss.endsWith("/") ? iss + sub : iss + "/" + sub;
-                    LOGGER.debug("Using JWT claim with generated webid: {}", webid);
-                    return of(new PrincipalImpl(webid));
-                }
+    /**
+     * Create a JWT-based authenticator.
+     * @param cacheSize the maximum number of cached tokens; zero disables the cache
+     * @param cacheExpireSeconds the maximum time, in seconds, that a verified token is cached
+     */
+    protected AbstractJwtAuthenticator(final long cacheSize, final long cacheExpireSeconds) {
+        this.cache = cacheSize > 0 && cacheExpireSeconds > 0 ? newBuilder().maximumSize(cacheSize)
+            .expireAfterWrite(cacheExpireSeconds, SECONDS).<String, VerifiedToken>build() : null;
+    }
 
-                // Use an OIDC website claim, if one exists
-                if (claims.containsKey(WEBSITE)) {
-                    final String website = claims.get(WEBSITE, String.class);
-                    LOGGER.debug("Using JWT claim with website: {}", website);
-                    return ofNullable(website).map(PrincipalImpl::new);
+    protected abstract Claims parse(String credentials);
+
+    @Override
+    public Optional<Principal> authenticate(final String credentials) throws AuthenticationException {
+        final String key = isNull(cache) ? null : hash(credentials);
+        if (nonNull(key)) {
+            final VerifiedToken token = cache.getIfPresent(key);
+            if (nonNull(token)) {
+                if (token.expires > currentTimeMillis()) {
+                    return of(token.principal);
                 }
+                cache.invalidate(key);
+            }
+        }
+
+        try {
+            final Claims claims = parse(credentials);
+            final Optional<Principal> principal = getPrincipal(claims);
+            if (nonNull(key)) {
+                final long expires = ofNullable(claims.getExpiration()).map(Date::getTime).orElse(Long.MAX_VALUE);
+                principal.ifPresent(p -> cache.put(key, new VerifiedToken(p, expires)));
             }
+            return principal;
         } catch (final SignatureException ex) {
             LOGGER.debug("Invalid signature, ignoring JWT token: {}", ex.getMessage());
         } catch (final JwtException ex) {
@@ -88,7 +113,62 @@ public abstract class AbstractJwtAuthenticator implements Authenticator<String,
         return empty();
     }
 
+    private Optional<Principal> getPrincipal(final Claims claims) {
+        // Use a webid claim, if one exists
+        if (claims.containsKey(WEBID)) {
+            final String webid = claims.get(WEBID, String.class);
+            LOGGER.debug("Using JWT claim with webid: {}", webid);
+            return ofNullable(webid).map(PrincipalImpl::new);
+        }
+
+        // Try generating a webid from other elements
+        final String sub = claims.getSubject();
+        if (nonNull(sub)) {
+            // use the sub claim if it looks like a webid
+            if (isUrl(sub)) {
+                LOGGER.debug("Using JWT claim with sub: {}", sub);
+                return of(new PrincipalImpl(sub));
+            }
+
+            final String iss = claims.getIssuer();
+            // combine the iss and sub fields if that appears possible
+            if (nonNull(iss) && isUrl(iss)) {
+                final String webid = iss.endsWith("/") ? iss + sub : iss + "/" + sub;
+                LOGGER.debug("Using JWT claim with generated webid: {}", webid);
+                return of(new PrincipalImpl(webid));
+            }
+
+            // Use an OIDC website claim, if one exists
+            if (claims.containsKey(WEBSITE)) {
+                final String website = claims.get(WEBSITE, String.class);
+                LOGGER.debug("Using JWT claim with website: {}", website);
+                return ofNullable(website).map(PrincipalImpl::new);
+            }
+        }
+        return empty();
+    }
+
     private Boolean isUrl(final String value) {
         return value.startsWith("http://") || value.startsWith("https://");
     }
+
+    private static String hash(final String credentials) {
+        try {
+            // Only a digest of the token is held in memory
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256")
+                    .digest(credentials.getBytes(UTF_8)));
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static final class VerifiedToken {
+        private final Principal principal;
+        private final long expires;
+
+        private VerifiedToken(final Principal principal, final long expires) {
+            this.principal = principal;
+            this.expires = expires;
+        }
+    }
 }
@@ -13,10 +13,21 @@
  */
 package org.trellisldp.app.auth;
 
+import static com.google.common.cache.CacheBuilder.newBuilder;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.nio.file.Files.lines;
+import static java.security.MessageDigest.isEqual;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.slf4j.LoggerFactory.getLogger;
 
+import com.google.common.cache.Cache;
+
 import io.dropwizard.auth.AuthenticationException;
 import io.dropwizard.auth.Authenticator;
 import io.dropwizard.auth.PrincipalImpl;
@@ -24,27 +35,79 @@ import io.dropwizard.auth.basic.BasicCredentials;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.Principal;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
 import org.slf4j.Logger;
 
 /**
  * BasicAuth Authenticator.
+ *
+ * <p>The credentials file is read into an in-memory index of users. It is read again whenever its modification
+ * time or size changes, so each request only checks the file's attributes. Each line of the file has the form
+ * {@code username : password : webid}, where the password is either plain text or a PBKDF2 hash of the form
+ * {@code $pbkdf2-sha256$iterations$salt$hash}, with the salt and hash encoded as base64. Successful
+ * authentications are cached for a short time, so that a client sending the same credentials with each request
+ * does not pay the cost of deriving the password hash every time.
  */
 public class BasicAuthenticator implements Authenticator<BasicCredentials, Principal> {
 
     private static final Logger LOGGER = getLogger(BasicAuthenticator.class);
 
-    private final String credentialsFile;
+    /** The prefix of a PBKDF2 password hash. **/
+    public static final String PBKDF2_PREFIX = "$pbkdf2-sha256$";
+
+    /** The default maximum number of cached authentications. **/
+    public static final long DEFAULT_CACHE_SIZE = 1000L;
+
+    /** The default time, in seconds, that a successful authentication is cached. **/
+    public static final long DEFAULT_CACHE_EXPIRE_SECONDS = 60L;
+
+    private static final String PBKDF2 = "PBKDF2WithHmacSHA256";
+    private static final int ITERATIONS = 100000;
+    private static final int SALT_LENGTH = 16;
+    private static final int HASH_LENGTH = 32;
+    private static final SecureRandom random = new SecureRandom();
+
+    private final File credentialsFile;
+    private final Cache<String, CachedCredentials> cache;
+
+    private volatile Map<String, User> users = emptyMap();
+    private volatile boolean readable;
+    private volatile long lastModified;
+    private volatile long length;
 
     /**
      * Create an authenticator for BasicAuth.
      * @param credentialsFile the file where credentials are stored
      */
     public BasicAuthenticator(final String credentialsFile) {
-        this.credentialsFile = credentialsFile;
+        this(credentialsFile, DEFAULT_CACHE_SIZE, DEFAULT_CACHE_EXPIRE_SECONDS);
+    }
+
+    /**
+     * Create an authenticator for BasicAuth.
+     * @param credentialsFile the file where credentials are stored
+     * @param cacheSize the maximum number of cached authentications; zero disables the cache
+     * @param cacheExpireSeconds the time, in seconds, that a successful authentication is cached
+     */
+    public BasicAuthenticator(final String credentialsFile, final long cacheSize, final long cacheExpireSeconds) {
+        this.credentialsFile = new File(credentialsFile);
+        this.cache = cacheSize > 0 && cacheExpireSeconds > 0 ? newBuilder().maximumSize(cacheSize)
+            .expireAfterWrite(cacheExpireSeconds, SECONDS).<String, CachedCredentials>build() : null;
+        refresh();
     }
 
     @Override
@@ -52,20 +115,149 @@ public class BasicAuthenticator implements Authenticator<BasicCredentials, Princ
         return lookup(credentials).map(PrincipalImpl::new);
     }
 
+    /**
+     * Hash a password for use in a credentials file.
+     * @param password the password
+     * @return the PBKDF2 hash of the password
+     */
+    public static String hashPassword(final String password) {
+        final byte[] salt = new byte[SALT_LENGTH];
+        random.nextBytes(salt);
+        return PBKDF2_PREFIX + ITERATIONS + "$" + Base64.getEncoder().encodeToString(salt) + "$"
+            + Base64.getEncoder().encodeToString(pbkdf2(password, salt, ITERATIONS, HASH_LENGTH));
+    }
+
     private Optional<String> lookup(final BasicCredentials creds) {
-        final File file = new File(credentialsFile);
-        if (!file.exists()) {
+        refresh();
+        final User user = users.get(creds.getUsername());
+        if (isNull(user)) {
             return empty();
         }
 
-        try (final Stream<String> fileLines = lines(file.toPath())) {
-            return fileLines.map(String::trim).filter(line -> !line.startsWith("#"))
-                .map(line -> line.split(":", 3)).filter(x -> x.length == 3)
-                .filter(d -> d[0].trim().equals(creds.getUsername()) && d[1].trim().equals(creds.getPassword()))
-                .map(d -> d[2].trim()).findFirst();
-        } catch (final IOException ex) {
+        if (nonNull(cache)) {
+            final byte[] digest = digest(creds.getPassword());
+            final CachedCredentials cached = cache.getIfPresent(creds.getUsername());
+            if (nonNull(cached) && cached.user == user && isEqual(cached.digest, digest)) {
+                return of(user.webid);
+            }
+            if (user.matches(creds.getPassword())) {
+                cache.put(creds.getUsername(), new CachedCredentials(user, digest));
+                return of(user.webid);
+            }
+            return empty();
+        }
+        return user.matches(creds.getPassword()) ? of(user.webid) : empty();
+    }
+
+    private void refresh() {
+        if (isModified()) {
+            synchronized (this) {
+                if (isModified()) {
+                    readable = credentialsFile.canRead();
+                    lastModified = credentialsFile.lastModified();
+                    length = credentialsFile.length();
+                    users = readable ? load() : emptyMap();
+                    if (nonNull(cache)) {
+                        cache.invalidateAll();
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean isModified() {
+        return readable != credentialsFile.canRead() || lastModified != credentialsFile.lastModified()
+            || length != credentialsFile.length();
+    }
+
+    private Map<String, User> load() {
+        final Map<String, User> index = new HashMap<>();
+        try (final Stream<String> fileLines = lines(credentialsFile.toPath())) {
+            fileLines.map(String::trim).filter(line -> !line.startsWith("#"))
+                .map(line -> line.split(":", 3)).filter(x -> x.length == 3).forEach(d -> {
+                    final String username = d[0].trim();
+                    if (index.containsKey(username)) {
+                        LOGGER.warn("Ignoring duplicate entry for user: {}", username);
+                    } else {
+                        User.parse(d[1].trim(), d[2].trim()).ifPresent(user -> index.put(username, user));
+                    }
+                });
+        } catch (final IOException | UncheckedIOException ex) {
             LOGGER.error("Error processing credentials file", ex);
+            return emptyMap();
+        }
+        LOGGER.debug("Loaded {} users from credentials file", index.size());
+        return unmodifiableMap(index);
+    }
+
+    private static byte[] digest(final String password) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(password.getBytes(UTF_8));
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static byte[] pbkdf2(final String password, final byte[] salt, final int iterations, final int length) {
+        final PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, length * 8);
+        try {
+            return SecretKeyFactory.getInstance(PBKDF2).generateSecret(spec).getEncoded();
+        } catch (final GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to compute password hash", ex);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    private static final class User {
+        private final String webid;
+        private final byte[] password;
+        private final byte[] salt;
+        private final int iterations;
+
+        private User(final String webid, final byte[] password, final byte[] salt, final int iterations) {
+            this.webid = webid;
+            this.password = password;
+            this.salt = salt;
+            this.iterations = iterations;
+        }
+
+        private boolean matches(final String candidate) {
+            if (nonNull(salt)) {
+                return isEqual(password, pbkdf2(candidate, salt, iterations, password.length));
+            }
+            return isEqual(password, candidate.getBytes(UTF_8));
+        }
+
+        private static Optional<User> parse(final String password, final String webid) {
+            if (!password.startsWith(PBKDF2_PREFIX)) {
+                return of(new User(webid, password.getBytes(UTF_8), null, 0));
+            }
+            final String[] parts = password.substring(PBKDF2_PREFIX.length()).split("\\$");
+            try {
+                if (parts.length == 3) {
+                    final int iterations = Integer.parseInt(parts[0]);
+                    final byte[] salt = Base64.getDecoder().decode(parts[1]);
+                    final byte[] hash = Base64.getDecoder().decode(parts[2]);
+                    if (iterations > 0 && salt.length > 0 && hash.length > 0) {
+                        return of(new User(webid, hash, salt, iterations));
+                    }
+                }
+            } catch (final IllegalArgumentException ex) {
+                LOGGER.debug("Invalid password hash: {}", ex.getMessage());
+            }
+            LOGGER.warn("Ignoring credentials with a malformed password hash for: {}", webid);
+            return empty();
+        }
+    }
+
+    private static final class CachedCredentials {
+        private final User user;
+        private final byte[] digest;
+
+        private CachedCredentials(final User user, final byte[] digest) {
+            this.user = user;
+            this.digest = digest;
         }
-        return empty();
     }
 }
@@ -13,27 +13,53 @@
  */
 package org.trellisldp.app.auth;
 
+import static java.util.Collections.unmodifiableMap;
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.slf4j.LoggerFactory.getLogger;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureException;
+import io.jsonwebtoken.SigningKeyResolver;
 import io.jsonwebtoken.SigningKeyResolverAdapter;
 
 import java.security.Key;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
+import java.security.cert.Certificate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
 
 /**
  * A Federated JWT-based authenticator.
+ *
+ * <p>The public keys for the configured key identifiers are read from the keystore when the authenticator is
+ * created, so that resolving the key for a token does not require a keystore lookup.
  */
 public class FederatedJwtAuthenticator extends AbstractJwtAuthenticator {
 
-    private final KeyStore keyStore;
-    private final List<String> keyIds;
+    private static final Logger LOGGER = getLogger(FederatedJwtAuthenticator.class);
+
+    private final Map<String, Key> keys;
+    private final SigningKeyResolver resolver = new SigningKeyResolverAdapter() {
+        @Override
+        public Key resolveSigningKey(final JwsHeader header, final Claims claims) {
+            if (isNull(header.getKeyId())) {
+                throw new JwtException("Missing Key ID (kid) header field");
+            }
+            final Key key = keys.get(header.getKeyId());
+            if (isNull(key)) {
+                throw new SignatureException("Could not locate key in keystore: " + header.getKeyId());
+            }
+            return key;
+        }
+    };
 
     /**
      * Create a Federated JWT-based authenticator.
@@ -41,28 +67,44 @@ public class FederatedJwtAuthenticator extends AbstractJwtAuthenticator {
      * @param keyIds a list of keyIds to use
      */
     public FederatedJwtAuthenticator(final KeyStore keyStore, final List<String> keyIds) {
-        this.keyStore = keyStore;
-        this.keyIds = keyIds;
+        this(keyStore, keyIds, DEFAULT_CACHE_SIZE, DEFAULT_CACHE_EXPIRE_SECONDS);
+    }
+
+    /**
+     * Create a Federated JWT-based authenticator.
+     * @param keyStore a keystore
+     * @param keyIds a list of keyIds to use
+     * @param cacheSize the maximum number of cached tokens; zero disables the cache
+     * @param cacheExpireSeconds the maximum time, in seconds, that a verified token is cached
+     */
+    public FederatedJwtAuthenticator(final KeyStore keyStore, final List<String> keyIds, final long cacheSize,
+            final long cacheExpireSeconds) {
+        super(cacheSize, cacheExpireSeconds);
+        this.keys = loadKeys(keyStore, keyIds);
     }
 
     @Override
     protected Claims parse(final String credentials) {
         // Parse the JWT claims
-        return Jwts.parser().setSigningKeyResolver(new SigningKeyResolverAdapter() {
-            @Override
-            public Key resolveSigningKey(final JwsHeader header, final Claims claims) {
-                if (isNull(header.getKeyId())) {
-                    throw new JwtException("Missing Key ID (kid) header field");
-                }
-                try {
-                    if (keyIds.contains(header.getKeyId()) && keyStore.containsAlias(header.getKeyId())) {
-                        return keyStore.getCertificate(header.getKeyId()).getPublicKey();
+        return Jwts.parser().setSigningKeyResolver(resolver).parseClaimsJws(credentials).getBody();
+    }
+
+    private static Map<String, Key> loadKeys(final KeyStore keyStore, final List<String> keyIds) {
+        final Map<String, Key> keys = new HashMap<>();
+        for (final String keyId : keyIds) {
+            try {
+                if (keyStore.containsAlias(keyId)) {
+                    final Certificate certificate = keyStore.getCertificate(keyId);
+                    if (nonNull(certificate)) {
+                        keys.put(keyId, certificate.getPublicKey());
                     }
-                } catch (final KeyStoreException ex) {
-                    throw new SignatureException("Error retrieving key from keystore", ex);
+                } else {
+                    LOGGER.warn("Key {} not found in keystore", keyId);
                 }
-                throw new SignatureException("Could not locate key in keystore: " + header.getKeyId());
+            } catch (final KeyStoreException ex) {
+                LOGGER.error("Error retrieving key {} from keystore: {}", keyId, ex.getMessage());
             }
-        }).parseClaimsJws(credentials).getBody();
+        }
+        return unmodifiableMap(keys);
     }
 }
@@ -47,7 +47,19 @@ public class JwtAuthenticator extends AbstractJwtAuthenticator {
      * @param algorithm the signature algorithm
      */
     public JwtAuthenticator(final String key, final Boolean encoded, final SignatureAlgorithm algorithm) {
-        this(new SecretKeySpec(encoded ? getDecoder().decode(key) : key.getBytes(UTF_8), algorithm.getJcaName()));
+        this(secretKey(key, encoded, algorithm));
+    }
+
+    /**
+     * Create a JWT-based authenticator.
+     * @param key a secret key
+     * @param encoded whether the key is encoded as base64
+     * @param cacheSize the maximum number of cached tokens; zero disables the cache
+     * @param cacheExpireSeconds the maximum time, in seconds, that a verified token is cached
+     */
+    public JwtAuthenticator(final String key, final Boolean encoded, final long cacheSize,
+            final long cacheExpireSeconds) {
+        this(secretKey(key, encoded, SignatureAlgorithm.HS512), cacheSize, cacheExpireSeconds);
     }
 
     /**
@@ -55,6 +67,17 @@ public class JwtAuthenticator extends AbstractJwtAuthenticator {
      * @param key a key
      */
     public JwtAuthenticator(final Key key) {
+        this(key, DEFAULT_CACHE_SIZE, DEFAULT_CACHE_EXPIRE_SECONDS);
+    }
+
+    /**
+     * Create a JWT-based authenticator.
+     * @param key a key
+     * @param cacheSize the maximum number of cached tokens; zero disables the cache
+     * @param cacheExpireSeconds the maximum time, in seconds, that a verified token is cached
+     */
+    public JwtAuthenticator(final Key key, final long cacheSize, final long cacheExpireSeconds) {
+        super(cacheSize, cacheExpireSeconds);
         this.key = key;
     }
 
@@ -63,4 +86,8 @@ public class JwtAuthenticator extends AbstractJwtAuthenticator {
         // Parse the JWT claims
         return Jwts.parser().setSigningKey(key).parseClaimsJws(credentials).getBody();
     }
+
+    private static Key secretKey(final String key, final Boolean encoded, final SignatureAlgorithm algorithm) {
+        return new SecretKeySpec(encoded ? getDecoder().decode(key) : key.getBytes(UTF_8), algorithm.getJcaName());
+    }
 }
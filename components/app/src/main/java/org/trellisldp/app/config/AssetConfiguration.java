@@ -33,6 +33,8 @@ public class AssetConfiguration {
 
     private List<String> js = emptyList();
 
+    private Integer maxTriples = 10000;
+
     /**
      * Set an icon for the HTML view.
      * @param icon a URL for a site icon
@@ -104,4 +106,22 @@ public class AssetConfiguration {
     public String getTemplate() {
         return template;
     }
+
+    /**
+     * Set the maximum number of triples rendered in the HTML view.
+     * @param maxTriples the maximum number of triples, or 0 for no limit
+     */
+    @JsonProperty
+    public void setMaxTriples(final Integer maxTriples) {
+        this.maxTriples = maxTriples;
+    }
+
+    /**
+     * Get the maximum number of triples rendered in the HTML view.
+     * @return the maximum number of triples, or 0 for no limit
+     */
+    @JsonProperty
+    public Integer getMaxTriples() {
+        return maxTriples;
+    }
 }
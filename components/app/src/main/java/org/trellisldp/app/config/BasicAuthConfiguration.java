@@ -29,6 +29,10 @@ public class BasicAuthConfiguration {
 
     private String usersFile;
 
+    private Long cacheSize = 1000L;
+
+    private Long cacheExpireSeconds = 60L;
+
     /**
      * Get whether basic authentication has been enabled.
      * @return true if basic auth is enabled; false otherwise
@@ -65,6 +69,42 @@ public class BasicAuthConfiguration {
         this.usersFile = usersFile;
     }
 
+    /**
+     * Get the maximum number of successful authentications to cache.
+     * @return the cache size
+     */
+    @JsonProperty
+    public Long getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Set the maximum number of successful authentications to cache.
+     * @param cacheSize the cache size; zero disables the cache
+     */
+    @JsonProperty
+    public void setCacheSize(final Long cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Get the number of seconds that a successful authentication is cached.
+     * @return the cache expiration time
+     */
+    @JsonProperty
+    public Long getCacheExpireSeconds() {
+        return cacheExpireSeconds;
+    }
+
+    /**
+     * Set the number of seconds that a successful authentication is cached.
+     * @param cacheExpireSeconds the cache expiration time
+     */
+    @JsonProperty
+    public void setCacheExpireSeconds(final Long cacheExpireSeconds) {
+        this.cacheExpireSeconds = cacheExpireSeconds;
+    }
+
     /**
      * Get the security realm.
      * @return the realm; by default, this is 'trellis'
@@ -0,0 +1,142 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.app.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Configuration for the change feed.
+ */
+public class ChangeFeedConfiguration {
+
+    private Boolean enabled = false;
+
+    private String path = "changes";
+
+    private Integer capacity = 10000;
+
+    private String spillPath;
+
+    private Long spillSize = 67108864L;
+
+    private Long timeout = 30L;
+
+    /**
+     * Get whether the change feed is enabled.
+     * @return true if the change feed is enabled; false otherwise
+     */
+    @JsonProperty
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the change feed.
+     * @param enabled true if the change feed is enabled; false otherwise
+     */
+    @JsonProperty
+    public void setEnabled(final Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the name of the change feed endpoint, under the reserved {@code /.well-known/trellis} path.
+     * @return the endpoint name
+     */
+    @JsonProperty
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Set the name of the change feed endpoint, under the reserved {@code /.well-known/trellis} path.
+     * @param path the endpoint name
+     */
+    @JsonProperty
+    public void setPath(final String path) {
+        this.path = path;
+    }
+
+    /**
+     * Get the number of events held in memory.
+     * @return the number of events
+     */
+    @JsonProperty
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Set the number of events held in memory.
+     * @param capacity the number of events
+     */
+    @JsonProperty
+    public void setCapacity(final Integer capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Get the directory for events evicted from memory.
+     * @return the spill directory, or null if evicted events are discarded
+     */
+    @JsonProperty
+    public String getSpillPath() {
+        return spillPath;
+    }
+
+    /**
+     * Set the directory for events evicted from memory.
+     * @param spillPath the spill directory
+     */
+    @JsonProperty
+    public void setSpillPath(final String spillPath) {
+        this.spillPath = spillPath;
+    }
+
+    /**
+     * Get the size, in bytes, at which a spill file is rotated.
+     * @return the spill file size
+     */
+    @JsonProperty
+    public Long getSpillSize() {
+        return spillSize;
+    }
+
+    /**
+     * Set the size, in bytes, at which a spill file is rotated.
+     * @param spillSize the spill file size
+     */
+    @JsonProperty
+    public void setSpillSize(final Long spillSize) {
+        this.spillSize = spillSize;
+    }
+
+    /**
+     * Get the time, in seconds, that a request waits for new events.
+     * @return the timeout
+     */
+    @JsonProperty
+    public Long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Set the time, in seconds, that a request waits for new events.
+     * @param timeout the timeout
+     */
+    @JsonProperty
+    public void setTimeout(final Long timeout) {
+        this.timeout = timeout;
+    }
+}
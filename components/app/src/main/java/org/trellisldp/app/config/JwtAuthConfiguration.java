@@ -39,6 +39,10 @@ public class JwtAuthConfiguration {
 
     private List<String> keyIds;
 
+    private Long cacheSize = 1000L;
+
+    private Long cacheExpireSeconds = 300L;
+
     /**
      * Get whether basic authentication has been enabled.
      * @return true if basic auth is enabled; false otherwise
@@ -147,6 +151,42 @@ public class JwtAuthConfiguration {
         return keyIds;
     }
 
+    /**
+     * Get the maximum number of verified tokens to cache.
+     * @return the cache size
+     */
+    @JsonProperty
+    public Long getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Set the maximum number of verified tokens to cache.
+     * @param cacheSize the cache size; zero disables the cache
+     */
+    @JsonProperty
+    public void setCacheSize(final Long cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Get the number of seconds that a verified token is cached.
+     * @return the cache expiration time
+     */
+    @JsonProperty
+    public Long getCacheExpireSeconds() {
+        return cacheExpireSeconds;
+    }
+
+    /**
+     * Set the number of seconds that a verified token is cached.
+     * @param cacheExpireSeconds the cache expiration time
+     */
+    @JsonProperty
+    public void setCacheExpireSeconds(final Long cacheExpireSeconds) {
+        this.cacheExpireSeconds = cacheExpireSeconds;
+    }
+
     /**
      * Get the security realm.
      * @return the realm; by default, this is 'trellis'
@@ -17,7 +17,9 @@ import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonAnySetter;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -29,10 +31,40 @@ public class NotificationsConfiguration {
         NONE, JMS, KAFKA
     }
 
+    public enum Overflow {
+        BLOCK, DROP, SPILL
+    }
+
+    public enum Format {
+        JSON, BINARY
+    }
+
+    public enum Batching {
+        LATENCY, BALANCED, THROUGHPUT
+    }
+
+    public enum OutboxMode {
+        ALWAYS, FAILURES
+    }
+
     private String topic = "trellis";
     private Boolean enabled = false;
     private Type type = Type.NONE;
+    private Format format = Format.JSON;
+    private Batching batching = Batching.BALANCED;
     private String connectionString;
+    private Boolean async = false;
+    private Integer queueCapacity = 10000;
+    private Integer queueBatchSize = 100;
+    private Overflow queueOverflow = Overflow.BLOCK;
+    private String queueSpillPath;
+    private String outboxPath;
+    private OutboxMode outboxMode = OutboxMode.ALWAYS;
+    private Long coalesceWindow = 0L;
+    private List<String> activityTypes = new ArrayList<>();
+    private List<String> resourceTypes = new ArrayList<>();
+    private List<String> pathPrefixes = new ArrayList<>();
+    private List<NotificationsConfiguration> sinks = new ArrayList<>();
     private Map<String, String> other = new HashMap<>();
 
     /**
@@ -107,6 +139,265 @@ public class NotificationsConfiguration {
         this.connectionString = connectionString;
     }
 
+    /**
+     * Get whether notifications are published from a background queue.
+     * @return true if notifications are published asynchronously; false otherwise
+     */
+    @JsonProperty
+    public Boolean getAsync() {
+        return async;
+    }
+
+    /**
+     * Enable or disable asynchronous publication of notifications.
+     * @param async true if notifications are published asynchronously; false otherwise
+     */
+    @JsonProperty
+    public void setAsync(final Boolean async) {
+        this.async = async;
+    }
+
+    /**
+     * Get the maximum number of notifications waiting to be published.
+     * @return the queue capacity
+     */
+    @JsonProperty
+    public Integer getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Set the maximum number of notifications waiting to be published.
+     * @param queueCapacity the queue capacity
+     */
+    @JsonProperty
+    public void setQueueCapacity(final Integer queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Get the maximum number of notifications published in a single batch.
+     * @return the batch size
+     */
+    @JsonProperty
+    public Integer getQueueBatchSize() {
+        return queueBatchSize;
+    }
+
+    /**
+     * Set the maximum number of notifications published in a single batch.
+     * @param queueBatchSize the batch size
+     */
+    @JsonProperty
+    public void setQueueBatchSize(final Integer queueBatchSize) {
+        this.queueBatchSize = queueBatchSize;
+    }
+
+    /**
+     * Get the behavior when the notification queue is full.
+     * @return the overflow behavior
+     */
+    @JsonProperty
+    public Overflow getQueueOverflow() {
+        return queueOverflow;
+    }
+
+    /**
+     * Set the behavior when the notification queue is full.
+     * @param queueOverflow the overflow behavior
+     */
+    @JsonProperty
+    public void setQueueOverflow(final Overflow queueOverflow) {
+        this.queueOverflow = queueOverflow;
+    }
+
+    /**
+     * Get the directory for notifications that overflow the queue.
+     * @return the spill directory
+     */
+    @JsonProperty
+    public String getQueueSpillPath() {
+        return queueSpillPath;
+    }
+
+    /**
+     * Set the directory for notifications that overflow the queue.
+     * @param queueSpillPath the spill directory
+     */
+    @JsonProperty
+    public void setQueueSpillPath(final String queueSpillPath) {
+        this.queueSpillPath = queueSpillPath;
+    }
+
+    /**
+     * Get the directory of the durable notification outbox.
+     *
+     * <p>When an outbox is configured, notifications are recorded there and relayed to the broker
+     * in the background; the asynchronous queue settings do not apply.
+     *
+     * @return the outbox directory, or null if no outbox is used
+     */
+    @JsonProperty
+    public String getOutboxPath() {
+        return outboxPath;
+    }
+
+    /**
+     * Set the directory of the durable notification outbox.
+     * @param outboxPath the outbox directory
+     */
+    @JsonProperty
+    public void setOutboxPath(final String outboxPath) {
+        this.outboxPath = outboxPath;
+    }
+
+    /**
+     * Get the batching and compression preset of the message producer.
+     * @return the batching preset
+     */
+    @JsonProperty
+    public Batching getBatching() {
+        return batching;
+    }
+
+    /**
+     * Set the batching and compression preset of the message producer.
+     * @param batching the batching preset
+     */
+    @JsonProperty
+    public void setBatching(final Batching batching) {
+        this.batching = batching;
+    }
+
+    /**
+     * Get the serialization format of the notifications.
+     * @return the notification format
+     */
+    @JsonProperty
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Set the serialization format of the notifications.
+     * @param format the notification format
+     */
+    @JsonProperty
+    public void setFormat(final Format format) {
+        this.format = format;
+    }
+
+    /**
+     * Get whether every notification is written to the outbox, or only those that could not be delivered.
+     * @return the outbox mode
+     */
+    @JsonProperty
+    public OutboxMode getOutboxMode() {
+        return outboxMode;
+    }
+
+    /**
+     * Set whether every notification is written to the outbox, or only those that could not be delivered.
+     * @param outboxMode the outbox mode
+     */
+    @JsonProperty
+    public void setOutboxMode(final OutboxMode outboxMode) {
+        this.outboxMode = outboxMode;
+    }
+
+    /**
+     * Get the interval, in milliseconds, over which repeated update notifications for a resource are merged.
+     * @return the coalescing interval; zero or less disables coalescing
+     */
+    @JsonProperty
+    public Long getCoalesceWindow() {
+        return coalesceWindow;
+    }
+
+    /**
+     * Set the interval, in milliseconds, over which repeated update notifications for a resource are merged.
+     * @param coalesceWindow the coalescing interval
+     */
+    @JsonProperty
+    public void setCoalesceWindow(final Long coalesceWindow) {
+        this.coalesceWindow = coalesceWindow;
+    }
+
+    /**
+     * Get the activity types of the notifications to publish.
+     * @return the activity types; an empty list selects all notifications
+     */
+    @JsonProperty
+    public List<String> getActivityTypes() {
+        return activityTypes;
+    }
+
+    /**
+     * Set the activity types of the notifications to publish.
+     * @param activityTypes the activity types, as IRIs or Activity Streams terms such as {@code Update}
+     */
+    @JsonProperty
+    public void setActivityTypes(final List<String> activityTypes) {
+        this.activityTypes = activityTypes;
+    }
+
+    /**
+     * Get the resource types of the notifications to publish.
+     * @return the resource types; an empty list selects all notifications
+     */
+    @JsonProperty
+    public List<String> getResourceTypes() {
+        return resourceTypes;
+    }
+
+    /**
+     * Set the resource types of the notifications to publish.
+     * @param resourceTypes the resource types, as IRIs or LDP terms such as {@code Container}
+     */
+    @JsonProperty
+    public void setResourceTypes(final List<String> resourceTypes) {
+        this.resourceTypes = resourceTypes;
+    }
+
+    /**
+     * Get the locations of the resources whose notifications are published.
+     * @return the path or IRI prefixes; an empty list selects all notifications
+     */
+    @JsonProperty
+    public List<String> getPathPrefixes() {
+        return pathPrefixes;
+    }
+
+    /**
+     * Set the locations of the resources whose notifications are published.
+     * @param pathPrefixes the path prefixes, such as {@code /collection/}, or IRI prefixes
+     */
+    @JsonProperty
+    public void setPathPrefixes(final List<String> pathPrefixes) {
+        this.pathPrefixes = pathPrefixes;
+    }
+
+    /**
+     * Get the additional destinations for notifications.
+     * @return the notification sinks
+     */
+    @JsonProperty
+    public List<NotificationsConfiguration> getSinks() {
+        return sinks;
+    }
+
+    /**
+     * Set the additional destinations for notifications.
+     *
+     * <p>Each sink is configured like the primary destination, with its own connection, queue and filters.
+     *
+     * @param sinks the notification sinks
+     */
+    @JsonProperty
+    public void setSinks(final List<NotificationsConfiguration> sinks) {
+        this.sinks = sinks;
+    }
+
     /**
      * An extension point for other configuration values.
      * @param name the configuration name
@@ -52,6 +52,12 @@ public class TrellisConfiguration extends Configuration {
     @NotNull
     private NotificationsConfiguration notifications = new NotificationsConfiguration();
 
+    @NotNull
+    private ChangeFeedConfiguration changeFeed = new ChangeFeedConfiguration();
+
+    @NotNull
+    private WebSubConfiguration websub = new WebSubConfiguration();
+
     private String hubUrl = null;
 
     private String baseUrl = null;
@@ -240,4 +246,40 @@ public class TrellisConfiguration extends Configuration {
     public NotificationsConfiguration getNotifications() {
         return notifications;
     }
+
+    /**
+     * Set the embedded WebSub hub configuration.
+     * @param websub the WebSub hub configuration
+     */
+    @JsonProperty
+    public void setWebsub(final WebSubConfiguration websub) {
+        this.websub = websub;
+    }
+
+    /**
+     * Get the embedded WebSub hub configuration.
+     * @return the WebSub hub configuration
+     */
+    @JsonProperty
+    public WebSubConfiguration getWebsub() {
+        return websub;
+    }
+
+    /**
+     * Set the change feed configuration.
+     * @param changeFeed the change feed configuration
+     */
+    @JsonProperty
+    public void setChangeFeed(final ChangeFeedConfiguration changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    /**
+     * Get the change feed configuration.
+     * @return the change feed configuration
+     */
+    @JsonProperty
+    public ChangeFeedConfiguration getChangeFeed() {
+        return changeFeed;
+    }
 }
@@ -0,0 +1,306 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.app.config;
+
+import static java.util.Collections.emptyList;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Configuration for the embedded WebSub hub.
+ */
+public class WebSubConfiguration {
+
+    private Boolean enabled = false;
+
+    private String path = "hub";
+
+    private Integer threads = 4;
+
+    private Integer batchSize = 10;
+
+    private Integer queueSize = 1000;
+
+    private Double rateLimit = 10.0;
+
+    private Integer retries = 5;
+
+    private Long retryDelay = 1000L;
+
+    private Long leaseSeconds = 86400L;
+
+    private Integer timeout = 10000;
+
+    private Integer verifyThreads = 2;
+
+    private Integer maxSubscriptions = 10000;
+
+    private Integer maxAgentSubscriptions = 100;
+
+    private List<String> allowedHosts = emptyList();
+
+    /**
+     * Get whether the embedded WebSub hub is enabled.
+     * @return true if the hub is enabled; false otherwise
+     */
+    @JsonProperty
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the embedded WebSub hub.
+     * @param enabled true if the hub is enabled; false otherwise
+     */
+    @JsonProperty
+    public void setEnabled(final Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the name of the hub endpoint, under the reserved {@code /.well-known/trellis} path.
+     * @return the endpoint name
+     */
+    @JsonProperty
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Set the name of the hub endpoint, under the reserved {@code /.well-known/trellis} path.
+     * @param path the endpoint name
+     */
+    @JsonProperty
+    public void setPath(final String path) {
+        this.path = path;
+    }
+
+    /**
+     * Get the number of delivery threads.
+     * @return the number of threads
+     */
+    @JsonProperty
+    public Integer getThreads() {
+        return threads;
+    }
+
+    /**
+     * Set the number of delivery threads.
+     * @param threads the number of threads
+     */
+    @JsonProperty
+    public void setThreads(final Integer threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Get the maximum number of notifications in a single delivery.
+     * @return the batch size
+     */
+    @JsonProperty
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Set the maximum number of notifications in a single delivery.
+     * @param batchSize the batch size
+     */
+    @JsonProperty
+    public void setBatchSize(final Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Get the maximum number of notifications queued for a subscriber.
+     * @return the queue size
+     */
+    @JsonProperty
+    public Integer getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * Set the maximum number of notifications queued for a subscriber.
+     * @param queueSize the queue size
+     */
+    @JsonProperty
+    public void setQueueSize(final Integer queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * Get the maximum number of deliveries per second to a subscriber.
+     * @return the rate limit
+     */
+    @JsonProperty
+    public Double getRateLimit() {
+        return rateLimit;
+    }
+
+    /**
+     * Set the maximum number of deliveries per second to a subscriber.
+     * @param rateLimit the rate limit; zero disables the limit
+     */
+    @JsonProperty
+    public void setRateLimit(final Double rateLimit) {
+        this.rateLimit = rateLimit;
+    }
+
+    /**
+     * Get the number of times a failed delivery is retried.
+     * @return the number of retries
+     */
+    @JsonProperty
+    public Integer getRetries() {
+        return retries;
+    }
+
+    /**
+     * Set the number of times a failed delivery is retried.
+     * @param retries the number of retries
+     */
+    @JsonProperty
+    public void setRetries(final Integer retries) {
+        this.retries = retries;
+    }
+
+    /**
+     * Get the initial retry delay, in milliseconds.
+     * @return the retry delay
+     */
+    @JsonProperty
+    public Long getRetryDelay() {
+        return retryDelay;
+    }
+
+    /**
+     * Set the initial retry delay, in milliseconds.
+     * @param retryDelay the retry delay
+     */
+    @JsonProperty
+    public void setRetryDelay(final Long retryDelay) {
+        this.retryDelay = retryDelay;
+    }
+
+    /**
+     * Get the default subscription lease, in seconds.
+     * @return the lease
+     */
+    @JsonProperty
+    public Long getLeaseSeconds() {
+        return leaseSeconds;
+    }
+
+    /**
+     * Set the default subscription lease, in seconds.
+     * @param leaseSeconds the lease
+     */
+    @JsonProperty
+    public void setLeaseSeconds(final Long leaseSeconds) {
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    /**
+     * Get the timeout of requests to subscribers, in milliseconds.
+     * @return the timeout
+     */
+    @JsonProperty
+    public Integer getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Set the timeout of requests to subscribers, in milliseconds.
+     * @param timeout the timeout
+     */
+    @JsonProperty
+    public void setTimeout(final Integer timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Get the number of threads that verify subscription requests.
+     * @return the number of threads
+     */
+    @JsonProperty
+    public Integer getVerifyThreads() {
+        return verifyThreads;
+    }
+
+    /**
+     * Set the number of threads that verify subscription requests.
+     * @param verifyThreads the number of threads
+     */
+    @JsonProperty
+    public void setVerifyThreads(final Integer verifyThreads) {
+        this.verifyThreads = verifyThreads;
+    }
+
+    /**
+     * Get the maximum number of subscriptions.
+     * @return the maximum number of subscriptions
+     */
+    @JsonProperty
+    public Integer getMaxSubscriptions() {
+        return maxSubscriptions;
+    }
+
+    /**
+     * Set the maximum number of subscriptions.
+     * @param maxSubscriptions the maximum number of subscriptions
+     */
+    @JsonProperty
+    public void setMaxSubscriptions(final Integer maxSubscriptions) {
+        this.maxSubscriptions = maxSubscriptions;
+    }
+
+    /**
+     * Get the maximum number of subscriptions for a single agent.
+     * @return the maximum number of subscriptions
+     */
+    @JsonProperty
+    public Integer getMaxAgentSubscriptions() {
+        return maxAgentSubscriptions;
+    }
+
+    /**
+     * Set the maximum number of subscriptions for a single agent.
+     * @param maxAgentSubscriptions the maximum number of subscriptions
+     */
+    @JsonProperty
+    public void setMaxAgentSubscriptions(final Integer maxAgentSubscriptions) {
+        this.maxAgentSubscriptions = maxAgentSubscriptions;
+    }
+
+    /**
+     * Get the callback hosts that are allowed at loopback, link-local or private network addresses.
+     * @return the allowed hosts
+     */
+    @JsonProperty
+    public List<String> getAllowedHosts() {
+        return allowedHosts;
+    }
+
+    /**
+     * Set the callback hosts that are allowed at loopback, link-local or private network addresses.
+     * @param allowedHosts the allowed hosts
+     */
+    @JsonProperty
+    public void setAllowedHosts(final List<String> allowedHosts) {
+        this.allowedHosts = allowedHosts;
+    }
+}
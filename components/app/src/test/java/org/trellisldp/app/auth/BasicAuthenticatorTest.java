@@ -13,6 +13,10 @@
  */
 package org.trellisldp.app.auth;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createTempFile;
+import static java.nio.file.Files.write;
+import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -23,6 +27,7 @@ import io.dropwizard.auth.Authenticator;
 import io.dropwizard.auth.basic.BasicCredentials;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.security.Principal;
 import java.util.Optional;
 
@@ -84,6 +89,68 @@ public class BasicAuthenticatorTest {
         userFile.setReadable(true);
     }
 
+    @Test
+    public void testAuthenticateHashed() throws AuthenticationException {
+        final Authenticator<BasicCredentials, Principal> authenticator = new BasicAuthenticator(getAuthFile());
+        final BasicCredentials credentials = new BasicCredentials("hashed", "hashed-secret");
+
+        for (int i = 0; i < 2; ++i) {
+            final Optional<Principal> res = authenticator.authenticate(credentials);
+            assertTrue(res.isPresent(), "Missing principal!");
+            res.ifPresent(p -> assertEquals("https://hashed.example.com/profile/#me", p.getName(), "Incorrect webid!"));
+        }
+        assertFalse(authenticator.authenticate(new BasicCredentials("hashed", "incorrect")).isPresent(),
+                "Unexpected principal!");
+    }
+
+    @Test
+    public void testAuthenticateMalformedHash() throws AuthenticationException {
+        final Authenticator<BasicCredentials, Principal> authenticator = new BasicAuthenticator(getAuthFile());
+        final BasicCredentials credentials = new BasicCredentials("broken", "$pbkdf2-sha256$many$salt$hash");
+
+        final Optional<Principal> res = authenticator.authenticate(credentials);
+        assertFalse(res.isPresent(), "Unexpected principal!");
+    }
+
+    @Test
+    public void testHashPassword() throws Exception {
+        final String hash = BasicAuthenticator.hashPassword("changeme");
+        assertTrue(hash.startsWith(BasicAuthenticator.PBKDF2_PREFIX), "Incorrect hash format!");
+        assertFalse(hash.contains(":"), "Hash contains a field separator!");
+
+        final Path file = createTempFile("trellis", ".auth");
+        write(file, asList("service : " + hash + " : https://service.example.com/#agent"), UTF_8);
+        final Authenticator<BasicCredentials, Principal> authenticator = new BasicAuthenticator(file.toString(),
+                0L, 0L);
+
+        assertTrue(authenticator.authenticate(new BasicCredentials("service", "changeme")).isPresent(),
+                "Missing principal!");
+        assertFalse(authenticator.authenticate(new BasicCredentials("service", hash)).isPresent(),
+                "Unexpected principal!");
+    }
+
+    @Test
+    public void testReload() throws Exception {
+        final Path file = createTempFile("trellis", ".auth");
+        write(file, asList("acoburn : secret : https://people.apache.org/~acoburn/#i"), UTF_8);
+        final Authenticator<BasicCredentials, Principal> authenticator = new BasicAuthenticator(file.toString());
+        assertTrue(authenticator.authenticate(new BasicCredentials("acoburn", "secret")).isPresent(),
+                "Missing principal!");
+
+        write(file, asList("acoburn : changed : https://people.apache.org/~acoburn/#i",
+                    "user : password : https://madison.example.com/profile/#me"), UTF_8);
+        assertFalse(authenticator.authenticate(new BasicCredentials("acoburn", "secret")).isPresent(),
+                "Cached credentials used after a reload!");
+        assertTrue(authenticator.authenticate(new BasicCredentials("acoburn", "changed")).isPresent(),
+                "Missing principal after a reload!");
+        assertTrue(authenticator.authenticate(new BasicCredentials("user", "password")).isPresent(),
+                "Missing principal for a new user!");
+
+        assertTrue(file.toFile().delete(), "Unable to remove credentials file!");
+        assertFalse(authenticator.authenticate(new BasicCredentials("user", "password")).isPresent(),
+                "Unexpected principal after removing the credentials file!");
+    }
+
     private String getAuthFile() {
         final String prefix = "file:";
         return getClass().getResource("/users.auth").toString().substring(prefix.length());
@@ -57,6 +57,26 @@ public class FederatedJwtAuthenticatorTest {
         result.ifPresent(p -> assertEquals("https://people.apache.org/~acoburn/#me", p.getName(), "Incorrect webid!"));
     }
 
+    @Test
+    public void testPreloadedKeys() throws Exception {
+        final KeyStore ks = KeyStore.getInstance(KeyStore.getDefaultType());
+        ks.load(getClass().getResourceAsStream("/keystore.jks"), passphrase);
+
+        final Key privateKey = ks.getKey("trellis", passphrase);
+        final String jwt = Jwts.builder().setHeaderParam(JwsHeader.KEY_ID, "trellis")
+            .setSubject("https://people.apache.org/~acoburn/#me")
+            .signWith(SignatureAlgorithm.RS256, privateKey).compact();
+
+        final Authenticator<String, Principal> authenticator = new FederatedJwtAuthenticator(ks,
+                asList("trellis", "foo"), 0L, 0L);
+
+        // The keys are resolved when the authenticator is created
+        ks.deleteEntry("trellis");
+        final Optional<Principal> result = authenticator.authenticate(jwt);
+        assertTrue(result.isPresent(), "Missing principal!");
+        result.ifPresent(p -> assertEquals("https://people.apache.org/~acoburn/#me", p.getName(), "Incorrect webid!"));
+    }
+
     @Test
     public void testAuthenticateKeystoreRSA() throws Exception {
         final KeyStore ks = KeyStore.getInstance(KeyStore.getDefaultType());
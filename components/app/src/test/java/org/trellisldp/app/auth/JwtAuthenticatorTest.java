@@ -19,6 +19,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.dropwizard.auth.AuthenticationException;
 import io.dropwizard.auth.Authenticator;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.impl.crypto.EllipticCurveProvider;
@@ -28,7 +29,9 @@ import java.security.Key;
 import java.security.KeyPair;
 import java.security.KeyStore;
 import java.security.Principal;
+import java.util.Date;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
@@ -257,4 +260,63 @@ public class JwtAuthenticatorTest {
         final Optional<Principal> result = authenticator.authenticate(token);
         assertFalse(result.isPresent(), "Unexpected principal!");
     }
+
+    @Test
+    public void testCachedToken() throws AuthenticationException {
+        final String key = "c2VjcmV0";
+        final String token = Jwts.builder().setSubject("https://people.apache.org/~acoburn/#i")
+            .signWith(SignatureAlgorithm.HS512, key).compact();
+        final AtomicInteger verifications = new AtomicInteger();
+
+        final Authenticator<String, Principal> authenticator = new JwtAuthenticator(key, true, 10L, 60L) {
+            @Override
+            protected Claims parse(final String credentials) {
+                verifications.incrementAndGet();
+                return super.parse(credentials);
+            }
+        };
+
+        for (int i = 0; i < 3; ++i) {
+            final Optional<Principal> result = authenticator.authenticate(token);
+            assertTrue(result.isPresent(), "Missing principal!");
+            result.ifPresent(p -> assertEquals("https://people.apache.org/~acoburn/#i", p.getName(),
+                        "Incorrect webid!"));
+        }
+        assertEquals(1, verifications.get(), "Cached token verified more than once!");
+        assertFalse(authenticator.authenticate(token + "x").isPresent(), "Unexpected principal!");
+    }
+
+    @Test
+    public void testCacheDisabled() throws AuthenticationException {
+        final String key = "c2VjcmV0";
+        final String token = Jwts.builder().setSubject("https://people.apache.org/~acoburn/#i")
+            .signWith(SignatureAlgorithm.HS512, key).compact();
+        final AtomicInteger verifications = new AtomicInteger();
+
+        final Authenticator<String, Principal> authenticator = new JwtAuthenticator(key, true, 0L, 60L) {
+            @Override
+            protected Claims parse(final String credentials) {
+                verifications.incrementAndGet();
+                return super.parse(credentials);
+            }
+        };
+
+        assertTrue(authenticator.authenticate(token).isPresent(), "Missing principal!");
+        assertTrue(authenticator.authenticate(token).isPresent(), "Missing principal!");
+        assertEquals(2, verifications.get(), "Token not verified on each request!");
+    }
+
+    @Test
+    public void testCachedTokenExpiration() throws Exception {
+        final String key = "c2VjcmV0";
+        final String token = Jwts.builder().setSubject("https://people.apache.org/~acoburn/#i")
+            .setExpiration(new Date(System.currentTimeMillis() + 1000L))
+            .signWith(SignatureAlgorithm.HS512, key).compact();
+
+        final Authenticator<String, Principal> authenticator = new JwtAuthenticator(key, true, 10L, 60L);
+
+        assertTrue(authenticator.authenticate(token).isPresent(), "Missing principal!");
+        Thread.sleep(1500L);
+        assertFalse(authenticator.authenticate(token).isPresent(), "Expired token accepted from the cache!");
+    }
 }
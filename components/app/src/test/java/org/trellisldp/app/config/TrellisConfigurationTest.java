@@ -14,6 +14,7 @@
 package org.trellisldp.app.config;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -81,6 +82,7 @@ public class TrellisConfigurationTest {
         assertEquals("http://example.com/image.icon", config.getAssets().getIcon(), "Bad assets/icon value!");
         assertTrue(config.getAssets().getJs().contains("http://example.com/scripts1.js"), "Missing assets/js value!");
         assertTrue(config.getAssets().getCss().contains("http://example.com/styles1.css"), "Missing assets/css value!");
+        assertEquals((Integer) 500, config.getAssets().getMaxTriples(), "Bad assets/maxTriples value!");
     }
 
     @Test
@@ -95,7 +97,30 @@ public class TrellisConfigurationTest {
         assertEquals("example.com:12345", config.getNotifications().getConnectionString(), "Incorrect connection URL!");
         assertEquals("foo", config.getNotifications().any().get("some.other.value"), "Incorrect custom property!");
         assertEquals("test-topic", config.getNotifications().getTopicName(), "Incorrect topic name!");
-
+        assertTrue(config.getNotifications().getAsync(), "Asynchronous notifications not enabled!");
+        assertEquals((Integer) 500, config.getNotifications().getQueueCapacity(), "Incorrect queue capacity!");
+        assertEquals((Integer) 100, config.getNotifications().getQueueBatchSize(), "Incorrect queue batch size!");
+        assertEquals(NotificationsConfiguration.Overflow.SPILL, config.getNotifications().getQueueOverflow(),
+                "Incorrect queue overflow policy!");
+        assertEquals("/tmp/trellis-events", config.getNotifications().getQueueSpillPath(), "Incorrect spill path!");
+        assertEquals("/tmp/trellis-outbox", config.getNotifications().getOutboxPath(), "Incorrect outbox path!");
+        assertEquals((Long) 250L, config.getNotifications().getCoalesceWindow(), "Incorrect coalescing window!");
+        assertEquals(NotificationsConfiguration.Format.BINARY, config.getNotifications().getFormat(),
+                "Incorrect notification format!");
+        assertEquals(NotificationsConfiguration.Batching.THROUGHPUT, config.getNotifications().getBatching(),
+                "Incorrect batching preset!");
+        assertEquals(NotificationsConfiguration.OutboxMode.FAILURES, config.getNotifications().getOutboxMode(),
+                "Incorrect outbox mode!");
+        assertEquals(asList("Create", "Delete"), config.getNotifications().getActivityTypes(),
+                "Incorrect activity types!");
+        assertEquals(1, config.getNotifications().getSinks().size(), "Incorrect number of notification sinks!");
+        final NotificationsConfiguration sink = config.getNotifications().getSinks().get(0);
+        assertTrue(sink.getEnabled(), "Notification sink not enabled!");
+        assertEquals(NotificationsConfiguration.Type.KAFKA, sink.getType(), "Incorrect sink type!");
+        assertEquals("collection-updates", sink.getTopicName(), "Incorrect sink topic!");
+        assertEquals(asList("Container"), sink.getResourceTypes(), "Incorrect sink resource types!");
+        assertEquals(asList("/collection/"), sink.getPathPrefixes(), "Incorrect sink path prefixes!");
+        assertTrue(sink.getSinks().isEmpty(), "Unexpected nested sinks!");
     }
 
     @Test
@@ -106,6 +131,19 @@ public class TrellisConfigurationTest {
 
         assertEquals("http://localhost:8080/", config.getBaseUrl(), "Incorrect baseUrl!");
         assertEquals("http://hub.example.com/", config.getHubUrl(), "Incorrect hubUrl!");
+        assertTrue(config.getWebsub().getEnabled(), "WebSub hub not enabled!");
+        assertEquals("hub", config.getWebsub().getPath(), "Incorrect WebSub hub path!");
+        assertEquals((Integer) 20, config.getWebsub().getBatchSize(), "Incorrect WebSub batch size!");
+        assertEquals((Double) 2.5, config.getWebsub().getRateLimit(), "Incorrect WebSub rate limit!");
+        assertEquals((Long) 86400L, config.getWebsub().getLeaseSeconds(), "Incorrect WebSub lease!");
+        assertEquals((Integer) 5, config.getWebsub().getMaxAgentSubscriptions(), "Incorrect WebSub agent limit!");
+        assertEquals((Integer) 10000, config.getWebsub().getMaxSubscriptions(), "Incorrect WebSub limit!");
+        assertTrue(config.getWebsub().getAllowedHosts().contains("subscriber.internal"), "Missing allowed host!");
+        assertTrue(config.getChangeFeed().getEnabled(), "Change feed not enabled!");
+        assertEquals("feed", config.getChangeFeed().getPath(), "Incorrect change feed path!");
+        assertEquals((Integer) 500, config.getChangeFeed().getCapacity(), "Incorrect change feed capacity!");
+        assertEquals("/tmp/trellis-changes", config.getChangeFeed().getSpillPath(), "Incorrect spill path!");
+        assertEquals((Long) 30L, config.getChangeFeed().getTimeout(), "Incorrect change feed timeout!");
     }
 
     @Test
@@ -120,6 +158,9 @@ public class TrellisConfigurationTest {
         assertTrue(config.getAuth().getAnon().getEnabled(), "anon auth not enabled!");
         assertTrue(config.getAuth().getBasic().getEnabled(), "basic auth not enabled!");
         assertEquals("users.auth", config.getAuth().getBasic().getUsersFile(), "Incorrect basic users file!");
+        assertEquals((Long) 200L, config.getAuth().getBasic().getCacheSize(), "Incorrect auth/basic/cacheSize value!");
+        assertEquals((Long) 30L, config.getAuth().getBasic().getCacheExpireSeconds(),
+                "Incorrect auth/basic/cacheExpireSeconds value!");
         assertEquals("trellis", config.getAuth().getBasic().getRealm(), "Incorrect basic auth realm!");
 
         config.getAuth().getBasic().setRealm("foobar");
@@ -137,6 +178,9 @@ public class TrellisConfigurationTest {
         assertTrue(config.getAuth().getJwt().getKeyIds().contains("bar"), "'bar' not in auth/jwt/keyIds");
         assertTrue(config.getAuth().getJwt().getKeyIds().contains("trellis"), "'trellis' not in auth/jwt/keyIds");
         assertEquals(3, config.getAuth().getJwt().getKeyIds().size(), "Incorrect count of auth/jwt/keyIds");
+        assertEquals((Long) 500L, config.getAuth().getJwt().getCacheSize(), "Incorrect auth/jwt/cacheSize value!");
+        assertEquals((Long) 120L, config.getAuth().getJwt().getCacheExpireSeconds(),
+                "Incorrect auth/jwt/cacheExpireSeconds value!");
     }
 
     @Test
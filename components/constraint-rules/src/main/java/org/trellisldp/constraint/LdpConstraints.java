@@ -18,24 +18,22 @@ import static java.util.Collections.unmodifiableMap;
 import static java.util.Collections.unmodifiableSet;
 import static java.util.Objects.isNull;
 import static java.util.Objects.requireNonNull;
-import static java.util.Optional.of;
-import static java.util.stream.Collectors.counting;
-import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
-import static java.util.stream.Stream.concat;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.Function;
-import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import org.apache.commons.rdf.api.Graph;
 import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFTerm;
 import org.apache.commons.rdf.api.Triple;
 import org.slf4j.Logger;
 import org.trellisldp.api.ConstraintService;
@@ -69,25 +67,23 @@ public class LdpConstraints implements ConstraintService {
     private static final Logger LOGGER = getLogger(LdpConstraints.class);
 
     // Identify those predicates that are prohibited in the given ixn model
-    private static final Predicate<Triple> memberContainerConstraints = triple ->
-        triple.getPredicate().equals(ACL.accessControl) || triple.getPredicate().equals(LDP.contains);
+    private static final Set<IRI> memberContainerProperties = unmodifiableSet(Stream.of(
+                ACL.accessControl, LDP.contains).collect(toSet()));
 
     // Identify those predicates that are prohibited in the given ixn model
-    private static final Predicate<Triple> basicConstraints = memberContainerConstraints.or(triple ->
-        triple.getPredicate().equals(LDP.insertedContentRelation) ||
-        triple.getPredicate().equals(LDP.membershipResource) ||
-        triple.getPredicate().equals(LDP.hasMemberRelation) ||
-        triple.getPredicate().equals(LDP.isMemberOfRelation));
+    private static final Set<IRI> basicProperties = unmodifiableSet(Stream.of(
+                ACL.accessControl, LDP.contains, LDP.insertedContentRelation, LDP.membershipResource,
+                LDP.hasMemberRelation, LDP.isMemberOfRelation).collect(toSet()));
 
     private static final Set<IRI> propertiesWithInDomainRange = singleton(LDP.membershipResource);
 
-    private static final Map<IRI, Predicate<Triple>> typeMap = unmodifiableMap(Stream.of(
-                new SimpleEntry<>(LDP.BasicContainer, basicConstraints),
-                new SimpleEntry<>(LDP.Container, basicConstraints),
-                new SimpleEntry<>(LDP.DirectContainer, memberContainerConstraints),
-                new SimpleEntry<>(LDP.IndirectContainer, memberContainerConstraints),
-                new SimpleEntry<>(LDP.NonRDFSource, basicConstraints),
-                new SimpleEntry<>(LDP.RDFSource, basicConstraints))
+    private static final Map<IRI, Set<IRI>> typeMap = unmodifiableMap(Stream.of(
+                new SimpleEntry<>(LDP.BasicContainer, basicProperties),
+                new SimpleEntry<>(LDP.Container, basicProperties),
+                new SimpleEntry<>(LDP.DirectContainer, memberContainerProperties),
+                new SimpleEntry<>(LDP.IndirectContainer, memberContainerProperties),
+                new SimpleEntry<>(LDP.NonRDFSource, basicProperties),
+                new SimpleEntry<>(LDP.RDFSource, basicProperties))
             .collect(toMap(Map.Entry::getKey, Map.Entry::getValue)));
 
     // Properties that need to be used with objects that are IRIs
@@ -102,24 +98,20 @@ public class LdpConstraints implements ConstraintService {
 
     // Verify that the object of a triple whose predicate is either ldp:hasMemberRelation or ldp:isMemberOfRelation
     // is not equal to ldp:contains or any of the other cardinality-restricted IRIs
-    private static Predicate<Triple> invalidMembershipProperty = triple ->
-        (LDP.hasMemberRelation.equals(triple.getPredicate()) || LDP.isMemberOfRelation.equals(triple.getPredicate())) &&
-        restrictedMemberProperties.contains(triple.getObject());
+    private static boolean invalidMembershipProperty(final IRI predicate, final RDFTerm object) {
+        return (LDP.hasMemberRelation.equals(predicate) || LDP.isMemberOfRelation.equals(predicate)) &&
+            restrictedMemberProperties.contains(object);
+    }
 
     // Verify that the range of the property is an IRI (if the property is in the above set)
-    private static Predicate<Triple> uriRangeFilter = invalidMembershipProperty.or(triple ->
-        propertiesWithUriRange.contains(triple.getPredicate()) && !(triple.getObject() instanceof IRI))
-        .or(triple -> RDF.type.equals(triple.getPredicate()) && !(triple.getObject() instanceof IRI));
-
-    // Ensure that any LDP properties are appropriate for the interaction model
-    private static Predicate<Triple> propertyFilter(final IRI model) {
-        return of(model).filter(typeMap::containsKey).map(typeMap::get).orElse(basicConstraints);
+    private static boolean invalidRange(final IRI predicate, final RDFTerm object) {
+        return invalidMembershipProperty(predicate, object) || (!(object instanceof IRI) &&
+            (propertiesWithUriRange.contains(predicate) || RDF.type.equals(predicate)));
     }
 
     // Verify that the range of the property is in the server's domain
-    private static Predicate<Triple> inDomainRangeFilter(final String domain) {
-        return triple -> propertiesWithInDomainRange.contains(triple.getPredicate()) &&
-            !triple.getObject().ntriplesString().startsWith("<" + domain);
+    private static boolean invalidDomain(final IRI predicate, final RDFTerm object, final String prefix) {
+        return propertiesWithInDomainRange.contains(predicate) && !object.ntriplesString().startsWith(prefix);
     }
 
     // Verify that ldp:membershipResource and one of ldp:hasMemberRelation or ldp:isMemberOfRelation is present
@@ -129,47 +121,48 @@ public class LdpConstraints implements ConstraintService {
     }
 
     // Verify that the cardinality of the `propertiesWithUriRange` properties. Keep any whose cardinality is > 1
-    private static Predicate<Graph> checkCardinality(final IRI model) {
-        return graph -> {
-            final Map<IRI, Long> cardinality = graph.stream()
-                .filter(triple -> propertiesWithUriRange.contains(triple.getPredicate()))
-                .collect(groupingBy(Triple::getPredicate, counting()));
-
-            if (LDP.IndirectContainer.equals(model)) {
-                if (isNull(cardinality.get(LDP.insertedContentRelation)) || !hasMembershipProps(cardinality)) {
-                    return true;
-                }
-            } else if (LDP.DirectContainer.equals(model) && !hasMembershipProps(cardinality)) {
+    private static boolean invalidCardinality(final IRI model, final Map<IRI, Long> cardinality) {
+        if (LDP.IndirectContainer.equals(model)) {
+            if (isNull(cardinality.get(LDP.insertedContentRelation)) || !hasMembershipProps(cardinality)) {
                 return true;
             }
+        } else if (LDP.DirectContainer.equals(model) && !hasMembershipProps(cardinality)) {
+            return true;
+        }
 
-            return cardinality.entrySet().stream().map(Map.Entry::getValue).anyMatch(val -> val > 1);
-        };
+        return cardinality.values().stream().anyMatch(val -> val > 1);
     }
 
-    private Function<Triple, Stream<ConstraintViolation>> checkModelConstraints(final IRI model, final String domain) {
+    @Override
+    public Stream<ConstraintViolation> constrainedBy(final IRI model, final Graph graph, final String domain) {
         requireNonNull(model, "The interaction model must not be null!");
 
-        return triple -> {
-            final Stream.Builder<ConstraintViolation> builder = Stream.builder();
-            of(triple).filter(propertyFilter(model)).map(t -> new ConstraintViolation(Trellis.InvalidProperty, t))
-                .ifPresent(builder::accept);
-
-            of(triple).filter(uriRangeFilter).map(t -> new ConstraintViolation(Trellis.InvalidRange, t))
-                .ifPresent(builder::accept);
-
-            of(triple).filter(inDomainRangeFilter(domain)).map(t -> new ConstraintViolation(Trellis.InvalidRange, t))
-                .ifPresent(builder::accept);
+        // All of the rules are evaluated in a single pass over the graph
+        final Set<IRI> prohibited = typeMap.getOrDefault(model, basicProperties);
+        final String prefix = "<" + domain;
+        final Map<IRI, Long> cardinality = new HashMap<>();
+        final List<ConstraintViolation> violations = new ArrayList<>();
+        for (final Triple triple : graph.iterate()) {
+            final IRI predicate = triple.getPredicate();
+            final RDFTerm object = triple.getObject();
+            if (prohibited.contains(predicate)) {
+                violations.add(new ConstraintViolation(Trellis.InvalidProperty, triple));
+            }
+            if (invalidRange(predicate, object)) {
+                violations.add(new ConstraintViolation(Trellis.InvalidRange, triple));
+            }
+            if (invalidDomain(predicate, object, prefix)) {
+                violations.add(new ConstraintViolation(Trellis.InvalidRange, triple));
+            }
+            if (propertiesWithUriRange.contains(predicate)) {
+                cardinality.merge(predicate, 1L, Long::sum);
+            }
+        }
 
-            return builder.build();
-        };
-    }
+        if (invalidCardinality(model, cardinality)) {
+            violations.add(new ConstraintViolation(Trellis.InvalidCardinality, graph.stream().collect(toList())));
+        }
 
-    @Override
-    public Stream<ConstraintViolation> constrainedBy(final IRI model, final Graph graph, final String domain) {
-        return concat(graph.stream().flatMap(checkModelConstraints(model, domain)),
-                Stream.of(graph).filter(checkCardinality(model))
-                    .map(g -> new ConstraintViolation(Trellis.InvalidCardinality, g.stream().collect(toList()))))
-            .peek(x -> LOGGER.debug("Constraint violation: {}", x));
+        return violations.stream().peek(x -> LOGGER.debug("Constraint violation: {}", x));
     }
 }
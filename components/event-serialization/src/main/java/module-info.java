@@ -23,4 +23,5 @@ module org.trellisldp.jpms.event {
     requires org.trellisldp.jpms.api;
     requires org.trellisldp.jpms.vocabulary;
     requires slf4j.api;
+    requires tamaya.api;
 }
\ No newline at end of file
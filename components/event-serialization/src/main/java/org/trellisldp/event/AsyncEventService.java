@@ -0,0 +1,402 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.event;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.newBufferedReader;
+import static java.nio.file.Files.newBufferedWriter;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Arrays.sort;
+import static java.util.Comparator.comparingLong;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.ConfigurationProvider;
+import org.slf4j.Logger;
+import org.trellisldp.api.Event;
+import org.trellisldp.api.EventService;
+
+/**
+ * An {@link EventService} decorator that publishes events to an underlying event service from a
+ * dedicated background thread.
+ *
+ * <p>Events are placed in a bounded queue and {@link #emit} returns immediately, so a slow message broker
+ * does not hold up the caller. The publisher thread drains the queue in batches, which are handed to the
+ * delegate service via {@link EventService#emitAll}. When the queue is full, the configured
+ * {@link OverflowPolicy} determines whether the caller waits, the event is dropped or the event is
+ * written to a local spill file. Spilled events are published once the queue has drained; they may
+ * therefore be delivered after events that were emitted later. Spilled events that the delegate service
+ * fails to publish are kept on disk and replayed again later.
+ */
+public class AsyncEventService implements EventService, AutoCloseable {
+
+    /** The configuration key controlling the maximum number of queued events. **/
+    public static final String EVENT_QUEUE_CAPACITY = "trellis.event.async.capacity";
+
+    /** The configuration key controlling the maximum number of events published in a single batch. **/
+    public static final String EVENT_QUEUE_BATCH_SIZE = "trellis.event.async.batchsize";
+
+    /** The configuration key controlling the behavior when the event queue is full. **/
+    public static final String EVENT_QUEUE_OVERFLOW = "trellis.event.async.overflow";
+
+    /** The configuration key controlling the directory used for spilled events. **/
+    public static final String EVENT_QUEUE_SPILL_PATH = "trellis.event.async.spill.path";
+
+    /**
+     * The behavior of the service when the event queue is full.
+     */
+    public enum OverflowPolicy {
+        /** Wait until space is available in the queue. **/
+        BLOCK,
+        /** Discard the event. **/
+        DROP,
+        /** Append the event to a local spill file. **/
+        SPILL
+    }
+
+    private static final Logger LOGGER = getLogger(AsyncEventService.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String SPILL_FILE = "events.spill";
+    private static final String REPLAY_EXT = ".replay";
+    private static final Integer DEFAULT_CAPACITY = 10000;
+    private static final Integer DEFAULT_BATCH_SIZE = 100;
+    private static final long POLL_INTERVAL = 500L;
+
+    private final EventService delegate;
+    private final BlockingQueue<Event> queue;
+    private final int batchSize;
+    private final OverflowPolicy overflow;
+    private final File directory;
+    private final ExecutorService publisher = newSingleThreadExecutor();
+    private final Object spillLock = new Object();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong replaySequence = new AtomicLong();
+    private volatile boolean running = true;
+
+    /**
+     * Create an asynchronous event service.
+     * @param delegate the event service used to publish events
+     */
+    public AsyncEventService(final EventService delegate) {
+        this(delegate, ConfigurationProvider.getConfiguration());
+    }
+
+    /**
+     * Create an asynchronous event service.
+     * @param delegate the event service used to publish events
+     * @param capacity the maximum number of queued events
+     * @param batchSize the maximum number of events published in a single batch
+     * @param overflow the behavior when the queue is full
+     * @param spillPath the directory for spilled events, required for the {@link OverflowPolicy#SPILL} policy
+     */
+    public AsyncEventService(final EventService delegate, final Integer capacity, final Integer batchSize,
+            final OverflowPolicy overflow, final String spillPath) {
+        requireNonNull(delegate, "Event delegate service may not be null!");
+        requireNonNull(overflow, "Event overflow policy may not be null!");
+        if (OverflowPolicy.SPILL.equals(overflow)) {
+            requireNonNull(spillPath, "Event spill path is undefined!");
+        }
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.overflow = overflow;
+        this.directory = nonNull(spillPath) ? new File(spillPath) : null;
+        init();
+        publisher.execute(this::publish);
+    }
+
+    private AsyncEventService(final EventService delegate, final Configuration config) {
+        this(delegate, config.getOrDefault(EVENT_QUEUE_CAPACITY, Integer.class, DEFAULT_CAPACITY),
+                config.getOrDefault(EVENT_QUEUE_BATCH_SIZE, Integer.class, DEFAULT_BATCH_SIZE),
+                OverflowPolicy.valueOf(config.getOrDefault(EVENT_QUEUE_OVERFLOW, "block").toUpperCase()),
+                config.get(EVENT_QUEUE_SPILL_PATH));
+    }
+
+    @Override
+    public void emit(final Event event) {
+        requireNonNull(event, "Cannot emit a null event!");
+        if (!queue.offer(event)) {
+            overflow(event);
+        }
+    }
+
+    /**
+     * Stop the publisher thread.
+     *
+     * <p>Any events that remain in the queue are published to the delegate service before this method returns.
+     *
+     * @throws InterruptedException if interrupted while waiting for the publisher thread to finish
+     */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        publisher.shutdown();
+        if (!publisher.awaitTermination(POLL_INTERVAL * 4, MILLISECONDS)) {
+            publisher.shutdownNow();
+        }
+        final List<Event> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        while (!remaining.isEmpty()) {
+            final int size = Math.min(batchSize, remaining.size());
+            send(new ArrayList<>(remaining.subList(0, size)));
+            remaining.subList(0, size).clear();
+        }
+    }
+
+    /**
+     * Get the number of events waiting to be published.
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Get the number of events handed to the delegate service.
+     * @return the number of published events
+     */
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    /**
+     * Get the number of events discarded because the queue was full.
+     * @return the number of dropped events
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Get the number of events written to the spill file because the queue was full.
+     * @return the number of spilled events
+     */
+    public long getSpilledCount() {
+        return spilled.get();
+    }
+
+    /**
+     * Get the number of batches that the delegate service failed to publish.
+     *
+     * @implNote A failed batch from the queue is not retried; a failed batch of spilled events is
+     *           kept in the spill directory and retried.
+     * @return the number of failed batches
+     */
+    public long getFailureCount() {
+        return failures.get();
+    }
+
+    private void init() {
+        if (nonNull(directory)) {
+            if (!directory.exists()) {
+                directory.mkdirs();
+            }
+            final File[] files = directory.listFiles((dir, name) -> name.endsWith(REPLAY_EXT));
+            if (nonNull(files)) {
+                for (final File file : files) {
+                    replaySequence.accumulateAndGet(getSequence(file), Math::max);
+                }
+            }
+        }
+    }
+
+    private void overflow(final Event event) {
+        switch (overflow) {
+            case DROP:
+                LOGGER.debug("Event queue is full, dropping event {}", event.getIdentifier());
+                dropped.incrementAndGet();
+                break;
+            case SPILL:
+                spill(event);
+                break;
+            default:
+                try {
+                    queue.put(event);
+                } catch (final InterruptedException ex) {
+                    LOGGER.warn("Interrupted while waiting to queue event {}", event.getIdentifier());
+                    dropped.incrementAndGet();
+                    Thread.currentThread().interrupt();
+                }
+        }
+    }
+
+    private void spill(final Event event) {
+        synchronized (spillLock) {
+            try (final BufferedWriter writer = newBufferedWriter(new File(directory, SPILL_FILE).toPath(), UTF_8,
+                        CREATE, WRITE, APPEND)) {
+                writer.write(MAPPER.writeValueAsString(StoredEvent.from(event)));
+                writer.newLine();
+                spilled.incrementAndGet();
+            } catch (final IOException ex) {
+                LOGGER.error("Error spilling event {}: {}", event.getIdentifier(), ex.getMessage());
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    private void publish() {
+        final List<Event> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                final Event first = queue.poll(POLL_INTERVAL, MILLISECONDS);
+                if (nonNull(first)) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    send(batch);
+                    batch.clear();
+                }
+                if (queue.isEmpty()) {
+                    replay();
+                }
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private boolean send(final List<Event> batch) {
+        LOGGER.trace("Publishing batch of {} events", batch.size());
+        try {
+            delegate.emitAll(batch);
+            published.addAndGet(batch.size());
+            return true;
+        } catch (final RuntimeException ex) {
+            LOGGER.error("Error publishing batch of {} events: {}", batch.size(), ex.getMessage());
+            failures.incrementAndGet();
+            return false;
+        }
+    }
+
+    private void replay() {
+        if (isNull(directory)) {
+            return;
+        }
+        synchronized (spillLock) {
+            final File spillFile = new File(directory, SPILL_FILE);
+            if (spillFile.exists()) {
+                try {
+                    move(spillFile.toPath(), new File(directory, replaySequence.incrementAndGet() + REPLAY_EXT)
+                            .toPath(), ATOMIC_MOVE);
+                } catch (final IOException ex) {
+                    LOGGER.error("Error preparing spilled events for replay: {}", ex.getMessage());
+                }
+            }
+        }
+        final File[] files = directory.listFiles((dir, name) -> name.endsWith(REPLAY_EXT));
+        if (nonNull(files)) {
+            sort(files, comparingLong(AsyncEventService::getSequence));
+            for (final File file : files) {
+                // Stop at the first failure, so that spilled events are replayed in order
+                if (!replay(file)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean replay(final File file) {
+        final List<Event> batch = new ArrayList<>(batchSize);
+        final List<String> lines = new ArrayList<>(batchSize);
+        try (final BufferedReader reader = newBufferedReader(file.toPath(), UTF_8)) {
+            String line = reader.readLine();
+            while (nonNull(line)) {
+                try {
+                    batch.add(MAPPER.readValue(line, StoredEvent.class));
+                    lines.add(line);
+                } catch (final JsonProcessingException ex) {
+                    LOGGER.warn("Skipping unreadable spilled event in {}: {}", file, ex.getMessage());
+                }
+                if (batch.size() >= batchSize) {
+                    if (!send(batch)) {
+                        return retain(file, lines, reader);
+                    }
+                    batch.clear();
+                    lines.clear();
+                }
+                line = reader.readLine();
+            }
+            if (!batch.isEmpty() && !send(batch)) {
+                return retain(file, lines, reader);
+            }
+        } catch (final IOException ex) {
+            LOGGER.error("Error replaying spilled events from {}: {}", file, ex.getMessage());
+            return false;
+        }
+        try {
+            deleteIfExists(file.toPath());
+        } catch (final IOException ex) {
+            LOGGER.warn("Could not remove spill file {}: {}", file, ex.getMessage());
+        }
+        return true;
+    }
+
+    private boolean retain(final File file, final List<String> unsent, final BufferedReader reader)
+            throws IOException {
+        // Rewrite the replay file with only the events that have not yet been published
+        final File tmp = new File(directory, file.getName() + ".tmp");
+        try (final BufferedWriter writer = newBufferedWriter(tmp.toPath(), UTF_8, CREATE, WRITE,
+                    TRUNCATE_EXISTING)) {
+            for (final String line : unsent) {
+                writer.write(line);
+                writer.newLine();
+            }
+            String line = reader.readLine();
+            while (nonNull(line)) {
+                writer.write(line);
+                writer.newLine();
+                line = reader.readLine();
+            }
+        }
+        move(tmp.toPath(), file.toPath(), ATOMIC_MOVE);
+        LOGGER.warn("Keeping spilled events in {} for a later attempt", file);
+        return false;
+    }
+
+    private static long getSequence(final File file) {
+        try {
+            return Long.parseLong(file.getName().substring(0, file.getName().length() - REPLAY_EXT.length()));
+        } catch (final NumberFormatException ex) {
+            return 0L;
+        }
+    }
+}
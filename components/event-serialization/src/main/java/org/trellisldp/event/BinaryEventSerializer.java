@@ -0,0 +1,236 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.event;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.apache.commons.rdf.api.IRI;
+import org.slf4j.Logger;
+import org.trellisldp.api.ActivityStreamService;
+import org.trellisldp.api.Event;
+import org.trellisldp.vocabulary.AS;
+import org.trellisldp.vocabulary.LDP;
+import org.trellisldp.vocabulary.PROV;
+import org.trellisldp.vocabulary.Trellis;
+
+/**
+ * An {@link ActivityStreamService} that serializes an {@link Event} into a compact binary form.
+ *
+ * <p>Each message begins with a header: the bytes {@code TEV}, a format version and a flag byte recording
+ * which optional fields are present. The version identifies the field layout and the table of well-known
+ * IRIs used by the message, so a message can be decoded without an external schema registry. The fields
+ * follow in a fixed order: the event identifier, agents, target, event types, target types, creation
+ * time and inbox. Numbers are written as variable-length integers; an IRI is written either as an index
+ * into the table of well-known IRIs, as a 16-byte {@code urn:uuid:} value or as a length-prefixed
+ * UTF-8 string.
+ *
+ * <p>The {@link #serialize} method returns the Base64 encoding of the binary form, which is available
+ * directly via {@link #serializeBytes}.
+ */
+public class BinaryEventSerializer implements ActivityStreamService {
+
+    /** The media type of the binary serialization. **/
+    public static final String MEDIA_TYPE = "application/vnd.trellisldp.event";
+
+    private static final Logger LOGGER = getLogger(BinaryEventSerializer.class);
+    private static final byte[] MAGIC = {'T', 'E', 'V'};
+    private static final byte VERSION = 1;
+    private static final int HAS_TARGET = 1;
+    private static final int HAS_INBOX = 2;
+    private static final String UUID_PREFIX = "urn:uuid:";
+    private static final int TAG_STRING = 0;
+    private static final int TAG_UUID = 1;
+    private static final int TAG_TERM = 2;
+
+    // The well-known IRIs of version 1; entries may only be appended in a new version
+    private static final List<IRI> TERMS = unmodifiableList(asList(AS.Create, AS.Update, AS.Delete, PROV.Activity,
+                LDP.Resource, LDP.RDFSource, LDP.NonRDFSource, LDP.Container, LDP.BasicContainer,
+                LDP.DirectContainer, LDP.IndirectContainer, Trellis.AnonymousAgent, Trellis.AdministratorAgent));
+
+    @Override
+    public Optional<String> serialize(final Event event) {
+        return serializeBytes(event).map(Base64.getEncoder()::encodeToString);
+    }
+
+    @Override
+    public Optional<byte[]> serializeBytes(final Event event) {
+        try {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+            out.write(MAGIC, 0, MAGIC.length);
+            out.write(VERSION);
+            out.write((event.getTarget().isPresent() ? HAS_TARGET : 0)
+                    | (event.getInbox().isPresent() ? HAS_INBOX : 0));
+            writeIRI(out, event.getIdentifier());
+            writeIRIs(out, event.getAgents());
+            event.getTarget().ifPresent(target -> writeIRI(out, target));
+            writeIRIs(out, event.getTypes());
+            writeIRIs(out, event.getTargetTypes());
+            writeVarLong(out, event.getCreated().getEpochSecond());
+            writeVarLong(out, event.getCreated().getNano());
+            event.getInbox().ifPresent(inbox -> writeIRI(out, inbox));
+            return of(out.toByteArray());
+        } catch (final RuntimeException ex) {
+            LOGGER.debug("Could not serialize event: {}", ex.getMessage());
+            return empty();
+        }
+    }
+
+    @Override
+    public String getMediaType() {
+        return MEDIA_TYPE;
+    }
+
+    /**
+     * Read an event from its binary serialization.
+     *
+     * @param message the serialized event
+     * @return the event, if the message could be read
+     */
+    public Optional<Event> deserialize(final byte[] message) {
+        try {
+            final ByteBuffer buffer = ByteBuffer.wrap(message);
+            for (final byte b : MAGIC) {
+                if (buffer.get() != b) {
+                    LOGGER.debug("Not a serialized event");
+                    return empty();
+                }
+            }
+            final byte version = buffer.get();
+            if (version != VERSION) {
+                LOGGER.debug("Unsupported event serialization version: {}", version);
+                return empty();
+            }
+            final int flags = buffer.get();
+            final String identifier = readIRI(buffer);
+            final List<String> agents = readIRIs(buffer);
+            final String target = (flags & HAS_TARGET) != 0 ? readIRI(buffer) : null;
+            final List<String> types = readIRIs(buffer);
+            final List<String> targetTypes = readIRIs(buffer);
+            final Instant created = Instant.ofEpochSecond(readVarLong(buffer), readVarLong(buffer));
+            final String inbox = (flags & HAS_INBOX) != 0 ? readIRI(buffer) : null;
+            return of(StoredEvent.of(identifier, agents, target, types, targetTypes, created, inbox));
+        } catch (final BufferUnderflowException | IllegalArgumentException ex) {
+            LOGGER.debug("Could not read serialized event: {}", ex.getMessage());
+            return empty();
+        }
+    }
+
+    private static void writeIRIs(final ByteArrayOutputStream out, final Collection<IRI> iris) {
+        writeVarLong(out, iris.size());
+        iris.forEach(iri -> writeIRI(out, iri));
+    }
+
+    private static void writeIRI(final ByteArrayOutputStream out, final IRI iri) {
+        final int term = TERMS.indexOf(iri);
+        if (term >= 0) {
+            writeVarLong(out, TAG_TERM + term);
+            return;
+        }
+        final String value = iri.getIRIString();
+        final UUID uuid = getUUID(value);
+        if (uuid != null) {
+            writeVarLong(out, TAG_UUID);
+            final ByteBuffer bytes = ByteBuffer.allocate(16);
+            bytes.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+            out.write(bytes.array(), 0, 16);
+            return;
+        }
+        final byte[] bytes = value.getBytes(UTF_8);
+        writeVarLong(out, TAG_STRING);
+        writeVarLong(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static List<String> readIRIs(final ByteBuffer buffer) {
+        final long size = readVarLong(buffer);
+        if (size > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid IRI count: " + size);
+        }
+        final List<String> iris = new ArrayList<>((int) size);
+        for (long i = 0; i < size; ++i) {
+            iris.add(readIRI(buffer));
+        }
+        return iris;
+    }
+
+    private static String readIRI(final ByteBuffer buffer) {
+        final long tag = readVarLong(buffer);
+        if (tag == TAG_STRING) {
+            final long length = readVarLong(buffer);
+            if (length > buffer.remaining()) {
+                throw new IllegalArgumentException("Invalid IRI length: " + length);
+            }
+            final byte[] bytes = new byte[(int) length];
+            buffer.get(bytes);
+            return new String(bytes, UTF_8);
+        } else if (tag == TAG_UUID) {
+            return UUID_PREFIX + new UUID(buffer.getLong(), buffer.getLong());
+        } else if (tag >= TAG_TERM && tag - TAG_TERM < TERMS.size()) {
+            return TERMS.get((int) (tag - TAG_TERM)).getIRIString();
+        }
+        throw new IllegalArgumentException("Unknown IRI tag: " + tag);
+    }
+
+    private static UUID getUUID(final String value) {
+        if (value.startsWith(UUID_PREFIX)) {
+            try {
+                final UUID uuid = UUID.fromString(value.substring(UUID_PREFIX.length()));
+                // Only canonical forms are compacted, so that the original IRI can be restored exactly
+                if (value.equals(UUID_PREFIX + uuid)) {
+                    return uuid;
+                }
+            } catch (final IllegalArgumentException ex) {
+                LOGGER.trace("Not a UUID: {}", value);
+            }
+        }
+        return null;
+    }
+
+    private static void writeVarLong(final ByteArrayOutputStream out, final long value) {
+        long v = value;
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    private static long readVarLong(final ByteBuffer buffer) {
+        long value = 0L;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable-length integer");
+    }
+}
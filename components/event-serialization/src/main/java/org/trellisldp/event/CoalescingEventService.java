@@ -0,0 +1,240 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.event;
+
+import static java.lang.System.nanoTime;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.tamaya.ConfigurationProvider;
+import org.slf4j.Logger;
+import org.trellisldp.api.Event;
+import org.trellisldp.api.EventService;
+import org.trellisldp.vocabulary.AS;
+import org.trellisldp.vocabulary.PROV;
+
+/**
+ * An {@link EventService} decorator that merges repeated update events for the same resource.
+ *
+ * <p>An {@code as:Update} event is held for the configured interval, measured from the first update of its
+ * target resource. Any further updates of that resource within the interval replace the pending event, so
+ * only the most recent update is published. Other events are published immediately; if an update to the
+ * same resource is pending, it is published first so that the order of events for a resource is preserved.
+ *
+ * <p>Events are published to the delegate service outside of the lock that guards the pending updates, so a
+ * slow delegate does not hold up callers that emit updates. Events for the same resource are published in
+ * order. If the delegate fails to publish a batch of updates, each event in the batch is retried on its own.
+ *
+ * <p>Pending updates are held in memory and are published when this service is closed.
+ */
+public class CoalescingEventService implements EventService, AutoCloseable {
+
+    /** The configuration key controlling the interval, in milliseconds, over which update events are merged. **/
+    public static final String EVENT_COALESCE_WINDOW = "trellis.event.coalesce.window";
+
+    private static final Logger LOGGER = getLogger(CoalescingEventService.class);
+    private static final Long DEFAULT_WINDOW = 1000L;
+    private static final long MIN_TICK = 10L;
+    private static final int LOCK_STRIPES = 64;
+
+    private final EventService delegate;
+    private final long window;
+    private final ScheduledExecutorService scheduler = newSingleThreadScheduledExecutor();
+    private final Map<String, Pending> pending = new LinkedHashMap<>();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    /**
+     * Create a coalescing event service.
+     * @param delegate the event service used to publish events
+     */
+    public CoalescingEventService(final EventService delegate) {
+        this(delegate, ConfigurationProvider.getConfiguration()
+                .getOrDefault(EVENT_COALESCE_WINDOW, Long.class, DEFAULT_WINDOW));
+    }
+
+    /**
+     * Create a coalescing event service.
+     * @param delegate the event service used to publish events
+     * @param window the interval, in milliseconds, over which update events for a resource are merged
+     */
+    public CoalescingEventService(final EventService delegate, final Long window) {
+        requireNonNull(delegate, "Event delegate service may not be null!");
+        requireNonNull(window, "Event coalescing window may not be null!");
+        this.delegate = delegate;
+        this.window = MILLISECONDS.toNanos(window);
+        for (int i = 0; i < locks.length; ++i) {
+            locks[i] = new Object();
+        }
+        final long tick = Math.max(window / 4, MIN_TICK);
+        scheduler.scheduleWithFixedDelay(this::flushExpired, tick, tick, MILLISECONDS);
+    }
+
+    @Override
+    public void emit(final Event event) {
+        requireNonNull(event, "Cannot emit a null event!");
+        final String target = event.getTarget().map(IRI::getIRIString).orElse(null);
+        if (isNull(target)) {
+            delegate.emit(event);
+            return;
+        }
+
+        if (isUpdate(event)) {
+            synchronized (pending) {
+                final Pending entry = pending.get(target);
+                if (nonNull(entry)) {
+                    entry.event = event;
+                    coalesced.incrementAndGet();
+                } else {
+                    pending.put(target, new Pending(event));
+                }
+            }
+        } else {
+            // Publish while holding the lock for this resource so that a concurrent flush cannot reorder events
+            synchronized (getLock(target)) {
+                final Pending entry;
+                synchronized (pending) {
+                    entry = pending.remove(target);
+                }
+                if (nonNull(entry)) {
+                    delegate.emit(entry.event);
+                }
+                delegate.emit(event);
+            }
+        }
+    }
+
+    /**
+     * Stop the coalescing timer and publish any pending update events.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        flush(true);
+    }
+
+    /**
+     * Get the number of update events waiting to be published.
+     * @return the number of pending events
+     */
+    public int getPendingCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * Get the number of update events that were merged with a later update.
+     * @return the number of coalesced events
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /**
+     * Get the number of pending update events that the delegate service failed to publish.
+     * @return the number of failed events
+     */
+    public long getFailureCount() {
+        return failures.get();
+    }
+
+    private void flushExpired() {
+        try {
+            flush(false);
+        } catch (final RuntimeException ex) {
+            LOGGER.error("Error publishing coalesced events: {}", ex.getMessage());
+        }
+    }
+
+    private void flush(final boolean all) {
+        final long threshold = nanoTime() - window;
+        final Map<Object, List<String>> targets = new LinkedHashMap<>();
+        synchronized (pending) {
+            for (final Map.Entry<String, Pending> entry : pending.entrySet()) {
+                if (!all && entry.getValue().created - threshold > 0) {
+                    break;
+                }
+                targets.computeIfAbsent(getLock(entry.getKey()), k -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+
+        // Publish each group while holding its lock, but not the lock on the pending updates
+        for (final Map.Entry<Object, List<String>> group : targets.entrySet()) {
+            synchronized (group.getKey()) {
+                final List<Event> events = new ArrayList<>();
+                synchronized (pending) {
+                    for (final String target : group.getValue()) {
+                        final Pending entry = pending.get(target);
+                        if (nonNull(entry) && (all || entry.created - threshold <= 0)) {
+                            pending.remove(target);
+                            events.add(entry.event);
+                        }
+                    }
+                }
+                if (!events.isEmpty()) {
+                    publish(events);
+                }
+            }
+        }
+    }
+
+    private void publish(final List<Event> events) {
+        try {
+            delegate.emitAll(events);
+        } catch (final RuntimeException ex) {
+            LOGGER.warn("Error publishing batch of {} coalesced events, publishing individually: {}", events.size(),
+                    ex.getMessage());
+            for (final Event event : events) {
+                try {
+                    delegate.emit(event);
+                } catch (final RuntimeException err) {
+                    LOGGER.error("Error publishing coalesced event {}: {}", event.getIdentifier(), err.getMessage());
+                    failures.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private Object getLock(final String target) {
+        return locks[Math.floorMod(target.hashCode(), locks.length)];
+    }
+
+    private static boolean isUpdate(final Event event) {
+        return event.getTypes().contains(AS.Update) && event.getTypes().stream()
+            .allMatch(type -> AS.Update.equals(type) || PROV.Activity.equals(type));
+    }
+
+    private static final class Pending {
+        private final long created = nanoTime();
+        private Event event;
+
+        private Pending(final Event event) {
+            this.event = event;
+        }
+    }
+}
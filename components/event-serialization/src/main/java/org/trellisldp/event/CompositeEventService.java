@@ -0,0 +1,74 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.event;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.trellisldp.api.Event;
+import org.trellisldp.api.EventService;
+
+/**
+ * An {@link EventService} that publishes each event to several sinks.
+ *
+ * <p>Each sink receives every event; a sink that should only receive some events can be wrapped in a
+ * {@link FilteredEventService}. The sinks are called in turn, so a slow sink delays the others unless it
+ * has its own queue, such as an {@link AsyncEventService} or an {@link OutboxEventService}. An error in
+ * one sink is logged and does not prevent delivery to the remaining sinks.
+ */
+public class CompositeEventService implements EventService {
+
+    private static final Logger LOGGER = getLogger(CompositeEventService.class);
+
+    private final List<EventService> sinks;
+
+    /**
+     * Create a composite event service.
+     * @param sinks the event services to which events are published
+     */
+    public CompositeEventService(final List<EventService> sinks) {
+        requireNonNull(sinks, "Event sinks may not be null!");
+        this.sinks = unmodifiableList(new ArrayList<>(sinks));
+    }
+
+    @Override
+    public void emit(final Event event) {
+        requireNonNull(event, "Cannot emit a null event!");
+        for (final EventService sink : sinks) {
+            try {
+                sink.emit(event);
+            } catch (final RuntimeException ex) {
+                LOGGER.error("Error publishing event {} to {}: {}", event.getIdentifier(), sink, ex.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void emitAll(final Collection<? extends Event> events) {
+        requireNonNull(events, "Cannot emit a null batch of events!");
+        for (final EventService sink : sinks) {
+            try {
+                sink.emitAll(events);
+            } catch (final RuntimeException ex) {
+                LOGGER.error("Error publishing batch of {} events to {}: {}", events.size(), sink, ex.getMessage());
+            }
+        }
+    }
+}
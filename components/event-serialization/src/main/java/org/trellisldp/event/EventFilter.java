@@ -0,0 +1,91 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.event;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableSet;
+import static java.util.Objects.requireNonNull;
+import static java.util.Optional.empty;
+import static java.util.Optional.ofNullable;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.apache.commons.rdf.api.IRI;
+import org.slf4j.Logger;
+import org.trellisldp.api.Event;
+
+/**
+ * A filter that selects events by activity type, by the type of the target resource or by the location of
+ * the target resource.
+ *
+ * <p>Each criterion that is not empty must match: an event must have at least one of the activity types,
+ * its target must have at least one of the resource types, and its target must start with one of the
+ * prefixes. A prefix that begins with {@code /} is compared with the path of the target; any other prefix
+ * is compared with the complete target IRI.
+ */
+public class EventFilter implements Predicate<Event> {
+
+    private static final Logger LOGGER = getLogger(EventFilter.class);
+
+    private final Set<IRI> activityTypes;
+    private final Set<IRI> targetTypes;
+    private final List<String> prefixes;
+
+    /**
+     * Create an event filter.
+     * @param activityTypes the activity types to accept, or an empty collection to accept any type
+     * @param targetTypes the target resource types to accept, or an empty collection to accept any type
+     * @param prefixes the target locations to accept, or an empty collection to accept any location
+     */
+    public EventFilter(final Collection<IRI> activityTypes, final Collection<IRI> targetTypes,
+            final Collection<String> prefixes) {
+        requireNonNull(activityTypes, "Activity types may not be null!");
+        requireNonNull(targetTypes, "Target types may not be null!");
+        requireNonNull(prefixes, "Path prefixes may not be null!");
+        this.activityTypes = unmodifiableSet(new HashSet<>(activityTypes));
+        this.targetTypes = unmodifiableSet(new HashSet<>(targetTypes));
+        this.prefixes = unmodifiableList(new ArrayList<>(prefixes));
+    }
+
+    @Override
+    public boolean test(final Event event) {
+        return (activityTypes.isEmpty() || event.getTypes().stream().anyMatch(activityTypes::contains))
+            && (targetTypes.isEmpty() || event.getTargetTypes().stream().anyMatch(targetTypes::contains))
+            && (prefixes.isEmpty() || event.getTarget().map(IRI::getIRIString).filter(this::matches).isPresent());
+    }
+
+    private boolean matches(final String target) {
+        final Optional<String> path = getPath(target);
+        return prefixes.stream().anyMatch(prefix -> prefix.startsWith("/")
+                ? path.filter(p -> p.startsWith(prefix)).isPresent()
+                : target.startsWith(prefix));
+    }
+
+    private static Optional<String> getPath(final String target) {
+        try {
+            return ofNullable(URI.create(target).getPath());
+        } catch (final IllegalArgumentException ex) {
+            LOGGER.debug("Could not parse target IRI {}: {}", target, ex.getMessage());
+            return empty();
+        }
+    }
+}
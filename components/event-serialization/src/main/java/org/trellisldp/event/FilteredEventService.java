@@ -0,0 +1,62 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.event;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.trellisldp.api.Event;
+import org.trellisldp.api.EventService;
+
+/**
+ * An {@link EventService} decorator that only publishes the events accepted by a filter.
+ */
+public class FilteredEventService implements EventService {
+
+    private final EventService delegate;
+    private final Predicate<Event> filter;
+
+    /**
+     * Create a filtered event service.
+     * @param delegate the event service used to publish events
+     * @param filter the filter, such as an {@link EventFilter}
+     */
+    public FilteredEventService(final EventService delegate, final Predicate<Event> filter) {
+        requireNonNull(delegate, "Event delegate service may not be null!");
+        requireNonNull(filter, "Event filter may not be null!");
+        this.delegate = delegate;
+        this.filter = filter;
+    }
+
+    @Override
+    public void emit(final Event event) {
+        requireNonNull(event, "Cannot emit a null event!");
+        if (filter.test(event)) {
+            delegate.emit(event);
+        }
+    }
+
+    @Override
+    public void emitAll(final Collection<? extends Event> events) {
+        requireNonNull(events, "Cannot emit a null batch of events!");
+        final List<Event> accepted = events.stream().filter(filter).collect(toList());
+        if (!accepted.isEmpty()) {
+            delegate.emitAll(accepted);
+        }
+    }
+}
@@ -0,0 +1,462 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.event;
+
+import static java.nio.ByteBuffer.wrap;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.readAllLines;
+import static java.nio.file.Files.write;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Collections.singletonList;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.ConfigurationProvider;
+import org.slf4j.Logger;
+import org.trellisldp.api.Event;
+import org.trellisldp.api.EventService;
+
+/**
+ * An {@link EventService} decorator that records events in a local, append-only outbox before they are
+ * published to an underlying event service.
+ *
+ * <p>A call to {@link #emit} completes once the event has been appended to the outbox. A background relay
+ * reads the outbox in order and hands the events, in batches, to the delegate service via
+ * {@link EventService#emitAll}. If the delegate reports an error, the same batch is retried, with an
+ * increasing delay, until it succeeds. The position of the relay is recorded only after a batch has been
+ * published, so events are delivered at least once: an event may be published again if the process stops
+ * between publishing a batch and recording the new position.
+ *
+ * <p>The outbox is split into numbered segment files. A new segment is started when the current one reaches
+ * the configured size or when this service is created, and a segment is removed once all of its events
+ * have been published.
+ */
+public class OutboxEventService implements EventService, AutoCloseable {
+
+    /** The configuration key controlling the filesystem path of the event outbox. **/
+    public static final String OUTBOX_PATH = "trellis.event.outbox.path";
+
+    /** The configuration key controlling the maximum number of events published in a single batch. **/
+    public static final String OUTBOX_BATCH_SIZE = "trellis.event.outbox.batchsize";
+
+    /** The configuration key controlling the size, in bytes, at which a new outbox segment is started. **/
+    public static final String OUTBOX_SEGMENT_SIZE = "trellis.event.outbox.segmentsize";
+
+    /** The configuration key controlling whether each event is synced to disk before emit returns. **/
+    public static final String OUTBOX_SYNC = "trellis.event.outbox.sync";
+
+    /** The configuration key controlling the initial delay, in milliseconds, before a failed batch is retried. **/
+    public static final String OUTBOX_RETRY_DELAY = "trellis.event.outbox.retrydelay";
+
+    private static final Logger LOGGER = getLogger(OutboxEventService.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String SEGMENT_EXT = ".outbox";
+    private static final String OFFSET_FILE = "outbox.offset";
+    private static final Integer DEFAULT_BATCH_SIZE = 100;
+    private static final Long DEFAULT_SEGMENT_SIZE = 16L * 1024 * 1024;
+    private static final Long DEFAULT_RETRY_DELAY = 1000L;
+    private static final long MAX_RETRY_DELAY = 60000L;
+    private static final long POLL_INTERVAL = 500L;
+
+    private final EventService delegate;
+    private final File directory;
+    private final int batchSize;
+    private final long segmentSize;
+    private final boolean sync;
+    private final long retryDelay;
+    private final ExecutorService relay = newSingleThreadExecutor();
+    private final Semaphore signal = new Semaphore(0);
+    private final Object writeLock = new Object();
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong relayed = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong writeThrough = new AtomicLong();
+    private volatile long writeSegment;
+    private FileChannel writer;
+    private long writePosition;
+    private long readSegment;
+    private long readPosition;
+    private volatile boolean running = true;
+
+    /**
+     * Create an outbox event service.
+     * @param delegate the event service used to publish events
+     */
+    public OutboxEventService(final EventService delegate) {
+        this(delegate, ConfigurationProvider.getConfiguration());
+    }
+
+    /**
+     * Create an outbox event service.
+     * @param delegate the event service used to publish events
+     * @param path the outbox directory
+     */
+    public OutboxEventService(final EventService delegate, final String path) {
+        this(delegate, path, DEFAULT_BATCH_SIZE, DEFAULT_SEGMENT_SIZE, true, DEFAULT_RETRY_DELAY);
+    }
+
+    /**
+     * Create an outbox event service.
+     * @param delegate the event service used to publish events
+     * @param path the outbox directory
+     * @param batchSize the maximum number of events published in a single batch
+     * @param segmentSize the size, in bytes, at which a new outbox segment is started
+     * @param sync whether each event is synced to disk before {@link #emit} returns
+     * @param retryDelay the initial delay, in milliseconds, before a failed batch is retried
+     */
+    public OutboxEventService(final EventService delegate, final String path, final Integer batchSize,
+            final Long segmentSize, final Boolean sync, final Long retryDelay) {
+        requireNonNull(delegate, "Event delegate service may not be null!");
+        requireNonNull(path, "Event outbox path is undefined!");
+        this.delegate = delegate;
+        this.directory = new File(path);
+        this.batchSize = batchSize;
+        this.segmentSize = segmentSize;
+        this.sync = sync;
+        this.retryDelay = retryDelay;
+        init();
+        relay.execute(this::relay);
+    }
+
+    private OutboxEventService(final EventService delegate, final Configuration config) {
+        this(delegate, config.get(OUTBOX_PATH),
+                config.getOrDefault(OUTBOX_BATCH_SIZE, Integer.class, DEFAULT_BATCH_SIZE),
+                config.getOrDefault(OUTBOX_SEGMENT_SIZE, Long.class, DEFAULT_SEGMENT_SIZE),
+                config.getOrDefault(OUTBOX_SYNC, Boolean.class, true),
+                config.getOrDefault(OUTBOX_RETRY_DELAY, Long.class, DEFAULT_RETRY_DELAY));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If the event cannot be written to the outbox, it is published directly to the delegate service.
+     */
+    @Override
+    public void emit(final Event event) {
+        requireNonNull(event, "Cannot emit a null event!");
+        try {
+            append((MAPPER.writeValueAsString(StoredEvent.from(event)) + "\n").getBytes(UTF_8));
+            backlog.incrementAndGet();
+            signal.release();
+        } catch (final IOException ex) {
+            LOGGER.error("Error writing event {} to outbox, publishing directly: {}", event.getIdentifier(),
+                    ex.getMessage());
+            writeThrough.incrementAndGet();
+            delegate.emit(event);
+        }
+    }
+
+    /**
+     * Stop the relay and close the outbox.
+     *
+     * <p>Events that have not yet been published remain in the outbox and are published when a new
+     * service is created with the same outbox directory.
+     *
+     * @throws InterruptedException if interrupted while waiting for the relay to finish
+     */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        signal.release();
+        relay.shutdown();
+        if (!relay.awaitTermination(POLL_INTERVAL * 4, MILLISECONDS)) {
+            relay.shutdownNow();
+        }
+        synchronized (writeLock) {
+            try {
+                writer.close();
+            } catch (final IOException ex) {
+                LOGGER.warn("Error closing event outbox: {}", ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Get the number of events in the outbox that have not yet been published.
+     * @return the number of pending events
+     */
+    public long getBacklog() {
+        return backlog.get();
+    }
+
+    /**
+     * Get the number of events published to the delegate service.
+     * @return the number of published events
+     */
+    public long getRelayedCount() {
+        return relayed.get();
+    }
+
+    /**
+     * Get the number of failed publication attempts.
+     *
+     * @implNote A failed batch remains in the outbox and is retried.
+     * @return the number of failed attempts
+     */
+    public long getFailureCount() {
+        return failures.get();
+    }
+
+    /**
+     * Get the number of events published directly because they could not be written to the outbox.
+     * @return the number of direct publications
+     */
+    public long getWriteThroughCount() {
+        return writeThrough.get();
+    }
+
+    private void init() {
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+        final TreeSet<Long> segments = getSegments();
+        readSegment = segments.isEmpty() ? 1L : segments.first();
+        readPosition = 0L;
+        final File offset = new File(directory, OFFSET_FILE);
+        if (offset.exists()) {
+            try {
+                final String[] parts = readAllLines(offset.toPath(), UTF_8).get(0).split(" ");
+                final long segment = Long.parseLong(parts[0]);
+                if (segments.contains(segment)) {
+                    readSegment = segment;
+                    readPosition = Long.parseLong(parts[1]);
+                } else if (nonNull(segments.ceiling(segment))) {
+                    readSegment = segments.ceiling(segment);
+                }
+            } catch (final IOException | RuntimeException ex) {
+                LOGGER.warn("Ignoring unreadable event outbox offset {}: {}", offset, ex.getMessage());
+            }
+        }
+        for (final Long segment : segments.tailSet(readSegment)) {
+            backlog.addAndGet(countEvents(segment, segment == readSegment ? readPosition : 0L));
+        }
+        if (backlog.get() > 0) {
+            LOGGER.info("Replaying {} events from outbox at {}", backlog.get(), directory);
+        }
+
+        // Always start a new segment: the last segment may end with an incomplete record
+        writeSegment = segments.isEmpty() ? readSegment : segments.last() + 1;
+        try {
+            writer = openSegment(writeSegment);
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("Error opening event outbox at " + directory, ex);
+        }
+    }
+
+    private void append(final byte[] record) throws IOException {
+        synchronized (writeLock) {
+            if (writePosition > 0 && writePosition + record.length > segmentSize) {
+                writer.close();
+                writer = openSegment(writeSegment + 1);
+                writeSegment += 1;
+            }
+            final ByteBuffer buffer = wrap(record);
+            while (buffer.hasRemaining()) {
+                writePosition += writer.write(buffer);
+            }
+            if (sync) {
+                writer.force(false);
+            }
+        }
+    }
+
+    private FileChannel openSegment(final long segment) throws IOException {
+        final FileChannel channel = FileChannel.open(getSegmentFile(segment).toPath(), CREATE, WRITE, APPEND);
+        writePosition = channel.size();
+        return channel;
+    }
+
+    private void relay() {
+        long delay = retryDelay;
+        while (running) {
+            try {
+                // A segment is sealed once the writer has moved on; it will not grow after that
+                final boolean sealed = readSegment < writeSegment;
+                final List<Event> batch = new ArrayList<>(batchSize);
+                final AtomicLong skipped = new AtomicLong();
+                final long position = read(batch, skipped);
+                if (!batch.isEmpty()) {
+                    if (publish(batch)) {
+                        delay = retryDelay;
+                        readPosition = position;
+                        backlog.addAndGet(-batch.size() - skipped.get());
+                        relayed.addAndGet(batch.size());
+                        commit();
+                    } else {
+                        MILLISECONDS.sleep(delay);
+                        delay = Math.min(delay * 2, MAX_RETRY_DELAY);
+                    }
+                } else if (position > readPosition) {
+                    readPosition = position;
+                    backlog.addAndGet(-skipped.get());
+                    commit();
+                } else if (sealed) {
+                    nextSegment();
+                } else {
+                    signal.tryAcquire(POLL_INTERVAL, MILLISECONDS);
+                    signal.drainPermits();
+                }
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private boolean publish(final List<Event> batch) {
+        LOGGER.trace("Publishing batch of {} events from outbox", batch.size());
+        try {
+            delegate.emitAll(batch);
+            return true;
+        } catch (final RuntimeException ex) {
+            LOGGER.warn("Error publishing batch of {} events, will retry: {}", batch.size(), ex.getMessage());
+            failures.incrementAndGet();
+            return false;
+        }
+    }
+
+    /*
+     * Read up to a batch of complete records from the current segment, returning the position after the
+     * last record that was read. Unreadable records are skipped and counted, so that the backlog can be
+     * adjusted once the read position moves past them.
+     */
+    private long read(final List<Event> batch, final AtomicLong skipped) {
+        final File file = getSegmentFile(readSegment);
+        long position = readPosition;
+        if (!file.exists() || file.length() <= position) {
+            return position;
+        }
+        try (final FileInputStream input = new FileInputStream(file)) {
+            input.getChannel().position(position);
+            final InputStream in = new BufferedInputStream(input);
+            final ByteArrayOutputStream record = new ByteArrayOutputStream();
+            int b = in.read();
+            while (b != -1 && batch.size() < batchSize) {
+                if (b == '\n') {
+                    position += record.size() + 1;
+                    try {
+                        batch.add(MAPPER.readValue(record.toByteArray(), StoredEvent.class));
+                    } catch (final JsonProcessingException ex) {
+                        LOGGER.warn("Skipping unreadable event in outbox segment {}: {}", file, ex.getMessage());
+                        skipped.incrementAndGet();
+                    }
+                    record.reset();
+                } else {
+                    record.write(b);
+                }
+                if (batch.size() < batchSize) {
+                    b = in.read();
+                }
+            }
+        } catch (final IOException ex) {
+            LOGGER.error("Error reading event outbox segment {}: {}", file, ex.getMessage());
+        }
+        return position;
+    }
+
+    /*
+     * Move past a sealed segment, all of whose complete records have been published.
+     */
+    private void nextSegment() {
+        final File file = getSegmentFile(readSegment);
+        if (file.length() > readPosition) {
+            LOGGER.warn("Discarding incomplete record at the end of outbox segment {}", file);
+        }
+        final Long next = getSegments().higher(readSegment);
+        readSegment = nonNull(next) ? next : writeSegment;
+        readPosition = 0L;
+        commit();
+        try {
+            deleteIfExists(file.toPath());
+        } catch (final IOException ex) {
+            LOGGER.warn("Could not remove event outbox segment {}: {}", file, ex.getMessage());
+        }
+    }
+
+    private void commit() {
+        final File tmp = new File(directory, OFFSET_FILE + ".tmp");
+        try {
+            write(tmp.toPath(), singletonList(readSegment + " " + readPosition), UTF_8);
+            move(tmp.toPath(), new File(directory, OFFSET_FILE).toPath(), ATOMIC_MOVE);
+        } catch (final IOException ex) {
+            LOGGER.warn("Error recording event outbox position: {}", ex.getMessage());
+        }
+    }
+
+    private long countEvents(final long segment, final long position) {
+        long count = 0L;
+        try (final FileInputStream input = new FileInputStream(getSegmentFile(segment))) {
+            input.getChannel().position(position);
+            final InputStream in = new BufferedInputStream(input);
+            int b = in.read();
+            while (b != -1) {
+                if (b == '\n') {
+                    count += 1;
+                }
+                b = in.read();
+            }
+        } catch (final IOException ex) {
+            LOGGER.warn("Error reading event outbox segment {}: {}", segment, ex.getMessage());
+        }
+        return count;
+    }
+
+    private TreeSet<Long> getSegments() {
+        final TreeSet<Long> segments = new TreeSet<>();
+        final File[] files = directory.listFiles((dir, name) -> name.endsWith(SEGMENT_EXT));
+        if (nonNull(files)) {
+            for (final File file : files) {
+                try {
+                    segments.add(Long.parseLong(file.getName().substring(0,
+                                    file.getName().length() - SEGMENT_EXT.length())));
+                } catch (final NumberFormatException ex) {
+                    LOGGER.warn("Ignoring unexpected file in event outbox: {}", file);
+                }
+            }
+        }
+        return segments;
+    }
+
+    private File getSegmentFile(final long segment) {
+        return new File(directory, segment + SEGMENT_EXT);
+    }
+}
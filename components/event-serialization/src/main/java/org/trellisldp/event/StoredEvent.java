@@ -0,0 +1,133 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.event;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static java.util.Collections.emptyList;
+import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toList;
+import static org.trellisldp.api.RDFUtils.getInstance;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.trellisldp.api.Event;
+
+/**
+ * An {@link Event} that can be written to and read from local storage.
+ */
+@JsonAutoDetect(fieldVisibility = ANY, getterVisibility = NONE, isGetterVisibility = NONE)
+class StoredEvent implements Event {
+
+    private static final RDF rdf = getInstance();
+
+    private String identifier;
+    private List<String> agents = emptyList();
+    private String target;
+    private List<String> types = emptyList();
+    private List<String> targetTypes = emptyList();
+    private String created;
+    private String inbox;
+
+    /**
+     * Create a copy of an event.
+     * @param event the event
+     * @return an event that can be stored locally
+     */
+    static StoredEvent from(final Event event) {
+        final StoredEvent stored = new StoredEvent();
+        stored.identifier = event.getIdentifier().getIRIString();
+        stored.agents = toStrings(event.getAgents());
+        stored.target = event.getTarget().map(IRI::getIRIString).orElse(null);
+        stored.types = toStrings(event.getTypes());
+        stored.targetTypes = toStrings(event.getTargetTypes());
+        stored.created = event.getCreated().toString();
+        stored.inbox = event.getInbox().map(IRI::getIRIString).orElse(null);
+        return stored;
+    }
+
+    /**
+     * Create an event from its serialized values.
+     * @param identifier the event identifier
+     * @param agents the agents
+     * @param target the target resource, may be {@code null}
+     * @param types the event types
+     * @param targetTypes the types of the target resource
+     * @param created the creation time
+     * @param inbox the inbox of the target resource, may be {@code null}
+     * @return the event
+     */
+    static StoredEvent of(final String identifier, final List<String> agents, final String target,
+            final List<String> types, final List<String> targetTypes, final Instant created, final String inbox) {
+        final StoredEvent stored = new StoredEvent();
+        stored.identifier = identifier;
+        stored.agents = agents;
+        stored.target = target;
+        stored.types = types;
+        stored.targetTypes = targetTypes;
+        stored.created = created.toString();
+        stored.inbox = inbox;
+        return stored;
+    }
+
+    @Override
+    public IRI getIdentifier() {
+        return rdf.createIRI(identifier);
+    }
+
+    @Override
+    public Collection<IRI> getAgents() {
+        return toIRIs(agents);
+    }
+
+    @Override
+    public Optional<IRI> getTarget() {
+        return ofNullable(target).map(rdf::createIRI);
+    }
+
+    @Override
+    public Collection<IRI> getTypes() {
+        return toIRIs(types);
+    }
+
+    @Override
+    public Collection<IRI> getTargetTypes() {
+        return toIRIs(targetTypes);
+    }
+
+    @Override
+    public Instant getCreated() {
+        return Instant.parse(created);
+    }
+
+    @Override
+    public Optional<IRI> getInbox() {
+        return ofNullable(inbox).map(rdf::createIRI);
+    }
+
+    private static List<String> toStrings(final Collection<IRI> iris) {
+        return iris.stream().map(IRI::getIRIString).collect(toList());
+    }
+
+    private static List<IRI> toIRIs(final List<String> values) {
+        return values.stream().map(rdf::createIRI).collect(toList());
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.event;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createTempDirectory;
+import static java.time.Instant.now;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.trellisldp.api.RDFUtils.TRELLIS_DATA_PREFIX;
+import static org.trellisldp.event.AsyncEventService.OverflowPolicy.BLOCK;
+import static org.trellisldp.event.AsyncEventService.OverflowPolicy.DROP;
+import static org.trellisldp.event.AsyncEventService.OverflowPolicy.SPILL;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.trellisldp.api.Event;
+import org.trellisldp.api.EventService;
+import org.trellisldp.vocabulary.AS;
+import org.trellisldp.vocabulary.LDP;
+import org.trellisldp.vocabulary.Trellis;
+
+/**
+ * Test the asynchronous event service.
+ */
+public class AsyncEventServiceTest {
+
+    private static final RDF rdf = new SimpleRDF();
+
+    private final Instant time = now();
+
+    @Mock
+    private Event mockEvent;
+
+    @Mock
+    private EventService mockEventService;
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+        when(mockEvent.getIdentifier()).thenReturn(rdf.createIRI("urn:test:event"));
+        when(mockEvent.getAgents()).thenReturn(singleton(Trellis.AdministratorAgent));
+        when(mockEvent.getTarget()).thenReturn(of(rdf.createIRI(TRELLIS_DATA_PREFIX + "resource")));
+        when(mockEvent.getTypes()).thenReturn(singleton(AS.Update));
+        when(mockEvent.getTargetTypes()).thenReturn(singleton(LDP.RDFSource));
+        when(mockEvent.getCreated()).thenReturn(time);
+        when(mockEvent.getInbox()).thenReturn(empty());
+    }
+
+    @Test
+    public void testAsyncEmit() throws Exception {
+        try (final AsyncEventService svc = new AsyncEventService(mockEventService, 10, 5, BLOCK, null)) {
+            svc.emit(mockEvent);
+            svc.emit(mockEvent);
+            svc.emit(mockEvent);
+            await().until(() -> svc.getPublishedCount() == 3L);
+            assertEquals(0, svc.getQueueDepth(), "Event queue not drained!");
+            assertEquals(0L, svc.getFailureCount(), "Unexpected publication failures!");
+        }
+        verify(mockEventService, atLeastOnce()).emitAll(any());
+    }
+
+    @Test
+    public void testConfiguration() throws Exception {
+        try (final AsyncEventService svc = new AsyncEventService(mockEventService)) {
+            svc.emit(mockEvent);
+            await().until(() -> svc.getPublishedCount() == 1L);
+        }
+    }
+
+    @Test
+    public void testSpillWithoutPath() {
+        assertThrows(NullPointerException.class, () -> new AsyncEventService(mockEventService, 10, 5, SPILL, null),
+                "No exception with an undefined spill path!");
+    }
+
+    @Test
+    public void testDropOverflow() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        blockDelegate(started, release);
+
+        try (final AsyncEventService svc = new AsyncEventService(mockEventService, 1, 5, DROP, null)) {
+            svc.emit(mockEvent);
+            started.await();
+            svc.emit(mockEvent);
+            svc.emit(mockEvent);
+            assertEquals(1, svc.getQueueDepth(), "Incorrect queue depth!");
+            assertEquals(1L, svc.getDroppedCount(), "Incorrect count of dropped events!");
+            release.countDown();
+            await().until(() -> svc.getPublishedCount() == 2L);
+        }
+    }
+
+    @Test
+    public void testSpillOverflow() throws Exception {
+        final File directory = createTempDirectory("trellis-events").toFile();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Event> received = new CopyOnWriteArrayList<>();
+        doAnswer(inv -> {
+            started.countDown();
+            release.await();
+            received.addAll(inv.getArgument(0));
+            return null;
+        }).when(mockEventService).emitAll(any());
+
+        try (final AsyncEventService svc = new AsyncEventService(mockEventService, 1, 5, SPILL,
+                    directory.getAbsolutePath())) {
+            svc.emit(mockEvent);
+            started.await();
+            svc.emit(mockEvent);
+            svc.emit(mockEvent);
+            assertEquals(1L, svc.getSpilledCount(), "Incorrect count of spilled events!");
+            assertEquals(0L, svc.getDroppedCount(), "Unexpected dropped events!");
+            release.countDown();
+            await().until(() -> svc.getPublishedCount() == 3L);
+        }
+        assertEquals(3, received.size(), "Incorrect number of published events!");
+        final Event spilled = received.get(2);
+        assertEquals(mockEvent.getIdentifier(), spilled.getIdentifier(), "Incorrect event identifier!");
+        assertEquals(mockEvent.getTarget(), spilled.getTarget(), "Incorrect event target!");
+        assertEquals(time, spilled.getCreated(), "Incorrect event date!");
+        assertEquals(singletonList(AS.Update), spilled.getTypes(), "Incorrect event types!");
+        assertFalse(spilled.getInbox().isPresent(), "Unexpected event inbox!");
+        assertEquals(0, directory.list().length, "Spill files not removed!");
+    }
+
+    @Test
+    public void testReplayStoredEvents() throws Exception {
+        final File directory = createTempDirectory("trellis-events").toFile();
+        final ObjectMapper mapper = new ObjectMapper();
+        Files.write(new File(directory, "events.spill").toPath(),
+                singletonList(mapper.writeValueAsString(StoredEvent.from(mockEvent))), UTF_8);
+        Files.write(new File(directory, "3.replay").toPath(), singletonList("not an event"), UTF_8);
+
+        try (final AsyncEventService svc = new AsyncEventService(mockEventService, 10, 5, SPILL,
+                    directory.getAbsolutePath())) {
+            await().until(() -> svc.getPublishedCount() == 1L);
+            await().until(() -> directory.list().length == 0);
+        }
+    }
+
+    @Test
+    public void testReplayFailure() throws Exception {
+        final File directory = createTempDirectory("trellis-events").toFile();
+        final String line = new ObjectMapper().writeValueAsString(StoredEvent.from(mockEvent));
+        Files.write(new File(directory, "1.replay").toPath(), asList(line, line, line), UTF_8);
+        final AtomicInteger calls = new AtomicInteger();
+        final List<Event> received = new CopyOnWriteArrayList<>();
+        doAnswer(inv -> {
+            if (calls.incrementAndGet() == 2) {
+                throw new RuntimeException("Expected");
+            }
+            received.addAll(inv.getArgument(0));
+            return null;
+        }).when(mockEventService).emitAll(any());
+
+        try (final AsyncEventService svc = new AsyncEventService(mockEventService, 10, 1, SPILL,
+                    directory.getAbsolutePath())) {
+            await().until(() -> svc.getPublishedCount() == 3L);
+            await().until(() -> directory.list().length == 0);
+            assertEquals(1L, svc.getFailureCount(), "Incorrect number of failures!");
+        }
+        assertEquals(3, received.size(), "Incorrect number of published events!");
+    }
+
+    @Test
+    public void testDelegateFailure() throws Exception {
+        doThrow(RuntimeException.class).when(mockEventService).emitAll(any());
+
+        try (final AsyncEventService svc = new AsyncEventService(mockEventService, 10, 5, DROP, null)) {
+            svc.emit(mockEvent);
+            await().until(() -> svc.getFailureCount() == 1L);
+            assertEquals(0L, svc.getPublishedCount(), "Unexpected published events!");
+        }
+    }
+
+    @Test
+    public void testCloseFlushesQueue() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        blockDelegate(started, release);
+
+        final AsyncEventService svc = new AsyncEventService(mockEventService, 10, 5, BLOCK, null);
+        svc.emit(mockEvent);
+        started.await();
+        svc.emit(mockEvent);
+        svc.emit(mockEvent);
+        release.countDown();
+        svc.close();
+        assertEquals(3L, svc.getPublishedCount(), "Queued events not published on close!");
+    }
+
+    private void blockDelegate(final CountDownLatch started, final CountDownLatch release) {
+        doAnswer(inv -> {
+            started.countDown();
+            release.await();
+            return null;
+        }).when(mockEventService).emitAll(any(Collection.class));
+    }
+}
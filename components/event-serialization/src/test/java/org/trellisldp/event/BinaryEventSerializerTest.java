@@ -0,0 +1,126 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.event;
+
+import static java.time.Instant.now;
+import static java.util.Arrays.asList;
+import static java.util.Arrays.copyOf;
+import static java.util.Collections.singleton;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Optional;
+
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.trellisldp.api.Event;
+import org.trellisldp.vocabulary.AS;
+import org.trellisldp.vocabulary.LDP;
+import org.trellisldp.vocabulary.PROV;
+import org.trellisldp.vocabulary.Trellis;
+
+/**
+ * Test the binary event serializer.
+ */
+public class BinaryEventSerializerTest {
+
+    private static final RDF rdf = new SimpleRDF();
+
+    private final BinaryEventSerializer svc = new BinaryEventSerializer();
+
+    private final Instant time = now();
+
+    @Mock
+    private Event mockEvent;
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+        when(mockEvent.getIdentifier()).thenReturn(rdf.createIRI("urn:uuid:0e8d6a4e-3f3a-4a6c-9a49-1f0a5d3f6b7c"));
+        when(mockEvent.getAgents()).thenReturn(asList(rdf.createIRI("info:user/test"), Trellis.AdministratorAgent));
+        when(mockEvent.getTarget()).thenReturn(of(rdf.createIRI("trellis:data/resource")));
+        when(mockEvent.getTypes()).thenReturn(asList(PROV.Activity, AS.Create));
+        when(mockEvent.getTargetTypes()).thenReturn(singleton(LDP.Container));
+        when(mockEvent.getInbox()).thenReturn(of(rdf.createIRI("info:ldn/inbox")));
+        when(mockEvent.getCreated()).thenReturn(time);
+    }
+
+    @Test
+    public void testRoundTrip() {
+        final Optional<byte[]> data = svc.serializeBytes(mockEvent);
+        assertTrue(data.isPresent(), "Serialization not present!");
+
+        final Optional<Event> event = svc.deserialize(data.get());
+        assertTrue(event.isPresent(), "Event could not be read!");
+        assertEquals(mockEvent.getIdentifier(), event.get().getIdentifier(), "Incorrect identifier!");
+        assertEquals(new ArrayList<>(mockEvent.getAgents()), event.get().getAgents(), "Incorrect agents!");
+        assertEquals(mockEvent.getTarget(), event.get().getTarget(), "Incorrect target!");
+        assertEquals(new ArrayList<>(mockEvent.getTypes()), event.get().getTypes(), "Incorrect types!");
+        assertEquals(new ArrayList<>(mockEvent.getTargetTypes()), event.get().getTargetTypes(),
+                "Incorrect target types!");
+        assertEquals(time, event.get().getCreated(), "Incorrect creation time!");
+        assertEquals(mockEvent.getInbox(), event.get().getInbox(), "Incorrect inbox!");
+    }
+
+    @Test
+    public void testOptionalFields() {
+        when(mockEvent.getTarget()).thenReturn(empty());
+        when(mockEvent.getInbox()).thenReturn(empty());
+        when(mockEvent.getIdentifier()).thenReturn(rdf.createIRI("urn:uuid:0E8D6A4E-3F3A-4A6C-9A49-1F0A5D3F6B7C"));
+        when(mockEvent.getCreated()).thenReturn(Instant.ofEpochSecond(-86400L, 5L));
+
+        final Optional<Event> event = svc.serializeBytes(mockEvent).flatMap(svc::deserialize);
+        assertTrue(event.isPresent(), "Event could not be read!");
+        assertEquals(mockEvent.getIdentifier(), event.get().getIdentifier(), "Non-canonical UUID not preserved!");
+        assertFalse(event.get().getTarget().isPresent(), "Unexpected target!");
+        assertFalse(event.get().getInbox().isPresent(), "Unexpected inbox!");
+        assertEquals(Instant.ofEpochSecond(-86400L, 5L), event.get().getCreated(), "Incorrect creation time!");
+    }
+
+    @Test
+    public void testCompact() {
+        final int json = new EventSerializer().serialize(mockEvent).map(String::length).orElse(0);
+        final int binary = svc.serializeBytes(mockEvent).map(data -> data.length).orElse(Integer.MAX_VALUE);
+        assertTrue(binary * 4 < json, "Binary serialization is not compact!");
+    }
+
+    @Test
+    public void testBase64() {
+        final Optional<String> text = svc.serialize(mockEvent);
+        assertTrue(text.isPresent(), "Serialization not present!");
+        assertArrayEquals(svc.serializeBytes(mockEvent).get(), Base64.getDecoder().decode(text.get()),
+                "Incorrect text form of the serialization!");
+        assertEquals(BinaryEventSerializer.MEDIA_TYPE, svc.getMediaType(), "Incorrect media type!");
+    }
+
+    @Test
+    public void testInvalid() {
+        final byte[] data = svc.serializeBytes(mockEvent).get();
+        assertFalse(svc.deserialize(copyOf(data, data.length - 3)).isPresent(), "Truncated event was read!");
+        assertFalse(svc.deserialize(new byte[] {'T', 'E', 'V', 9}).isPresent(), "Unknown version was read!");
+        assertFalse(svc.deserialize("{\"id\": 1}".getBytes()).isPresent(), "JSON was read!");
+    }
+}
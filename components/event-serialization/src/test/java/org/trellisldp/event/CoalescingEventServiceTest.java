@@ -0,0 +1,184 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.event;
+
+import static java.time.Duration.ofSeconds;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.trellisldp.api.RDFUtils.TRELLIS_DATA_PREFIX;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.trellisldp.api.Event;
+import org.trellisldp.api.EventService;
+import org.trellisldp.vocabulary.AS;
+import org.trellisldp.vocabulary.PROV;
+
+/**
+ * Test the coalescing event service.
+ */
+public class CoalescingEventServiceTest {
+
+    private static final RDF rdf = new SimpleRDF();
+
+    @Mock
+    private Event mockUpdate1;
+
+    @Mock
+    private Event mockUpdate2;
+
+    @Mock
+    private Event mockUpdate3;
+
+    @Mock
+    private Event mockDelete;
+
+    @Mock
+    private Event mockOther;
+
+    @Mock
+    private EventService mockEventService;
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+        for (final Event event : asList(mockUpdate1, mockUpdate2, mockUpdate3)) {
+            when(event.getTarget()).thenReturn(of(rdf.createIRI(TRELLIS_DATA_PREFIX + "container")));
+            when(event.getTypes()).thenReturn(asList(PROV.Activity, AS.Update));
+        }
+        when(mockDelete.getTarget()).thenReturn(of(rdf.createIRI(TRELLIS_DATA_PREFIX + "container")));
+        when(mockDelete.getTypes()).thenReturn(asList(PROV.Activity, AS.Delete));
+        when(mockOther.getTarget()).thenReturn(empty());
+        when(mockOther.getTypes()).thenReturn(asList(PROV.Activity, AS.Update));
+    }
+
+    @Test
+    public void testCoalesce() {
+        try (final CoalescingEventService svc = new CoalescingEventService(mockEventService, 100L)) {
+            svc.emit(mockUpdate1);
+            svc.emit(mockUpdate2);
+            svc.emit(mockUpdate3);
+            assertEquals(1, svc.getPendingCount(), "Incorrect count of pending events!");
+            await().until(() -> svc.getPendingCount() == 0);
+            assertEquals(2L, svc.getCoalescedCount(), "Incorrect count of coalesced events!");
+        }
+        verify(mockEventService).emitAll(singletonList(mockUpdate3));
+        verify(mockEventService, never()).emit(any());
+    }
+
+    @Test
+    public void testConfiguration() {
+        try (final CoalescingEventService svc = new CoalescingEventService(mockEventService)) {
+            svc.emit(mockUpdate1);
+            assertEquals(1, svc.getPendingCount(), "Incorrect count of pending events!");
+        }
+        verify(mockEventService).emitAll(singletonList(mockUpdate1));
+    }
+
+    @Test
+    public void testOrdering() {
+        try (final CoalescingEventService svc = new CoalescingEventService(mockEventService, 60000L)) {
+            svc.emit(mockUpdate1);
+            svc.emit(mockUpdate2);
+            svc.emit(mockDelete);
+            assertEquals(0, svc.getPendingCount(), "Unexpected pending events!");
+        }
+        final InOrder order = inOrder(mockEventService);
+        order.verify(mockEventService).emit(mockUpdate2);
+        order.verify(mockEventService).emit(mockDelete);
+        verify(mockEventService, never()).emit(mockUpdate1);
+    }
+
+    @Test
+    public void testNoTarget() {
+        try (final CoalescingEventService svc = new CoalescingEventService(mockEventService, 60000L)) {
+            svc.emit(mockOther);
+            assertEquals(0, svc.getPendingCount(), "Unexpected pending events!");
+        }
+        verify(mockEventService).emit(mockOther);
+    }
+
+    @Test
+    public void testSlowDelegate() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            started.countDown();
+            release.await();
+            return null;
+        }).when(mockEventService).emitAll(singletonList(mockUpdate1));
+
+        try (final CoalescingEventService svc = new CoalescingEventService(mockEventService, 10L)) {
+            svc.emit(mockUpdate1);
+            started.await();
+            assertTimeoutPreemptively(ofSeconds(5), () -> svc.emit(mockUpdate2), "Update blocked by publication!");
+            assertEquals(1, svc.getPendingCount(), "Incorrect count of pending events!");
+            release.countDown();
+            await().until(() -> svc.getPendingCount() == 0);
+        }
+        final InOrder order = inOrder(mockEventService);
+        order.verify(mockEventService).emitAll(singletonList(mockUpdate1));
+        order.verify(mockEventService).emitAll(singletonList(mockUpdate2));
+    }
+
+    @Test
+    public void testBatchFailure() {
+        doThrow(RuntimeException.class).when(mockEventService).emitAll(any());
+
+        final CoalescingEventService svc = new CoalescingEventService(mockEventService, 60000L);
+        svc.emit(mockUpdate1);
+        svc.close();
+        verify(mockEventService).emit(mockUpdate1);
+        assertEquals(0L, svc.getFailureCount(), "Unexpected publication failures!");
+    }
+
+    @Test
+    public void testEventFailure() {
+        doThrow(RuntimeException.class).when(mockEventService).emitAll(any());
+        doThrow(RuntimeException.class).when(mockEventService).emit(mockUpdate1);
+
+        final CoalescingEventService svc = new CoalescingEventService(mockEventService, 60000L);
+        svc.emit(mockUpdate1);
+        svc.close();
+        assertEquals(1L, svc.getFailureCount(), "Incorrect count of publication failures!");
+    }
+
+    @Test
+    public void testClose() {
+        final CoalescingEventService svc = new CoalescingEventService(mockEventService, 60000L);
+        svc.emit(mockUpdate1);
+        verify(mockEventService, never()).emitAll(any());
+        svc.close();
+        verify(mockEventService).emitAll(singletonList(mockUpdate1));
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.event;
+
+import static java.util.Arrays.asList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.trellisldp.api.Event;
+import org.trellisldp.api.EventService;
+import org.trellisldp.api.RuntimeTrellisException;
+
+/**
+ * Test the composite event service.
+ */
+public class CompositeEventServiceTest {
+
+    @Mock
+    private Event mockEvent;
+
+    @Mock
+    private EventService mockEventService1;
+
+    @Mock
+    private EventService mockEventService2;
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+    }
+
+    @Test
+    public void testFanOut() {
+        final EventService svc = new CompositeEventService(asList(mockEventService1, mockEventService2));
+        svc.emit(mockEvent);
+        svc.emitAll(asList(mockEvent, mockEvent));
+
+        verify(mockEventService1).emit(mockEvent);
+        verify(mockEventService2).emit(mockEvent);
+        verify(mockEventService1).emitAll(asList(mockEvent, mockEvent));
+        verify(mockEventService2).emitAll(asList(mockEvent, mockEvent));
+    }
+
+    @Test
+    public void testSinkError() {
+        doThrow(RuntimeTrellisException.class).when(mockEventService1).emit(mockEvent);
+        doThrow(RuntimeTrellisException.class).when(mockEventService1).emitAll(asList(mockEvent));
+
+        final EventService svc = new CompositeEventService(asList(mockEventService1, mockEventService2));
+        svc.emit(mockEvent);
+        svc.emitAll(asList(mockEvent));
+
+        verify(mockEventService2).emit(mockEvent);
+        verify(mockEventService2).emitAll(asList(mockEvent));
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.event;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singleton;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.trellisldp.api.Event;
+import org.trellisldp.api.EventService;
+import org.trellisldp.vocabulary.AS;
+import org.trellisldp.vocabulary.LDP;
+import org.trellisldp.vocabulary.PROV;
+
+/**
+ * Test the event filter.
+ */
+public class EventFilterTest {
+
+    private static final RDF rdf = new SimpleRDF();
+
+    @Mock
+    private Event mockEvent;
+
+    @Mock
+    private EventService mockEventService;
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+        when(mockEvent.getTarget()).thenReturn(of(rdf.createIRI("http://example.com/collection/item")));
+        when(mockEvent.getTypes()).thenReturn(asList(PROV.Activity, AS.Create));
+        when(mockEvent.getTargetTypes()).thenReturn(singleton(LDP.RDFSource));
+    }
+
+    @Test
+    public void testAcceptAll() {
+        assertTrue(new EventFilter(emptyList(), emptyList(), emptyList()).test(mockEvent), "Event not accepted!");
+    }
+
+    @Test
+    public void testActivityTypes() {
+        assertTrue(new EventFilter(asList(AS.Create, AS.Delete), emptyList(), emptyList()).test(mockEvent),
+                "Create event not accepted!");
+        assertFalse(new EventFilter(singleton(AS.Delete), emptyList(), emptyList()).test(mockEvent),
+                "Create event accepted by a Delete filter!");
+    }
+
+    @Test
+    public void testTargetTypes() {
+        assertTrue(new EventFilter(emptyList(), singleton(LDP.RDFSource), emptyList()).test(mockEvent),
+                "RDF source not accepted!");
+        assertFalse(new EventFilter(emptyList(), singleton(LDP.Container), emptyList()).test(mockEvent),
+                "RDF source accepted by a container filter!");
+    }
+
+    @Test
+    public void testPrefixes() {
+        assertTrue(new EventFilter(emptyList(), emptyList(), singleton("/collection/")).test(mockEvent),
+                "Path prefix not matched!");
+        assertTrue(new EventFilter(emptyList(), emptyList(), singleton("http://example.com/coll")).test(mockEvent),
+                "IRI prefix not matched!");
+        assertFalse(new EventFilter(emptyList(), emptyList(), asList("/other/", "https://")).test(mockEvent),
+                "Prefix incorrectly matched!");
+
+        when(mockEvent.getTarget()).thenReturn(empty());
+        assertFalse(new EventFilter(emptyList(), emptyList(), singleton("/")).test(mockEvent),
+                "Event without a target matched a prefix!");
+    }
+
+    @Test
+    public void testFilteredEventService() {
+        final EventService svc = new FilteredEventService(mockEventService,
+                new EventFilter(singleton(AS.Delete), emptyList(), emptyList()));
+        svc.emit(mockEvent);
+        svc.emitAll(asList(mockEvent, mockEvent));
+        verify(mockEventService, never()).emit(any());
+        verify(mockEventService, never()).emitAll(any());
+
+        final EventService all = new FilteredEventService(mockEventService, event -> true);
+        all.emit(mockEvent);
+        all.emitAll(asList(mockEvent, mockEvent));
+        verify(mockEventService).emit(mockEvent);
+        verify(mockEventService).emitAll(asList(mockEvent, mockEvent));
+    }
+}
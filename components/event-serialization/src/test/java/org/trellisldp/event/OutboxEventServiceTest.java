@@ -0,0 +1,191 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.event;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createTempDirectory;
+import static java.time.Instant.now;
+import static java.util.Collections.singleton;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.trellisldp.api.RDFUtils.TRELLIS_DATA_PREFIX;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.Instant;
+
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.trellisldp.api.Event;
+import org.trellisldp.api.EventService;
+import org.trellisldp.api.RuntimeTrellisException;
+import org.trellisldp.vocabulary.AS;
+import org.trellisldp.vocabulary.LDP;
+import org.trellisldp.vocabulary.Trellis;
+
+/**
+ * Test the outbox event service.
+ */
+public class OutboxEventServiceTest {
+
+    private static final RDF rdf = new SimpleRDF();
+
+    private final Instant time = now();
+
+    @Mock
+    private Event mockEvent;
+
+    @Mock
+    private EventService mockEventService;
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+        when(mockEvent.getIdentifier()).thenReturn(rdf.createIRI("urn:test:event"));
+        when(mockEvent.getAgents()).thenReturn(singleton(Trellis.AdministratorAgent));
+        when(mockEvent.getTarget()).thenReturn(of(rdf.createIRI(TRELLIS_DATA_PREFIX + "resource")));
+        when(mockEvent.getTypes()).thenReturn(singleton(AS.Update));
+        when(mockEvent.getTargetTypes()).thenReturn(singleton(LDP.RDFSource));
+        when(mockEvent.getCreated()).thenReturn(time);
+        when(mockEvent.getInbox()).thenReturn(empty());
+    }
+
+    @Test
+    public void testOutbox() throws Exception {
+        final File directory = createTempDirectory("trellis-outbox").toFile();
+        try (final OutboxEventService svc = new OutboxEventService(mockEventService, directory.getAbsolutePath())) {
+            svc.emit(mockEvent);
+            svc.emit(mockEvent);
+            svc.emit(mockEvent);
+            await().until(() -> svc.getRelayedCount() == 3L);
+            assertEquals(0L, svc.getBacklog(), "Outbox backlog not drained!");
+            assertEquals(0L, svc.getFailureCount(), "Unexpected publication failures!");
+        }
+        verify(mockEventService, atLeastOnce()).emitAll(any());
+    }
+
+    @Test
+    public void testMissingPath() {
+        assertThrows(NullPointerException.class, () -> new OutboxEventService(mockEventService, null),
+                "No exception with an undefined outbox path!");
+    }
+
+    @Test
+    public void testRetry() throws Exception {
+        final File directory = createTempDirectory("trellis-outbox").toFile();
+        doThrow(RuntimeTrellisException.class).doThrow(RuntimeTrellisException.class).doNothing()
+            .when(mockEventService).emitAll(any());
+
+        try (final OutboxEventService svc = new OutboxEventService(mockEventService, directory.getAbsolutePath(),
+                    10, 1024L, false, 10L)) {
+            svc.emit(mockEvent);
+            await().until(() -> svc.getRelayedCount() == 1L);
+            assertEquals(2L, svc.getFailureCount(), "Incorrect count of failed attempts!");
+            assertEquals(0L, svc.getBacklog(), "Outbox backlog not drained!");
+        }
+    }
+
+    @Test
+    public void testReplay() throws Exception {
+        final File directory = createTempDirectory("trellis-outbox").toFile();
+        doThrow(RuntimeTrellisException.class).when(mockEventService).emitAll(any());
+
+        try (final OutboxEventService svc = new OutboxEventService(mockEventService, directory.getAbsolutePath(),
+                    10, 1024L, true, 10L)) {
+            svc.emit(mockEvent);
+            svc.emit(mockEvent);
+            await().until(() -> svc.getFailureCount() > 0L);
+            assertEquals(2L, svc.getBacklog(), "Incorrect outbox backlog!");
+        }
+
+        doNothing().when(mockEventService).emitAll(any());
+        try (final OutboxEventService svc = new OutboxEventService(mockEventService, directory.getAbsolutePath())) {
+            await().until(() -> svc.getRelayedCount() == 2L);
+            assertEquals(0L, svc.getBacklog(), "Outbox backlog not drained!");
+        }
+    }
+
+    @Test
+    public void testSegments() throws Exception {
+        final File directory = createTempDirectory("trellis-outbox").toFile();
+        try (final OutboxEventService svc = new OutboxEventService(mockEventService, directory.getAbsolutePath(),
+                    2, 1L, false, 10L)) {
+            for (int i = 0; i < 5; ++i) {
+                svc.emit(mockEvent);
+            }
+            await().until(() -> svc.getRelayedCount() == 5L);
+            await().until(() -> directory.list((dir, name) -> name.endsWith(".outbox")).length == 1);
+        }
+    }
+
+    @Test
+    public void testIncompleteRecord() throws Exception {
+        final File directory = createTempDirectory("trellis-outbox").toFile();
+        final String record = new ObjectMapper().writeValueAsString(StoredEvent.from(mockEvent));
+        Files.write(new File(directory, "4.outbox").toPath(), (record + "\nnot an event\n" + record.substring(0, 10))
+                .getBytes(UTF_8));
+
+        try (final OutboxEventService svc = new OutboxEventService(mockEventService, directory.getAbsolutePath())) {
+            await().until(() -> svc.getRelayedCount() == 1L);
+            await().until(() -> !new File(directory, "4.outbox").exists());
+            assertEquals(0L, svc.getBacklog(), "Outbox backlog not drained!");
+        }
+    }
+
+    @Test
+    public void testUnreadableRecordRetry() throws Exception {
+        final File directory = createTempDirectory("trellis-outbox").toFile();
+        final String record = new ObjectMapper().writeValueAsString(StoredEvent.from(mockEvent));
+        Files.write(new File(directory, "0.outbox").toPath(), ("not an event\n" + record + "\n").getBytes(UTF_8));
+        doThrow(RuntimeTrellisException.class).when(mockEventService).emitAll(any());
+
+        try (final OutboxEventService svc = new OutboxEventService(mockEventService, directory.getAbsolutePath(),
+                    10, 1024L, false, 10L)) {
+            await().until(() -> svc.getFailureCount() > 2L);
+            assertEquals(2L, svc.getBacklog(), "Incorrect outbox backlog!");
+        }
+
+        doNothing().when(mockEventService).emitAll(any());
+        try (final OutboxEventService svc = new OutboxEventService(mockEventService, directory.getAbsolutePath())) {
+            await().until(() -> svc.getRelayedCount() == 1L);
+            assertEquals(0L, svc.getBacklog(), "Outbox backlog not drained!");
+        }
+    }
+
+    @Test
+    public void testWriteThrough() throws Exception {
+        final File directory = createTempDirectory("trellis-outbox").toFile();
+        final OutboxEventService svc = new OutboxEventService(mockEventService, directory.getAbsolutePath());
+        svc.close();
+        svc.emit(mockEvent);
+
+        assertEquals(1L, svc.getWriteThroughCount(), "Incorrect count of direct publications!");
+        verify(mockEventService).emit(mockEvent);
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.file;
+
+import static java.time.Instant.now;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.ConfigurationProvider;
+import org.slf4j.Logger;
+
+/**
+ * A background job that removes expired Mementos from a {@link FileMementoService}.
+ *
+ * <p>Each compaction pass walks the memento directory one resource at a time, removing the versions
+ * that are no longer retained by the {@link MementoRetentionPolicy}. Deletions are throttled to a
+ * configurable rate so that compaction does not compete with request traffic for I/O, and a pass
+ * stops early when the compactor is closed.
+ */
+public class FileMementoCompactor implements AutoCloseable {
+
+    /** The configuration key controlling the number of minutes between compaction passes. **/
+    public static final String COMPACTION_INTERVAL = "trellis.file.memento.compaction.interval";
+
+    /** The configuration key controlling the maximum number of Mementos removed per second. **/
+    public static final String COMPACTION_RATE = "trellis.file.memento.compaction.rate";
+
+    private static final Logger LOGGER = getLogger(FileMementoCompactor.class);
+    private static final Long DEFAULT_INTERVAL = 0L;
+    private static final Integer DEFAULT_RATE = 100;
+
+    private final FileMementoService service;
+    private final MementoRetentionPolicy policy;
+    private final long delay;
+    private final ScheduledExecutorService scheduler = newSingleThreadScheduledExecutor();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong deleted = new AtomicLong();
+    private volatile boolean closed;
+    private volatile Instant lastCompleted;
+
+    /**
+     * Create a memento compactor.
+     *
+     * @implNote No compaction passes are scheduled unless a compaction interval is configured.
+     * @param service the file-based memento service
+     */
+    public FileMementoCompactor(final FileMementoService service) {
+        this(service, new MementoRetentionPolicy(), ConfigurationProvider.getConfiguration());
+    }
+
+    /**
+     * Create a memento compactor.
+     * @param service the file-based memento service
+     * @param policy the retention policy
+     * @param interval the number of minutes between compaction passes, or 0 to disable scheduled compaction
+     * @param rate the maximum number of Mementos removed per second
+     */
+    public FileMementoCompactor(final FileMementoService service, final MementoRetentionPolicy policy,
+            final Long interval, final Integer rate) {
+        this.service = service;
+        this.policy = policy;
+        this.delay = 1000L / Math.max(1, rate);
+        if (interval > 0) {
+            scheduler.scheduleWithFixedDelay(this::compact, interval, interval, MINUTES);
+        }
+    }
+
+    private FileMementoCompactor(final FileMementoService service, final MementoRetentionPolicy policy,
+            final Configuration config) {
+        this(service, policy, config.getOrDefault(COMPACTION_INTERVAL, Long.class, DEFAULT_INTERVAL),
+                config.getOrDefault(COMPACTION_RATE, Integer.class, DEFAULT_RATE));
+    }
+
+    /**
+     * Run a compaction pass.
+     *
+     * @implNote If a compaction pass is already in progress, this method returns immediately.
+     */
+    public void compact() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        final Instant start = now();
+        LOGGER.info("Starting memento compaction of {}", service.getDirectory());
+        scanned.set(0L);
+        try (final Stream<Path> dirs = Files.walk(service.getDirectory().toPath())) {
+            final Iterator<Path> iter = dirs.filter(Files::isDirectory).iterator();
+            while (iter.hasNext() && !closed) {
+                final File resourceDir = iter.next().toFile();
+                try {
+                    compactResource(resourceDir, start);
+                } catch (final RuntimeException ex) {
+                    LOGGER.warn("Skipping memento compaction of {}: {}", resourceDir, ex.getMessage());
+                }
+            }
+            lastCompleted = now();
+            LOGGER.info("Completed memento compaction: {} resources scanned, {} Mementos removed in total",
+                    scanned.get(), deleted.get());
+        } catch (final IOException | RuntimeException ex) {
+            // An exception escaping this method would cancel all future scheduled passes
+            LOGGER.error("Error compacting mementos: {}", ex.getMessage());
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Get the number of resources examined by the current or most recent compaction pass.
+     * @return the number of resources scanned
+     */
+    public long getResourcesScanned() {
+        return scanned.get();
+    }
+
+    /**
+     * Get the number of Mementos removed since this compactor was created.
+     * @return the number of Mementos removed
+     */
+    public long getMementosRemoved() {
+        return deleted.get();
+    }
+
+    /**
+     * Get the time at which the most recent compaction pass completed.
+     * @return the completion time, or null if no pass has completed
+     */
+    public Instant getLastCompleted() {
+        return lastCompleted;
+    }
+
+    /**
+     * Determine whether a compaction pass is in progress.
+     * @return true if compaction is running; false otherwise
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        scheduler.shutdownNow();
+    }
+
+    private void compactResource(final File resourceDir, final Instant time) throws InterruptedException {
+        final NavigableSet<Instant> versions = service.listVersions(resourceDir);
+        if (versions.isEmpty()) {
+            return;
+        }
+        scanned.incrementAndGet();
+        for (final Instant version : policy.getExpired(versions, time)) {
+            if (closed) {
+                return;
+            }
+            LOGGER.trace("Removing Memento at {} from {}", version, resourceDir);
+            service.deleteVersion(resourceDir, version);
+            deleted.incrementAndGet();
+            MILLISECONDS.sleep(delay);
+        }
+    }
+}
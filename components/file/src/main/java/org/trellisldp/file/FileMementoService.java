@@ -21,14 +21,14 @@ import static java.nio.file.StandardOpenOption.CREATE;
 import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
 import static java.nio.file.StandardOpenOption.WRITE;
 import static java.time.Instant.now;
-import static java.util.Collections.emptyList;
-import static java.util.Collections.sort;
 import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableNavigableSet;
 import static java.util.Objects.nonNull;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.CompletableFuture.runAsync;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
 import static org.apache.commons.lang3.Range.between;
+import static org.slf4j.LoggerFactory.getLogger;
 import static org.trellisldp.api.Resource.SpecialResources.MISSING_RESOURCE;
 
 import java.io.BufferedWriter;
@@ -40,7 +40,12 @@ import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
@@ -51,12 +56,25 @@ import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.Range;
 import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.Quad;
+import org.apache.tamaya.Configuration;
 import org.apache.tamaya.ConfigurationProvider;
+import org.slf4j.Logger;
 import org.trellisldp.api.MementoService;
 import org.trellisldp.api.Resource;
 
 /**
  * A file-based versioning system.
+ *
+ * <p>The versions of each resource are tracked in a bounded, in-memory index so that
+ * listing the Mementos of a resource does not require a directory scan once that
+ * resource has been seen. Each entry records the modification time of the resource
+ * directory, and is only used while that time is unchanged, so that versions written
+ * by other processes sharing the same filesystem are picked up. When the index is full,
+ * the least recently used resource is evicted.
+ *
+ * <p>Each version is stored in a file named for its epoch second. Versions with sub-second
+ * precision append the nine-digit nanosecond adjustment (e.g. {@code 1487243701.250000000.nq}),
+ * so that updates within the same second are stored separately.
  */
 @Alternative
 public class FileMementoService implements MementoService {
@@ -64,14 +82,21 @@ public class FileMementoService implements MementoService {
     /** The configuration key controlling the base filesystem path for memento storage. **/
     public static final String MEMENTO_BASE_PATH = "trellis.file.memento.basepath";
 
+    /** The configuration key controlling the number of resources held in the in-memory memento index. **/
+    public static final String MEMENTO_CACHE_SIZE = "trellis.file.memento.cachesize";
+
+    private static final Logger LOGGER = getLogger(FileMementoService.class);
+    private static final int DEFAULT_CACHE_SIZE = 10000;
+
     private final File directory;
+    private final Map<String, IndexEntry> index;
 
     /**
      * Create a file-based memento service.
      */
     @Inject
     public FileMementoService() {
-        this(ConfigurationProvider.getConfiguration().get(MEMENTO_BASE_PATH));
+        this(ConfigurationProvider.getConfiguration());
     }
 
     /**
@@ -79,11 +104,35 @@ public class FileMementoService implements MementoService {
      * @param path the file path
      */
     public FileMementoService(final String path) {
+        this(path, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Create a file-based memento service.
+     * @param path the file path
+     * @param cacheSize the maximum number of resources held in the memento index
+     */
+    public FileMementoService(final String path, final int cacheSize) {
         requireNonNull(path, "Memento base path is undefined!");
         this.directory = new File(path);
+        this.index = new LinkedHashMap<String, IndexEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, IndexEntry> eldest) {
+                if (size() > cacheSize) {
+                    LOGGER.trace("Evicting {} from memento index", eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
         init();
     }
 
+    private FileMementoService(final Configuration config) {
+        this(config.get(MEMENTO_BASE_PATH), config.getOrDefault(MEMENTO_CACHE_SIZE, Integer.class,
+                    DEFAULT_CACHE_SIZE));
+    }
+
     @Override
     public CompletableFuture<Void> put(final IRI identifier, final Instant time, final Stream<? extends Quad> data) {
         return runAsync(() -> {
@@ -101,6 +150,7 @@ public class FileMementoService implements MementoService {
             } catch (final IOException ex) {
                 throw new UncheckedIOException("Error writing resource version for " + identifier.getIRIString(), ex);
             }
+            invalidate(resourceDir);
         });
     }
 
@@ -108,14 +158,11 @@ public class FileMementoService implements MementoService {
     public CompletableFuture<Resource> get(final IRI identifier, final Instant time) {
         return supplyAsync(() -> {
             final File resourceDir = FileUtils.getResourceDirectory(directory, identifier);
-            final File file = getNquadsFile(resourceDir, time);
-            if (file.exists()) {
-                return new FileResource(identifier, file);
+            final Instant version = getVersions(resourceDir).floor(time);
+            if (nonNull(version)) {
+                return new FileResource(identifier, getNquadsFile(resourceDir, version));
             }
-            return listMementos(identifier).stream().filter(range -> !range.getMinimum().isAfter(time))
-                    .max((t1, t2) -> t1.getMinimum().compareTo(t2.getMinimum()))
-                    .map(t -> getNquadsFile(resourceDir, t.getMinimum()))
-                    .map(f -> (Resource) new FileResource(identifier, f)).orElse(MISSING_RESOURCE);
+            return MISSING_RESOURCE;
         });
     }
 
@@ -126,41 +173,56 @@ public class FileMementoService implements MementoService {
 
     @Override
     public CompletableFuture<Void> delete(final IRI identifier, final Instant time) {
-        return runAsync(() -> {
-            try {
-                deleteIfExists(getNquadsFile(FileUtils.getResourceDirectory(directory, identifier),
-                            time).toPath());
-            } catch (final IOException ex) {
-                throw new UncheckedIOException("Could not delete Memento for " + identifier + " at " + time, ex);
-            }
-        });
+        return runAsync(() -> deleteVersion(FileUtils.getResourceDirectory(directory, identifier), time));
     }
 
-    private void init() {
-        if (!directory.exists()) {
-            directory.mkdirs();
-        }
+    /**
+     * Get the base directory of this memento service.
+     * @return the base directory
+     */
+    File getDirectory() {
+        return directory;
     }
 
-    private List<Range<Instant>> listMementos(final IRI identifier) {
-        final File resourceDir = FileUtils.getResourceDirectory(directory, identifier);
-        if (!resourceDir.exists()) {
-            return emptyList();
+    /**
+     * Get the versions stored in a resource directory.
+     *
+     * @implNote The memento index is consulted, but not populated, by this method.
+     * @param resourceDir the resource directory
+     * @return the versions of the resource
+     */
+    NavigableSet<Instant> listVersions(final File resourceDir) {
+        final NavigableSet<Instant> cached = getIndexed(resourceDir, resourceDir.lastModified());
+        if (nonNull(cached)) {
+            return cached;
         }
+        return scanVersions(resourceDir);
+    }
 
-        final List<Instant> instants = new ArrayList<>();
-        try (final Stream<Path> files = Files.list(resourceDir.toPath())) {
-            files.map(Path::toString).filter(path -> path.endsWith(".nq")).map(FilenameUtils::getBaseName)
-                .map(Long::parseLong).map(Instant::ofEpochSecond).forEach(instants::add);
+    /**
+     * Delete a version from a resource directory.
+     * @param resourceDir the resource directory
+     * @param time the version
+     */
+    void deleteVersion(final File resourceDir, final Instant time) {
+        try {
+            deleteIfExists(getNquadsFile(resourceDir, time).toPath());
         } catch (final IOException ex) {
-            throw new UncheckedIOException("Error fetching memento list for " + identifier, ex);
+            throw new UncheckedIOException("Could not delete Memento in " + resourceDir + " at " + time, ex);
         }
+        invalidate(resourceDir);
+    }
 
-        sort(instants);
+    private void init() {
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+    }
 
+    private List<Range<Instant>> listMementos(final IRI identifier) {
         final List<Range<Instant>> versions = new ArrayList<>();
         Instant last = null;
-        for (final Instant time : instants) {
+        for (final Instant time : getVersions(FileUtils.getResourceDirectory(directory, identifier))) {
             if (nonNull(last)) {
                 versions.add(between(last, time));
             }
@@ -172,7 +234,79 @@ public class FileMementoService implements MementoService {
         return unmodifiableList(versions);
     }
 
+    private NavigableSet<Instant> getVersions(final File resourceDir) {
+        // Read the modification time before scanning, so that a concurrent change forces a later rescan
+        final long modified = resourceDir.lastModified();
+        final NavigableSet<Instant> cached = getIndexed(resourceDir, modified);
+        if (nonNull(cached)) {
+            return cached;
+        }
+        final NavigableSet<Instant> versions = scanVersions(resourceDir);
+        synchronized (index) {
+            index.put(resourceDir.getPath(), new IndexEntry(modified, versions));
+        }
+        return versions;
+    }
+
+    private NavigableSet<Instant> getIndexed(final File resourceDir, final long modified) {
+        synchronized (index) {
+            final IndexEntry entry = index.get(resourceDir.getPath());
+            if (nonNull(entry) && entry.modified == modified) {
+                return entry.versions;
+            }
+            return null;
+        }
+    }
+
+    private void invalidate(final File resourceDir) {
+        synchronized (index) {
+            index.remove(resourceDir.getPath());
+        }
+    }
+
+    private NavigableSet<Instant> scanVersions(final File resourceDir) {
+        final NavigableSet<Instant> instants = new TreeSet<>();
+        if (!resourceDir.exists()) {
+            return unmodifiableNavigableSet(instants);
+        }
+
+        try (final Stream<Path> files = Files.list(resourceDir.toPath())) {
+            files.map(Path::toString).filter(path -> path.endsWith(".nq")).map(FilenameUtils::getBaseName)
+                .map(FileMementoService::parseVersion).filter(Objects::nonNull).forEach(instants::add);
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("Error fetching memento list from " + resourceDir, ex);
+        }
+        return unmodifiableNavigableSet(instants);
+    }
+
+    private static Instant parseVersion(final String name) {
+        try {
+            final int pos = name.indexOf('.');
+            if (pos < 0) {
+                return Instant.ofEpochSecond(Long.parseLong(name));
+            }
+            return Instant.ofEpochSecond(Long.parseLong(name.substring(0, pos)),
+                    Long.parseLong(name.substring(pos + 1)));
+        } catch (final RuntimeException ex) {
+            LOGGER.warn("Ignoring file that is not a Memento: {}.nq", name);
+            return null;
+        }
+    }
+
     private File getNquadsFile(final File dir, final Instant time) {
-        return new File(dir, Long.toString(time.getEpochSecond()) + ".nq");
+        if (time.getNano() == 0) {
+            return new File(dir, Long.toString(time.getEpochSecond()) + ".nq");
+        }
+        return new File(dir, time.getEpochSecond() + "." + String.format("%09d", time.getNano()) + ".nq");
+    }
+
+    private static final class IndexEntry {
+        private final long modified;
+        private final NavigableSet<Instant> versions;
+
+        private IndexEntry(final long modified, final NavigableSet<Instant> versions) {
+            this.modified = modified;
+            this.versions = versions;
+        }
     }
 }
@@ -0,0 +1,465 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.file;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.lines;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.readAllLines;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.time.Instant.now;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Comparator.comparingLong;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.commons.lang3.Range.between;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.trellisldp.api.RDFUtils.getInstance;
+import static org.trellisldp.api.Resource.SpecialResources.MISSING_RESOURCE;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang3.Range;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.ConfigurationProvider;
+import org.slf4j.Logger;
+import org.trellisldp.api.MementoService;
+import org.trellisldp.api.Resource;
+
+/**
+ * A {@link MementoService} decorator that records new Mementos in a local journal and
+ * writes them to the underlying memento service in the background.
+ *
+ * <p>A call to {@link #put} completes as soon as the Memento has been written to the journal
+ * and synced to disk; a pool of worker threads then drains the journal, in batches, into the
+ * delegate service. Entries are removed from the journal only after the delegate has stored them,
+ * and any entries that remain in the journal directory when this service is created are replayed,
+ * so a Memento is not lost if the process stops before the background write completes. Partial
+ * entries left behind by an interrupted write are removed at that time. Mementos that are still
+ * pending are visible to the {@link #get} and {@link #list} operations of this service.
+ *
+ * <p>When the number of pending Mementos reaches the configured capacity, new Mementos are written
+ * directly to the delegate service, which slows callers down to the rate of the underlying storage.
+ */
+public class JournaledMementoService implements MementoService, AutoCloseable {
+
+    /** The configuration key controlling the filesystem path of the memento journal. **/
+    public static final String MEMENTO_JOURNAL_PATH = "trellis.file.memento.journal.path";
+
+    /** The configuration key controlling the number of background memento writers. **/
+    public static final String MEMENTO_JOURNAL_WORKERS = "trellis.file.memento.journal.workers";
+
+    /** The configuration key controlling the maximum number of Mementos written in a single batch. **/
+    public static final String MEMENTO_JOURNAL_BATCH_SIZE = "trellis.file.memento.journal.batchsize";
+
+    /** The configuration key controlling the number of pending Mementos before writes go directly to storage. **/
+    public static final String MEMENTO_JOURNAL_CAPACITY = "trellis.file.memento.journal.capacity";
+
+    private static final Logger LOGGER = getLogger(JournaledMementoService.class);
+    private static final RDF rdf = getInstance();
+    private static final String DATA_EXT = ".nq";
+    private static final String ENTRY_EXT = ".entry";
+    private static final String TMP_EXT = ".tmp";
+    private static final Integer DEFAULT_WORKERS = 2;
+    private static final Integer DEFAULT_BATCH_SIZE = 50;
+    private static final Integer DEFAULT_CAPACITY = 10000;
+    private static final long RETRY_DELAY = 1000L;
+
+    private final MementoService delegate;
+    private final File directory;
+    private final int batchSize;
+    private final int capacity;
+    private final ExecutorService workers;
+    private final BlockingQueue<JournalEntry> queue = new LinkedBlockingQueue<>();
+    private final Map<String, NavigableMap<Instant, JournalEntry>> pending = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger backlog = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong writeThrough = new AtomicLong();
+    private volatile boolean running = true;
+
+    /**
+     * Create a journaled memento service.
+     * @param delegate the memento service used for permanent storage
+     */
+    public JournaledMementoService(final MementoService delegate) {
+        this(delegate, ConfigurationProvider.getConfiguration());
+    }
+
+    /**
+     * Create a journaled memento service.
+     * @param delegate the memento service used for permanent storage
+     * @param path the journal directory
+     */
+    public JournaledMementoService(final MementoService delegate, final String path) {
+        this(delegate, path, DEFAULT_WORKERS, DEFAULT_BATCH_SIZE, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a journaled memento service.
+     * @param delegate the memento service used for permanent storage
+     * @param path the journal directory
+     * @param workers the number of background writers
+     * @param batchSize the maximum number of Mementos written in a single batch
+     * @param capacity the number of pending Mementos before new Mementos are written directly to storage
+     */
+    public JournaledMementoService(final MementoService delegate, final String path, final Integer workers,
+            final Integer batchSize, final Integer capacity) {
+        requireNonNull(delegate, "Memento delegate service may not be null!");
+        requireNonNull(path, "Memento journal path is undefined!");
+        this.delegate = delegate;
+        this.directory = new File(path);
+        this.batchSize = batchSize;
+        this.capacity = capacity;
+        this.workers = newFixedThreadPool(workers);
+        init();
+        for (int i = 0; i < workers; ++i) {
+            this.workers.execute(this::drain);
+        }
+    }
+
+    private JournaledMementoService(final MementoService delegate, final Configuration config) {
+        this(delegate, config.get(MEMENTO_JOURNAL_PATH),
+                config.getOrDefault(MEMENTO_JOURNAL_WORKERS, Integer.class, DEFAULT_WORKERS),
+                config.getOrDefault(MEMENTO_JOURNAL_BATCH_SIZE, Integer.class, DEFAULT_BATCH_SIZE),
+                config.getOrDefault(MEMENTO_JOURNAL_CAPACITY, Integer.class, DEFAULT_CAPACITY));
+    }
+
+    @Override
+    public CompletableFuture<Void> put(final IRI identifier, final Instant time, final Stream<? extends Quad> data) {
+        if (backlog.get() >= capacity) {
+            LOGGER.debug("Memento journal is full, writing {} directly", identifier);
+            writeThrough.incrementAndGet();
+            return delegate.put(identifier, time, data);
+        }
+        return runAsync(() -> enqueue(journal(identifier, time, data)));
+    }
+
+    @Override
+    public CompletableFuture<Resource> get(final IRI identifier, final Instant time) {
+        final JournalEntry entry = getPending(identifier, time);
+        return delegate.get(identifier, time).thenApply(res -> {
+            if (nonNull(entry) && (MISSING_RESOURCE.equals(res) || isNull(res.getModified())
+                        || res.getModified().isBefore(entry.time))) {
+                return new FileResource(identifier, entry.data);
+            }
+            return res;
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<Range<Instant>>> list(final IRI identifier) {
+        final NavigableMap<Instant, JournalEntry> entries = pending.get(identifier.getIRIString());
+        if (isNull(entries) || entries.isEmpty()) {
+            return delegate.list(identifier);
+        }
+        final NavigableSet<Instant> versions = new TreeSet<>(entries.keySet());
+        return delegate.list(identifier).thenApply(ranges -> {
+            ranges.stream().map(Range::getMinimum).forEach(versions::add);
+            return toRanges(versions);
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(final IRI identifier, final Instant time) {
+        final NavigableMap<Instant, JournalEntry> entries = pending.get(identifier.getIRIString());
+        if (nonNull(entries)) {
+            final JournalEntry entry = entries.remove(time);
+            if (nonNull(entry)) {
+                entry.cancelled = true;
+            }
+        }
+        return delegate.delete(identifier, time);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        workers.shutdown();
+        if (!workers.awaitTermination(RETRY_DELAY * 2, MILLISECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Get the number of Mementos waiting to be written to storage.
+     * @return the number of pending Mementos
+     */
+    public int getBacklog() {
+        return backlog.get();
+    }
+
+    /**
+     * Get the number of Mementos written to storage by the background writers.
+     * @return the number of completed writes
+     */
+    public long getCompletedCount() {
+        return completed.get();
+    }
+
+    /**
+     * Get the number of failed background write attempts.
+     *
+     * @implNote A failed write remains in the journal and is retried.
+     * @return the number of failed writes
+     */
+    public long getFailureCount() {
+        return failures.get();
+    }
+
+    /**
+     * Get the number of Mementos written directly to storage because the journal was at capacity.
+     * @return the number of direct writes
+     */
+    public long getWriteThroughCount() {
+        return writeThrough.get();
+    }
+
+    private void init() {
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+        final File[] markers = directory.listFiles((dir, name) -> name.endsWith(ENTRY_EXT));
+        if (nonNull(markers)) {
+            removeOrphans(markers);
+            final List<JournalEntry> entries = new ArrayList<>();
+            for (final File marker : markers) {
+                final JournalEntry entry = recover(marker);
+                if (nonNull(entry)) {
+                    entries.add(entry);
+                }
+            }
+            entries.sort(comparingLong(entry -> entry.sequence));
+            entries.forEach(entry -> sequence.accumulateAndGet(entry.sequence, Math::max));
+            entries.forEach(this::enqueue);
+            if (!entries.isEmpty()) {
+                LOGGER.info("Replaying {} Mementos from journal at {}", entries.size(), directory);
+            }
+        }
+    }
+
+    private void removeOrphans(final File[] markers) {
+        // Data files without an entry marker, and unfinished markers, belong to writes that never completed
+        final Set<String> complete = new HashSet<>();
+        for (final File marker : markers) {
+            complete.add(FilenameUtils.getBaseName(marker.getName()));
+        }
+        final File[] orphans = directory.listFiles((dir, name) -> name.endsWith(TMP_EXT)
+                || name.endsWith(DATA_EXT) && !complete.contains(FilenameUtils.getBaseName(name)));
+        if (nonNull(orphans)) {
+            for (final File orphan : orphans) {
+                LOGGER.info("Removing incomplete memento journal file {}", orphan);
+                delete(orphan);
+            }
+        }
+    }
+
+    private JournalEntry recover(final File marker) {
+        try {
+            final long seq = Long.parseLong(FilenameUtils.getBaseName(marker.getName()));
+            final List<String> lines = readAllLines(marker.toPath(), UTF_8);
+            return new JournalEntry(seq, rdf.createIRI(lines.get(0)), Instant.parse(lines.get(1)),
+                    new File(directory, seq + DATA_EXT), marker);
+        } catch (final IOException | RuntimeException ex) {
+            LOGGER.warn("Skipping unreadable memento journal entry {}: {}", marker, ex.getMessage());
+            return null;
+        }
+    }
+
+    private JournalEntry journal(final IRI identifier, final Instant time, final Stream<? extends Quad> data) {
+        final long seq = sequence.incrementAndGet();
+        final File dataFile = new File(directory, seq + DATA_EXT);
+        final File marker = new File(directory, seq + ENTRY_EXT);
+        final File tmp = new File(directory, seq + ENTRY_EXT + TMP_EXT);
+        try {
+            writeSynced(dataFile, data.map(FileUtils::serializeQuad).iterator());
+
+            // The entry marker is moved into place last: only complete journal entries are replayed
+            writeSynced(tmp, asList(identifier.getIRIString(), time.toString()).iterator());
+            move(tmp.toPath(), marker.toPath(), ATOMIC_MOVE);
+            syncDirectory();
+        } catch (final IOException ex) {
+            delete(tmp);
+            delete(dataFile);
+            throw new UncheckedIOException("Error journaling resource version for " + identifier.getIRIString(), ex);
+        }
+        return new JournalEntry(seq, identifier, time, dataFile, marker);
+    }
+
+    private static void writeSynced(final File file, final Iterator<String> lines) throws IOException {
+        try (final FileOutputStream out = new FileOutputStream(file);
+                final BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, UTF_8))) {
+            while (lines.hasNext()) {
+                writer.write(lines.next());
+                writer.newLine();
+            }
+            writer.flush();
+            out.getFD().sync();
+        }
+    }
+
+    private void syncDirectory() {
+        // Make the rename durable; not every platform supports syncing a directory
+        try (final FileChannel channel = FileChannel.open(directory.toPath(), READ)) {
+            channel.force(true);
+        } catch (final IOException ex) {
+            LOGGER.trace("Could not sync memento journal directory: {}", ex.getMessage());
+        }
+    }
+
+    private static void delete(final File file) {
+        try {
+            deleteIfExists(file.toPath());
+        } catch (final IOException ex) {
+            LOGGER.warn("Could not remove memento journal file {}: {}", file, ex.getMessage());
+        }
+    }
+
+    private void enqueue(final JournalEntry entry) {
+        pending.computeIfAbsent(entry.identifier.getIRIString(), k -> new ConcurrentSkipListMap<>())
+            .put(entry.time, entry);
+        backlog.incrementAndGet();
+        queue.add(entry);
+    }
+
+    private void drain() {
+        final List<JournalEntry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                final JournalEntry first = queue.poll(1, SECONDS);
+                if (nonNull(first)) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    LOGGER.trace("Writing batch of {} Mementos", batch.size());
+                    final boolean success = batch.stream().map(this::store).reduce(true, Boolean::logicalAnd);
+                    batch.clear();
+                    if (!success) {
+                        MILLISECONDS.sleep(RETRY_DELAY);
+                    }
+                }
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private boolean store(final JournalEntry entry) {
+        if (!entry.cancelled) {
+            try (final Stream<Quad> quads = lines(entry.data.toPath(), UTF_8).flatMap(FileUtils::parseQuad)) {
+                delegate.put(entry.identifier, entry.time, quads).join();
+            } catch (final IOException | RuntimeException ex) {
+                LOGGER.warn("Error writing Memento for {}, will retry: {}", entry.identifier, ex.getMessage());
+                failures.incrementAndGet();
+                queue.add(entry);
+                return false;
+            }
+            completed.incrementAndGet();
+        }
+        pending.computeIfPresent(entry.identifier.getIRIString(), (k, entries) -> {
+            entries.remove(entry.time, entry);
+            return entries.isEmpty() ? null : entries;
+        });
+        backlog.decrementAndGet();
+        try {
+            deleteIfExists(entry.marker.toPath());
+            deleteIfExists(entry.data.toPath());
+        } catch (final IOException ex) {
+            LOGGER.warn("Could not remove memento journal entry {}: {}", entry.marker, ex.getMessage());
+        }
+        return true;
+    }
+
+    private JournalEntry getPending(final IRI identifier, final Instant time) {
+        final NavigableMap<Instant, JournalEntry> entries = pending.get(identifier.getIRIString());
+        if (nonNull(entries)) {
+            final Map.Entry<Instant, JournalEntry> entry = entries.floorEntry(time);
+            if (nonNull(entry)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static List<Range<Instant>> toRanges(final NavigableSet<Instant> times) {
+        final List<Range<Instant>> versions = new ArrayList<>();
+        Instant last = null;
+        for (final Instant time : times) {
+            if (nonNull(last)) {
+                versions.add(between(last, time));
+            }
+            last = time;
+        }
+        if (nonNull(last)) {
+            versions.add(between(last, now()));
+        }
+        return unmodifiableList(versions);
+    }
+
+    private static final class JournalEntry {
+        private final long sequence;
+        private final IRI identifier;
+        private final Instant time;
+        private final File data;
+        private final File marker;
+        private volatile boolean cancelled;
+
+        private JournalEntry(final long sequence, final IRI identifier, final Instant time, final File data,
+                final File marker) {
+            this.sequence = sequence;
+            this.identifier = identifier;
+            this.time = time;
+            this.data = data;
+            this.marker = marker;
+        }
+    }
+}
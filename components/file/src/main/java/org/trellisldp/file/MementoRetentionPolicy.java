@@ -0,0 +1,141 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.file;
+
+import static java.time.Duration.ofDays;
+import static java.time.ZoneOffset.UTC;
+import static java.time.temporal.ChronoUnit.DAYS;
+import static java.time.temporal.ChronoUnit.HOURS;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.ConfigurationProvider;
+
+/**
+ * A retention policy for Memento resources.
+ *
+ * <p>Every version younger than the retention period is kept. Beyond that, versions are thinned so that
+ * only the most recent version of each hour is kept, then the most recent version of each day, and,
+ * past the daily period, the most recent version of each month. The current version of a resource is
+ * never removed. If a maximum number of versions is set, the oldest versions beyond that number are
+ * also removed.
+ */
+public class MementoRetentionPolicy {
+
+    /** The configuration key controlling the number of days for which all versions are kept. **/
+    public static final String RETENTION_KEEP_DAYS = "trellis.file.memento.retention.keepdays";
+
+    /** The configuration key controlling the age, in days, up to which hourly versions are kept. **/
+    public static final String RETENTION_HOURLY_DAYS = "trellis.file.memento.retention.hourlydays";
+
+    /** The configuration key controlling the age, in days, up to which daily versions are kept. **/
+    public static final String RETENTION_DAILY_DAYS = "trellis.file.memento.retention.dailydays";
+
+    /** The configuration key controlling the maximum number of versions kept for a resource. **/
+    public static final String RETENTION_MAX_VERSIONS = "trellis.file.memento.retention.maxversions";
+
+    private static final Integer DEFAULT_KEEP_DAYS = 7;
+    private static final Integer DEFAULT_HOURLY_DAYS = 30;
+    private static final Integer DEFAULT_DAILY_DAYS = 365;
+    private static final Integer DEFAULT_MAX_VERSIONS = 0;
+
+    private final Duration keepAll;
+    private final Duration hourly;
+    private final Duration daily;
+    private final int maxVersions;
+
+    /**
+     * Create a retention policy.
+     */
+    public MementoRetentionPolicy() {
+        this(ConfigurationProvider.getConfiguration());
+    }
+
+    /**
+     * Create a retention policy.
+     * @param keepAll the period for which all versions are kept
+     * @param hourly the age up to which hourly versions are kept
+     * @param daily the age up to which daily versions are kept
+     * @param maxVersions the maximum number of versions to keep, or 0 for no limit
+     */
+    public MementoRetentionPolicy(final Duration keepAll, final Duration hourly, final Duration daily,
+            final Integer maxVersions) {
+        requireNonNull(keepAll, "The retention period may not be null!");
+        requireNonNull(hourly, "The hourly retention period may not be null!");
+        requireNonNull(daily, "The daily retention period may not be null!");
+        this.keepAll = keepAll;
+        this.hourly = hourly;
+        this.daily = daily;
+        this.maxVersions = maxVersions;
+    }
+
+    private MementoRetentionPolicy(final Configuration config) {
+        this(ofDays(config.getOrDefault(RETENTION_KEEP_DAYS, Integer.class, DEFAULT_KEEP_DAYS)),
+                ofDays(config.getOrDefault(RETENTION_HOURLY_DAYS, Integer.class, DEFAULT_HOURLY_DAYS)),
+                ofDays(config.getOrDefault(RETENTION_DAILY_DAYS, Integer.class, DEFAULT_DAILY_DAYS)),
+                config.getOrDefault(RETENTION_MAX_VERSIONS, Integer.class, DEFAULT_MAX_VERSIONS));
+    }
+
+    /**
+     * Select the versions that are no longer retained.
+     * @param versions the versions of a resource
+     * @param now the current time
+     * @return the expired versions, newest first
+     */
+    public List<Instant> getExpired(final NavigableSet<Instant> versions, final Instant now) {
+        final List<Instant> expired = new ArrayList<>();
+        final Iterator<Instant> iter = versions.descendingIterator();
+        if (!iter.hasNext()) {
+            return expired;
+        }
+
+        // The current version is always kept, and occupies its bucket
+        int retained = 1;
+        final Instant current = iter.next();
+        Instant lastBucket = getBucket(Duration.between(current, now), current);
+        while (iter.hasNext()) {
+            final Instant version = iter.next();
+            final Instant bucket = getBucket(Duration.between(version, now), version);
+            if (nonNull(bucket) && bucket.equals(lastBucket)) {
+                expired.add(version);
+            } else if (maxVersions > 0 && retained >= maxVersions) {
+                expired.add(version);
+            } else {
+                retained++;
+                lastBucket = bucket;
+            }
+        }
+        return unmodifiableList(expired);
+    }
+
+    private Instant getBucket(final Duration age, final Instant version) {
+        if (age.compareTo(keepAll) < 0) {
+            return null;
+        } else if (age.compareTo(hourly) < 0) {
+            return version.truncatedTo(HOURS);
+        } else if (age.compareTo(daily) < 0) {
+            return version.truncatedTo(DAYS);
+        }
+        return version.atZone(UTC).withDayOfMonth(1).truncatedTo(DAYS).toInstant();
+    }
+}
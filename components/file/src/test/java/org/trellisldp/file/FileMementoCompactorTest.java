@@ -0,0 +1,100 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.file;
+
+import static java.time.Duration.ofDays;
+import static java.time.Instant.parse;
+import static java.util.Arrays.asList;
+import static org.apache.commons.io.FileUtils.deleteDirectory;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.trellisldp.api.RDFUtils.TRELLIS_DATA_PREFIX;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Instant;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.trellisldp.api.Resource;
+
+/**
+ * Test the memento compactor.
+ */
+public class FileMementoCompactorTest {
+
+    private static final RDF rdf = new JenaRDF();
+    private static final File baseDir = new File(FileMementoCompactorTest.class.getResource("/versions")
+            .getFile()).getParentFile();
+
+    @AfterAll
+    public static void cleanUp() throws IOException {
+        for (final String name : asList("versions6", "versions8")) {
+            final File dir = new File(baseDir, name);
+            if (dir.exists()) {
+                deleteDirectory(dir);
+            }
+        }
+    }
+
+    @Test
+    public void testCompaction() {
+        final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource");
+        final Resource res = new FileResource(identifier, new File(getClass().getResource("/resource.nq").getFile()));
+        final FileMementoService svc = new FileMementoService(new File(baseDir, "versions6").getAbsolutePath());
+        final Instant time = parse("2017-02-16T11:15:01Z");
+        svc.put(identifier, time, res.stream()).join();
+        svc.put(identifier, time.plusSeconds(10), res.stream()).join();
+        svc.put(identifier, time.plusSeconds(20), res.stream()).join();
+        assertEquals(3L, svc.list(identifier).join().size(), "Incorrect count of Mementos!");
+
+        try (final FileMementoCompactor compactor = new FileMementoCompactor(svc,
+                    new MementoRetentionPolicy(ofDays(1), ofDays(1), ofDays(1), 0), 0L, 1000)) {
+            assertNull(compactor.getLastCompleted(), "Unexpected compaction pass!");
+            compactor.compact();
+            assertFalse(compactor.isRunning(), "Compaction still running!");
+            assertNotNull(compactor.getLastCompleted(), "Missing completion time!");
+            assertEquals(1L, compactor.getResourcesScanned(), "Incorrect count of resources!");
+            assertEquals(2L, compactor.getMementosRemoved(), "Incorrect count of removed Mementos!");
+        }
+        assertEquals(1L, svc.list(identifier).join().size(), "Incorrect count of Mementos!");
+        assertEquals(time.plusSeconds(20), svc.list(identifier).join().get(0).getMinimum(), "Wrong version kept!");
+    }
+
+    @Test
+    public void testStrayFile() throws IOException {
+        final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "stray");
+        final Resource res = new FileResource(identifier, new File(getClass().getResource("/resource.nq").getFile()));
+        final FileMementoService svc = new FileMementoService(new File(baseDir, "versions8").getAbsolutePath());
+        final Instant time = parse("2017-02-16T11:15:01Z");
+        svc.put(identifier, time, res.stream()).join();
+        svc.put(identifier, time.plusSeconds(10), res.stream()).join();
+        Files.createFile(new File(FileUtils.getResourceDirectory(svc.getDirectory(), identifier), "backup.nq")
+                .toPath());
+
+        try (final FileMementoCompactor compactor = new FileMementoCompactor(svc,
+                    new MementoRetentionPolicy(ofDays(1), ofDays(1), ofDays(1), 0), 0L, 1000)) {
+            compactor.compact();
+            assertNotNull(compactor.getLastCompleted(), "Compaction pass did not complete!");
+            assertEquals(1L, compactor.getMementosRemoved(), "Incorrect count of removed Mementos!");
+        }
+        assertEquals(1L, svc.list(identifier).join().size(), "Incorrect count of Mementos!");
+    }
+}
@@ -20,6 +20,7 @@ import static java.util.Collections.emptyList;
 import static org.apache.commons.io.FileUtils.deleteDirectory;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -53,6 +54,18 @@ public class FileMementoServiceTest {
         if (vDir.exists()) {
             deleteDirectory(vDir);
         }
+        final File vDir3 = new File(dir, "versions3");
+        if (vDir3.exists()) {
+            deleteDirectory(vDir3);
+        }
+        final File vDir5 = new File(dir, "versions5");
+        if (vDir5.exists()) {
+            deleteDirectory(vDir5);
+        }
+        final File vDir7 = new File(dir, "versions7");
+        if (vDir7.exists()) {
+            deleteDirectory(vDir7);
+        }
 
         final File readonly = new File(FileMementoServiceTest.class.getResource(
                     "/readonly/35/97/1a/f68d4d5afced3770fc13fb8e560dc253/").getFile());
@@ -143,6 +156,78 @@ public class FileMementoServiceTest {
         assertEquals(1L, svc.list(identifier).join().size(), "Incorrect count of Mementos!");
     }
 
+    @Test
+    public void testSubSecondVersions() {
+        final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource");
+        final File dir = new File(getClass().getResource("/versions").getFile()).getParentFile();
+        final File versionDir = new File(dir, "versions5");
+
+        final MementoService svc = new FileMementoService(versionDir.getAbsolutePath());
+        final Resource res = new FileResource(identifier, new File(getClass().getResource("/resource.nq").getFile()));
+        final Instant time = parse("2017-02-16T11:15:01Z");
+        svc.put(identifier, time, res.stream()).join();
+        svc.put(identifier, time.plusMillis(250), res.stream()).join();
+        svc.put(identifier, time.plusNanos(500_000_123L), res.stream()).join();
+        assertEquals(3L, svc.list(identifier).join().size(), "Incorrect count of Mementos!");
+
+        final MementoService svc2 = new FileMementoService(versionDir.getAbsolutePath());
+        assertEquals(3L, svc2.list(identifier).join().size(), "Incorrect count of Mementos after a rescan!");
+        assertEquals(time.plusNanos(500_000_123L), svc2.list(identifier).join().get(2).getMinimum(),
+                "Incorrect sub-second version!");
+        assertNotEquals(MISSING_RESOURCE, svc2.get(identifier, time.plusMillis(300)).join(), "Missing Memento!");
+        assertNull(svc2.delete(identifier, time.plusMillis(250)).join(), "Error with Memento deletion!");
+        assertEquals(2L, svc2.list(identifier).join().size(), "Incorrect count of Mementos!");
+    }
+
+    @Test
+    public void testBoundedIndex() {
+        final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource");
+        final IRI other = rdf.createIRI(TRELLIS_DATA_PREFIX + "other");
+        final File dir = new File(getClass().getResource("/versions").getFile()).getParentFile();
+        final File versionDir = new File(dir, "versions3");
+
+        final MementoService svc = new FileMementoService(versionDir.getAbsolutePath(), 1);
+        final File file = new File(getClass().getResource("/resource.nq").getFile());
+        final Resource res = new FileResource(identifier, file);
+        final Instant time = parse("2017-02-16T11:15:01Z");
+
+        assertTrue(svc.list(other).join().isEmpty(), "Memento list isn't empty!");
+        svc.put(identifier, time, res.stream()).join();
+        svc.put(other, time, res.stream()).join();
+        assertEquals(1L, svc.list(identifier).join().size(), "Incorrect count of Mementos!");
+        assertEquals(1L, svc.list(other).join().size(), "Incorrect count of Mementos after eviction!");
+        svc.put(other, time.plusSeconds(10), res.stream()).join();
+        assertEquals(2L, svc.list(other).join().size(), "Incorrect count of Mementos!");
+        svc.get(identifier, time.plusSeconds(5))
+            .thenAccept(r -> assertEquals(time, r.getModified(), "Incorrect date!")).join();
+        assertNull(svc.delete(other, time.plusSeconds(10)).join(), "Error with Memento deletion (+10s)!");
+        assertEquals(1L, svc.list(other).join().size(), "Incorrect count of Mementos!");
+        assertNull(svc.delete(other, time).join(), "Error with Memento deletion!");
+        assertNull(svc.delete(identifier, time).join(), "Error with Memento deletion!");
+    }
+
+    @Test
+    public void testSharedDirectory() {
+        final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource");
+        final File dir = new File(getClass().getResource("/versions").getFile()).getParentFile();
+        final File versionDir = new File(dir, "versions7");
+
+        final MementoService svc = new FileMementoService(versionDir.getAbsolutePath());
+        final MementoService other = new FileMementoService(versionDir.getAbsolutePath());
+        final Resource res = new FileResource(identifier, new File(getClass().getResource("/resource.nq").getFile()));
+        final Instant time = parse("2017-02-16T11:15:01Z");
+
+        svc.put(identifier, time, res.stream()).join();
+        assertEquals(1L, svc.list(identifier).join().size(), "Incorrect count of Mementos!");
+
+        // Versions written by another service sharing the directory are not hidden by the index
+        other.put(identifier, time.plusSeconds(10), res.stream()).join();
+        assertEquals(2L, svc.list(identifier).join().size(), "Memento from another service missing!");
+        other.delete(identifier, time).join();
+        assertEquals(1L, svc.list(identifier).join().size(), "Memento deleted by another service still listed!");
+        assertEquals(time.plusSeconds(10), svc.get(identifier, MAX).join().getModified(), "Incorrect Memento!");
+    }
+
     @Test
     public void testUnwritableVersionSystem() {
         final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource");
@@ -0,0 +1,134 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.file;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.Instant.now;
+import static java.time.Instant.parse;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.apache.commons.io.FileUtils.copyFile;
+import static org.apache.commons.io.FileUtils.deleteDirectory;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.trellisldp.api.RDFUtils.TRELLIS_DATA_PREFIX;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Instant;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.trellisldp.api.MementoService;
+import org.trellisldp.api.Resource;
+
+/**
+ * Test a journaled memento service.
+ */
+public class JournaledMementoServiceTest {
+
+    private static final RDF rdf = new JenaRDF();
+    private static final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource");
+    private static final File baseDir = new File(JournaledMementoServiceTest.class.getResource("/versions")
+            .getFile()).getParentFile();
+
+    @AfterAll
+    public static void cleanUp() throws IOException {
+        for (final String name : asList("versions4", "journal1", "journal2", "journal3", "journal4")) {
+            final File dir = new File(baseDir, name);
+            if (dir.exists()) {
+                deleteDirectory(dir);
+            }
+        }
+    }
+
+    @Test
+    public void testJournaledPut() throws Exception {
+        final File journal = new File(baseDir, "journal1");
+        final MementoService delegate = new FileMementoService(new File(baseDir, "versions4").getAbsolutePath());
+        final Resource res = new FileResource(identifier, new File(getClass().getResource("/resource.nq").getFile()));
+        final Instant time = now();
+
+        try (final JournaledMementoService svc = new JournaledMementoService(delegate, journal.getAbsolutePath())) {
+            svc.put(identifier, time, res.stream()).join();
+            assertEquals(1L, svc.list(identifier).join().size(), "Incorrect count of Mementos!");
+            await().until(() -> svc.getBacklog() == 0);
+            assertEquals(1L, svc.getCompletedCount(), "Incorrect count of completed writes!");
+            assertEquals(1L, delegate.list(identifier).join().size(), "Memento not written to storage!");
+            assertEquals(parse("2017-02-16T11:15:01Z"), svc.get(identifier, now()).join().getModified(),
+                    "Incorrect Memento data!");
+            assertEquals(0, journal.list().length, "Journal entries not removed!");
+        }
+    }
+
+    @Test
+    public void testReplay() throws Exception {
+        final File journal = new File(baseDir, "journal2");
+        journal.mkdirs();
+        copyFile(new File(getClass().getResource("/resource.nq").getFile()), new File(journal, "5.nq"));
+        Files.write(new File(journal, "5.entry").toPath(), asList(identifier.getIRIString(),
+                    "2017-02-15T11:15:01Z"), UTF_8);
+
+        final MementoService delegate = mock(MementoService.class);
+        when(delegate.put(any(IRI.class), any(Instant.class), any())).thenReturn(completedFuture(null));
+
+        try (final JournaledMementoService svc = new JournaledMementoService(delegate, journal.getAbsolutePath())) {
+            await().until(() -> svc.getCompletedCount() == 1L);
+            assertEquals(0, svc.getBacklog(), "Journal backlog not drained!");
+            assertFalse(new File(journal, "5.entry").exists(), "Journal entry not removed!");
+        }
+    }
+
+    @Test
+    public void testRemoveOrphans() throws Exception {
+        final File journal = new File(baseDir, "journal4");
+        journal.mkdirs();
+        copyFile(new File(getClass().getResource("/resource.nq").getFile()), new File(journal, "3.nq"));
+        copyFile(new File(getClass().getResource("/resource.nq").getFile()), new File(journal, "4.nq"));
+        Files.write(new File(journal, "4.entry.tmp").toPath(), asList(identifier.getIRIString()), UTF_8);
+
+        final MementoService delegate = mock(MementoService.class);
+        when(delegate.put(any(IRI.class), any(Instant.class), any())).thenReturn(completedFuture(null));
+
+        try (final JournaledMementoService svc = new JournaledMementoService(delegate, journal.getAbsolutePath())) {
+            assertEquals(0, svc.getBacklog(), "Incomplete journal entry replayed!");
+            assertEquals(0, journal.list().length, "Incomplete journal files not removed!");
+        }
+    }
+
+    @Test
+    public void testWriteThrough() throws Exception {
+        final File journal = new File(baseDir, "journal3");
+        final MementoService delegate = mock(MementoService.class);
+        when(delegate.put(any(IRI.class), any(Instant.class), any())).thenReturn(completedFuture(null));
+        final Resource res = new FileResource(identifier, new File(getClass().getResource("/resource.nq").getFile()));
+
+        try (final JournaledMementoService svc = new JournaledMementoService(delegate, journal.getAbsolutePath(),
+                    1, 10, 0)) {
+            svc.put(identifier, now(), res.stream()).join();
+            assertEquals(1L, svc.getWriteThroughCount(), "Incorrect count of direct writes!");
+            assertEquals(0, svc.getBacklog(), "Unexpected journal backlog!");
+            assertTrue(journal.exists(), "Journal directory not created!");
+        }
+    }
+}
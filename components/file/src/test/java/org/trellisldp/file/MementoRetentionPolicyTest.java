@@ -0,0 +1,79 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.file;
+
+import static java.time.Duration.ofDays;
+import static java.time.Instant.parse;
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test a memento retention policy.
+ */
+public class MementoRetentionPolicyTest {
+
+    private static final Instant now = parse("2018-10-01T12:00:00Z");
+
+    @Test
+    public void testKeepRecent() {
+        final MementoRetentionPolicy policy = new MementoRetentionPolicy(ofDays(7), ofDays(30), ofDays(365), 0);
+        final NavigableSet<Instant> versions = new TreeSet<>(asList(parse("2018-10-01T11:00:00Z"),
+                    parse("2018-10-01T11:00:01Z"), parse("2018-10-01T11:00:01.5Z"), parse("2018-09-28T10:00:00Z")));
+        assertTrue(policy.getExpired(versions, now).isEmpty(), "Recent versions should be kept!");
+        assertTrue(policy.getExpired(new TreeSet<>(), now).isEmpty(), "No versions to expire!");
+    }
+
+    @Test
+    public void testThinning() {
+        final MementoRetentionPolicy policy = new MementoRetentionPolicy(ofDays(7), ofDays(30), ofDays(365), 0);
+        final NavigableSet<Instant> versions = new TreeSet<>(asList(
+                    // hourly
+                    parse("2018-09-20T10:05:00Z"), parse("2018-09-20T10:45:00Z"), parse("2018-09-20T11:05:00Z"),
+                    // daily
+                    parse("2018-06-01T01:00:00Z"), parse("2018-06-01T23:00:00Z"), parse("2018-06-02T01:00:00Z"),
+                    // monthly
+                    parse("2017-03-02T00:00:00Z"), parse("2017-03-30T00:00:00Z"), parse("2017-04-01T00:00:00Z"),
+                    // current
+                    parse("2018-10-01T11:00:00Z")));
+        final List<Instant> expired = policy.getExpired(versions, now);
+        assertEquals(asList(parse("2018-09-20T10:05:00Z"), parse("2018-06-01T01:00:00Z"),
+                    parse("2017-03-02T00:00:00Z")), expired, "Incorrect expired versions!");
+    }
+
+    @Test
+    public void testMaxVersions() {
+        final MementoRetentionPolicy policy = new MementoRetentionPolicy(ofDays(7), ofDays(30), ofDays(365), 2);
+        final NavigableSet<Instant> versions = new TreeSet<>(asList(parse("2018-10-01T11:00:00Z"),
+                    parse("2018-10-01T10:00:00Z"), parse("2018-10-01T09:00:00Z"), parse("2018-10-01T08:00:00Z")));
+        assertEquals(asList(parse("2018-10-01T09:00:00Z"), parse("2018-10-01T08:00:00Z")),
+                policy.getExpired(versions, now), "Incorrect expired versions!");
+    }
+
+    @Test
+    public void testCurrentVersionKept() {
+        final MementoRetentionPolicy policy = new MementoRetentionPolicy(ofDays(0), ofDays(0), ofDays(0), 1);
+        final NavigableSet<Instant> versions = new TreeSet<>(asList(parse("2015-01-01T00:00:00Z"),
+                    parse("2015-01-02T00:00:00Z")));
+        assertEquals(asList(parse("2015-01-01T00:00:00Z")), policy.getExpired(versions, now),
+                "Incorrect expired versions!");
+    }
+}
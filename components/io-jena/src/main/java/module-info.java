@@ -15,6 +15,7 @@ module org.trellisldp.jpms.io {
     exports org.trellisldp.io;
     exports org.trellisldp.io.impl;
     requires javax.inject;
+    requires jsonld.java;
     requires org.apache.commons.io;
     requires org.apache.commons.rdf.api;
     requires org.apache.commons.rdf.jena;
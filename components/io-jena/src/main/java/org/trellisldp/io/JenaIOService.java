@@ -14,16 +14,21 @@
 
 package org.trellisldp.io;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.Duration.ofMinutes;
 import static java.util.Arrays.asList;
 import static java.util.Arrays.stream;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.unmodifiableList;
 import static java.util.Collections.unmodifiableMap;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static java.util.Objects.requireNonNull;
 import static java.util.Optional.of;
 import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
+import static java.util.stream.Stream.concat;
 import static org.apache.commons.rdf.api.RDFSyntax.NTRIPLES;
 import static org.apache.commons.rdf.api.RDFSyntax.RDFA;
 import static org.apache.commons.rdf.api.RDFSyntax.TURTLE;
@@ -36,8 +41,10 @@ import static org.apache.jena.arq.riot.system.StreamRDFWriter.getWriterStream;
 import static org.apache.jena.arq.update.UpdateAction.execute;
 import static org.apache.jena.arq.update.UpdateFactory.create;
 import static org.apache.jena.core.graph.Factory.createDefaultGraph;
+import static org.apache.jena.core.graph.NodeFactory.createBlankNode;
 import static org.slf4j.LoggerFactory.getLogger;
 import static org.trellisldp.api.Syntax.SPARQL_UPDATE;
+import static org.trellisldp.io.impl.JsonLdStreamWriter.writeExpanded;
 import static org.trellisldp.vocabulary.JSONLD.compacted;
 import static org.trellisldp.vocabulary.JSONLD.compacted_flattened;
 import static org.trellisldp.vocabulary.JSONLD.expanded;
@@ -48,18 +55,25 @@ import static org.trellisldp.vocabulary.JSONLD.getNamespace;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import javax.inject.Inject;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
 import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.RDFSyntax;
+import org.apache.commons.rdf.api.RDFTerm;
 import org.apache.commons.rdf.api.Triple;
 import org.apache.commons.rdf.jena.JenaRDF;
 import org.apache.jena.arq.atlas.web.HttpException;
@@ -75,19 +89,34 @@ import org.apache.jena.arq.riot.WriterDatasetRIOT;
 import org.apache.jena.arq.riot.system.PrefixMap;
 import org.apache.jena.arq.riot.system.RiotLib;
 import org.apache.jena.arq.riot.system.StreamRDF;
+import org.apache.jena.arq.riot.system.StreamRDFBase;
 import org.apache.jena.arq.riot.web.HttpOp;
 import org.apache.jena.arq.sparql.core.DatasetGraph;
 import org.apache.jena.arq.sparql.core.DatasetGraphFactory;
+import org.apache.jena.arq.sparql.core.Quad;
+import org.apache.jena.arq.sparql.core.TriplePath;
+import org.apache.jena.arq.sparql.modify.request.UpdateDataDelete;
+import org.apache.jena.arq.sparql.modify.request.UpdateDataInsert;
+import org.apache.jena.arq.sparql.modify.request.UpdateDeleteWhere;
+import org.apache.jena.arq.sparql.modify.request.UpdateModify;
+import org.apache.jena.arq.sparql.syntax.ElementGroup;
+import org.apache.jena.arq.sparql.syntax.ElementPathBlock;
+import org.apache.jena.arq.update.Update;
 import org.apache.jena.arq.update.UpdateException;
+import org.apache.jena.arq.update.UpdateRequest;
 import org.apache.jena.base.atlas.AtlasException;
+import org.apache.jena.core.graph.Node;
+import org.apache.tamaya.Configuration;
 import org.apache.tamaya.ConfigurationProvider;
 import org.slf4j.Logger;
 import org.trellisldp.api.CacheService;
 import org.trellisldp.api.CacheService.TrellisProfileCache;
 import org.trellisldp.api.IOService;
 import org.trellisldp.api.NamespaceService;
+import org.trellisldp.api.NoopCacheService;
 import org.trellisldp.api.RDFaWriterService;
 import org.trellisldp.api.RuntimeTrellisException;
+import org.trellisldp.io.impl.JsonLdContextCache;
 
 /**
  * An IOService implemented using Jena.
@@ -102,10 +131,23 @@ public class JenaIOService implements IOService {
     /** The configuration key listing valid JSON-LD profile domains. **/
     public static final String IO_JSONLD_DOMAINS = "trellis.io.jsonld.domains";
 
+    /** The configuration key controlling the number of minutes after which a JSON-LD context is refreshed. **/
+    public static final String IO_JSONLD_REFRESH = "trellis.io.jsonld.refresh";
+
+    /** The configuration key controlling the number of minutes after which a JSON-LD context expires. **/
+    public static final String IO_JSONLD_EXPIRE = "trellis.io.jsonld.expire";
+
+    /** The configuration key controlling the maximum number of triples read from a single input (0 = unlimited). **/
+    public static final String IO_MAX_TRIPLES = "trellis.io.maxtriples";
+
     private static final Logger LOGGER = getLogger(JenaIOService.class);
 
     private static final JenaRDF rdf = new JenaRDF();
 
+    private static final Long DEFAULT_REFRESH = 60L;
+    private static final Long DEFAULT_EXPIRE = 1440L;
+    private static final Long DEFAULT_MAX_TRIPLES = 0L;
+
     private static final Map<IRI, RDFFormat> JSONLD_FORMATS = unmodifiableMap(
             Stream.of(new SimpleEntry<>(compacted, JSONLD_COMPACT_FLAT),
                     new SimpleEntry<>(flattened, JSONLD_FLATTEN_FLAT), new SimpleEntry<>(expanded, JSONLD_EXPAND_FLAT),
@@ -118,6 +160,8 @@ public class JenaIOService implements IOService {
     private final RDFaWriterService htmlSerializer;
     private final Set<String> whitelist;
     private final Set<String> whitelistDomains;
+    private final JsonLdContextCache contexts;
+    private final long maxTriples;
 
     private final List<RDFSyntax> readable;
     private final List<RDFSyntax> writable;
@@ -160,9 +204,7 @@ public class JenaIOService implements IOService {
     public JenaIOService(final NamespaceService namespaceService,
             final RDFaWriterService htmlSerializer,
             @TrellisProfileCache final CacheService<String, String> cache) {
-        this(namespaceService, htmlSerializer, cache,
-                ConfigurationProvider.getConfiguration().getOrDefault(IO_JSONLD_PROFILES, ""),
-                ConfigurationProvider.getConfiguration().getOrDefault(IO_JSONLD_DOMAINS, ""));
+        this(namespaceService, htmlSerializer, cache, ConfigurationProvider.getConfiguration());
     }
 
     /**
@@ -191,11 +233,33 @@ public class JenaIOService implements IOService {
      */
     public JenaIOService(final NamespaceService namespaceService, final RDFaWriterService htmlSerializer, final
     CacheService<String, String> cache, final Set<String> whitelist, final Set<String> whitelistDomains) {
+        this(namespaceService, htmlSerializer, cache, whitelist, whitelistDomains, DEFAULT_REFRESH, DEFAULT_EXPIRE,
+                DEFAULT_MAX_TRIPLES);
+    }
+
+    /**
+     * Create a serialization service.
+     *
+     * @param namespaceService the namespace service
+     * @param htmlSerializer   the HTML serializer service
+     * @param cache            a cache for custom JSON-LD profile resolution
+     * @param whitelist        a whitelist of JSON-LD profiles
+     * @param whitelistDomains a whitelist of JSON-LD profile domains
+     * @param refresh          the number of minutes after which a JSON-LD context is refreshed
+     * @param expire           the number of minutes after which a JSON-LD context expires
+     * @param maxTriples       the maximum number of triples read from a single input, or 0 for no limit
+     */
+    public JenaIOService(final NamespaceService namespaceService, final RDFaWriterService htmlSerializer, final
+    CacheService<String, String> cache, final Set<String> whitelist, final Set<String> whitelistDomains,
+            final Long refresh, final Long expire, final Long maxTriples) {
         this.nsService = namespaceService;
         this.htmlSerializer = htmlSerializer;
         this.cache = cache;
         this.whitelist = whitelist;
         this.whitelistDomains = whitelistDomains;
+        this.contexts = new JsonLdContextCache(nonNull(cache) ? cache : new NoopCacheService<>(),
+                JenaIOService::fetchProfile, ofMinutes(refresh), ofMinutes(expire));
+        this.maxTriples = maxTriples;
 
         final List<RDFSyntax> reads = new ArrayList<>(asList(TURTLE, RDFSyntax.JSONLD, NTRIPLES));
         if (nonNull(htmlSerializer)) {
@@ -206,6 +270,15 @@ public class JenaIOService implements IOService {
         this.writable = unmodifiableList(asList(TURTLE, RDFSyntax.JSONLD, NTRIPLES));
     }
 
+    private JenaIOService(final NamespaceService namespaceService, final RDFaWriterService htmlSerializer,
+            final CacheService<String, String> cache, final Configuration config) {
+        this(namespaceService, htmlSerializer, cache, intoSet(config.getOrDefault(IO_JSONLD_PROFILES, "")),
+                intoSet(config.getOrDefault(IO_JSONLD_DOMAINS, "")),
+                config.getOrDefault(IO_JSONLD_REFRESH, Long.class, DEFAULT_REFRESH),
+                config.getOrDefault(IO_JSONLD_EXPIRE, Long.class, DEFAULT_EXPIRE),
+                config.getOrDefault(IO_MAX_TRIPLES, Long.class, DEFAULT_MAX_TRIPLES));
+    }
+
     @Override
     public List<RDFSyntax> supportedReadSyntaxes() {
         return readable;
@@ -244,6 +317,9 @@ public class JenaIOService implements IOService {
                     ofNullable(nsService).ifPresent(svc -> svc.getNamespaces().forEach(stream::prefix));
                     triples.map(rdf::asJenaTriple).forEachOrdered(stream::triple);
                     stream.finish();
+                } else if (JSONLD.equals(lang) && canStreamJsonLd(profiles)) {
+                    LOGGER.debug("Writing stream-based JSON-LD");
+                    writeExpanded(triples, output);
                 } else {
                     LOGGER.debug("Writing buffered RDF: {}", lang);
                     final org.apache.jena.core.graph.Graph graph = createDefaultGraph();
@@ -257,11 +333,16 @@ public class JenaIOService implements IOService {
                     }
                 }
             }
-        } catch (final AtlasException ex) {
+        } catch (final AtlasException | UncheckedIOException ex) {
             throw new RuntimeTrellisException(ex);
         }
     }
 
+    private Boolean canStreamJsonLd(final IRI... profiles) {
+        return !canUseCustomJsonLdProfile(getCustomJsonLdProfile(profiles))
+            && JSONLD_EXPAND_FLAT.equals(getJsonLdProfile(profiles));
+    }
+
     private void writeHTML(final Stream<? extends Triple> triples, final OutputStream output, final String subject) {
         if (nonNull(htmlSerializer)) {
             htmlSerializer.write(triples, output, subject);
@@ -283,14 +364,7 @@ public class JenaIOService implements IOService {
         final JsonLDWriteContext ctx = new JsonLDWriteContext();
         if (canUseCustomJsonLdProfile(profile)) {
             LOGGER.debug("Setting JSON-LD context with profile: {}", profile);
-            final String c = cache.get(profile, p -> {
-                try (final TypedInputStream res = HttpOp.execHttpGet(profile)) {
-                    return IOUtils.toString(res.getInputStream(), UTF_8);
-                } catch (final IOException | HttpException ex) {
-                    LOGGER.warn("Error fetching profile {}: {}", p, ex.getMessage());
-                    return null;
-                }
-            });
+            final Object c = contexts.get(profile);
             if (nonNull(c)) {
                 ctx.setJsonLDContext(c);
                 ctx.setJsonLDContextSubstitution("\"" + profile + "\"");
@@ -299,6 +373,15 @@ public class JenaIOService implements IOService {
         writer.write(output, graph, pm, base, ctx);
     }
 
+    private static String fetchProfile(final String profile) {
+        try (final TypedInputStream res = HttpOp.execHttpGet(profile)) {
+            return IOUtils.toString(res.getInputStream(), UTF_8);
+        } catch (final IOException | HttpException ex) {
+            LOGGER.warn("Error fetching profile {}: {}", profile, ex.getMessage());
+            return null;
+        }
+    }
+
     private String getCustomJsonLdProfile(final IRI... profiles) {
         for (final IRI p : profiles) {
             final String profile = p.getIRIString();
@@ -318,51 +401,242 @@ public class JenaIOService implements IOService {
 
     @Override
     public Stream<? extends Triple> read(final InputStream input, final RDFSyntax syntax, final String base) {
+        final org.apache.jena.core.graph.Graph graph = createDefaultGraph();
+        parse(input, syntax, base, graph::add);
+        return rdf.asGraph(graph).stream();
+    }
+
+    @Override
+    public void read(final InputStream input, final RDFSyntax syntax, final String base,
+            final Consumer<? super Triple> consumer) {
+        requireNonNull(consumer, "The consumer may not be null!");
+        parse(input, syntax, base, triple -> consumer.accept(rdf.asTriple(triple)));
+    }
+
+    @Override
+    public void update(final org.apache.commons.rdf.api.Graph graph, final String update, final RDFSyntax syntax,
+                       final String base) {
+        requireNonNull(graph, "The input graph may not be null");
+        requireNonNull(update, "The update command may not be null");
+        requireNonNull(syntax, "The RDF syntax may not be null");
+        if (!SPARQL_UPDATE.equals(syntax)) {
+            throw new RuntimeTrellisException("The syntax " + syntax + " is not supported for updates.");
+        }
+
+        try {
+            final org.apache.jena.core.graph.Graph g = rdf.asJenaGraph(graph);
+            execute(create(update, base), g);
+        } catch (final UpdateException | QueryParseException ex) {
+            throw new RuntimeTrellisException(ex);
+        }
+    }
+
+    @Override
+    public boolean update(final org.apache.commons.rdf.api.Graph graph, final String update, final RDFSyntax syntax,
+            final String base, final org.apache.commons.rdf.api.Graph additions,
+            final org.apache.commons.rdf.api.Graph removals) {
+        requireNonNull(graph, "The input graph may not be null");
+        requireNonNull(update, "The update command may not be null");
+        requireNonNull(syntax, "The RDF syntax may not be null");
+        if (!SPARQL_UPDATE.equals(syntax)) {
+            throw new RuntimeTrellisException("The syntax " + syntax + " is not supported for updates.");
+        }
+
+        final UpdateRequest request;
+        try {
+            request = create(update, base);
+        } catch (final QueryParseException ex) {
+            throw new RuntimeTrellisException(ex);
+        }
+
+        final Set<org.apache.jena.core.graph.Triple> inserts = new LinkedHashSet<>();
+        final Set<org.apache.jena.core.graph.Triple> deletes = new LinkedHashSet<>();
+        final List<Update> operations = request.getOperations();
+        if (operations.stream().allMatch(op -> op instanceof UpdateDataInsert || op instanceof UpdateDataDelete)) {
+            if (!operations.stream().flatMap(op -> getQuads(op).stream()).allMatch(Quad::isDefaultGraph)) {
+                return false;
+            }
+            // Data operations are applied in order, so later operations take precedence over earlier ones
+            operations.forEach(op -> getQuads(op).stream().map(Quad::asTriple).forEachOrdered(triple -> {
+                if (op instanceof UpdateDataInsert) {
+                    deletes.remove(triple);
+                    inserts.add(triple);
+                } else {
+                    inserts.remove(triple);
+                    deletes.add(triple);
+                }
+            }));
+        } else if (operations.size() == 1 && !applyPattern(graph, operations.get(0), inserts, deletes)) {
+            return false;
+        } else if (operations.size() > 1) {
+            return false;
+        }
+
+        deletes.stream().map(rdf::asTriple).forEachOrdered(removals::add);
+        inserts.stream().map(rdf::asTriple).forEachOrdered(additions::add);
+        return true;
+    }
+
+    private static List<Quad> getQuads(final Update operation) {
+        if (operation instanceof UpdateDataInsert) {
+            return ((UpdateDataInsert) operation).getQuads();
+        }
+        return ((UpdateDataDelete) operation).getQuads();
+    }
+
+    // Evaluate a DELETE WHERE or DELETE/INSERT WHERE operation with at most a single triple pattern
+    private static boolean applyPattern(final org.apache.commons.rdf.api.Graph graph, final Update operation,
+            final Set<org.apache.jena.core.graph.Triple> inserts,
+            final Set<org.apache.jena.core.graph.Triple> deletes) {
+        final List<Quad> deleteTemplate;
+        final List<Quad> insertTemplate;
+        final List<Quad> patterns;
+        if (operation instanceof UpdateDeleteWhere) {
+            deleteTemplate = ((UpdateDeleteWhere) operation).getQuads();
+            insertTemplate = emptyList();
+            patterns = deleteTemplate;
+        } else if (operation instanceof UpdateModify && isSimpleModify((UpdateModify) operation)) {
+            final UpdateModify modify = (UpdateModify) operation;
+            deleteTemplate = modify.getDeleteQuads();
+            insertTemplate = modify.getInsertQuads();
+            patterns = ((ElementGroup) modify.getWherePattern()).getElements().stream()
+                .flatMap(element -> ((ElementPathBlock) element).getPattern().getList().stream())
+                .map(path -> new Quad(Quad.defaultGraphNodeGenerated, path.asTriple())).collect(toList());
+        } else {
+            return false;
+        }
+
+        if (patterns.size() > 1 || !concat(concat(deleteTemplate.stream(), insertTemplate.stream()),
+                    patterns.stream()).allMatch(Quad::isDefaultGraph)) {
+            return false;
+        }
+
+        if (patterns.isEmpty()) {
+            applyTemplates(new HashMap<>(), deleteTemplate, insertTemplate, inserts, deletes);
+            return true;
+        }
+
+        final org.apache.jena.core.graph.Triple pattern = patterns.get(0).asTriple();
+        try (final Stream<? extends Triple> matches = graph.stream(
+                    concrete(pattern.getSubject()).filter(BlankNodeOrIRI.class::isInstance)
+                        .map(BlankNodeOrIRI.class::cast).orElse(null),
+                    concrete(pattern.getPredicate()).filter(IRI.class::isInstance).map(IRI.class::cast).orElse(null),
+                    concrete(pattern.getObject()).orElse(null))) {
+            matches.map(rdf::asJenaTriple).forEachOrdered(triple -> {
+                final Map<Node, Node> binding = new HashMap<>();
+                if (bind(binding, pattern.getSubject(), triple.getSubject())
+                        && bind(binding, pattern.getPredicate(), triple.getPredicate())
+                        && bind(binding, pattern.getObject(), triple.getObject())) {
+                    applyTemplates(binding, deleteTemplate, insertTemplate, inserts, deletes);
+                }
+            });
+        }
+        return true;
+    }
+
+    private static void applyTemplates(final Map<Node, Node> binding, final List<Quad> deleteTemplate,
+            final List<Quad> insertTemplate, final Set<org.apache.jena.core.graph.Triple> inserts,
+            final Set<org.apache.jena.core.graph.Triple> deletes) {
+        // Deletions are applied before insertions
+        instantiate(deleteTemplate, binding).filter(triple -> !inserts.contains(triple))
+            .forEachOrdered(deletes::add);
+        // Blank nodes in an insert template are fresh for each solution
+        final Map<Node, Node> blankNodes = new HashMap<>();
+        instantiate(insertTemplate, binding).map(triple -> freshBlankNodes(triple, blankNodes))
+            .forEachOrdered(triple -> {
+                deletes.remove(triple);
+                inserts.add(triple);
+            });
+    }
+
+    private static boolean isSimpleModify(final UpdateModify modify) {
+        return modify.getUsing().isEmpty() && modify.getUsingNamed().isEmpty() && isNull(modify.getWithIRI())
+            && modify.getWherePattern() instanceof ElementGroup
+            && ((ElementGroup) modify.getWherePattern()).getElements().stream().allMatch(element ->
+                    element instanceof ElementPathBlock && ((ElementPathBlock) element).getPattern().getList()
+                    .stream().allMatch(TriplePath::isTriple));
+    }
+
+    private static Optional<RDFTerm> concrete(final Node node) {
+        if (node.isVariable() || node.isBlank()) {
+            return Optional.empty();
+        }
+        return of(rdf.asRDFTerm(node));
+    }
+
+    private static boolean bind(final Map<Node, Node> binding, final Node pattern, final Node value) {
+        if (pattern.isVariable() || pattern.isBlank()) {
+            final Node bound = binding.putIfAbsent(pattern, value);
+            return isNull(bound) || bound.equals(value);
+        }
+        return pattern.equals(value);
+    }
+
+    private static Stream<org.apache.jena.core.graph.Triple> instantiate(final List<Quad> template,
+            final Map<Node, Node> binding) {
+        return template.stream().map(Quad::asTriple).map(triple -> org.apache.jena.core.graph.Triple.create(
+                    binding.getOrDefault(triple.getSubject(), triple.getSubject()),
+                    binding.getOrDefault(triple.getPredicate(), triple.getPredicate()),
+                    binding.getOrDefault(triple.getObject(), triple.getObject())))
+            // Skip any triples with unbound variables or invalid terms
+            .filter(triple -> !triple.getSubject().isVariable() && !triple.getSubject().isLiteral()
+                    && triple.getPredicate().isURI() && !triple.getObject().isVariable());
+    }
+
+    private static org.apache.jena.core.graph.Triple freshBlankNodes(final org.apache.jena.core.graph.Triple triple,
+            final Map<Node, Node> blankNodes) {
+        return org.apache.jena.core.graph.Triple.create(freshBlankNode(triple.getSubject(), blankNodes),
+                triple.getPredicate(), freshBlankNode(triple.getObject(), blankNodes));
+    }
+
+    private static Node freshBlankNode(final Node node, final Map<Node, Node> blankNodes) {
+        return node.isBlank() ? blankNodes.computeIfAbsent(node, k -> createBlankNode()) : node;
+    }
+
+    private void parse(final InputStream input, final RDFSyntax syntax, final String base,
+            final Consumer<org.apache.jena.core.graph.Triple> consumer) {
         requireNonNull(input, "The input stream may not be null!");
         requireNonNull(syntax, "The syntax value may not be null!");
 
         try {
-            final org.apache.jena.core.graph.Graph graph = createDefaultGraph();
             final Lang lang = rdf.asJenaLang(syntax).orElseThrow(
                     () -> new RuntimeTrellisException("Unsupported RDF Syntax: " + syntax.mediaType()));
+            final Map<String, String> prefixes = new HashMap<>();
 
-            RDFParser.source(input).lang(lang).base(base).parse(graph);
+            // Triples are handed to the consumer as they are parsed, rather than after the entire input is read
+            RDFParser.source(input).lang(lang).base(base).parse(new StreamRDFBase() {
+                private long count;
 
-            // Check the graph for any new namespace definitions
+                @Override
+                public void triple(final org.apache.jena.core.graph.Triple triple) {
+                    if (maxTriples > 0 && ++count > maxTriples) {
+                        throw new RuntimeTrellisException("Input exceeds the maximum of " + maxTriples + " triples");
+                    }
+                    consumer.accept(triple);
+                }
+
+                @Override
+                public void prefix(final String prefix, final String iri) {
+                    prefixes.put(prefix, iri);
+                }
+            });
+
+            // Check the input for any new namespace definitions
             if (nonNull(nsService)) {
                 final Set<String> namespaces = nsService.getNamespaces().entrySet().stream().map(
                         Map.Entry::getValue).collect(toSet());
-                graph.getPrefixMapping().getNsPrefixMap().forEach((prefix, namespace) -> {
+                prefixes.forEach((prefix, namespace) -> {
                     if (!namespaces.contains(namespace)) {
                         LOGGER.debug("Setting prefix ({}) for namespace {}", prefix, namespace);
                         nsService.setPrefix(prefix, namespace);
                     }
                 });
             }
-            return rdf.asGraph(graph).stream();
         } catch (final RiotException | AtlasException | IllegalArgumentException ex) {
             throw new RuntimeTrellisException(ex);
         }
     }
 
-    @Override
-    public void update(final org.apache.commons.rdf.api.Graph graph, final String update, final RDFSyntax syntax,
-                       final String base) {
-        requireNonNull(graph, "The input graph may not be null");
-        requireNonNull(update, "The update command may not be null");
-        requireNonNull(syntax, "The RDF syntax may not be null");
-        if (!SPARQL_UPDATE.equals(syntax)) {
-            throw new RuntimeTrellisException("The syntax " + syntax + " is not supported for updates.");
-        }
-
-        try {
-            final org.apache.jena.core.graph.Graph g = rdf.asJenaGraph(graph);
-            execute(create(update, base), g);
-        } catch (final UpdateException | QueryParseException ex) {
-            throw new RuntimeTrellisException(ex);
-        }
-    }
-
     private static Set<String> intoSet(final String property) {
         return stream(property.split(",")).map(String::trim).filter(x -> !x.isEmpty()).collect(toSet());
     }
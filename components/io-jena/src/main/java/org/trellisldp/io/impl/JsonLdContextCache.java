@@ -0,0 +1,193 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.io.impl;
+
+import static java.time.Instant.now;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import com.github.jsonldjava.utils.JsonUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.trellisldp.api.CacheService;
+
+/**
+ * A cache of parsed JSON-LD context documents.
+ *
+ * <p>Context documents are first retrieved through the supplied {@link CacheService}, which remains the
+ * store for the raw documents. The parsed form of the most recently used contexts is held in a bounded
+ * index, so that a compacted response does not need to re-parse the context document. An entry older
+ * than the refresh period is still served while a replacement is loaded on a dedicated background
+ * thread; an entry is loaded on the request thread only when it is missing or older than the expiry
+ * period. If a background refresh fails, the existing context continues to be served. No context is
+ * retrieved while a lock is held.
+ */
+public class JsonLdContextCache {
+
+    private static final Logger LOGGER = getLogger(JsonLdContextCache.class);
+    private static final int DEFAULT_SIZE = 100;
+    private static final ExecutorService REFRESH_EXECUTOR = newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "trellis-jsonld-context-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final CacheService<String, String> store;
+    private final Function<String, String> loader;
+    private final Duration refreshAfter;
+    private final Duration expireAfter;
+    private final Map<String, Entry> entries;
+
+    /**
+     * Create a JSON-LD context cache.
+     *
+     * @param store the cache service that stores the context documents
+     * @param loader a function that retrieves a context document, returning null if it is unavailable
+     * @param refreshAfter the age at which an entry is refreshed in the background
+     * @param expireAfter the age at which an entry is no longer served
+     */
+    public JsonLdContextCache(final CacheService<String, String> store, final Function<String, String> loader,
+            final Duration refreshAfter, final Duration expireAfter) {
+        this(store, loader, refreshAfter, expireAfter, DEFAULT_SIZE);
+    }
+
+    /**
+     * Create a JSON-LD context cache.
+     *
+     * @param store the cache service that stores the context documents
+     * @param loader a function that retrieves a context document, returning null if it is unavailable
+     * @param refreshAfter the age at which an entry is refreshed in the background
+     * @param expireAfter the age at which an entry is no longer served
+     * @param size the maximum number of parsed contexts to hold
+     */
+    public JsonLdContextCache(final CacheService<String, String> store, final Function<String, String> loader,
+            final Duration refreshAfter, final Duration expireAfter, final int size) {
+        requireNonNull(store, "The context store may not be null!");
+        requireNonNull(loader, "The context loader may not be null!");
+        this.store = store;
+        this.loader = loader;
+        this.refreshAfter = refreshAfter;
+        this.expireAfter = expireAfter;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+                return size() > size;
+            }
+        };
+    }
+
+    /**
+     * Get the parsed form of a JSON-LD context.
+     *
+     * @param profile the location of the context document
+     * @return the parsed context, or null if the context is unavailable
+     */
+    public Object get(final String profile) {
+        final Instant time = now();
+        final Entry entry;
+        synchronized (entries) {
+            entry = entries.get(profile);
+        }
+        if (isNull(entry)) {
+            return put(profile, parse(profile, fetch(profile), time)).context;
+        } else if (entry.isOlderThan(expireAfter, time)) {
+            return put(profile, parse(profile, loader.apply(profile), time)).context;
+        } else if (entry.isOlderThan(refreshAfter, time) && entry.refreshing.compareAndSet(false, true)) {
+            REFRESH_EXECUTOR.execute(() -> refresh(profile, entry));
+        }
+        return entry.context;
+    }
+
+    /**
+     * Get the number of cached contexts.
+     *
+     * @return the number of cached contexts
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void refresh(final String profile, final Entry stale) {
+        LOGGER.debug("Refreshing JSON-LD context: {}", profile);
+        final Instant time = now();
+        final Entry fresh = parse(profile, loader.apply(profile), time);
+        synchronized (entries) {
+            if (entries.get(profile) != stale) {
+                return;
+            }
+            if (isNull(fresh.context) && nonNull(stale.context)) {
+                LOGGER.warn("Unable to refresh JSON-LD context {}, continuing to use cached copy", profile);
+                entries.put(profile, new Entry(stale.context, time));
+            } else {
+                entries.put(profile, fresh);
+            }
+        }
+    }
+
+    private String fetch(final String profile) {
+        try {
+            return store.get(profile, loader);
+        } catch (final RuntimeException ex) {
+            LOGGER.warn("Error retrieving JSON-LD context {}: {}", profile, ex.getMessage());
+            return null;
+        }
+    }
+
+    private Entry put(final String profile, final Entry entry) {
+        synchronized (entries) {
+            entries.put(profile, entry);
+        }
+        return entry;
+    }
+
+    private static Entry parse(final String profile, final String document, final Instant time) {
+        if (nonNull(document)) {
+            try {
+                return new Entry(JsonUtils.fromString(document), time);
+            } catch (final IOException ex) {
+                LOGGER.warn("Error parsing JSON-LD context {}: {}", profile, ex.getMessage());
+            }
+        }
+        return new Entry(null, time);
+    }
+
+    private static final class Entry {
+        private final Object context;
+        private final Instant loaded;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(final Object context, final Instant loaded) {
+            this.context = context;
+            this.loaded = loaded;
+        }
+
+        private boolean isOlderThan(final Duration age, final Instant time) {
+            return loaded.plus(age).isBefore(time);
+        }
+    }
+}
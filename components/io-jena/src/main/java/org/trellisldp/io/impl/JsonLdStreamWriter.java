@@ -0,0 +1,203 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.io.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.nonNull;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+import org.trellisldp.vocabulary.RDF;
+import org.trellisldp.vocabulary.XSD;
+
+/**
+ * A streaming writer for expanded JSON-LD.
+ *
+ * <p>Triples are written as they are read from the stream: consecutive triples that share a subject
+ * are written as a single node object. Because expanded JSON-LD permits more than one node object
+ * with the same {@code @id}, a subject that reappears later in the stream, or a property that
+ * reappears after a different property of the same subject, simply starts a new node object.
+ * Only the property keys of the current node object are held in memory.
+ */
+public final class JsonLdStreamWriter {
+
+    private static final String TYPE = "@type";
+    private static final String ID = "@id";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Writer writer;
+    private final Set<String> keys = new HashSet<>();
+    private BlankNodeOrIRI subject;
+    private String key;
+
+    private JsonLdStreamWriter(final OutputStream output) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(output, UTF_8));
+    }
+
+    /**
+     * Write a stream of triples as expanded JSON-LD.
+     *
+     * @implNote The output stream is flushed, but not closed.
+     * @param triples the triples
+     * @param output the output stream
+     */
+    public static void writeExpanded(final Stream<? extends Triple> triples, final OutputStream output) {
+        final JsonLdStreamWriter jsonld = new JsonLdStreamWriter(output);
+        try {
+            jsonld.writer.write('[');
+            final Iterator<? extends Triple> iter = triples.iterator();
+            while (iter.hasNext()) {
+                jsonld.write(iter.next());
+            }
+            jsonld.closeNode();
+            jsonld.writer.write(']');
+            jsonld.writer.flush();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("Error writing JSON-LD", ex);
+        }
+    }
+
+    private void write(final Triple triple) throws IOException {
+        final RDFTerm object = triple.getObject();
+        final boolean isType = RDF.type.equals(triple.getPredicate()) && !(object instanceof Literal);
+        final String property = isType ? TYPE : triple.getPredicate().getIRIString();
+
+        if (!triple.getSubject().equals(subject) || (!property.equals(key) && keys.contains(property))) {
+            if (nonNull(subject)) {
+                closeNode();
+                writer.write(',');
+            }
+            openNode(triple.getSubject());
+        }
+
+        if (property.equals(key)) {
+            writer.write(',');
+        } else {
+            if (nonNull(key)) {
+                writer.write(']');
+            }
+            writer.write(',');
+            writeString(property);
+            writer.write(":[");
+            keys.add(property);
+            key = property;
+        }
+
+        if (isType) {
+            writeString(getId((BlankNodeOrIRI) object));
+        } else {
+            writeValue(object);
+        }
+    }
+
+    private void openNode(final BlankNodeOrIRI node) throws IOException {
+        subject = node;
+        key = null;
+        keys.clear();
+        writer.write('{');
+        writeString(ID);
+        writer.write(':');
+        writeString(getId(node));
+    }
+
+    private void closeNode() throws IOException {
+        if (nonNull(subject)) {
+            if (nonNull(key)) {
+                writer.write(']');
+            }
+            writer.write('}');
+        }
+    }
+
+    private void writeValue(final RDFTerm term) throws IOException {
+        writer.write('{');
+        if (term instanceof Literal) {
+            final Literal literal = (Literal) term;
+            writeString("@value");
+            writer.write(':');
+            writeString(literal.getLexicalForm());
+            if (literal.getLanguageTag().isPresent()) {
+                writer.write(',');
+                writeString("@language");
+                writer.write(':');
+                writeString(literal.getLanguageTag().get());
+            } else if (!XSD.string_.equals(literal.getDatatype())) {
+                writer.write(',');
+                writeString(TYPE);
+                writer.write(':');
+                writeString(literal.getDatatype().getIRIString());
+            }
+        } else {
+            writeString(ID);
+            writer.write(':');
+            writeString(getId((BlankNodeOrIRI) term));
+        }
+        writer.write('}');
+    }
+
+    private void writeString(final String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); ++i) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        writer.write("\\u00");
+                        writer.write(HEX[c >> 4]);
+                        writer.write(HEX[c & 0xF]);
+                    } else {
+                        writer.write(c);
+                    }
+            }
+        }
+        writer.write('"');
+    }
+
+    private static String getId(final BlankNodeOrIRI node) {
+        if (node instanceof IRI) {
+            return ((IRI) node).getIRIString();
+        }
+        return ((BlankNode) node).ntriplesString();
+    }
+}
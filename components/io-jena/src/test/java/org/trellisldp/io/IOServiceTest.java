@@ -344,6 +344,27 @@ public class IOServiceTest {
         assertTrue(validateGraph(graph), "Failed round-trip for Turtle using a context value!");
     }
 
+    @Test
+    public void testTurtleReaderWithConsumer() {
+        final Graph graph = rdf.createGraph();
+        service.read(getClass().getResourceAsStream("/testRdf.ttl"), TURTLE, "trellis:data/resource", graph::add);
+        assertTrue(validateGraph(graph), "Failed round-trip for Turtle using a consumer!");
+    }
+
+    @Test
+    public void testReaderTripleLimit() {
+        try {
+            System.setProperty(JenaIOService.IO_MAX_TRIPLES, "2");
+            final IOService svc = new JenaIOService(mockNamespaceService);
+            final Graph graph = rdf.createGraph();
+            assertThrows(RuntimeTrellisException.class, () -> svc.read(getClass().getResourceAsStream("/testRdf.ttl"),
+                        TURTLE, "trellis:data/resource", graph::add), "No exception when exceeding the triple limit!");
+            assertEquals(2L, graph.size(), "Incorrect number of triples read before the limit!");
+        } finally {
+            System.clearProperty(JenaIOService.IO_MAX_TRIPLES);
+        }
+    }
+
     @Test
     public void testHtmlSerializer() throws Exception {
         final IOService service4 = new JenaIOService(mockNamespaceService, mockHtmlSerializer);
@@ -414,6 +435,64 @@ public class IOServiceTest {
                 .map(RDFTerm::ntriplesString).get(), "Incorrect graph subject from updates!");
     }
 
+    @Test
+    public void testUpdateDeltaData() {
+        final Graph graph = rdf.createGraph();
+        getTriples().forEach(graph::add);
+        final Graph additions = rdf.createGraph();
+        final Graph removals = rdf.createGraph();
+        assertTrue(service.update(graph, "DELETE DATA { <> <http://purl.org/dc/terms/title> \"A title\" };" +
+                "INSERT DATA { <> <http://purl.org/dc/terms/title> \"Other title\" }", SPARQL_UPDATE,
+                "trellis:data/resource", additions, removals), "Data update not computed as a delta!");
+        assertEquals(3L, graph.size(), "Source graph should not be modified!");
+        assertEquals(1L, additions.size(), "Incorrect number of additions!");
+        assertEquals(1L, removals.size(), "Incorrect number of removals!");
+        assertTrue(additions.contains(null, null, rdf.createLiteral("Other title")), "Missing added title!");
+    }
+
+    @Test
+    public void testUpdateDeltaPattern() {
+        final Graph graph = rdf.createGraph();
+        getTriples().forEach(graph::add);
+        final Graph additions = rdf.createGraph();
+        final Graph removals = rdf.createGraph();
+        assertTrue(service.update(graph, "DELETE { ?s <http://purl.org/dc/terms/title> ?o } " +
+                "INSERT { ?s <http://purl.org/dc/terms/title> \"Other title\" } " +
+                "WHERE { ?s <http://purl.org/dc/terms/title> ?o }", SPARQL_UPDATE, "trellis:data/resource",
+                additions, removals), "Single-pattern update not computed as a delta!");
+        assertEquals(3L, graph.size(), "Source graph should not be modified!");
+        assertEquals(1L, additions.size(), "Incorrect number of additions!");
+        assertEquals(1L, removals.size(), "Incorrect number of removals!");
+        assertTrue(removals.contains(null, null, rdf.createLiteral("A title")), "Missing removed title!");
+    }
+
+    @Test
+    public void testUpdateDeltaEmptyWhere() {
+        final Graph graph = rdf.createGraph();
+        getTriples().forEach(graph::add);
+        final Graph additions = rdf.createGraph();
+        final Graph removals = rdf.createGraph();
+        assertTrue(service.update(graph, "INSERT { <> <http://purl.org/dc/terms/title> \"Other title\" } WHERE {}",
+                SPARQL_UPDATE, "trellis:data/resource", additions, removals), "Insert not computed as a delta!");
+        assertEquals(1L, additions.size(), "Incorrect number of additions!");
+        assertTrue(removals.isEmpty(), "Unexpected removals!");
+    }
+
+    @Test
+    public void testUpdateDeltaUnsupported() {
+        final Graph graph = rdf.createGraph();
+        getTriples().forEach(graph::add);
+        final Graph additions = rdf.createGraph();
+        final Graph removals = rdf.createGraph();
+        assertFalse(service.update(graph, "DELETE { ?s ?p ?o } WHERE { ?s ?p ?o . ?o ?p2 ?o2 }", SPARQL_UPDATE,
+                    "trellis:data/resource", additions, removals), "Multi-pattern update computed as a delta!");
+        assertFalse(service.update(graph, "DELETE WHERE { ?s ?p ?o };" +
+                    "INSERT { <> <http://purl.org/dc/terms/title> \"Other title\" } WHERE {}", SPARQL_UPDATE,
+                    "trellis:data/resource", additions, removals), "Multi-operation update computed as a delta!");
+        assertTrue(additions.isEmpty(), "Unexpected additions!");
+        assertTrue(removals.isEmpty(), "Unexpected removals!");
+    }
+
     @Test
     public void testUpdateInvalidSyntax() {
         final Graph graph = rdf.createGraph();
@@ -0,0 +1,112 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.io.impl;
+
+import static java.time.Duration.ZERO;
+import static java.time.Duration.ofHours;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.trellisldp.api.CacheService;
+import org.trellisldp.api.NoopCacheService;
+
+/**
+ * Test the JSON-LD context cache.
+ */
+public class JsonLdContextCacheTest {
+
+    private static final String PROFILE = "http://example.com/context.jsonld";
+
+    @Test
+    public void testCachedContext() {
+        final AtomicInteger loads = new AtomicInteger();
+        final JsonLdContextCache cache = new JsonLdContextCache(new NoopCacheService<>(), p -> {
+            loads.incrementAndGet();
+            return "{\"@context\":{\"title\":\"http://purl.org/dc/terms/title\"}}";
+        }, ofHours(1), ofHours(2));
+
+        final Object context = cache.get(PROFILE);
+        assertTrue(context instanceof Map, "Context not parsed!");
+        assertEquals(context, cache.get(PROFILE), "Context not cached!");
+        assertEquals(1, loads.get(), "Unexpected context load!");
+        assertEquals(1, cache.size(), "Incorrect cache size!");
+    }
+
+    @Test
+    public void testStaleWhileRevalidate() {
+        final AtomicInteger loads = new AtomicInteger();
+        final JsonLdContextCache cache = new JsonLdContextCache(new NoopCacheService<>(), p ->
+                "{\"@context\":{\"version\":" + loads.incrementAndGet() + "}}", ZERO, ofHours(1));
+
+        final Object first = cache.get(PROFILE);
+        assertEquals(first, cache.get(PROFILE), "Stale context not served!");
+        await().until(() -> loads.get() > 1 && !first.equals(cache.get(PROFILE)));
+    }
+
+    @Test
+    public void testFailedRefresh() {
+        final AtomicInteger loads = new AtomicInteger();
+        final JsonLdContextCache cache = new JsonLdContextCache(new NoopCacheService<>(), p ->
+                loads.incrementAndGet() == 1 ? "{\"@context\":{}}" : null, ZERO, ofHours(1));
+
+        final Object context = cache.get(PROFILE);
+        cache.get(PROFILE);
+        await().until(() -> loads.get() > 1);
+        assertEquals(context, cache.get(PROFILE), "Cached context not retained!");
+    }
+
+    @Test
+    public void testUnavailableContext() {
+        final JsonLdContextCache cache = new JsonLdContextCache(new NoopCacheService<>(), p -> null, ofHours(1),
+                ofHours(2));
+        assertNull(cache.get(PROFILE), "Unexpected context!");
+        final JsonLdContextCache cache2 = new JsonLdContextCache(new NoopCacheService<>(), p -> "not json",
+                ofHours(1), ofHours(2));
+        assertNull(cache2.get(PROFILE), "Unexpected context!");
+    }
+
+    @Test
+    public void testContextStore() {
+        final Map<String, String> documents = new HashMap<>();
+        final CacheService<String, String> store = (key, mapper) -> documents.computeIfAbsent(key, mapper);
+        final AtomicInteger loads = new AtomicInteger();
+        final JsonLdContextCache cache = new JsonLdContextCache(store, p -> {
+            loads.incrementAndGet();
+            return "{\"@context\":{}}";
+        }, ofHours(1), ofHours(2));
+        final JsonLdContextCache cache2 = new JsonLdContextCache(store, p -> null, ofHours(1), ofHours(2));
+
+        assertTrue(cache.get(PROFILE) instanceof Map, "Context not parsed!");
+        assertTrue(documents.containsKey(PROFILE), "Context document not stored!");
+        assertTrue(cache2.get(PROFILE) instanceof Map, "Stored context document not used!");
+        assertEquals(1, loads.get(), "Unexpected context load!");
+    }
+
+    @Test
+    public void testBoundedSize() {
+        final JsonLdContextCache cache = new JsonLdContextCache(new NoopCacheService<>(), p -> "{\"@context\":{}}",
+                ofHours(1), ofHours(2), 2);
+        cache.get(PROFILE + "?1");
+        cache.get(PROFILE + "?2");
+        cache.get(PROFILE + "?3");
+        assertEquals(2, cache.size(), "Incorrect cache size!");
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.io.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Stream.empty;
+import static java.util.stream.Stream.of;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.junit.jupiter.api.Test;
+import org.trellisldp.vocabulary.DC;
+import org.trellisldp.vocabulary.LDP;
+import org.trellisldp.vocabulary.SKOS;
+import org.trellisldp.vocabulary.XSD;
+
+/**
+ * Test the streaming JSON-LD writer.
+ */
+public class JsonLdStreamWriterTest {
+
+    private static final RDF rdf = new JenaRDF();
+    private static final IRI subject = rdf.createIRI("http://example.com/resource");
+
+    @Test
+    public void testEmpty() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonLdStreamWriter.writeExpanded(empty(), out);
+        assertEquals("[]", new String(out.toByteArray(), UTF_8), "Incorrect empty serialization!");
+    }
+
+    @Test
+    public void testExpanded() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonLdStreamWriter.writeExpanded(of(
+                    rdf.createTriple(subject, org.trellisldp.vocabulary.RDF.type, LDP.Container),
+                    rdf.createTriple(subject, DC.title, rdf.createLiteral("A \"title\"\n")),
+                    rdf.createTriple(subject, DC.title, rdf.createLiteral("Un titre", "fr")),
+                    rdf.createTriple(subject, DC.extent, rdf.createLiteral("5", XSD.int_)),
+                    rdf.createTriple(subject, LDP.contains, rdf.createIRI("http://example.com/resource/1"))), out);
+        assertEquals("[{\"@id\":\"http://example.com/resource\",\"@type\":[\"http://www.w3.org/ns/ldp#Container\"],"
+                + "\"http://purl.org/dc/terms/title\":[{\"@value\":\"A \\\"title\\\"\\n\"},"
+                + "{\"@value\":\"Un titre\",\"@language\":\"fr\"}],"
+                + "\"http://purl.org/dc/terms/extent\":[{\"@value\":\"5\","
+                + "\"@type\":\"http://www.w3.org/2001/XMLSchema#int\"}],"
+                + "\"http://www.w3.org/ns/ldp#contains\":[{\"@id\":\"http://example.com/resource/1\"}]}]",
+                new String(out.toByteArray(), UTF_8), "Incorrect expanded serialization!");
+    }
+
+    @Test
+    public void testNodeBoundaries() {
+        final BlankNode bnode = rdf.createBlankNode();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonLdStreamWriter.writeExpanded(of(
+                    rdf.createTriple(subject, SKOS.prefLabel, rdf.createLiteral("first")),
+                    rdf.createTriple(subject, DC.subject, bnode),
+                    rdf.createTriple(subject, SKOS.prefLabel, rdf.createLiteral("second")),
+                    rdf.createTriple(bnode, SKOS.prefLabel, rdf.createLiteral("third"))), out);
+        final String id = bnode.ntriplesString();
+        assertEquals("[{\"@id\":\"http://example.com/resource\","
+                + "\"http://www.w3.org/2004/02/skos/core#prefLabel\":[{\"@value\":\"first\"}],"
+                + "\"http://purl.org/dc/terms/subject\":[{\"@id\":\"" + id + "\"}]},"
+                + "{\"@id\":\"http://example.com/resource\","
+                + "\"http://www.w3.org/2004/02/skos/core#prefLabel\":[{\"@value\":\"second\"}]},"
+                + "{\"@id\":\"" + id + "\","
+                + "\"http://www.w3.org/2004/02/skos/core#prefLabel\":[{\"@value\":\"third\"}]}]",
+                new String(out.toByteArray(), UTF_8), "Incorrect node boundaries!");
+    }
+}
@@ -21,10 +21,13 @@ import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.mapping;
 import static java.util.stream.Collectors.toList;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 import org.apache.commons.rdf.api.IRI;
@@ -36,6 +39,15 @@ import org.trellisldp.vocabulary.RDFS;
 import org.trellisldp.vocabulary.SKOS;
 
 /**
+ * The data model used to render an HTML template.
+ *
+ * <p>Only a bounded window of the triple stream is read in advance, which is used to select a title.
+ * When the triples to render fit in that window, they are rendered in sorted order and may be iterated
+ * any number of times. Otherwise, the template consumes the stream as it renders: each successive window
+ * is sorted, so that statements about the same subject are grouped together, and written before the
+ * next window is read. In that case the triples may be iterated only once, and whether the output was
+ * truncated is known only after they have been rendered.
+ *
  * @author acoburn
  */
 class HtmlData {
@@ -51,12 +63,19 @@ class HtmlData {
     private static final Comparator<LabelledTriple> sortObjects = (q1, q2) ->
         q1.getObject().compareTo(q2.getObject());
 
-    private final List<Triple> triples;
+    private static final int LOOKAHEAD = 1000;
+
+    private final List<Triple> triples = new ArrayList<>();
+    private final Iterator<? extends Triple> remaining;
+    private final List<LabelledTriple> sorted;
+    private final Iterator<LabelledTriple> cursor;
     private final String subject;
     private final NamespaceService namespaceService;
     private final List<String> css;
     private final List<String> js;
     private final String icon;
+    private final int limit;
+    private boolean truncated;
 
     /**
      * Create an HTML Data object.
@@ -67,17 +86,35 @@ class HtmlData {
      * @param css the stylesheets
      * @param js the javascripts
      * @param icon the icon
+     * @param limit the maximum number of triples to render, or 0 for no limit
      */
-    public HtmlData(final NamespaceService namespaceService, final String subject, final List<Triple> triples,
-            final List<String> css, final List<String> js, final String icon) {
+    public HtmlData(final NamespaceService namespaceService, final String subject,
+            final Iterator<? extends Triple> triples, final List<String> css, final List<String> js,
+            final String icon, final int limit) {
         requireNonNull(css, "The CSS list may not be null!");
         requireNonNull(js, "The JS list may not be null!");
         this.namespaceService = namespaceService;
         this.subject = nonNull(subject) ? subject : "";
-        this.triples = triples;
         this.css = css;
         this.js = js;
         this.icon = nonNull(icon) ? icon : "//www.trellisldp.org/assets/img/trellis.png";
+        this.limit = limit;
+        this.remaining = triples;
+        while (this.triples.size() < LOOKAHEAD && (limit <= 0 || this.triples.size() <= limit)
+                && triples.hasNext()) {
+            this.triples.add(triples.next());
+        }
+        if (limit > 0 && this.triples.size() > limit) {
+            this.truncated = true;
+            this.sorted = sort(this.triples.subList(0, limit));
+            this.cursor = null;
+        } else if (!triples.hasNext()) {
+            this.sorted = sort(this.triples);
+            this.cursor = null;
+        } else {
+            this.sorted = null;
+            this.cursor = new WindowIterator();
+        }
     }
 
     /**
@@ -85,9 +122,29 @@ class HtmlData {
      *
      * @return the labelled triples
      */
-    public List<LabelledTriple> getTriples() {
-        return triples.stream().map(this::labelTriple)
-            .sorted(sortSubjects.thenComparing(sortPredicates).thenComparing(sortObjects)).collect(toList());
+    public Iterable<LabelledTriple> getTriples() {
+        if (nonNull(sorted)) {
+            return sorted;
+        }
+        return () -> cursor;
+    }
+
+    /**
+     * Determine whether the rendered triples were limited.
+     *
+     * @return true if some triples were not rendered; false otherwise
+     */
+    public boolean getTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Get the maximum number of triples to render.
+     *
+     * @return the triple limit, or 0 if there is no limit
+     */
+    public int getLimit() {
+        return limit;
     }
 
     /**
@@ -133,6 +190,11 @@ class HtmlData {
             .orElseGet(this::getSubject);
     }
 
+    private List<LabelledTriple> sort(final List<Triple> window) {
+        return window.stream().map(this::labelTriple)
+            .sorted(sortSubjects.thenComparing(sortPredicates).thenComparing(sortObjects)).collect(toList());
+    }
+
     private String getSubject() {
         return subject;
     }
@@ -169,4 +231,38 @@ class HtmlData {
         }
         return new LabelledTriple(triple, getLabel(pred), triple.getObject().ntriplesString());
     }
+
+    /**
+     * Render the stream one sorted window at a time, stopping at the triple limit.
+     */
+    private class WindowIterator implements Iterator<LabelledTriple> {
+
+        private Iterator<LabelledTriple> window = sort(triples).iterator();
+        private int count;
+
+        @Override
+        public boolean hasNext() {
+            if (limit > 0 && count >= limit) {
+                truncated = window.hasNext() || remaining.hasNext();
+                return false;
+            }
+            if (!window.hasNext() && remaining.hasNext()) {
+                final List<Triple> next = new ArrayList<>();
+                while (next.size() < LOOKAHEAD && remaining.hasNext()) {
+                    next.add(remaining.next());
+                }
+                window = sort(next).iterator();
+            }
+            return window.hasNext();
+        }
+
+        @Override
+        public LabelledTriple next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            count++;
+            return window.next();
+        }
+    }
 }
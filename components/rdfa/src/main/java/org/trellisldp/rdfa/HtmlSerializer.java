@@ -60,11 +60,15 @@ public class HtmlSerializer implements RDFaWriterService {
     /** The configuration key controlling the JS URLs to use. **/
     public static final String HTML_JS = "trellis.html.js";
 
+    /** The configuration key controlling the maximum number of triples to render. **/
+    public static final String HTML_MAX_TRIPLES = "trellis.html.maxtriples";
+
     private final NamespaceService namespaceService;
     private final Mustache template;
     private final List<String> css;
     private final List<String> js;
     private final String icon;
+    private final int maxTriples;
 
     /**
      * Create an HTML Serializer object.
@@ -75,7 +79,24 @@ public class HtmlSerializer implements RDFaWriterService {
     public HtmlSerializer(final NamespaceService namespaceService) {
         this(namespaceService, getConfiguration().get(HTML_TEMPLATE),
                 getConfiguration().get(HTML_CSS), getConfiguration().get(HTML_JS),
-                getConfiguration().get(HTML_ICON));
+                getConfiguration().get(HTML_ICON),
+                getConfiguration().getOrDefault(HTML_MAX_TRIPLES, Integer.class, 0));
+    }
+
+    /**
+     * Create an HTML Serializer object.
+     *
+     * @param namespaceService a namespace service
+     * @param template the template location
+     * @param css the css to use (comma-delimited for multiple css documents)
+     * @param js the js to use (comma-delimited for multiple js documents)
+     * @param icon an icon, may be {@code null}
+     * @param maxTriples the maximum number of triples to render, or 0 for no limit
+     */
+    public HtmlSerializer(final NamespaceService namespaceService,
+            final String template, final String css,
+            final String js, final String icon, final Integer maxTriples) {
+        this(namespaceService, template, intoList(css), intoList(js), icon, maxTriples);
     }
 
     /**
@@ -90,7 +111,7 @@ public class HtmlSerializer implements RDFaWriterService {
     public HtmlSerializer(final NamespaceService namespaceService,
             final String template, final String css,
             final String js, final String icon) {
-        this(namespaceService, template, intoList(css), intoList(js), icon);
+        this(namespaceService, template, css, js, icon, 0);
     }
 
     /**
@@ -105,6 +126,22 @@ public class HtmlSerializer implements RDFaWriterService {
     public HtmlSerializer(final NamespaceService namespaceService,
             final String template, final List<String> css,
             final List<String> js, final String icon) {
+        this(namespaceService, template, css, js, icon, 0);
+    }
+
+    /**
+     * Create an HTML Serializer object.
+     *
+     * @param namespaceService a namespace service
+     * @param template the template location
+     * @param css the css to use
+     * @param js the js to use
+     * @param icon an icon, may be {@code null}
+     * @param maxTriples the maximum number of triples to render, or 0 for no limit
+     */
+    public HtmlSerializer(final NamespaceService namespaceService,
+            final String template, final List<String> css,
+            final List<String> js, final String icon, final Integer maxTriples) {
         this.namespaceService = namespaceService;
         final String templatePath = ofNullable(template).orElse("org/trellisldp/rdfa/resource.mustache");
         final File tpl = new File(templatePath);
@@ -112,6 +149,7 @@ public class HtmlSerializer implements RDFaWriterService {
         this.css = ofNullable(css).orElseGet(Collections::emptyList);
         this.js = ofNullable(js).orElseGet(Collections::emptyList);
         this.icon = icon;
+        this.maxTriples = maxTriples;
     }
 
     private Reader getReader(final String template) {
@@ -133,7 +171,8 @@ public class HtmlSerializer implements RDFaWriterService {
         final Writer writer = new OutputStreamWriter(out, UTF_8);
         try {
             template
-                .execute(writer, new HtmlData(namespaceService, subject, triples.collect(toList()), css, js, icon))
+                .execute(writer, new HtmlData(namespaceService, subject, triples.iterator(), css, js, icon,
+                            maxTriples))
                 .flush();
         } catch (final IOException ex) {
             throw new UncheckedIOException(ex);
@@ -14,7 +14,10 @@
 package org.trellisldp.rdfa;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
 import static java.util.Optional.empty;
+import static java.util.stream.IntStream.range;
+import static java.util.stream.Stream.concat;
 import static java.util.stream.Stream.of;
 import static org.apache.jena.core.graph.NodeFactory.createBlankNode;
 import static org.apache.jena.core.graph.NodeFactory.createLiteral;
@@ -26,6 +29,9 @@ import static org.apache.jena.core.vocabulary.DCTerms.title;
 import static org.apache.jena.core.vocabulary.DCTypes.Text;
 import static org.apache.jena.core.vocabulary.RDF.Nodes.type;
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -39,9 +45,13 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import org.apache.commons.rdf.api.Triple;
@@ -153,6 +163,73 @@ public class HtmlSerializerTest {
         assertTrue(html.contains("<h1>http://example.com/</h1>"), "Default title not in output!");
     }
 
+    @Test
+    public void testTripleLimit() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final RDFaWriterService service4 = new HtmlSerializer(mockNamespaceService, null,
+                "//www.trellisldp.org/assets/css/trellis.css", "", null, 2);
+        service4.write(getTriples(), out, "http://example.com/");
+        final String html = new String(out.toByteArray(), UTF_8);
+        assertTrue(html.contains("<title>A title</title>"), "Title not in HTML!");
+        assertTrue(html.contains("Only the first 2 statements are shown."), "Truncation notice not in HTML!");
+        assertFalse(html.contains("http://sws.geonames.org/4929024/"), "Unexpected triple in HTML!");
+
+        final ByteArrayOutputStream out2 = new ByteArrayOutputStream();
+        final RDFaWriterService service5 = new HtmlSerializer(mockNamespaceService, null,
+                "//www.trellisldp.org/assets/css/trellis.css", "", null, 10);
+        service5.write(getTriples(), out2, "http://example.com/");
+        assertFalse(new String(out2.toByteArray(), UTF_8).contains("statements are shown"),
+                "Unexpected truncation notice!");
+    }
+
+    @Test
+    public void testTripleLimitRenderedTwice() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final RDFaWriterService service4 = new HtmlSerializer(mockNamespaceService, "/resource-summary.mustache",
+                "", "", null, 2);
+        service4.write(getTriples(), out, "http://example.com/");
+        final String html = new String(out.toByteArray(), UTF_8);
+        assertTrue(html.contains("Only the first 2 statements are shown."), "Truncation notice not in HTML!");
+        assertTrue(html.indexOf("statements are shown") < html.indexOf("<ul>"), "Truncation notice not first!");
+        assertEquals(4, html.split("<li>", -1).length - 1, "Incorrect number of rendered triples!");
+        assertEquals(html.substring(html.indexOf("<ul>") + 4, html.indexOf("</ul>")),
+                html.substring(html.indexOf("<ol>") + 4, html.indexOf("</ol>")), "Triples not rendered twice!");
+    }
+
+    @Test
+    public void testLargeHtmlSerializer() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final Node sub = createURI("trellis:data/resource");
+        service.write(concat(getTriples(), range(0, 2500).mapToObj(i ->
+                        create(sub, spatial.asNode(), createURI("http://example.com/place/" + i)))
+                    .map(rdf::asTriple)), out, "http://example.com/");
+        final String html = new String(out.toByteArray(), UTF_8);
+        assertAll("HTML check", checkHtmlFromTriples(html));
+        assertTrue(html.contains("http://example.com/place/2499"), "Streamed triple not in HTML!");
+    }
+
+    @Test
+    public void testStreamedWindows() {
+        final AtomicInteger read = new AtomicInteger();
+        final Node sub1 = createURI("trellis:data/resource");
+        final Node sub2 = createURI("trellis:data/resource#fragment");
+        final Iterator<Triple> triples = range(0, 2500).mapToObj(i ->
+                create(i % 2 == 0 ? sub1 : sub2, spatial.asNode(), createURI("http://example.com/place/" + i)))
+            .map(rdf::asTriple).peek(triple -> read.incrementAndGet()).iterator();
+        final HtmlData data = new HtmlData(mockNamespaceService, "http://example.com/", triples, emptyList(),
+                emptyList(), null, 1500);
+        assertTrue(read.get() <= 1001, "Too many triples read in advance!");
+
+        final List<LabelledTriple> rendered = new ArrayList<>();
+        data.getTriples().forEach(rendered::add);
+        assertEquals(1500, rendered.size(), "Incorrect number of rendered triples!");
+        assertTrue(data.getTruncated(), "Truncation not detected!");
+        assertTrue(read.get() < 2500, "Triples read past the limit!");
+        assertEquals(rendered.get(0).getSubject(), rendered.get(499).getSubject(), "Window not grouped!");
+        assertNotEquals(rendered.get(499).getSubject(), rendered.get(500).getSubject(), "Window not grouped!");
+        assertEquals(rendered.get(500).getSubject(), rendered.get(999).getSubject(), "Window not grouped!");
+    }
+
     private static Stream<Executable> checkHtmlFromTriples(final String html) {
         return of(
                 () -> assertTrue(html.contains("<title>A title</title>"), "Title not in HTML!"),
@@ -0,0 +1,135 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.shacl;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableSet;
+import static java.util.Objects.isNull;
+
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFTerm;
+
+/**
+ * A compiled SHACL node shape.
+ */
+final class NodeShape {
+
+    private final BlankNodeOrIRI shape;
+    private final Set<IRI> targetClasses;
+    private final Set<RDFTerm> targetNodes;
+    private final Set<IRI> targetSubjectsOf;
+    private final Set<IRI> targetObjectsOf;
+    private final List<PropertyRule> rules;
+    private final Set<IRI> allowedProperties;
+
+    /**
+     * Create a compiled node shape.
+     *
+     * @param shape the node shape
+     * @param targetClasses the sh:targetClass values
+     * @param targetNodes the sh:targetNode values
+     * @param targetSubjectsOf the sh:targetSubjectsOf values
+     * @param targetObjectsOf the sh:targetObjectsOf values
+     * @param rules the compiled property shapes
+     * @param allowedProperties the properties permitted on a closed shape, or {@code null} if the shape is open
+     */
+    NodeShape(final BlankNodeOrIRI shape, final Set<IRI> targetClasses, final Set<RDFTerm> targetNodes,
+            final Set<IRI> targetSubjectsOf, final Set<IRI> targetObjectsOf, final List<PropertyRule> rules,
+            final Set<IRI> allowedProperties) {
+        this.shape = shape;
+        this.targetClasses = unmodifiableSet(targetClasses);
+        this.targetNodes = unmodifiableSet(targetNodes);
+        this.targetSubjectsOf = unmodifiableSet(targetSubjectsOf);
+        this.targetObjectsOf = unmodifiableSet(targetObjectsOf);
+        this.rules = unmodifiableList(rules);
+        this.allowedProperties = isNull(allowedProperties) ? null : unmodifiableSet(allowedProperties);
+    }
+
+    /**
+     * Get the node shape.
+     *
+     * @return the shape
+     */
+    BlankNodeOrIRI getShape() {
+        return shape;
+    }
+
+    /**
+     * Get the target classes.
+     *
+     * @return the sh:targetClass values
+     */
+    Set<IRI> getTargetClasses() {
+        return targetClasses;
+    }
+
+    /**
+     * Get the target nodes.
+     *
+     * @return the sh:targetNode values
+     */
+    Set<RDFTerm> getTargetNodes() {
+        return targetNodes;
+    }
+
+    /**
+     * Get the target subjects-of predicates.
+     *
+     * @return the sh:targetSubjectsOf values
+     */
+    Set<IRI> getTargetSubjectsOf() {
+        return targetSubjectsOf;
+    }
+
+    /**
+     * Get the target objects-of predicates.
+     *
+     * @return the sh:targetObjectsOf values
+     */
+    Set<IRI> getTargetObjectsOf() {
+        return targetObjectsOf;
+    }
+
+    /**
+     * Get the compiled property shapes.
+     *
+     * @return the property rules
+     */
+    List<PropertyRule> getRules() {
+        return rules;
+    }
+
+    /**
+     * Test whether the shape is closed.
+     *
+     * @return true if only the declared properties may be used
+     */
+    boolean isClosed() {
+        return !isNull(allowedProperties);
+    }
+
+    /**
+     * Test whether a property is permitted on a closed shape.
+     *
+     * @param property the property
+     * @return true if the property is permitted
+     */
+    boolean allows(final IRI property) {
+        return isNull(allowedProperties) || allowedProperties.contains(property);
+    }
+}
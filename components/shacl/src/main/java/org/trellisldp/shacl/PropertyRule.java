@@ -0,0 +1,113 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.shacl;
+
+import static java.util.Collections.unmodifiableMap;
+
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFTerm;
+
+/**
+ * A compiled SHACL property shape.
+ *
+ * <p>Each value constraint is reduced to a predicate keyed by its SHACL constraint component, so that a value
+ * can be checked without consulting the shapes graph.
+ */
+final class PropertyRule {
+
+    private final BlankNodeOrIRI shape;
+    private final IRI path;
+    private final long minCount;
+    private final long maxCount;
+    private final RDFTerm hasValue;
+    private final Map<IRI, Predicate<RDFTerm>> valueConstraints;
+
+    /**
+     * Create a compiled property shape.
+     *
+     * @param shape the property shape node
+     * @param path the predicate path
+     * @param minCount the minimum cardinality
+     * @param maxCount the maximum cardinality
+     * @param hasValue a required value, may be {@code null}
+     * @param valueConstraints the value constraints, keyed by constraint component
+     */
+    PropertyRule(final BlankNodeOrIRI shape, final IRI path, final long minCount, final long maxCount,
+            final RDFTerm hasValue, final Map<IRI, Predicate<RDFTerm>> valueConstraints) {
+        this.shape = shape;
+        this.path = path;
+        this.minCount = minCount;
+        this.maxCount = maxCount;
+        this.hasValue = hasValue;
+        this.valueConstraints = unmodifiableMap(valueConstraints);
+    }
+
+    /**
+     * Get the property shape node.
+     *
+     * @return the shape
+     */
+    BlankNodeOrIRI getShape() {
+        return shape;
+    }
+
+    /**
+     * Get the predicate path.
+     *
+     * @return the path
+     */
+    IRI getPath() {
+        return path;
+    }
+
+    /**
+     * Get the minimum cardinality.
+     *
+     * @return the minimum number of values
+     */
+    long getMinCount() {
+        return minCount;
+    }
+
+    /**
+     * Get the maximum cardinality.
+     *
+     * @return the maximum number of values
+     */
+    long getMaxCount() {
+        return maxCount;
+    }
+
+    /**
+     * Get the required value.
+     *
+     * @return the value that must be present, or {@code null}
+     */
+    RDFTerm getHasValue() {
+        return hasValue;
+    }
+
+    /**
+     * Get the value constraints.
+     *
+     * @return the value constraints, keyed by constraint component
+     */
+    Map<IRI, Predicate<RDFTerm>> getValueConstraints() {
+        return valueConstraints;
+    }
+}
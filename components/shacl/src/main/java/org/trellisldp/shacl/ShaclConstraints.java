@@ -0,0 +1,110 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.shacl;
+
+import static java.util.Arrays.stream;
+import static java.util.Objects.requireNonNull;
+import static org.apache.jena.core.graph.Factory.createDefaultGraph;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.apache.jena.arq.riot.RDFDataMgr;
+import org.apache.jena.arq.riot.RiotException;
+import org.apache.tamaya.ConfigurationProvider;
+import org.slf4j.Logger;
+import org.trellisldp.api.ConstraintService;
+import org.trellisldp.api.ConstraintViolation;
+import org.trellisldp.api.RuntimeTrellisException;
+
+/**
+ * A {@link ConstraintService} that validates user-provided graphs against SHACL shapes.
+ *
+ * <p>Shapes graphs are loaded and compiled once, when the service is created. A validation plan is then built
+ * (and cached) for each interaction model the first time a graph with that model is validated, and each graph is
+ * validated in a single pass over its triples.
+ */
+public class ShaclConstraints implements ConstraintService {
+
+    /** The configuration key listing the locations of the SHACL shapes graphs. **/
+    public static final String SHACL_SHAPES = "trellis.shacl.shapes";
+
+    private static final Logger LOGGER = getLogger(ShaclConstraints.class);
+
+    private static final JenaRDF rdf = new JenaRDF();
+
+    private final List<NodeShape> shapes;
+    private final Map<IRI, ValidationPlan> plans = new ConcurrentHashMap<>();
+
+    /**
+     * Create a SHACL constraint service, using the shapes graphs defined in the configuration.
+     */
+    public ShaclConstraints() {
+        this(ConfigurationProvider.getConfiguration().getOrDefault(SHACL_SHAPES, ""));
+    }
+
+    /**
+     * Create a SHACL constraint service.
+     *
+     * @param locations a comma-separated list of shapes graph locations
+     */
+    public ShaclConstraints(final String locations) {
+        this(load(locations));
+    }
+
+    /**
+     * Create a SHACL constraint service.
+     *
+     * @param shapes the shapes graph
+     */
+    public ShaclConstraints(final Graph shapes) {
+        requireNonNull(shapes, "The shapes graph may not be null!");
+        this.shapes = ShapeCompiler.compile(shapes);
+        LOGGER.info("Compiled {} SHACL node shapes", this.shapes.size());
+    }
+
+    @Override
+    public Stream<ConstraintViolation> constrainedBy(final IRI model, final Graph graph, final String domain) {
+        return constrainedBy(null, model, graph, domain);
+    }
+
+    @Override
+    public Stream<ConstraintViolation> constrainedBy(final IRI identifier, final IRI model, final Graph graph,
+            final String domain) {
+        requireNonNull(model, "The interaction model must not be null!");
+        return plans.computeIfAbsent(model, m -> new ValidationPlan(shapes, m))
+            .validate(graph.iterate(), domain, identifier).stream()
+            .peek(x -> LOGGER.debug("Constraint violation: {}", x));
+    }
+
+    private static Graph load(final String locations) {
+        final org.apache.jena.core.graph.Graph graph = createDefaultGraph();
+        stream(locations.split(",")).map(String::trim).filter(location -> !location.isEmpty())
+            .forEach(location -> {
+                LOGGER.info("Loading SHACL shapes from {}", location);
+                try {
+                    RDFDataMgr.read(graph, location);
+                } catch (final RiotException ex) {
+                    throw new RuntimeTrellisException("Error loading SHACL shapes from " + location, ex);
+                }
+            });
+        return rdf.asGraph(graph);
+    }
+}
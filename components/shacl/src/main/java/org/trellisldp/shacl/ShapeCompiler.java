@@ -0,0 +1,225 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.shacl;
+
+import static java.util.Objects.nonNull;
+import static java.util.regex.Pattern.CASE_INSENSITIVE;
+import static java.util.regex.Pattern.COMMENTS;
+import static java.util.regex.Pattern.DOTALL;
+import static java.util.regex.Pattern.MULTILINE;
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+import org.slf4j.Logger;
+import org.trellisldp.api.RuntimeTrellisException;
+import org.trellisldp.vocabulary.RDF;
+import org.trellisldp.vocabulary.SHACL;
+
+/**
+ * Compile a SHACL shapes graph into a list of {@link NodeShape} objects.
+ *
+ * <p>The following subset of SHACL Core is supported: the four explicit target types, property shapes with a
+ * predicate path, {@code sh:minCount}, {@code sh:maxCount}, {@code sh:nodeKind}, {@code sh:datatype},
+ * {@code sh:in}, {@code sh:hasValue}, {@code sh:pattern}, {@code sh:minLength}, {@code sh:maxLength},
+ * {@code sh:closed} and {@code sh:deactivated}. Any other constraint is ignored.
+ */
+final class ShapeCompiler {
+
+    private static final Logger LOGGER = getLogger(ShapeCompiler.class);
+
+    private final Graph shapes;
+
+    private ShapeCompiler(final Graph shapes) {
+        this.shapes = shapes;
+    }
+
+    /**
+     * Compile a shapes graph.
+     *
+     * @param shapes the shapes graph
+     * @return the compiled node shapes
+     */
+    static List<NodeShape> compile(final Graph shapes) {
+        final ShapeCompiler compiler = new ShapeCompiler(shapes);
+        return compiler.nodeShapes().filter(compiler::isActive).map(compiler::compileNodeShape).collect(toList());
+    }
+
+    private Stream<BlankNodeOrIRI> nodeShapes() {
+        final Set<BlankNodeOrIRI> nodes = new LinkedHashSet<>();
+        shapes.stream(null, RDF.type, SHACL.NodeShape).map(Triple::getSubject).forEachOrdered(nodes::add);
+        Stream.of(SHACL.targetClass, SHACL.targetNode, SHACL.targetSubjectsOf, SHACL.targetObjectsOf,
+                SHACL.property).flatMap(p -> shapes.stream(null, p, null)).map(Triple::getSubject)
+            .forEachOrdered(nodes::add);
+        return nodes.stream();
+    }
+
+    private NodeShape compileNodeShape(final BlankNodeOrIRI shape) {
+        final List<PropertyRule> rules = objects(shape, SHACL.property).filter(BlankNodeOrIRI.class::isInstance)
+            .map(BlankNodeOrIRI.class::cast).filter(this::isActive).map(this::compilePropertyShape)
+            .filter(Optional::isPresent).map(Optional::get).collect(toList());
+
+        Set<IRI> allowed = null;
+        if (booleanValue(shape, SHACL.closed)) {
+            allowed = objects(shape, SHACL.ignoredProperties).flatMap(this::list).filter(IRI.class::isInstance)
+                .map(IRI.class::cast).collect(toSet());
+            for (final PropertyRule rule : rules) {
+                allowed.add(rule.getPath());
+            }
+        }
+
+        return new NodeShape(shape, iris(shape, SHACL.targetClass), objects(shape, SHACL.targetNode)
+                .collect(toCollection(LinkedHashSet::new)), iris(shape, SHACL.targetSubjectsOf),
+                iris(shape, SHACL.targetObjectsOf), rules, allowed);
+    }
+
+    private Optional<PropertyRule> compilePropertyShape(final BlankNodeOrIRI shape) {
+        final Optional<IRI> path = objects(shape, SHACL.path).filter(IRI.class::isInstance).map(IRI.class::cast)
+            .findFirst();
+        if (!path.isPresent()) {
+            LOGGER.warn("Ignoring property shape {}: only predicate paths are supported", shape);
+            return Optional.empty();
+        }
+
+        final Map<IRI, Predicate<RDFTerm>> constraints = new LinkedHashMap<>();
+        objects(shape, SHACL.nodeKind).findFirst().map(ShapeCompiler::nodeKind)
+            .ifPresent(test -> constraints.put(SHACL.NodeKindConstraintComponent, test));
+        objects(shape, SHACL.datatype).findFirst().map(datatype -> (Predicate<RDFTerm>) term ->
+                term instanceof Literal && ((Literal) term).getDatatype().equals(datatype))
+            .ifPresent(test -> constraints.put(SHACL.DatatypeConstraintComponent, test));
+        objects(shape, SHACL.in_).findFirst().map(this::list).map(values -> values.collect(toSet()))
+            .map(values -> (Predicate<RDFTerm>) values::contains)
+            .ifPresent(test -> constraints.put(SHACL.InConstraintComponent, test));
+        objects(shape, SHACL.pattern).findFirst().filter(Literal.class::isInstance).map(Literal.class::cast)
+            .map(regex -> pattern(regex.getLexicalForm(), objects(shape, SHACL.flags).findFirst()
+                        .filter(Literal.class::isInstance).map(Literal.class::cast).map(Literal::getLexicalForm)
+                        .orElse("")))
+            .map(regex -> (Predicate<RDFTerm>) term -> nonNull(lexicalForm(term))
+                    && regex.matcher(lexicalForm(term)).find())
+            .ifPresent(test -> constraints.put(SHACL.PatternConstraintComponent, test));
+        longValue(shape, SHACL.minLength).map(min -> (Predicate<RDFTerm>) term -> nonNull(lexicalForm(term))
+                    && lexicalForm(term).length() >= min)
+            .ifPresent(test -> constraints.put(SHACL.MinLengthConstraintComponent, test));
+        longValue(shape, SHACL.maxLength).map(max -> (Predicate<RDFTerm>) term -> nonNull(lexicalForm(term))
+                    && lexicalForm(term).length() <= max)
+            .ifPresent(test -> constraints.put(SHACL.MaxLengthConstraintComponent, test));
+
+        return Optional.of(new PropertyRule(shape, path.get(), longValue(shape, SHACL.minCount).orElse(0L),
+                    longValue(shape, SHACL.maxCount).orElse(Long.MAX_VALUE),
+                    objects(shape, SHACL.hasValue).findFirst().orElse(null), constraints));
+    }
+
+    private boolean isActive(final BlankNodeOrIRI shape) {
+        return !booleanValue(shape, SHACL.deactivated);
+    }
+
+    private Stream<RDFTerm> objects(final BlankNodeOrIRI subject, final IRI predicate) {
+        return shapes.stream(subject, predicate, null).map(Triple::getObject);
+    }
+
+    private Set<IRI> iris(final BlankNodeOrIRI subject, final IRI predicate) {
+        return objects(subject, predicate).filter(IRI.class::isInstance).map(IRI.class::cast)
+            .collect(toCollection(LinkedHashSet::new));
+    }
+
+    private boolean booleanValue(final BlankNodeOrIRI subject, final IRI predicate) {
+        return objects(subject, predicate).filter(Literal.class::isInstance).map(Literal.class::cast)
+            .map(Literal::getLexicalForm).anyMatch("true"::equals);
+    }
+
+    private Optional<Long> longValue(final BlankNodeOrIRI subject, final IRI predicate) {
+        return objects(subject, predicate).filter(Literal.class::isInstance).map(Literal.class::cast)
+            .map(Literal::getLexicalForm).findFirst().map(value -> {
+                try {
+                    return Long.parseLong(value);
+                } catch (final NumberFormatException ex) {
+                    throw new RuntimeTrellisException("Invalid integer value for " + predicate + ": " + value, ex);
+                }
+            });
+    }
+
+    // Read the members of an RDF list
+    private Stream<RDFTerm> list(final RDFTerm head) {
+        final List<RDFTerm> members = new ArrayList<>();
+        final Set<RDFTerm> visited = new LinkedHashSet<>();
+        RDFTerm node = head;
+        while (node instanceof BlankNodeOrIRI && !RDF.nil.equals(node) && visited.add(node)) {
+            final BlankNodeOrIRI current = (BlankNodeOrIRI) node;
+            objects(current, RDF.first).findFirst().ifPresent(members::add);
+            node = objects(current, RDF.rest).findFirst().orElse(null);
+        }
+        return members.stream();
+    }
+
+    private static Predicate<RDFTerm> nodeKind(final RDFTerm kind) {
+        if (SHACL.IRI.equals(kind)) {
+            return IRI.class::isInstance;
+        } else if (SHACL.BlankNode.equals(kind)) {
+            return BlankNode.class::isInstance;
+        } else if (SHACL.Literal.equals(kind)) {
+            return Literal.class::isInstance;
+        } else if (SHACL.BlankNodeOrIRI.equals(kind)) {
+            return BlankNodeOrIRI.class::isInstance;
+        } else if (SHACL.BlankNodeOrLiteral.equals(kind)) {
+            return term -> term instanceof BlankNode || term instanceof Literal;
+        } else if (SHACL.IRIOrLiteral.equals(kind)) {
+            return term -> term instanceof IRI || term instanceof Literal;
+        }
+        throw new RuntimeTrellisException("Invalid sh:nodeKind value: " + kind);
+    }
+
+    private static Pattern pattern(final String regex, final String flags) {
+        int mask = 0;
+        for (final char flag : flags.toCharArray()) {
+            if (flag == 'i') {
+                mask |= CASE_INSENSITIVE;
+            } else if (flag == 's') {
+                mask |= DOTALL;
+            } else if (flag == 'm') {
+                mask |= MULTILINE;
+            } else if (flag == 'x') {
+                mask |= COMMENTS;
+            }
+        }
+        return Pattern.compile(regex, mask);
+    }
+
+    private static String lexicalForm(final RDFTerm term) {
+        if (term instanceof IRI) {
+            return ((IRI) term).getIRIString();
+        } else if (term instanceof Literal) {
+            return ((Literal) term).getLexicalForm();
+        }
+        return null;
+    }
+}
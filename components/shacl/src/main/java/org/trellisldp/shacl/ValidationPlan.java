@@ -0,0 +1,281 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.shacl;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.trellisldp.api.RDFUtils.TRELLIS_BNODE_PREFIX;
+import static org.trellisldp.api.RDFUtils.getInstance;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+import org.trellisldp.api.ConstraintViolation;
+import org.trellisldp.vocabulary.LDP;
+import org.trellisldp.vocabulary.RDF;
+import org.trellisldp.vocabulary.SHACL;
+
+/**
+ * A validation plan for a single LDP interaction model.
+ *
+ * <p>The plan indexes the compiled shapes by the predicates and classes that select their focus nodes and by the
+ * paths of their property shapes, so that a graph can be validated in a single pass over its triples.
+ *
+ * <p>A shape whose {@code sh:targetClass} is the interaction model (or one of its LDP superclasses) targets the
+ * resource itself. When the identifier of the resource is known, it is always a focus node of such shapes, even
+ * if the graph is empty. Otherwise, the resource is taken to be every in-domain subject IRI that is neither a
+ * fragment nor a skolemized blank node, and such shapes are not applied to an empty graph.
+ */
+final class ValidationPlan {
+
+    private static final org.apache.commons.rdf.api.RDF rdf = getInstance();
+
+    private final List<NodeShape> shapes = new ArrayList<>();
+    private final Set<NodeShape> resourceShapes = new HashSet<>();
+    private final Map<IRI, List<NodeShape>> byClass = new HashMap<>();
+    private final Map<IRI, List<NodeShape>> bySubjectsOf = new HashMap<>();
+    private final Map<IRI, List<NodeShape>> byObjectsOf = new HashMap<>();
+    private final Map<IRI, List<PropertyRule>> byPath = new HashMap<>();
+    private final List<NodeShape> closedShapes = new ArrayList<>();
+
+    /**
+     * Create a validation plan.
+     *
+     * @param compiled the compiled shapes
+     * @param model the interaction model
+     */
+    ValidationPlan(final List<NodeShape> compiled, final IRI model) {
+        final Set<IRI> models = new HashSet<>();
+        for (IRI type = model; nonNull(type); type = LDP.getSuperclassOf(type)) {
+            models.add(type);
+        }
+
+        for (final NodeShape shape : compiled) {
+            if (shape.getTargetClasses().stream().anyMatch(models::contains)) {
+                resourceShapes.add(shape);
+            }
+            shape.getTargetClasses().forEach(c -> byClass.computeIfAbsent(c, k -> new ArrayList<>()).add(shape));
+            shape.getTargetSubjectsOf().forEach(p ->
+                    bySubjectsOf.computeIfAbsent(p, k -> new ArrayList<>()).add(shape));
+            shape.getTargetObjectsOf().forEach(p ->
+                    byObjectsOf.computeIfAbsent(p, k -> new ArrayList<>()).add(shape));
+            if (resourceShapes.contains(shape) || !shape.getTargetClasses().isEmpty()
+                    || !shape.getTargetNodes().isEmpty() || !shape.getTargetSubjectsOf().isEmpty()
+                    || !shape.getTargetObjectsOf().isEmpty()) {
+                shapes.add(shape);
+                shape.getRules().forEach(r -> byPath.computeIfAbsent(r.getPath(), k -> new ArrayList<>()).add(r));
+                if (shape.isClosed()) {
+                    closedShapes.add(shape);
+                }
+            }
+        }
+    }
+
+    /**
+     * Validate a collection of triples.
+     *
+     * @param triples the triples
+     * @param domain the domain of the resource
+     * @return any constraint violations
+     */
+    List<ConstraintViolation> validate(final Iterable<? extends Triple> triples, final String domain) {
+        return validate(triples, domain, null);
+    }
+
+    /**
+     * Validate a collection of triples about a resource.
+     *
+     * @param triples the triples
+     * @param domain the domain of the resource
+     * @param identifier the identifier of the resource, or null if it is not known
+     * @return any constraint violations
+     */
+    List<ConstraintViolation> validate(final Iterable<? extends Triple> triples, final String domain,
+            final IRI identifier) {
+        if (shapes.isEmpty()) {
+            return emptyList();
+        }
+
+        final Map<NodeShape, Set<RDFTerm>> focusNodes = new LinkedHashMap<>();
+        final Set<BlankNodeOrIRI> resources = new LinkedHashSet<>();
+        if (nonNull(identifier)) {
+            resources.add(identifier);
+        }
+        final Map<BlankNodeOrIRI, Map<PropertyRule, RuleState>> states = new HashMap<>();
+        final Map<BlankNodeOrIRI, Map<NodeShape, List<Triple>>> disallowed = new HashMap<>();
+
+        for (final NodeShape shape : shapes) {
+            shape.getTargetNodes().forEach(node -> addFocusNode(focusNodes, shape, node));
+        }
+
+        for (final Triple triple : triples) {
+            final BlankNodeOrIRI subject = triple.getSubject();
+            final IRI predicate = triple.getPredicate();
+            final RDFTerm object = triple.getObject();
+
+            if (!resourceShapes.isEmpty() && isNull(identifier) && isResource(subject, domain)) {
+                resources.add(subject);
+            }
+            if (RDF.type.equals(predicate) && object instanceof IRI) {
+                byClass.getOrDefault(object, emptyList()).forEach(s -> addFocusNode(focusNodes, s, subject));
+            }
+            bySubjectsOf.getOrDefault(predicate, emptyList()).forEach(s -> addFocusNode(focusNodes, s, subject));
+            byObjectsOf.getOrDefault(predicate, emptyList()).forEach(s -> addFocusNode(focusNodes, s, object));
+
+            final List<PropertyRule> rules = byPath.getOrDefault(predicate, emptyList());
+            if (!rules.isEmpty()) {
+                final Map<PropertyRule, RuleState> subjectStates = states.computeIfAbsent(subject,
+                        k -> new HashMap<>());
+                rules.forEach(rule -> subjectStates.computeIfAbsent(rule, RuleState::new).accept(triple));
+            }
+
+            for (final NodeShape shape : closedShapes) {
+                if (!shape.allows(predicate)) {
+                    disallowed.computeIfAbsent(subject, k -> new HashMap<>())
+                        .computeIfAbsent(shape, k -> new ArrayList<>()).add(triple);
+                }
+            }
+        }
+
+        resourceShapes.forEach(shape -> resources.forEach(node -> addFocusNode(focusNodes, shape, node)));
+
+        final List<ConstraintViolation> violations = new ArrayList<>();
+        focusNodes.forEach((shape, nodes) -> nodes.forEach(node -> {
+            final Map<PropertyRule, RuleState> nodeStates = node instanceof BlankNodeOrIRI
+                ? states.getOrDefault(node, emptyMap()) : emptyMap();
+            for (final PropertyRule rule : shape.getRules()) {
+                final RuleState state = nodeStates.get(rule);
+                if (nonNull(state)) {
+                    state.getInvalid().forEach((triple, components) -> components.forEach(component ->
+                                violations.add(violation(shape, rule, node, component, triple.getObject()))));
+                }
+                final long count = nonNull(state) ? state.getCount() : 0L;
+                if (count < rule.getMinCount()) {
+                    violations.add(violation(shape, rule, node, SHACL.MinCountConstraintComponent, null));
+                }
+                if (count > rule.getMaxCount()) {
+                    violations.add(violation(shape, rule, node, SHACL.MaxCountConstraintComponent, null));
+                }
+                if (nonNull(rule.getHasValue()) && (!nonNull(state) || !state.hasValue())) {
+                    violations.add(violation(shape, rule, node, SHACL.HasValueConstraintComponent,
+                                rule.getHasValue()));
+                }
+            }
+            if (shape.isClosed() && node instanceof BlankNodeOrIRI) {
+                disallowed.getOrDefault(node, emptyMap()).getOrDefault(shape, emptyList()).forEach(triple ->
+                        violations.add(new ConstraintViolation(constraint(shape.getShape(),
+                                    SHACL.ClosedConstraintComponent), result(node, triple.getPredicate(),
+                                    triple.getObject(), shape.getShape(), SHACL.ClosedConstraintComponent))));
+            }
+        }));
+        return violations;
+    }
+
+    private static void addFocusNode(final Map<NodeShape, Set<RDFTerm>> focusNodes, final NodeShape shape,
+            final RDFTerm node) {
+        focusNodes.computeIfAbsent(shape, k -> new LinkedHashSet<>()).add(node);
+    }
+
+    private static boolean isResource(final BlankNodeOrIRI subject, final String domain) {
+        if (subject instanceof IRI) {
+            final String iri = ((IRI) subject).getIRIString();
+            return nonNull(domain) && iri.startsWith(domain) && !iri.startsWith(TRELLIS_BNODE_PREFIX)
+                && !iri.contains("#");
+        }
+        return false;
+    }
+
+    private static ConstraintViolation violation(final NodeShape shape, final PropertyRule rule,
+            final RDFTerm focus, final IRI component, final RDFTerm value) {
+        final BlankNodeOrIRI source = rule.getShape() instanceof IRI ? rule.getShape() : shape.getShape();
+        return new ConstraintViolation(constraint(source, component),
+                result(focus, rule.getPath(), value, rule.getShape(), component));
+    }
+
+    // Identify a violation by its (named) shape or, failing that, by the SHACL constraint component
+    private static IRI constraint(final BlankNodeOrIRI shape, final IRI component) {
+        return shape instanceof IRI ? (IRI) shape : component;
+    }
+
+    // Describe a violation as a sh:ValidationResult
+    private static List<Triple> result(final RDFTerm focus, final IRI path, final RDFTerm value,
+            final BlankNodeOrIRI shape, final IRI component) {
+        final BlankNode result = rdf.createBlankNode();
+        final List<Triple> triples = new ArrayList<>();
+        triples.add(rdf.createTriple(result, RDF.type, SHACL.ValidationResult));
+        triples.add(rdf.createTriple(result, SHACL.resultSeverity, SHACL.Violation));
+        triples.add(rdf.createTriple(result, SHACL.focusNode, focus));
+        triples.add(rdf.createTriple(result, SHACL.resultPath, path));
+        if (nonNull(value)) {
+            triples.add(rdf.createTriple(result, SHACL.value, value));
+        }
+        triples.add(rdf.createTriple(result, SHACL.sourceShape, shape));
+        triples.add(rdf.createTriple(result, SHACL.sourceConstraintComponent, component));
+        return triples;
+    }
+
+    /**
+     * The accumulated values of a property shape for a single focus node.
+     */
+    private static final class RuleState {
+
+        private final PropertyRule rule;
+        private final Map<Triple, List<IRI>> invalid = new LinkedHashMap<>();
+        private long count;
+        private boolean hasValue;
+
+        RuleState(final PropertyRule rule) {
+            this.rule = rule;
+        }
+
+        void accept(final Triple triple) {
+            final RDFTerm value = triple.getObject();
+            count += 1;
+            if (value.equals(rule.getHasValue())) {
+                hasValue = true;
+            }
+            for (final Map.Entry<IRI, Predicate<RDFTerm>> constraint : rule.getValueConstraints().entrySet()) {
+                if (!constraint.getValue().test(value)) {
+                    invalid.computeIfAbsent(triple, k -> new ArrayList<>()).add(constraint.getKey());
+                }
+            }
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        boolean hasValue() {
+            return hasValue;
+        }
+
+        Map<Triple, List<IRI>> getInvalid() {
+            return invalid;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.shacl;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.trellisldp.api.RDFUtils.TRELLIS_BNODE_PREFIX;
+import static org.trellisldp.api.RDFUtils.TRELLIS_DATA_PREFIX;
+
+import java.util.List;
+
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.api.Triple;
+import org.apache.commons.rdf.jena.JenaRDF;
+import org.junit.jupiter.api.Test;
+import org.trellisldp.api.ConstraintService;
+import org.trellisldp.api.ConstraintViolation;
+import org.trellisldp.api.RuntimeTrellisException;
+import org.trellisldp.vocabulary.DC;
+import org.trellisldp.vocabulary.LDP;
+import org.trellisldp.vocabulary.SHACL;
+import org.trellisldp.vocabulary.XSD;
+
+/**
+ * Test the SHACL constraint service.
+ */
+public class ShaclConstraintsTest {
+
+    private static final RDF rdf = new JenaRDF();
+
+    private static final String EX = "http://example.com/ns#";
+
+    private final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource");
+
+    private final ConstraintService svc = new ShaclConstraints(
+            ShaclConstraintsTest.class.getResource("/shapes.ttl").getFile());
+
+    @Test
+    public void testValidResource() {
+        final Graph graph = rdf.createGraph();
+        graph.add(identifier, DC.title, rdf.createLiteral("A title"));
+        graph.add(identifier, DC.subject, rdf.createIRI("http://example.com/subject"));
+        assertEquals(0L, svc.constrainedBy(LDP.RDFSource, graph).count(), "Unexpected constraint violation!");
+    }
+
+    @Test
+    public void testMinCount() {
+        final Graph graph = rdf.createGraph();
+        graph.add(identifier, DC.subject, rdf.createIRI("http://example.com/subject"));
+        final List<ConstraintViolation> violations = svc.constrainedBy(LDP.RDFSource, graph).collect(toList());
+        assertEquals(1L, violations.size(), "Incorrect number of violations!");
+        assertEquals(rdf.createIRI(EX + "ResourceShape"), violations.get(0).getConstraint(), "Incorrect constraint!");
+        assertEquals(SHACL.MinCountConstraintComponent, component(violations.get(0)), "Incorrect component!");
+        assertTrue(violations.get(0).getTriples().stream().anyMatch(triple ->
+                    SHACL.focusNode.equals(triple.getPredicate()) && identifier.equals(triple.getObject())),
+                "Missing focus node in the validation result!");
+    }
+
+    @Test
+    public void testMaxCountAndDatatype() {
+        final Graph graph = rdf.createGraph();
+        graph.add(identifier, DC.title, rdf.createLiteral("A title"));
+        graph.add(identifier, DC.title, rdf.createLiteral("1", XSD.dateTime));
+        final List<IRI> components = svc.constrainedBy(LDP.RDFSource, graph).map(ShaclConstraintsTest::component)
+            .collect(toList());
+        assertEquals(2L, components.size(), "Incorrect number of violations!");
+        assertTrue(components.contains(SHACL.DatatypeConstraintComponent), "Missing datatype violation!");
+        assertTrue(components.contains(SHACL.MaxCountConstraintComponent), "Missing max count violation!");
+    }
+
+    @Test
+    public void testNodeKind() {
+        final Graph graph = rdf.createGraph();
+        graph.add(identifier, DC.title, rdf.createLiteral("A title"));
+        graph.add(identifier, DC.subject, rdf.createLiteral("subject"));
+        final List<ConstraintViolation> violations = svc.constrainedBy(LDP.RDFSource, graph).collect(toList());
+        assertEquals(1L, violations.size(), "Incorrect number of violations!");
+        assertEquals(SHACL.NodeKindConstraintComponent, component(violations.get(0)), "Incorrect component!");
+    }
+
+    @Test
+    public void testInteractionModelHierarchy() {
+        final Graph graph = rdf.createGraph();
+        graph.add(identifier, DC.subject, rdf.createIRI("http://example.com/subject"));
+        assertEquals(1L, svc.constrainedBy(LDP.BasicContainer, graph).count(),
+                "Container shapes should inherit the ldp:RDFSource shape!");
+        assertEquals(0L, svc.constrainedBy(LDP.NonRDFSource, graph).count(),
+                "ldp:NonRDFSource resources should not be validated against the ldp:RDFSource shape!");
+    }
+
+    @Test
+    public void testResourceTarget() {
+        final Graph graph = rdf.createGraph();
+        graph.add(identifier, DC.title, rdf.createLiteral("A title"));
+        graph.add(rdf.createIRI(TRELLIS_DATA_PREFIX + "resource#fragment"), DC.subject, rdf.createIRI(EX + "a"));
+        graph.add(rdf.createIRI(TRELLIS_BNODE_PREFIX + "1234"), DC.subject, rdf.createIRI(EX + "b"));
+        graph.add(rdf.createIRI("http://example.com/other"), DC.subject, rdf.createIRI(EX + "c"));
+        assertEquals(0L, svc.constrainedBy(LDP.RDFSource, graph).count(),
+                "Only the resource itself should be targeted by the ldp:RDFSource shape!");
+    }
+
+    @Test
+    public void testResourceIdentifier() {
+        final Graph graph = rdf.createGraph();
+        assertEquals(0L, svc.constrainedBy(LDP.RDFSource, graph).count(),
+                "The ldp:RDFSource shape should not be applied to an empty graph without an identifier!");
+        assertEquals(1L, svc.constrainedBy(identifier, LDP.RDFSource, graph).count(),
+                "The ldp:RDFSource shape should be applied to the identified resource!");
+
+        graph.add(rdf.createIRI(TRELLIS_DATA_PREFIX + "resource#fragment"), DC.title, rdf.createLiteral("A title"));
+        assertEquals(1L, svc.constrainedBy(identifier, LDP.RDFSource, graph).count(),
+                "A fragment should not satisfy the ldp:RDFSource shape!");
+
+        graph.add(identifier, DC.title, rdf.createLiteral("A title"));
+        graph.add(rdf.createIRI(TRELLIS_DATA_PREFIX + "other"), DC.subject, rdf.createIRI(EX + "a"));
+        assertEquals(0L, svc.constrainedBy(identifier, LDP.RDFSource, graph).count(),
+                "Other in-domain resources should not be targeted by the ldp:RDFSource shape!");
+    }
+
+    @Test
+    public void testClosedShape() {
+        final Graph graph = rdf.createGraph();
+        final IRI person = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource#me");
+        graph.add(identifier, DC.title, rdf.createLiteral("A title"));
+        graph.add(person, org.trellisldp.vocabulary.RDF.type, rdf.createIRI(EX + "Person"));
+        graph.add(person, rdf.createIRI(EX + "name"), rdf.createLiteral("Alice"));
+        graph.add(person, rdf.createIRI(EX + "status"), rdf.createIRI(EX + "Active"));
+        assertEquals(0L, svc.constrainedBy(LDP.RDFSource, graph).count(), "Unexpected constraint violation!");
+
+        graph.add(person, DC.title, rdf.createLiteral("Dr."));
+        final List<ConstraintViolation> violations = svc.constrainedBy(LDP.RDFSource, graph).collect(toList());
+        assertEquals(1L, violations.size(), "Incorrect number of violations!");
+        assertEquals(rdf.createIRI(EX + "PersonShape"), violations.get(0).getConstraint(), "Incorrect constraint!");
+    }
+
+    @Test
+    public void testValueConstraints() {
+        final Graph graph = rdf.createGraph();
+        final IRI person = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource#me");
+        graph.add(identifier, DC.title, rdf.createLiteral("A title"));
+        graph.add(person, org.trellisldp.vocabulary.RDF.type, rdf.createIRI(EX + "Person"));
+        graph.add(person, rdf.createIRI(EX + "name"), rdf.createLiteral("9"));
+        graph.add(person, rdf.createIRI(EX + "status"), rdf.createIRI(EX + "Unknown"));
+        final List<ConstraintViolation> violations = svc.constrainedBy(LDP.RDFSource, graph).collect(toList());
+        assertEquals(3L, violations.size(), "Incorrect number of violations!");
+        assertEquals(2L, violations.stream().map(ConstraintViolation::getConstraint)
+                .filter(rdf.createIRI(EX + "NameShape")::equals).count(), "Missing named property shape violations!");
+        final List<IRI> components = violations.stream().map(ShaclConstraintsTest::component).collect(toList());
+        assertTrue(components.contains(SHACL.MinLengthConstraintComponent), "Missing sh:minLength violation!");
+        assertTrue(components.contains(SHACL.PatternConstraintComponent), "Missing sh:pattern violation!");
+        assertTrue(components.contains(SHACL.InConstraintComponent), "Missing sh:in violation!");
+    }
+
+    @Test
+    public void testObjectsOfTarget() {
+        final Graph graph = rdf.createGraph();
+        final IRI member = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource#member");
+        graph.add(identifier, DC.title, rdf.createLiteral("A title"));
+        graph.add(identifier, rdf.createIRI(EX + "member"), member);
+        final List<ConstraintViolation> violations = svc.constrainedBy(LDP.RDFSource, graph).collect(toList());
+        assertEquals(1L, violations.size(), "Incorrect number of violations!");
+        assertEquals(SHACL.HasValueConstraintComponent, component(violations.get(0)), "Incorrect component!");
+
+        graph.add(member, rdf.createIRI(EX + "role"), rdf.createIRI(EX + "Participant"));
+        assertEquals(0L, svc.constrainedBy(LDP.RDFSource, graph).count(), "Unexpected constraint violation!");
+    }
+
+    @Test
+    public void testNoShapes() {
+        final ConstraintService noShapes = new ShaclConstraints("");
+        assertEquals(0L, noShapes.constrainedBy(LDP.RDFSource, rdf.createGraph()).count(),
+                "Unexpected constraint violation!");
+    }
+
+    @Test
+    public void testInvalidShapes() {
+        assertThrows(RuntimeTrellisException.class, () ->
+                new ShaclConstraints("/this/file/does/not/exist.ttl"),
+                "No exception with an invalid shapes graph!");
+    }
+
+    private static IRI component(final ConstraintViolation violation) {
+        return violation.getTriples().stream().filter(triple ->
+                SHACL.sourceConstraintComponent.equals(triple.getPredicate())).map(Triple::getObject)
+            .map(IRI.class::cast).findFirst().orElse(null);
+    }
+}
@@ -18,6 +18,7 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.synchronizedList;
 import static java.util.Collections.unmodifiableSet;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.CompletableFuture.runAsync;
@@ -49,6 +50,8 @@ import java.util.stream.Stream;
 
 import javax.inject.Inject;
 
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
 import org.apache.commons.rdf.api.Dataset;
 import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.Literal;
@@ -60,6 +63,7 @@ import org.apache.jena.arq.sparql.core.Quad;
 import org.apache.jena.arq.sparql.core.Var;
 import org.apache.jena.arq.sparql.modify.request.QuadAcc;
 import org.apache.jena.arq.sparql.modify.request.QuadDataAcc;
+import org.apache.jena.arq.sparql.modify.request.UpdateDataDelete;
 import org.apache.jena.arq.sparql.modify.request.UpdateDataInsert;
 import org.apache.jena.arq.sparql.modify.request.UpdateDeleteInsert;
 import org.apache.jena.arq.sparql.modify.request.UpdateDeleteWhere;
@@ -73,6 +77,7 @@ import org.apache.jena.core.graph.Node;
 import org.apache.jena.rdfconnection.RDFConnection;
 import org.slf4j.Logger;
 import org.trellisldp.api.Binary;
+import org.trellisldp.api.ConcurrentUpdateException;
 import org.trellisldp.api.IdentifierService;
 import org.trellisldp.api.Resource;
 import org.trellisldp.api.ResourceService;
@@ -97,6 +102,12 @@ public class TriplestoreResourceService extends DefaultAuditService implements R
     private static final Logger LOGGER = getLogger(TriplestoreResourceService.class);
     private static final JenaRDF rdf = getInstance();
 
+    private static final Set<IRI> deltaGraphs = unmodifiableSet(asList(PreferUserManaged, PreferAccessControl)
+            .stream().collect(toSet()));
+    private static final Set<IRI> membershipProperties = unmodifiableSet(asList(LDP.membershipResource,
+                LDP.hasMemberRelation, LDP.isMemberOfRelation, LDP.insertedContentRelation).stream()
+            .collect(toSet()));
+
     private final Supplier<String> supplier;
     private final RDFConnection rdfConnection;
     private final Set<IRI> supportedIxnModels;
@@ -122,7 +133,7 @@ public class TriplestoreResourceService extends DefaultAuditService implements R
             final Binary binary) {
         LOGGER.debug("Creating: {}", id);
         return runAsync(() ->
-                createOrReplace(id, ixnModel, dataset, OperationType.CREATE, container, binary));
+                createOrReplace(id, ixnModel, dataset, OperationType.CREATE, container, binary, null));
     }
 
     @Override
@@ -132,20 +143,46 @@ public class TriplestoreResourceService extends DefaultAuditService implements R
             final Instant eventTime = now();
             dataset.add(PreferServerManaged, identifier, DC.type, DeletedResource);
             dataset.add(PreferServerManaged, identifier, RDF.type, LDP.Resource);
-            storeResource(identifier, dataset, eventTime, OperationType.DELETE);
+            storeResource(identifier, dataset, eventTime, OperationType.DELETE, null);
         });
     }
 
     @Override
     public CompletableFuture<Void> replace(final IRI id, final IRI ixnModel, final Dataset dataset, final IRI container,
             final Binary binary) {
+        return replace(id, ixnModel, dataset, container, binary, null);
+    }
+
+    @Override
+    public CompletableFuture<Void> replace(final IRI id, final IRI ixnModel, final Dataset dataset, final IRI container,
+            final Binary binary, final Instant modified) {
         LOGGER.debug("Updating: {}", id);
         return runAsync(() ->
-                createOrReplace(id, ixnModel, dataset, OperationType.REPLACE, container, binary));
+                createOrReplace(id, ixnModel, dataset, OperationType.REPLACE, container, binary, modified));
     }
 
-    private void createOrReplace(final IRI identifier, final IRI ixnModel,
-                    final Dataset dataset, final OperationType type, final IRI container, final Binary binary) {
+    @Override
+    public CompletableFuture<Void> update(final IRI id, final IRI ixnModel, final Dataset dataset, final IRI container,
+            final Binary binary, final Dataset additions, final Dataset removals) {
+        return update(id, ixnModel, dataset, container, binary, additions, removals, null);
+    }
+
+    @Override
+    public CompletableFuture<Void> update(final IRI id, final IRI ixnModel, final Dataset dataset, final IRI container,
+            final Binary binary, final Dataset additions, final Dataset removals, final Instant modified) {
+        // Changes that affect server-managed data are persisted by replacing the resource
+        if (!supportsDelta(ixnModel, additions) || !supportsDelta(ixnModel, removals)) {
+            return replace(id, ixnModel, dataset, container, binary, modified);
+        }
+        LOGGER.debug("Updating: {} ({} additions, {} removals)", id, additions.size(), removals.size());
+        return runAsync(() -> {
+            final Literal time = rdf.createLiteral(now().toString(), XSD.dateTime);
+            executeUpdate(id, buildDeltaUpdateRequest(id, time, additions, removals), modified);
+        });
+    }
+
+    private void createOrReplace(final IRI identifier, final IRI ixnModel, final Dataset dataset,
+            final OperationType type, final IRI container, final Binary binary, final Instant modified) {
         final Instant eventTime = now();
 
         // Set the LDP type
@@ -184,20 +221,68 @@ public class TriplestoreResourceService extends DefaultAuditService implements R
                     dataset.add(PreferServerManaged, binary.getIdentifier(), DC.extent, size));
         }
 
-        storeResource(identifier, dataset, eventTime, type);
+        storeResource(identifier, dataset, eventTime, type, modified);
     }
 
     private void storeResource(final IRI identifier, final Dataset dataset,
-            final Instant eventTime, final OperationType type) {
+            final Instant eventTime, final OperationType type, final Instant modified) {
         final Literal time = rdf.createLiteral(eventTime.toString(), XSD.dateTime);
+        executeUpdate(identifier, buildUpdateRequest(identifier, time, dataset, type), modified);
+    }
+
+    /*
+     * Conditional writes compare the stored modification date with the expected value and apply
+     * the update within a single write transaction.
+     */
+    private void executeUpdate(final IRI identifier, final UpdateRequest update, final Instant modified) {
         try {
-            rdfConnection.update(buildUpdateRequest(identifier, time, dataset, type));
+            if (isNull(modified)) {
+                rdfConnection.update(update);
+            } else {
+                executeWrite(rdfConnection, () -> {
+                    if (!isCurrent(identifier, modified)) {
+                        throw new ConcurrentUpdateException("Resource " + identifier
+                                + " has been modified since " + modified);
+                    }
+                    rdfConnection.update(update);
+                });
+            }
+        } catch (final ConcurrentUpdateException ex) {
+            LOGGER.warn("Conflicting update: {}", ex.getMessage());
+            throw ex;
         } catch (final Exception ex) {
             LOGGER.error("Could not update data: {}", ex.getMessage());
             throw new RuntimeTrellisException(ex);
         }
     }
 
+    /**
+     * This code is equivalent to the SPARQL query below.
+     *
+     * <p><pre><code>
+     * SELECT ?object WHERE {
+     *   GRAPH trellis:PreferServerManaged { IDENTIFIER dc:modified ?object }
+     * }
+     * </code></pre></p>
+     */
+    private boolean isCurrent(final IRI identifier, final Instant modified) {
+        final Query q = new Query();
+        q.setQuerySelectType();
+        q.addResultVar(OBJECT);
+
+        final ElementPathBlock epb = new ElementPathBlock();
+        epb.addTriple(triple(rdf.asJenaNode(identifier), rdf.asJenaNode(DC.modified), OBJECT));
+
+        final ElementGroup elg = new ElementGroup();
+        elg.addElement(new ElementNamedGraph(rdf.asJenaNode(PreferServerManaged), epb));
+        q.setQueryPattern(elg);
+
+        final Stream.Builder<RDFTerm> builder = builder();
+        rdfConnection.querySelect(q, qs -> builder.accept(getObject(qs)));
+        return builder.build().filter(term -> term instanceof Literal).map(term -> (Literal) term)
+            .map(Literal::getLexicalForm).map(Instant::parse).anyMatch(modified::equals);
+    }
+
     /**
      * This is equivalent to the SPARQL query below.
      *
@@ -365,24 +450,110 @@ public class TriplestoreResourceService extends DefaultAuditService implements R
 
         } else if (type != OperationType.DELETE) {
             // Indirect containers member resources are _always_ updated.
-            final Var parent = Var.alloc(PARENT);
-            final Var modified = Var.alloc(MODIFIED);
-            final Var member = Var.alloc(MEMBER);
-            final UpdateDeleteInsert modify = new UpdateDeleteInsert();
-            modify.setWithIRI(rdf.asJenaNode(PreferServerManaged));
-            modify.getDeleteAcc().addTriple(triple(member, rdf.asJenaNode(DC.modified), modified));
-            modify.getInsertAcc().addTriple(triple(member, rdf.asJenaNode(DC.modified), rdf.asJenaNode(time)));
-            final ElementPathBlock epb = new ElementPathBlock();
-            epb.addTriple(triple(rdf.asJenaNode(identifier), rdf.asJenaNode(DC.modified), modified));
-            epb.addTriple(triple(parent, rdf.asJenaNode(LDP.membershipResource), member));
-            epb.addTriple(triple(parent, rdf.asJenaNode(RDF.type), rdf.asJenaNode(LDP.IndirectContainer)));
-            epb.addTriple(triple(member, rdf.asJenaNode(DC.modified), modified));
-            modify.setElement(epb);
-            req.add(modify);
+            req.add(getIndirectMemberUpdateModificationRequest(identifier, time));
         }
         return req;
     }
 
+    /**
+     * This is equivalent to the SPARQL below.
+     *
+     * <p><pre><code>
+     * WITH trellis:PreferServerManaged
+     *   DELETE { ?member dc:modified ?modified }
+     *   INSERT { ?member dc:modified TIME }
+     *   WHERE {
+     *     IDENTIFIER dc:modified ?modified .
+     *     ?parent ldp:membershipResource ?member .
+     *     ?parent rdf:type ldp:IndirectContainer .
+     *     ?member dc:modified ?modified
+     * }
+     * </code></pre></p>
+     */
+    private Update getIndirectMemberUpdateModificationRequest(final IRI identifier, final Literal time) {
+        final Var parent = Var.alloc(PARENT);
+        final Var modified = Var.alloc(MODIFIED);
+        final Var member = Var.alloc(MEMBER);
+        final UpdateDeleteInsert modify = new UpdateDeleteInsert();
+        modify.setWithIRI(rdf.asJenaNode(PreferServerManaged));
+        modify.getDeleteAcc().addTriple(triple(member, rdf.asJenaNode(DC.modified), modified));
+        modify.getInsertAcc().addTriple(triple(member, rdf.asJenaNode(DC.modified), rdf.asJenaNode(time)));
+        final ElementPathBlock epb = new ElementPathBlock();
+        epb.addTriple(triple(rdf.asJenaNode(identifier), rdf.asJenaNode(DC.modified), modified));
+        epb.addTriple(triple(parent, rdf.asJenaNode(LDP.membershipResource), member));
+        epb.addTriple(triple(parent, rdf.asJenaNode(RDF.type), rdf.asJenaNode(LDP.IndirectContainer)));
+        epb.addTriple(triple(member, rdf.asJenaNode(DC.modified), modified));
+        modify.setElement(epb);
+        return modify;
+    }
+
+    /**
+     * This is equivalent to the SPARQL below.
+     *
+     * <p><pre><code>
+     * DELETE DATA {
+     *   GRAPH IDENTIFIER { ... }
+     *   GRAPH IDENTIFIER?ext=acl { ... }
+     * };
+     * DELETE WHERE { GRAPH trellis:PreferServerManaged { IDENTIFIER dc:modified ?o } };
+     * INSERT DATA {
+     *   GRAPH IDENTIFIER { ... }
+     *   GRAPH IDENTIFIER?ext=acl { ... }
+     *   GRAPH trellis:PreferServerManaged { IDENTIFIER dc:modified TIME }
+     * };
+     * WITH trellis:PreferServerManaged
+     *   DELETE { ?member dc:modified ?modified }
+     *   INSERT { ?member dc:modified TIME }
+     *   WHERE {
+     *     IDENTIFIER dc:modified ?modified .
+     *     ?parent ldp:membershipResource ?member .
+     *     ?parent rdf:type ldp:IndirectContainer .
+     *     ?member dc:modified ?modified
+     * }
+     * </code></pre></p>
+     */
+    private UpdateRequest buildDeltaUpdateRequest(final IRI identifier, final Literal time, final Dataset additions,
+            final Dataset removals) {
+        final UpdateRequest req = new UpdateRequest();
+
+        final QuadDataAcc deletes = new QuadDataAcc(synchronizedList(new ArrayList<>()));
+        removals.stream().map(q -> new Quad(getGraphNode(identifier, q.getGraphName().orElse(null)),
+                    rdf.asJenaTriple(q.asTriple()))).forEach(deletes::addQuad);
+        req.add(new UpdateDataDelete(deletes));
+
+        req.add(new UpdateDeleteWhere(new QuadAcc(singletonList(new Quad(rdf.asJenaNode(PreferServerManaged),
+                                rdf.asJenaNode(identifier), rdf.asJenaNode(DC.modified), OBJECT)))));
+
+        final QuadDataAcc inserts = new QuadDataAcc(synchronizedList(new ArrayList<>()));
+        additions.stream().map(q -> new Quad(getGraphNode(identifier, q.getGraphName().orElse(null)),
+                    rdf.asJenaTriple(q.asTriple()))).forEach(inserts::addQuad);
+        inserts.addQuad(new Quad(rdf.asJenaNode(PreferServerManaged), triple(rdf.asJenaNode(identifier),
+                        rdf.asJenaNode(DC.modified), rdf.asJenaNode(time))));
+        req.add(new UpdateDataInsert(inserts));
+
+        // Indirect containers member resources are _always_ updated.
+        req.add(getIndirectMemberUpdateModificationRequest(identifier, time));
+        return req;
+    }
+
+    private Node getGraphNode(final IRI identifier, final BlankNodeOrIRI graphName) {
+        if (PreferAccessControl.equals(graphName)) {
+            return getAclIRI(identifier);
+        }
+        return rdf.asJenaNode(identifier);
+    }
+
+    /*
+     * Only user-managed and ACL triples can be written as a delta, and then only if they do not
+     * carry any membership properties that are also maintained in the server-managed graph.
+     */
+    private static boolean supportsDelta(final IRI ixnModel, final Dataset changes) {
+        final boolean membership = LDP.DirectContainer.equals(ixnModel) || LDP.IndirectContainer.equals(ixnModel);
+        return changes.stream().allMatch(q -> q.getGraphName().filter(deltaGraphs::contains).isPresent()
+                && !(q.getSubject() instanceof BlankNode) && !(q.getObject() instanceof BlankNode)
+                && !(membership && membershipProperties.contains(q.getPredicate())));
+    }
+
     /**
      * This code is equivalent to the SPARQL queries below.
      *
@@ -37,6 +37,7 @@ import static org.trellisldp.api.Resource.SpecialResources.DELETED_RESOURCE;
 import static org.trellisldp.api.Resource.SpecialResources.MISSING_RESOURCE;
 
 import java.time.Instant;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -54,10 +55,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 import org.mockito.Mock;
 import org.trellisldp.api.Binary;
+import org.trellisldp.api.ConcurrentUpdateException;
 import org.trellisldp.api.IdentifierService;
 import org.trellisldp.api.Resource;
 import org.trellisldp.api.ResourceService;
 import org.trellisldp.id.UUIDGenerator;
+import org.trellisldp.vocabulary.ACL;
 import org.trellisldp.vocabulary.AS;
 import org.trellisldp.vocabulary.DC;
 import org.trellisldp.vocabulary.LDP;
@@ -247,6 +250,105 @@ public class TriplestoreResourceServiceTest {
             svc.get(root).thenAccept(checkRoot(later, 1L))).join();
     }
 
+    @Test
+    public void testUpdateLdpRs() throws Exception {
+        final TriplestoreResourceService svc = new TriplestoreResourceService(
+                connect(wrap(rdf.createDataset().asJenaDatasetGraph())), idService);
+        svc.initialize();
+
+        final Dataset dataset = rdf.createDataset();
+        dataset.add(Trellis.PreferUserManaged, resource, DC.title, rdf.createLiteral("title"));
+        dataset.add(Trellis.PreferUserManaged, resource, DC.description, rdf.createLiteral("description"));
+
+        final Instant later = meanwhile();
+
+        assertDoesNotThrow(() -> svc.create(resource, LDP.RDFSource, dataset, root, null).join(),
+                "Unsuccessful create operation!");
+        svc.get(resource).thenAccept(checkResource(later, LDP.RDFSource, 2L, 3L, 0L, 0L)).join();
+
+        final Dataset additions = rdf.createDataset();
+        additions.add(Trellis.PreferUserManaged, resource, DC.subject, rdf.createIRI("http://example.com/subject"));
+        additions.add(Trellis.PreferAccessControl, resource, ACL.mode, ACL.Read);
+        final Dataset removals = rdf.createDataset();
+        removals.add(Trellis.PreferUserManaged, resource, DC.title, rdf.createLiteral("title"));
+
+        final Dataset updated = rdf.createDataset();
+        updated.add(Trellis.PreferUserManaged, resource, DC.subject, rdf.createIRI("http://example.com/subject"));
+        updated.add(Trellis.PreferUserManaged, resource, DC.description, rdf.createLiteral("description"));
+        updated.add(Trellis.PreferAccessControl, resource, ACL.mode, ACL.Read);
+
+        final Instant evenLater = meanwhile();
+
+        assertDoesNotThrow(() -> svc.update(resource, LDP.RDFSource, updated, root, null, additions, removals)
+                .join(), "Unsuccessful update operation!");
+        svc.get(resource).thenAccept(res -> {
+            assertAll("Check resource", checkResource(res, resource, LDP.RDFSource, evenLater));
+            assertAll("Check resource stream", checkResourceStream(res, 2L, 3L, 1L, 0L, 0L, 0L));
+            assertTrue(res.stream(Trellis.PreferUserManaged).anyMatch(t -> DC.subject.equals(t.getPredicate())),
+                    "Missing added triple!");
+            assertFalse(res.stream(Trellis.PreferUserManaged).anyMatch(t -> DC.title.equals(t.getPredicate())),
+                    "Removed triple still present!");
+        }).join();
+    }
+
+    @Test
+    public void testUpdateLdpRsWithBlankNodes() throws Exception {
+        final TriplestoreResourceService svc = new TriplestoreResourceService(
+                connect(wrap(rdf.createDataset().asJenaDatasetGraph())), idService);
+        svc.initialize();
+
+        final BlankNode bnode = rdf.createBlankNode();
+        final Dataset dataset = rdf.createDataset();
+        dataset.add(Trellis.PreferUserManaged, resource, DC.title, rdf.createLiteral("title"));
+        dataset.add(Trellis.PreferUserManaged, resource, DC.subject, bnode);
+
+        assertDoesNotThrow(() -> svc.create(resource, LDP.RDFSource, dataset, root, null).join(),
+                "Unsuccessful create operation!");
+
+        final Dataset removals = rdf.createDataset();
+        removals.add(Trellis.PreferUserManaged, resource, DC.subject, bnode);
+        final Dataset updated = rdf.createDataset();
+        updated.add(Trellis.PreferUserManaged, resource, DC.title, rdf.createLiteral("title"));
+
+        final Instant later = meanwhile();
+
+        // Blank nodes cannot be removed as a delta, so the resource is replaced
+        assertDoesNotThrow(() -> svc.update(resource, LDP.RDFSource, updated, root, null, rdf.createDataset(),
+                        removals).join(), "Unsuccessful update operation!");
+        svc.get(resource).thenAccept(checkResource(later, LDP.RDFSource, 1L, 3L, 0L, 0L)).join();
+    }
+
+    @Test
+    public void testConcurrentUpdate() throws Exception {
+        final TriplestoreResourceService svc = new TriplestoreResourceService(
+                connect(wrap(rdf.createDataset().asJenaDatasetGraph())), idService);
+        svc.initialize();
+
+        final Dataset dataset = rdf.createDataset();
+        dataset.add(Trellis.PreferUserManaged, resource, DC.title, rdf.createLiteral("title"));
+
+        assertDoesNotThrow(() -> svc.create(resource, LDP.RDFSource, dataset, root, null).join(),
+                "Unsuccessful create operation!");
+        final Instant modified = svc.get(resource).join().getModified();
+        final Instant stale = modified.minusSeconds(1L);
+
+        final Dataset additions = rdf.createDataset();
+        additions.add(Trellis.PreferUserManaged, resource, DC.description, rdf.createLiteral("description"));
+
+        final CompletionException err = assertThrows(CompletionException.class, () ->
+                svc.update(resource, LDP.RDFSource, dataset, root, null, additions, rdf.createDataset(), stale)
+                    .join(), "No exception with a stale modification date!");
+        assertTrue(err.getCause() instanceof ConcurrentUpdateException, "Incorrect exception type!");
+        assertThrows(CompletionException.class, () ->
+                svc.replace(resource, LDP.RDFSource, dataset, root, null, stale).join(),
+                "No exception with a stale modification date!");
+        svc.get(resource).thenAccept(checkResource(modified, LDP.RDFSource, 1L, 3L, 0L, 0L)).join();
+
+        assertDoesNotThrow(() -> svc.update(resource, LDP.RDFSource, dataset, root, null, additions,
+                    rdf.createDataset(), modified).join(), "Unsuccessful conditional update!");
+        svc.get(resource).thenAccept(checkResource(modified, LDP.RDFSource, 2L, 3L, 0L, 0L)).join();
+    }
+
     @Test
     public void testPutLdpNr() throws Exception {
         final TriplestoreResourceService svc = new TriplestoreResourceService(
@@ -13,6 +13,8 @@
  */
 package org.trellisldp.api;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import java.util.Optional;
 
 /**
@@ -30,4 +32,25 @@ public interface ActivityStreamService {
      * @return a serialization
      */
     Optional<String> serialize(Event event);
+
+    /**
+     * Serialize an event as an Activity Stream message, in binary form.
+     *
+     * @implSpec The default implementation encodes the result of {@link #serialize} as UTF-8.
+     * @param event the event
+     * @return a serialization
+     */
+    default Optional<byte[]> serializeBytes(final Event event) {
+        return serialize(event).map(message -> message.getBytes(UTF_8));
+    }
+
+    /**
+     * Get the media type of the serialized messages.
+     *
+     * @implSpec The default implementation returns {@code application/ld+json}.
+     * @return the media type
+     */
+    default String getMediaType() {
+        return "application/ld+json";
+    }
 }
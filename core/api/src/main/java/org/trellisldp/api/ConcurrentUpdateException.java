@@ -0,0 +1,32 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.api;
+
+/**
+ * Signals that a resource was modified by another writer after it was read, so that a conditional
+ * write could not be applied.
+ */
+public class ConcurrentUpdateException extends RuntimeTrellisException {
+
+    private static final long serialVersionUID = 4187960390457294364L;
+
+    /**
+     * Create a new ConcurrentUpdateException with a custom message.
+     *
+     * @param message the message
+     */
+    public ConcurrentUpdateException(final String message) {
+        super(message);
+    }
+}
@@ -46,4 +46,32 @@ public interface ConstraintService {
     default Stream<ConstraintViolation> constrainedBy(IRI interactionModel, Graph graph) {
         return constrainedBy(interactionModel, graph, RDFUtils.TRELLIS_DATA_PREFIX);
     }
+
+    /**
+     * Check a graph about a particular resource against an LDP interaction model.
+     *
+     * @implSpec The default implementation ignores the resource identifier and delegates to
+     *           {@link #constrainedBy(IRI, Graph, String)}.
+     * @param identifier the identifier of the resource
+     * @param interactionModel the interaction model
+     * @param graph the graph
+     * @param domain the domain of the resource
+     * @return any constraint violations on the graph
+     */
+    default Stream<ConstraintViolation> constrainedBy(IRI identifier, IRI interactionModel, Graph graph,
+            String domain) {
+        return constrainedBy(interactionModel, graph, domain);
+    }
+
+    /**
+     * Check a graph about a particular resource against an LDP interaction model.
+     *
+     * @param identifier the identifier of the resource
+     * @param interactionModel the interaction model
+     * @param graph the graph
+     * @return any constraint violations on the graph
+     */
+    default Stream<ConstraintViolation> constrainedBy(IRI identifier, IRI interactionModel, Graph graph) {
+        return constrainedBy(identifier, interactionModel, graph, RDFUtils.TRELLIS_DATA_PREFIX);
+    }
 }
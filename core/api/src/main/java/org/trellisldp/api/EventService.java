@@ -13,6 +13,8 @@
  */
 package org.trellisldp.api;
 
+import java.util.Collection;
+
 /**
  * The EventService provides a mechanism by which events can be emitted
  * to a message broker.
@@ -27,4 +29,16 @@ public interface EventService {
      * @param event the event
      */
     void emit(Event event);
+
+    /**
+     * Emit a batch of events to the event service.
+     *
+     * @implSpec The default implementation emits each event individually, in iteration order.
+     *           Implementations that can publish several messages at once should override this method.
+     * @param events the events
+     * @throws RuntimeTrellisException if an implementation can determine that the batch was not delivered
+     */
+    default void emitAll(final Collection<? extends Event> events) {
+        events.forEach(this::emit);
+    }
 }
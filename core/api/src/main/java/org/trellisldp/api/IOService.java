@@ -16,6 +16,7 @@ package org.trellisldp.api;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import org.apache.commons.rdf.api.Graph;
@@ -51,6 +52,21 @@ public interface IOService {
      */
     Stream<? extends Triple> read(InputStream input, RDFSyntax syntax, String context);
 
+    /**
+     * Read an input stream, passing each triple to a consumer.
+     *
+     * @implSpec The default implementation reads the entire input with {@link #read(InputStream, RDFSyntax, String)}
+     *           before passing any triples to the consumer. Implementations that are able to parse incrementally
+     *           should override this method so that triples are passed to the consumer as they are parsed.
+     * @param input the input stream
+     * @param syntax the RDF syntax
+     * @param context the RDF context
+     * @param consumer the consumer of each triple
+     */
+    default void read(InputStream input, RDFSyntax syntax, String context, Consumer<? super Triple> consumer) {
+        read(input, syntax, context).forEachOrdered(consumer);
+    }
+
     /**
      * Apply a Sparql-Update operation over a Graph.
      *
@@ -61,6 +77,28 @@ public interface IOService {
      */
     void update(Graph graph, String update, RDFSyntax syntax, String context);
 
+    /**
+     * Express a Sparql-Update operation as the triples it adds to and removes from a Graph.
+     *
+     * <p>Only simple operations (for instance, {@code INSERT DATA} or {@code DELETE DATA}) can be expressed in this
+     * way. If an operation cannot be expressed as a set of changes, this method returns {@code false}, the additions
+     * and removals graphs are left unchanged and the operation should instead be applied with
+     * {@link #update(Graph, String, RDFSyntax, String)}.
+     *
+     * @implSpec The default implementation returns {@code false}.
+     * @param graph the input graph, which is read but not modified
+     * @param update the sparql-update request
+     * @param syntax the RDF syntax
+     * @param context the context to resolve relative IRIs
+     * @param additions a graph to receive the triples added by the operation
+     * @param removals a graph to receive the triples removed by the operation
+     * @return true if the operation was expressed as a set of changes; false otherwise
+     */
+    default boolean update(Graph graph, String update, RDFSyntax syntax, String context, Graph additions,
+            Graph removals) {
+        return false;
+    }
+
     /**
      * Retrieve the set of valid syntaxes for read operations.
      *
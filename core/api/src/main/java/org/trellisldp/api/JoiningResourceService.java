@@ -81,6 +81,25 @@ public abstract class JoiningResourceService implements ResourceService {
         return mutableData.replace(id, ixnModel, dataset, container, binary);
     }
 
+    @Override
+    public CompletableFuture<Void> replace(final IRI id, final IRI ixnModel,
+            final Dataset dataset, final IRI container, final Binary binary, final Instant modified) {
+        return mutableData.replace(id, ixnModel, dataset, container, binary, modified);
+    }
+
+    @Override
+    public CompletableFuture<Void> update(final IRI id, final IRI ixnModel, final Dataset dataset,
+            final IRI container, final Binary binary, final Dataset additions, final Dataset removals) {
+        return mutableData.update(id, ixnModel, dataset, container, binary, additions, removals);
+    }
+
+    @Override
+    public CompletableFuture<Void> update(final IRI id, final IRI ixnModel, final Dataset dataset,
+            final IRI container, final Binary binary, final Dataset additions, final Dataset removals,
+            final Instant modified) {
+        return mutableData.update(id, ixnModel, dataset, container, binary, additions, removals, modified);
+    }
+
     @Override
     public CompletableFuture<Void> delete(final IRI id, final IRI ixnModel,
             final Dataset dataset) {
@@ -14,6 +14,7 @@
 
 package org.trellisldp.api;
 
+import java.time.Instant;
 import java.util.concurrent.CompletableFuture;
 
 import org.apache.commons.rdf.api.Dataset;
@@ -57,6 +58,76 @@ public interface MutableDataService<U> extends RetrievalService<U> {
      */
     CompletableFuture<Void> replace(IRI identifier, IRI ixnModel, Dataset dataset, IRI container, Binary binary);
 
+    /**
+     * Replace a resource in the server, provided that it has not been modified since it was read.
+     *
+     * @implSpec The default implementation does not detect concurrent modifications and delegates to
+     *           {@link #replace(IRI, IRI, Dataset, IRI, Binary)}.
+     * @param identifier the identifier for the new resource
+     * @param ixnModel the LDP interaction model for this resource
+     * @param dataset the dataset to be persisted
+     * @param container an LDP container for this resource, {@code null} for none
+     * @param binary a binary resource, relevant only for ldp:NonRDFSource items: {@code null} for none
+     * @param modified the modification date of the resource when it was read, {@code null} for an unconditional write
+     * @return a new completion stage that, when the stage completes normally, indicates that the supplied data
+     * were successfully stored in the corresponding persistence layer. If the resource was modified in the meantime,
+     * the {@link CompletableFuture} will complete exceptionally with a {@link ConcurrentUpdateException}.
+     */
+    default CompletableFuture<Void> replace(final IRI identifier, final IRI ixnModel, final Dataset dataset,
+            final IRI container, final Binary binary, final Instant modified) {
+        return replace(identifier, ixnModel, dataset, container, binary);
+    }
+
+    /**
+     * Update a resource in the server by applying a set of changes.
+     *
+     * <p>The supplied {@code dataset} holds the complete state of the resource after the changes have been
+     * applied, while {@code additions} and {@code removals} describe how that state differs from the stored
+     * resource. Implementations that can apply the changes natively should only need to write the delta.
+     *
+     * @implSpec The default implementation persists the complete dataset with
+     *           {@link #replace(IRI, IRI, Dataset, IRI, Binary)}.
+     * @param identifier the identifier for the resource
+     * @param ixnModel the LDP interaction model for this resource
+     * @param dataset the complete dataset, after the changes have been applied
+     * @param container an LDP container for this resource, {@code null} for none
+     * @param binary a binary resource, relevant only for ldp:NonRDFSource items: {@code null} for none
+     * @param additions the quads to be added to the resource
+     * @param removals the quads to be removed from the resource
+     * @return a new completion stage that, when the stage completes normally, indicates that the changes
+     * were successfully stored in the corresponding persistence layer. In the case of an unsuccessful write operation,
+     * the {@link CompletableFuture} will complete exceptionally and can be handled with
+     * {@link CompletableFuture#handle}, {@link CompletableFuture#exceptionally} or similar methods.
+     */
+    default CompletableFuture<Void> update(final IRI identifier, final IRI ixnModel, final Dataset dataset,
+            final IRI container, final Binary binary, final Dataset additions, final Dataset removals) {
+        return replace(identifier, ixnModel, dataset, container, binary);
+    }
+
+    /**
+     * Update a resource in the server by applying a set of changes, provided that it has not been modified
+     * since it was read.
+     *
+     * @implSpec The default implementation does not detect concurrent modifications and delegates to
+     *           {@link #update(IRI, IRI, Dataset, IRI, Binary, Dataset, Dataset)}.
+     * @param identifier the identifier for the resource
+     * @param ixnModel the LDP interaction model for this resource
+     * @param dataset the complete dataset, after the changes have been applied
+     * @param container an LDP container for this resource, {@code null} for none
+     * @param binary a binary resource, relevant only for ldp:NonRDFSource items: {@code null} for none
+     * @param additions the quads to be added to the resource
+     * @param removals the quads to be removed from the resource
+     * @param modified the modification date of the resource when it was read, {@code null} for an unconditional write
+     * @return a new completion stage that, when the stage completes normally, indicates that the changes
+     * were successfully stored in the corresponding persistence layer. If the resource was modified in the meantime,
+     * the {@link CompletableFuture} will complete exceptionally with a {@link ConcurrentUpdateException}.
+     */
+    default CompletableFuture<Void> update(final IRI identifier, final IRI ixnModel, final Dataset dataset,
+            final IRI container, final Binary binary, final Dataset additions, final Dataset removals,
+            final Instant modified) {
+        return update(identifier, ixnModel, dataset, container, binary, additions, removals);
+    }
+
     /**
      * Delete a resource from the server.
      *
@@ -208,6 +208,15 @@ public class JoiningResourceServiceTest {
         assertEquals(testResource2.stream().findFirst().get(), retrieved.stream().findFirst().get(),
                         "Resource was retrieved with wrong data!");
 
+        final Quad testQuad3 = createQuad(testResourceId1, testResourceId1, badId, badId);
+        final Resource testResource3 = new TestResource(testResourceId1, testQuad3);
+        assertNull(testable.update(testResourceId1, testResource3.getInteractionModel(), testResource3.dataset(),
+                        null, null, testResource3.dataset(), testResource2.dataset()).join(),
+                        "Couldn't update resource!");
+        retrieved = testable.get(testResourceId1).join();
+        assertEquals(testResource3.stream().findFirst().get(), retrieved.stream().findFirst().get(),
+                        "Resource was retrieved with wrong data after an update!");
+
         assertNull(testable.delete(testResourceId1, testResource2.getInteractionModel(),
                         testResource2.dataset()).join(), "Couldn't delete resource!");
         assertEquals(MISSING_RESOURCE, testable.get(testResourceId1).join(), "Found resource after deleting it!");
@@ -13,6 +13,7 @@
  */
 package org.trellisldp.api;
 
+import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -42,4 +43,14 @@ public class NoopEventServiceTest {
             fail("Event serialization failed! " + ex.getMessage());
         }
     }
+
+    @Test
+    public void testNoopEventSvcBatch() {
+        try {
+            final EventService svc = new NoopEventService();
+            svc.emitAll(asList(mockEvent, mockEvent));
+        } catch (final Exception ex) {
+            fail("Event serialization failed! " + ex.getMessage());
+        }
+    }
 }
@@ -30,6 +30,7 @@ module org.trellisldp.jpms.http {
     requires tamaya.api;
     requires java.annotation;
     requires cdi.api;
+    uses org.trellisldp.api.ActivityStreamService;
     uses org.trellisldp.api.ConstraintService;
     uses org.apache.commons.rdf.api.RDF;
 }
\ No newline at end of file
@@ -0,0 +1,159 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http;
+
+import static java.util.Collections.emptyList;
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static javax.ws.rs.core.HttpHeaders.CACHE_CONTROL;
+import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
+import static javax.ws.rs.core.Response.ok;
+import static javax.ws.rs.core.Response.status;
+import static org.trellisldp.http.domain.HttpConstants.CONFIGURATION_BASE_URL;
+import static org.trellisldp.http.domain.HttpConstants.CONFIGURATION_CHANGE_FEED_TIMEOUT;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Response;
+
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.ConfigurationProvider;
+import org.trellisldp.api.AccessControlService;
+import org.trellisldp.http.impl.ChangeFeed;
+import org.trellisldp.http.impl.ChangeFeed.Change;
+import org.trellisldp.http.impl.ReadAuthorizer;
+
+/**
+ * A JAX-RS resource that serves a {@link ChangeFeed} as a stream of server-sent events.
+ *
+ * <p>Each response contains the events that follow the client's cursor, which is given by the
+ * {@code Last-Event-ID} header or the {@code since} query parameter; without a cursor, only new events are
+ * returned. The {@code path} query parameter limits the feed to a container and its descendants. If no events
+ * are available, the request is held until one arrives or the timeout expires. The response then ends, and
+ * an {@code EventSource} client reconnects with the identifier of the last event it received, so that clients
+ * are served as a long poll without holding a server thread between events. When the client's cursor moves past
+ * events it is not sent, or is reset after a restart, the response ends with an event that has an identifier
+ * but no data, which updates the client's cursor without dispatching an event.
+ *
+ * <p>The feed is served as an endpoint of the {@link EndpointResource}. A client is only sent the events about
+ * resources that its agent may read; the other events are skipped.
+ *
+ * @see <a href="https://html.spec.whatwg.org/multipage/server-sent-events.html">Server-sent events</a>
+ */
+public class ChangeFeedResource {
+
+    /** The media type of the change feed. **/
+    public static final String SERVER_SENT_EVENTS = "text/event-stream";
+
+    private static final int LIMIT = 100;
+    private static final int RECONNECT_DELAY = 100;
+
+    private final ChangeFeed feed;
+    private final ReadAuthorizer authorizer;
+    private final long timeout;
+
+    /**
+     * Create a change feed resource.
+     *
+     * @param feed the change feed
+     * @param accessService the access control service; if {@code null}, all events are sent
+     */
+    public ChangeFeedResource(final ChangeFeed feed, final AccessControlService accessService) {
+        this(feed, accessService, ConfigurationProvider.getConfiguration());
+    }
+
+    /**
+     * Create a change feed resource.
+     *
+     * @param feed the change feed
+     * @param accessService the access control service; if {@code null}, all events are sent
+     * @param baseUrl the base URL; if {@code null}, the base URL of each request is used
+     * @param timeout the time, in seconds, that a request waits for new events
+     */
+    public ChangeFeedResource(final ChangeFeed feed, final AccessControlService accessService,
+            final String baseUrl, final long timeout) {
+        this.feed = requireNonNull(feed, "Change feed may not be null!");
+        this.authorizer = new ReadAuthorizer(accessService, baseUrl);
+        this.timeout = timeout;
+    }
+
+    private ChangeFeedResource(final ChangeFeed feed, final AccessControlService accessService,
+            final Configuration config) {
+        this(feed, accessService, config.get(CONFIGURATION_BASE_URL),
+                config.getOrDefault(CONFIGURATION_CHANGE_FEED_TIMEOUT, Long.class, 30L));
+    }
+
+    /**
+     * Read the change feed.
+     *
+     * @param response the asynchronous response
+     * @param ctx the request
+     * @param lastEventId the identifier of the last event the client received
+     * @param since the cursor, used if there is no {@code Last-Event-ID} header
+     * @param path the path of a container
+     */
+    @GET
+    @Produces(SERVER_SENT_EVENTS)
+    public void getChanges(@Suspended final AsyncResponse response, @Context final ContainerRequestContext ctx,
+            @HeaderParam("Last-Event-ID") final String lastEventId, @QueryParam("since") final String since,
+            @QueryParam("path") final String path) {
+        final String position = isNull(lastEventId) ? since : lastEventId;
+        final long cursor;
+        try {
+            cursor = isNull(position) ? feed.getLatestSequence() : Long.parseLong(position);
+        } catch (final NumberFormatException ex) {
+            response.resume(status(BAD_REQUEST).build());
+            return;
+        }
+
+        final Predicate<String> readable = authorizer.getReadable(ctx);
+        final AtomicReference<Runnable> cancel = new AtomicReference<>(() -> { });
+        response.setTimeoutHandler(r -> {
+            cancel.get().run();
+            r.resume(format(cursor, cursor, emptyList(), readable));
+        });
+        response.setTimeout(timeout, SECONDS);
+        cancel.set(feed.await(cursor, path, LIMIT, page ->
+                    response.resume(format(cursor, page.getPosition(), page.getChanges(), readable))));
+    }
+
+    private static Response format(final long cursor, final long position, final List<Change> changes,
+            final Predicate<String> readable) {
+        final StringBuilder body = new StringBuilder("retry: ").append(RECONNECT_DELAY).append("\n\n");
+        long last = cursor;
+        for (final Change change : changes) {
+            if (readable.test(change.getTarget())) {
+                body.append("id: ").append(change.getSequence()).append('\n')
+                    .append("data: ").append(change.getData()).append("\n\n");
+                last = change.getSequence();
+            }
+        }
+        if (position != last) {
+            // An event without data moves the client's cursor past the events it was not sent
+            body.append("id: ").append(position).append("\n\n");
+        }
+        return ok(body.toString(), SERVER_SENT_EVENTS).header(CACHE_CONTROL, "no-cache").build();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http;
+
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+import static org.trellisldp.http.domain.HttpConstants.RESERVED_PATH;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+
+/**
+ * A JAX-RS resource that serves additional endpoints, such as the change feed, under a reserved path.
+ *
+ * <p>The {@link TrellisHttpResource} matches every path, so an endpoint with a path of its own would hide any LDP
+ * resource at that path. Instead, endpoints are served under {@code /.well-known/trellis}, each with a configurable
+ * name. Requests under this path are not matched as LDP resources, and no LDP resource can be created there.
+ * Endpoints authorize these requests themselves, so they are not checked by the {@link WebAcFilter}.
+ */
+@Path(RESERVED_PATH)
+public class EndpointResource {
+
+    private final Map<String, Object> endpoints;
+
+    /**
+     * Create a resource for additional endpoints.
+     *
+     * @param endpoints the JAX-RS resources of the endpoints, by name; a name may contain several path segments
+     */
+    public EndpointResource(final Map<String, Object> endpoints) {
+        requireNonNull(endpoints, "Endpoints may not be null!");
+        this.endpoints = unmodifiableMap(new HashMap<>(endpoints));
+    }
+
+    /**
+     * Get an endpoint.
+     *
+     * @param name the name of the endpoint
+     * @return the JAX-RS resource of the endpoint
+     */
+    @Path("{name: .+}")
+    public Object getEndpoint(@PathParam("name") final String name) {
+        final Object endpoint = endpoints.get(name);
+        if (isNull(endpoint)) {
+            throw new NotFoundException();
+        }
+        return endpoint;
+    }
+
+    /**
+     * Determine whether a path is reserved for endpoints.
+     *
+     * @param path the path, relative to the base URL
+     * @return true if the path is reserved; false otherwise
+     */
+    static boolean isReserved(final String path) {
+        return RESERVED_PATH.equals(path) || path.startsWith(RESERVED_PATH + "/");
+    }
+}
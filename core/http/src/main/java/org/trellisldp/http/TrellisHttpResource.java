@@ -32,12 +32,15 @@ import static org.trellisldp.api.RDFUtils.toQuad;
 import static org.trellisldp.api.Resource.SpecialResources.DELETED_RESOURCE;
 import static org.trellisldp.api.Resource.SpecialResources.MISSING_RESOURCE;
 import static org.trellisldp.http.domain.HttpConstants.CONFIGURATION_BASE_URL;
+import static org.trellisldp.http.domain.HttpConstants.CONFIGURATION_MEMENTO_HEADERS;
+import static org.trellisldp.http.domain.HttpConstants.CONFIGURATION_WRITE_STRIPES;
 import static org.trellisldp.http.domain.HttpConstants.TIMEMAP;
 
 import com.codahale.metrics.annotation.Timed;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -76,6 +79,7 @@ import org.trellisldp.api.ServiceBundler;
 import org.trellisldp.http.domain.AcceptDatetime;
 import org.trellisldp.http.domain.Digest;
 import org.trellisldp.http.domain.LdpRequest;
+import org.trellisldp.http.domain.MementoHeaders;
 import org.trellisldp.http.domain.PATCH;
 import org.trellisldp.http.domain.Prefer;
 import org.trellisldp.http.domain.Range;
@@ -87,6 +91,7 @@ import org.trellisldp.http.impl.OptionsHandler;
 import org.trellisldp.http.impl.PatchHandler;
 import org.trellisldp.http.impl.PostHandler;
 import org.trellisldp.http.impl.PutHandler;
+import org.trellisldp.http.impl.StripedWriteQueue;
 import org.trellisldp.http.impl.TrellisDataset;
 import org.trellisldp.vocabulary.ACL;
 import org.trellisldp.vocabulary.FOAF;
@@ -110,12 +115,18 @@ public class TrellisHttpResource implements ContainerRequestFilter {
 
     private static final List<String> MUTATING_METHODS = asList("POST", "PUT", "DELETE", "PATCH");
 
+    private static final int DEFAULT_WRITE_STRIPES = 256;
+
     protected static final RDF rdf = getInstance();
 
     protected final ServiceBundler trellis;
 
     protected final String baseUrl;
 
+    protected final MementoHeaders mementoHeaders;
+
+    protected final StripedWriteQueue writeQueue;
+
     /**
      * Create a Trellis HTTP resource matcher.
      *
@@ -133,8 +144,46 @@ public class TrellisHttpResource implements ContainerRequestFilter {
      * @param baseUrl a base URL
      */
     public TrellisHttpResource(final ServiceBundler trellis, final String baseUrl) {
+        this(trellis, baseUrl, MementoHeaders.fromString(ConfigurationProvider.getConfiguration()
+                    .get(CONFIGURATION_MEMENTO_HEADERS)));
+    }
+
+    /**
+     * Create a Trellis HTTP resource matcher.
+     *
+     * @param trellis the Trellis application bundle
+     * @param baseUrl a base URL
+     * @param mementoHeaders the policy for adding Memento Link headers to responses
+     */
+    public TrellisHttpResource(final ServiceBundler trellis, final String baseUrl,
+            final MementoHeaders mementoHeaders) {
+        this(trellis, baseUrl, mementoHeaders, new StripedWriteQueue(ConfigurationProvider.getConfiguration()
+                    .getOrDefault(CONFIGURATION_WRITE_STRIPES, Integer.class, DEFAULT_WRITE_STRIPES)));
+    }
+
+    /**
+     * Create a Trellis HTTP resource matcher.
+     *
+     * @param trellis the Trellis application bundle
+     * @param baseUrl a base URL
+     * @param mementoHeaders the policy for adding Memento Link headers to responses
+     * @param writeQueue the queue used to order write operations on each resource
+     */
+    public TrellisHttpResource(final ServiceBundler trellis, final String baseUrl,
+            final MementoHeaders mementoHeaders, final StripedWriteQueue writeQueue) {
         this.baseUrl = baseUrl;
         this.trellis = trellis;
+        this.mementoHeaders = mementoHeaders;
+        this.writeQueue = writeQueue;
+    }
+
+    /**
+     * Get the queue that orders write operations on each resource.
+     *
+     * @return the write queue
+     */
+    public StripedWriteQueue getWriteQueue() {
+        return writeQueue;
     }
 
     /**
@@ -293,8 +342,9 @@ public class TrellisHttpResource implements ContainerRequestFilter {
         final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + req.getPath());
         final PatchHandler patchHandler = new PatchHandler(req, body, trellis, urlBase);
 
-        getParent(identifier).thenCombine(trellis.getResourceService().get(identifier), patchHandler::initialize)
-            .thenCompose(patchHandler::updateResource).thenCompose(patchHandler::updateMemento)
+        writeQueue.submit(asList(identifier), () -> getParent(identifier)
+                .thenCombine(trellis.getResourceService().get(identifier), patchHandler::initialize)
+                .thenCompose(patchHandler::updateResource).thenCompose(patchHandler::updateMemento))
             .thenApply(ResponseBuilder::build).exceptionally(this::handleException).thenApply(response::resume);
     }
 
@@ -312,9 +362,10 @@ public class TrellisHttpResource implements ContainerRequestFilter {
         final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + req.getPath());
         final DeleteHandler deleteHandler = new DeleteHandler(req, trellis, urlBase);
 
-        getParent(identifier).thenCombine(trellis.getResourceService().get(identifier), deleteHandler::initialize)
-            .thenCompose(deleteHandler::deleteResource).thenApply(ResponseBuilder::build)
-            .exceptionally(this::handleException).thenApply(response::resume);
+        writeQueue.submit(getWriteKeys(identifier), () -> getParent(identifier)
+                .thenCombine(trellis.getResourceService().get(identifier), deleteHandler::initialize)
+                .thenCompose(deleteHandler::deleteResource))
+            .thenApply(ResponseBuilder::build).exceptionally(this::handleException).thenApply(response::resume);
     }
 
     /**
@@ -331,18 +382,20 @@ public class TrellisHttpResource implements ContainerRequestFilter {
 
         final String urlBase = getBaseUrl(req);
         final String path = req.getPath();
+        final String separator = path.isEmpty() ? "" : "/";
         final String identifier = ofNullable(req.getSlug())
+            // A Slug is ignored if it would name a resource under the path reserved for endpoints
+            .filter(slug -> !EndpointResource.isReserved(path + separator + slug))
             .orElseGet(trellis.getResourceService()::generateIdentifier);
 
-        final String separator = path.isEmpty() ? "" : "/";
-
         final IRI parent = rdf.createIRI(TRELLIS_DATA_PREFIX + path);
         final IRI child = rdf.createIRI(TRELLIS_DATA_PREFIX + path + separator + identifier);
         final PostHandler postHandler = new PostHandler(req, parent, identifier, body, trellis, urlBase);
 
-        trellis.getResourceService().get(parent)
-            .thenCombine(trellis.getResourceService().get(child), postHandler::initialize)
-            .thenCompose(postHandler::createResource).thenCompose(postHandler::updateMemento)
+        // Creating a resource also modifies its parent, so both are part of the ordering
+        writeQueue.submit(asList(parent, child), () -> trellis.getResourceService().get(parent)
+                .thenCombine(trellis.getResourceService().get(child), postHandler::initialize)
+                .thenCompose(postHandler::createResource).thenCompose(postHandler::updateMemento))
             .thenApply(ResponseBuilder::build).exceptionally(this::handleException).thenApply(response::resume);
     }
 
@@ -361,11 +414,20 @@ public class TrellisHttpResource implements ContainerRequestFilter {
         final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + req.getPath());
         final PutHandler putHandler = new PutHandler(req, body, trellis, urlBase);
 
-        getParent(identifier).thenCombine(trellis.getResourceService().get(identifier), putHandler::initialize)
-            .thenCompose(putHandler::setResource).thenCompose(putHandler::updateMemento)
+        writeQueue.submit(getWriteKeys(identifier), () -> getParent(identifier)
+                .thenCombine(trellis.getResourceService().get(identifier), putHandler::initialize)
+                .thenCompose(putHandler::setResource).thenCompose(putHandler::updateMemento))
             .thenApply(ResponseBuilder::build).exceptionally(this::handleException).thenApply(response::resume);
     }
 
+    // Creating or deleting a resource also modifies its parent, so both are part of the ordering
+    private List<IRI> getWriteKeys(final IRI identifier) {
+        final List<IRI> keys = new ArrayList<>();
+        keys.add(identifier);
+        trellis.getResourceService().getContainer(identifier).ifPresent(keys::add);
+        return keys;
+    }
+
     private CompletableFuture<? extends Resource> getParent(final IRI identifier) {
         final Optional<IRI> parent = trellis.getResourceService().getContainer(identifier);
         if (parent.isPresent()) {
@@ -381,14 +443,15 @@ public class TrellisHttpResource implements ContainerRequestFilter {
     private CompletableFuture<ResponseBuilder> fetchResource(final LdpRequest req) {
         final String urlBase = getBaseUrl(req);
         final IRI identifier = rdf.createIRI(TRELLIS_DATA_PREFIX + req.getPath());
-        final GetHandler getHandler = new GetHandler(req, trellis, nonNull(req.getVersion()), urlBase);
+        final GetHandler getHandler = new GetHandler(req, trellis, nonNull(req.getVersion()), urlBase,
+                mementoHeaders);
 
         // Fetch a memento
         if (nonNull(req.getVersion())) {
             LOGGER.debug("Getting versioned resource: {}", req.getVersion());
             return trellis.getMementoService().get(identifier, req.getVersion().getInstant())
                 .thenApply(getHandler::initialize).thenApply(getHandler::standardHeaders)
-                .thenCombine(trellis.getMementoService().list(identifier), getHandler::addMementoHeaders)
+                .thenCombine(getHandler.fetchMementos(identifier), getHandler::addMementoHeaders)
                 .thenCompose(getHandler::getRepresentation);
 
         // Fetch a timemap
@@ -418,7 +481,7 @@ public class TrellisHttpResource implements ContainerRequestFilter {
         LOGGER.debug("Getting resource at: {}", identifier);
         return trellis.getResourceService().get(identifier).thenApply(getHandler::initialize)
             .thenApply(getHandler::standardHeaders)
-            .thenCombine(trellis.getMementoService().list(identifier), getHandler::addMementoHeaders)
+            .thenCombine(getHandler.fetchMementos(identifier), getHandler::addMementoHeaders)
             .thenCompose(getHandler::getRepresentation);
     }
 
@@ -57,6 +57,9 @@ import org.trellisldp.vocabulary.Trellis;
 /**
  * A {@link ContainerRequestFilter} that implements WebAC-based authorization.
  *
+ * <p>Requests for the endpoints of the {@link EndpointResource} are not checked here, since those endpoints
+ * authorize the resources they report on.
+ *
  * @see <a href="https://github.com/solid/web-access-control-spec">SOLID WebACL Specification</a>
  *
  * @author acoburn
@@ -108,6 +111,10 @@ public class WebAcFilter implements ContainerRequestFilter, ContainerResponseFil
             s = new HttpSession();
             ctx.setProperty(SESSION_PROPERTY, s);
         }
+        if (EndpointResource.isReserved(path)) {
+            // The endpoints under the reserved path authorize requests themselves
+            return;
+        }
         final String method = ctx.getMethod();
 
         final Set<IRI> modes = accessService.getAccessModes(rdf.createIRI(TRELLIS_DATA_PREFIX + path), s);
@@ -128,6 +135,7 @@ public class WebAcFilter implements ContainerRequestFilter, ContainerResponseFil
     @Override
     public void filter(final ContainerRequestContext req, final ContainerResponseContext res) throws IOException {
         if (SUCCESSFUL.equals(res.getStatusInfo().getFamily())
+                && !EndpointResource.isReserved(req.getUriInfo().getPath())
                 && (!req.getUriInfo().getQueryParameters().containsKey(HttpConstants.EXT)
                     || !req.getUriInfo().getQueryParameters().get(HttpConstants.EXT).contains(HttpConstants.ACL))) {
             res.getHeaders().add(LINK, fromUri(req.getUriInfo().getAbsolutePathBuilder()
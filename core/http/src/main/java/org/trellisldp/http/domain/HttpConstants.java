@@ -45,6 +45,18 @@ public final class HttpConstants {
 
     public static final String CONFIGURATION_BASE_URL = "trellis.http.baseUrl";
 
+    public static final String CONFIGURATION_CHANGE_FEED_CAPACITY = "trellis.http.changeFeedCapacity";
+
+    public static final String CONFIGURATION_CHANGE_FEED_SPILL_PATH = "trellis.http.changeFeedSpillPath";
+
+    public static final String CONFIGURATION_CHANGE_FEED_SPILL_SIZE = "trellis.http.changeFeedSpillSize";
+
+    public static final String CONFIGURATION_CHANGE_FEED_TIMEOUT = "trellis.http.changeFeedTimeout";
+
+    public static final String CONFIGURATION_MEMENTO_HEADERS = "trellis.http.mementoHeaders";
+
+    public static final String CONFIGURATION_WRITE_STRIPES = "trellis.http.writeStripes";
+
     public static final String EXT = "ext";
 
     public static final String DESCRIPTION = "description";
@@ -63,6 +75,8 @@ public final class HttpConstants {
 
     public static final String RANGE = "Range";
 
+    public static final String RESERVED_PATH = ".well-known/trellis";
+
     public static final String SESSION_PROPERTY = "session";
 
     public static final String TIMEMAP = "timemap";
@@ -0,0 +1,48 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.domain;
+
+/**
+ * The policy for adding Memento-related Link headers to responses.
+ *
+ * <p>Listing each Memento of a resource in the response headers requires fetching the
+ * full list of Mementos from the {@link org.trellisldp.api.MementoService}. With the
+ * {@link #TIMEMAP} or {@link #NONE} policies, that lookup is skipped entirely.
+ */
+public enum MementoHeaders {
+
+    /** Include the original, timegate and timemap Link headers along with a Link header for each Memento. */
+    FULL,
+
+    /** Include only the original, timegate and timemap Link headers. */
+    TIMEMAP,
+
+    /** Omit the Memento-related Link headers. */
+    NONE;
+
+    /**
+     * Get a MementoHeaders policy from a (case-insensitive) configuration value.
+     *
+     * @param value the configuration value
+     * @return the policy or {@link #FULL} if the value is not recognized
+     */
+    public static MementoHeaders fromString(final String value) {
+        for (final MementoHeaders policy : values()) {
+            if (policy.name().equalsIgnoreCase(value)) {
+                return policy;
+            }
+        }
+        return FULL;
+    }
+}
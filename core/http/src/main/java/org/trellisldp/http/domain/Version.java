@@ -18,21 +18,29 @@ import static java.time.Instant.ofEpochMilli;
 import static java.util.Objects.nonNull;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
+import static java.util.regex.Pattern.compile;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import java.time.Instant;
 import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 
 /**
  * A class representing a version URI parameter.
  *
+ * <p>A version is expressed as milliseconds since the epoch. Versions with sub-millisecond
+ * precision carry the remaining nanoseconds as a six-digit fraction (e.g. {@code 1493646202676.000123}).
+ *
  * @author acoburn
  */
 public class Version {
 
     private static final Logger LOGGER = getLogger(Version.class);
+    private static final Pattern VERSION = compile("^(-?\\d+)(?:\\.(\\d{6}))?$");
+    private static final int NANOS_PER_MILLI = 1_000_000;
 
     private final Instant time;
 
@@ -59,12 +67,32 @@ public class Version {
         return time.toString();
     }
 
+    /**
+     * Format an instant as a version parameter value.
+     *
+     * @param time the version timestamp
+     * @return the version parameter value
+     */
+    public static String format(final Instant time) {
+        final int nanos = time.getNano() % NANOS_PER_MILLI;
+        if (nanos == 0) {
+            return Long.toString(time.toEpochMilli());
+        }
+        return time.toEpochMilli() + "." + String.format("%06d", nanos);
+    }
+
     private static Optional<Instant> parse(final String version) {
         if (nonNull(version)) {
-            try {
-                return of(ofEpochMilli(parseLong(version.trim())));
-            } catch (final NumberFormatException ex) {
-                LOGGER.warn("Unable to parse version string '{}': {}", version, ex.getMessage());
+            final Matcher matcher = VERSION.matcher(version.trim());
+            if (matcher.matches()) {
+                try {
+                    final Instant time = ofEpochMilli(parseLong(matcher.group(1)));
+                    return of(nonNull(matcher.group(2)) ? time.plusNanos(parseLong(matcher.group(2))) : time);
+                } catch (final NumberFormatException ex) {
+                    LOGGER.warn("Unable to parse version string '{}': {}", version, ex.getMessage());
+                }
+            } else {
+                LOGGER.warn("Unable to parse version string '{}'", version);
             }
         }
         return empty();
@@ -0,0 +1,593 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.newBufferedReader;
+import static java.nio.file.Files.newBufferedWriter;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.trellisldp.api.RDFUtils.findFirst;
+import static org.trellisldp.http.domain.HttpConstants.CONFIGURATION_CHANGE_FEED_CAPACITY;
+import static org.trellisldp.http.domain.HttpConstants.CONFIGURATION_CHANGE_FEED_SPILL_PATH;
+import static org.trellisldp.http.domain.HttpConstants.CONFIGURATION_CHANGE_FEED_SPILL_SIZE;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.ConfigurationProvider;
+import org.slf4j.Logger;
+import org.trellisldp.api.ActivityStreamService;
+import org.trellisldp.api.Event;
+import org.trellisldp.api.EventService;
+import org.trellisldp.api.RuntimeTrellisException;
+
+/**
+ * An {@link EventService} that records serialized events so that clients can read them as a change feed.
+ *
+ * <p>Each event is assigned a sequence number, which clients use as a cursor to resume reading. The most recent
+ * events are held in a bounded in-memory ring. When a spill path is configured, events evicted from the ring are
+ * appended to a file in that directory; once the file reaches the configured size, it replaces the previous file,
+ * so at most two files are kept. The events still in memory are written out when the feed is closed, and the
+ * sequence continues from the spilled events when the feed is restarted.
+ *
+ * <p>Spilled events are read without holding the lock that {@link #emit} uses: the spill files are opened under
+ * the lock, and then read outside it, starting from the client's cursor. A single read examines a bounded number
+ * of spilled events, and reports the position it reached, so that a client following a narrow path through a
+ * large spill file makes progress over several reads.
+ *
+ * <p>A client that has read all the available events can wait for the next matching event with
+ * {@link #await}, which does not hold a thread while waiting.
+ */
+public class ChangeFeed implements EventService, AutoCloseable {
+
+    private static final Logger LOGGER = getLogger(ChangeFeed.class);
+    private static final String CURRENT = "changes.log";
+    private static final String PREVIOUS = "changes.log.1";
+    private static final char SEPARATOR = '\t';
+    private static final int SCAN_LIMIT = 10000;
+    private static final int SEEK_BLOCK = 65536;
+
+    private final ActivityStreamService serializer;
+    private final int capacity;
+    private final Path spillPath;
+    private final long spillSize;
+    private final Deque<Change> ring = new ArrayDeque<>();
+    private final List<Waiter> waiters = new ArrayList<>();
+    private long sequence;
+    private long spilled;
+    private BufferedWriter spill;
+
+    /**
+     * Create a change feed.
+     */
+    public ChangeFeed() {
+        this(findFirst(ActivityStreamService.class)
+                .orElseThrow(() -> new RuntimeTrellisException("No ActivityStream service available!")),
+                ConfigurationProvider.getConfiguration());
+    }
+
+    private ChangeFeed(final ActivityStreamService serializer, final Configuration config) {
+        this(serializer, config.getOrDefault(CONFIGURATION_CHANGE_FEED_CAPACITY, Integer.class, 10000),
+                config.get(CONFIGURATION_CHANGE_FEED_SPILL_PATH),
+                config.getOrDefault(CONFIGURATION_CHANGE_FEED_SPILL_SIZE, Long.class, 67108864L));
+    }
+
+    /**
+     * Create a change feed.
+     *
+     * @param serializer the event serializer
+     * @param capacity the number of events held in memory
+     * @param spillPath the directory for events evicted from memory; if {@code null}, evicted events are discarded
+     * @param spillSize the size, in bytes, at which a spill file is rotated
+     */
+    public ChangeFeed(final ActivityStreamService serializer, final int capacity, final String spillPath,
+            final long spillSize) {
+        requireNonNull(serializer, "Event serializer may not be null!");
+        this.serializer = serializer;
+        this.capacity = Math.max(capacity, 1);
+        this.spillPath = isNull(spillPath) ? null : Paths.get(spillPath);
+        this.spillSize = spillSize;
+        if (nonNull(this.spillPath)) {
+            try {
+                Files.createDirectories(this.spillPath);
+                spilled = Files.exists(this.spillPath.resolve(CURRENT)) ? Files.size(this.spillPath.resolve(CURRENT))
+                    : 0L;
+                sequence = readLastSequence();
+            } catch (final IOException ex) {
+                throw new UncheckedIOException("Error reading change feed in " + spillPath, ex);
+            }
+        }
+    }
+
+    @Override
+    public void emit(final Event event) {
+        requireNonNull(event, "Cannot emit a null event!");
+        final String target = event.getTarget().map(IRI::getIRIString).orElse(null);
+        serializer.serialize(event).ifPresent(data -> {
+            final List<Waiter> ready = new ArrayList<>();
+            final Change change;
+            synchronized (ring) {
+                // Serialized events are written on a single line, both to the spill file and to the feed
+                change = new Change(++sequence, target, data.replace('\n', ' ').replace('\r', ' '));
+                ring.addLast(change);
+                if (ring.size() > capacity) {
+                    writeSpill(ring.removeFirst());
+                }
+                final Iterator<Waiter> iter = waiters.iterator();
+                while (iter.hasNext()) {
+                    final Waiter waiter = iter.next();
+                    if (change.matches(waiter.path)) {
+                        iter.remove();
+                        ready.add(waiter);
+                    }
+                }
+            }
+            // Waiting clients are resumed off the caller's thread, which is usually handling a write request
+            ready.forEach(waiter -> runAsync(() ->
+                        waiter.callback.accept(new Page(singletonList(change), change.getSequence()))));
+        });
+    }
+
+    /**
+     * Read the events that follow a cursor.
+     *
+     * <p>A cursor that is ahead of the feed was issued before a restart that did not preserve the sequence, e.g.
+     * without a spill path; such a cursor is read from the start of the feed.
+     *
+     * @param cursor the sequence number of the last event the client has read
+     * @param path the path of a container; only events about this resource or its descendants are returned
+     * @param limit the maximum number of events to return
+     * @return the events, in order, and the position from which the client resumes reading
+     */
+    public Page getChanges(final long cursor, final String path, final int limit) {
+        final String prefix = normalize(path);
+        final List<FileChannel> files = new ArrayList<>();
+        final List<Change> recent = new ArrayList<>();
+        final long from;
+        final long spilledTo;
+        long position;
+        synchronized (ring) {
+            from = cursor > sequence ? 0L : cursor;
+            spilledTo = ring.isEmpty() ? sequence : ring.getFirst().getSequence() - 1;
+            if (spilledTo > from) {
+                openSpill(files);
+            }
+            position = Math.max(from, spilledTo);
+            for (final Change change : ring) {
+                if (recent.size() >= limit) {
+                    break;
+                }
+                if (change.getSequence() > from) {
+                    position = change.getSequence();
+                    if (change.matches(prefix)) {
+                        recent.add(change);
+                    }
+                }
+            }
+        }
+        if (files.isEmpty()) {
+            return new Page(recent, position);
+        }
+
+        final Page spilled = readSpill(files, from, spilledTo, prefix, limit);
+        if (spilled.getPosition() < spilledTo || spilled.getChanges().size() >= limit) {
+            return spilled;
+        }
+        final List<Change> changes = new ArrayList<>(spilled.getChanges());
+        final int remaining = limit - changes.size();
+        if (recent.size() > remaining) {
+            changes.addAll(recent.subList(0, remaining));
+            return new Page(changes, changes.get(changes.size() - 1).getSequence());
+        }
+        changes.addAll(recent);
+        return new Page(changes, position);
+    }
+
+    /**
+     * Wait for the events that follow a cursor. If matching events are available, or the client's position
+     * advances past events that do not match, the callback is called immediately; otherwise, it is called with
+     * the next matching event.
+     *
+     * @param cursor the sequence number of the last event the client has read
+     * @param path the path of a container; only events about this resource or its descendants are returned
+     * @param limit the maximum number of events to return
+     * @param callback the consumer of the events
+     * @return an action that stops waiting
+     */
+    public Runnable await(final long cursor, final String path, final int limit, final Consumer<Page> callback) {
+        final Page page = getChanges(cursor, path, limit);
+        if (page.getChanges().isEmpty() && page.getPosition() == cursor) {
+            final Waiter waiter = new Waiter(normalize(path), cursor, callback);
+            synchronized (ring) {
+                // Otherwise, events were recorded after the read, and the client reads again
+                if (sequence == cursor) {
+                    waiters.add(waiter);
+                    return () -> {
+                        synchronized (ring) {
+                            waiters.remove(waiter);
+                        }
+                    };
+                }
+            }
+        }
+        callback.accept(page);
+        return () -> { };
+    }
+
+    /**
+     * Get the sequence number of the most recent event.
+     *
+     * @return the latest sequence number
+     */
+    public long getLatestSequence() {
+        synchronized (ring) {
+            return sequence;
+        }
+    }
+
+    /**
+     * Get the number of clients waiting for events.
+     *
+     * @return the number of waiting clients
+     */
+    public int getWaitingCount() {
+        synchronized (ring) {
+            return waiters.size();
+        }
+    }
+
+    /**
+     * Write the events held in memory to the spill file, if one is configured.
+     */
+    @Override
+    public void close() {
+        synchronized (ring) {
+            if (nonNull(spillPath)) {
+                while (!ring.isEmpty()) {
+                    writeSpill(ring.removeFirst());
+                }
+            }
+            closeSpill();
+            waiters.forEach(waiter -> waiter.callback.accept(new Page(emptyList(), waiter.cursor)));
+            waiters.clear();
+        }
+    }
+
+    private void writeSpill(final Change change) {
+        if (isNull(spillPath)) {
+            return;
+        }
+        try {
+            if (spilled >= spillSize) {
+                closeSpill();
+                Files.move(spillPath.resolve(CURRENT), spillPath.resolve(PREVIOUS), REPLACE_EXISTING);
+                spilled = 0L;
+            }
+            if (isNull(spill)) {
+                spill = newBufferedWriter(spillPath.resolve(CURRENT), UTF_8, CREATE, APPEND);
+            }
+            final String line = String.valueOf(change.getSequence()) + SEPARATOR
+                + (isNull(change.getTarget()) ? "" : change.getTarget()) + SEPARATOR + change.getData() + "\n";
+            spill.write(line);
+            spilled += line.getBytes(UTF_8).length;
+        } catch (final IOException ex) {
+            LOGGER.error("Error writing to change feed: {}", ex.getMessage());
+            closeSpill();
+        }
+    }
+
+    private void closeSpill() {
+        if (nonNull(spill)) {
+            try {
+                spill.close();
+            } catch (final IOException ex) {
+                LOGGER.error("Error closing change feed: {}", ex.getMessage());
+            }
+            spill = null;
+        }
+    }
+
+    private void openSpill(final List<FileChannel> files) {
+        if (isNull(spillPath)) {
+            return;
+        }
+        try {
+            if (nonNull(spill)) {
+                spill.flush();
+            }
+            // The open files are read outside the lock; a concurrent rotation only renames them
+            for (final String name : new String[]{PREVIOUS, CURRENT}) {
+                final Path file = spillPath.resolve(name);
+                if (Files.exists(file)) {
+                    files.add(FileChannel.open(file, READ));
+                }
+            }
+        } catch (final IOException ex) {
+            LOGGER.error("Error opening change feed: {}", ex.getMessage());
+        }
+    }
+
+    private static Page readSpill(final List<FileChannel> files, final long from, final long spilledTo,
+            final String prefix, final int limit) {
+        final List<Change> changes = new ArrayList<>();
+        long position = from;
+        int scanned = 0;
+        try {
+            for (final FileChannel file : files) {
+                final BufferedReader reader = new BufferedReader(new InputStreamReader(
+                            Channels.newInputStream(file.position(seek(file, from))), UTF_8));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    final Change change = Change.parse(line);
+                    if (isNull(change) || change.getSequence() <= position) {
+                        continue;
+                    }
+                    if (change.getSequence() > spilledTo) {
+                        // Written after the spill was opened; these events are read from memory
+                        break;
+                    }
+                    if (changes.size() >= limit || scanned >= SCAN_LIMIT) {
+                        return new Page(changes, position);
+                    }
+                    scanned++;
+                    position = change.getSequence();
+                    if (change.matches(prefix)) {
+                        changes.add(change);
+                    }
+                }
+            }
+        } catch (final IOException ex) {
+            LOGGER.error("Error reading change feed: {}", ex.getMessage());
+        } finally {
+            files.forEach(ChangeFeed::closeQuietly);
+        }
+        return new Page(changes, spilledTo);
+    }
+
+    /*
+     * Find an offset in a spill file at or before the first event that follows the cursor. The events in a
+     * file are in sequence order, so this is a binary search over the lines of the file, which ends once the
+     * remaining range is small enough to be read.
+     */
+    private static long seek(final FileChannel file, final long cursor) throws IOException {
+        long low = 0L;
+        long high = file.size();
+        while (high - low > SEEK_BLOCK) {
+            final long middle = (low + high) >>> 1;
+            final long start = nextLine(file, middle, high);
+            if (start < 0 || readSequence(file, start) > cursor) {
+                high = middle;
+            } else {
+                low = start;
+            }
+        }
+        return low;
+    }
+
+    private static long nextLine(final FileChannel file, final long offset, final long end) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long position = offset;
+        while (position < end) {
+            buffer.clear();
+            final int read = file.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; ++i) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return -1L;
+    }
+
+    private static long readSequence(final FileChannel file, final long offset) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(20);
+        final int read = file.read(buffer, offset);
+        long value = 0L;
+        for (int i = 0; i < read; ++i) {
+            final byte digit = buffer.get(i);
+            if (digit == SEPARATOR && i > 0) {
+                return value;
+            } else if (digit < '0' || digit > '9') {
+                break;
+            }
+            value = value * 10 + digit - '0';
+        }
+        // An incomplete record is read, and skipped, by the scan that follows
+        return -1L;
+    }
+
+    private static void closeQuietly(final FileChannel file) {
+        try {
+            file.close();
+        } catch (final IOException ex) {
+            LOGGER.warn("Error closing change feed: {}", ex.getMessage());
+        }
+    }
+
+    private long readLastSequence() throws IOException {
+        long last = 0L;
+        for (final String name : new String[]{PREVIOUS, CURRENT}) {
+            final Path file = spillPath.resolve(name);
+            if (Files.exists(file)) {
+                try (final BufferedReader reader = newBufferedReader(file, UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        final Change change = Change.parse(line);
+                        if (nonNull(change)) {
+                            last = Math.max(last, change.getSequence());
+                        }
+                    }
+                }
+            }
+        }
+        return last;
+    }
+
+    private static String normalize(final String path) {
+        if (isNull(path) || path.isEmpty() || "/".equals(path)) {
+            return "/";
+        }
+        final String absolute = path.startsWith("/") ? path : "/" + path;
+        return absolute.endsWith("/") ? absolute.substring(0, absolute.length() - 1) : absolute;
+    }
+
+    /**
+     * A recorded event.
+     */
+    public static final class Change {
+        private final long sequence;
+        private final String target;
+        private final String data;
+
+        private Change(final long sequence, final String target, final String data) {
+            this.sequence = sequence;
+            this.target = target;
+            this.data = data;
+        }
+
+        /**
+         * Get the sequence number of the event.
+         *
+         * @return the sequence number
+         */
+        public long getSequence() {
+            return sequence;
+        }
+
+        /**
+         * Get the location of the resource the event is about.
+         *
+         * @return the target, or {@code null} if the event has no target
+         */
+        public String getTarget() {
+            return target;
+        }
+
+        /**
+         * Get the serialized event.
+         *
+         * @return the serialized event, on a single line
+         */
+        public String getData() {
+            return data;
+        }
+
+        private boolean matches(final String prefix) {
+            if ("/".equals(prefix)) {
+                return true;
+            }
+            if (isNull(target)) {
+                return false;
+            }
+            try {
+                final String path = URI.create(target).getPath();
+                return nonNull(path) && (path.equals(prefix) || path.startsWith(prefix + "/"));
+            } catch (final IllegalArgumentException ex) {
+                return false;
+            }
+        }
+
+        private static Change parse(final String line) {
+            final int first = line.indexOf(SEPARATOR);
+            final int second = first < 0 ? -1 : line.indexOf(SEPARATOR, first + 1);
+            if (second < 0) {
+                // An incomplete record, e.g. after a crash
+                return null;
+            }
+            try {
+                final String target = line.substring(first + 1, second);
+                return new Change(Long.parseLong(line.substring(0, first)), target.isEmpty() ? null : target,
+                        line.substring(second + 1));
+            } catch (final NumberFormatException ex) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * The events returned by a read of the change feed.
+     */
+    public static final class Page {
+        private final List<Change> changes;
+        private final long position;
+
+        private Page(final List<Change> changes, final long position) {
+            this.changes = changes;
+            this.position = position;
+        }
+
+        /**
+         * Get the events.
+         *
+         * @return the events, in order
+         */
+        public List<Change> getChanges() {
+            return changes;
+        }
+
+        /**
+         * Get the position from which the client resumes reading. This is the sequence number of the last event
+         * that was examined, which follows the last returned event if later events did not match the path.
+         *
+         * @return the position
+         */
+        public long getPosition() {
+            return position;
+        }
+    }
+
+    private static final class Waiter {
+        private final String path;
+        private final long cursor;
+        private final Consumer<Page> callback;
+
+        private Waiter(final String path, final long cursor, final Consumer<Page> callback) {
+            this.path = path;
+            this.cursor = cursor;
+            this.callback = callback;
+        }
+    }
+}
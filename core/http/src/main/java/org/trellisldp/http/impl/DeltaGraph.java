@@ -0,0 +1,141 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.impl;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableSet;
+import static java.util.Objects.isNull;
+import static java.util.stream.Stream.concat;
+
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+
+/**
+ * A read-only view of a graph, formed by applying a set of additions and removals to a source of triples.
+ *
+ * <p>The source is streamed each time the view is read, so the underlying graph is never copied.
+ */
+class DeltaGraph implements Graph {
+
+    private final Supplier<Stream<? extends Triple>> source;
+    private final Set<Triple> additions;
+    private final Set<Triple> removals;
+
+    /**
+     * Create a view of a source of triples, with no changes.
+     *
+     * @param source the source of triples
+     */
+    public DeltaGraph(final Supplier<Stream<? extends Triple>> source) {
+        this(source, emptySet(), emptySet());
+    }
+
+    /**
+     * Create a view of a source of triples, with changes.
+     *
+     * @param source the source of triples
+     * @param additions the triples to add
+     * @param removals the triples to remove
+     */
+    public DeltaGraph(final Supplier<Stream<? extends Triple>> source, final Set<Triple> additions,
+            final Set<Triple> removals) {
+        this.source = source;
+        this.additions = unmodifiableSet(additions);
+        this.removals = unmodifiableSet(removals);
+    }
+
+    /**
+     * Get the triples added to the source.
+     *
+     * @return the additions
+     */
+    public Set<Triple> getAdditions() {
+        return additions;
+    }
+
+    /**
+     * Get the triples removed from the source.
+     *
+     * @return the removals
+     */
+    public Set<Triple> getRemovals() {
+        return removals;
+    }
+
+    @Override
+    public Stream<? extends Triple> stream() {
+        return concat(source.get().filter(triple -> !removals.contains(triple) && !additions.contains(triple)),
+                additions.stream());
+    }
+
+    @Override
+    public Stream<? extends Triple> stream(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        return stream().filter(triple -> (isNull(subject) || subject.equals(triple.getSubject()))
+                && (isNull(predicate) || predicate.equals(triple.getPredicate()))
+                && (isNull(object) || object.equals(triple.getObject())));
+    }
+
+    @Override
+    public boolean contains(final Triple triple) {
+        try (final Stream<? extends Triple> triples = stream()) {
+            return triples.anyMatch(triple::equals);
+        }
+    }
+
+    @Override
+    public boolean contains(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        try (final Stream<? extends Triple> triples = stream(subject, predicate, object)) {
+            return triples.findAny().isPresent();
+        }
+    }
+
+    @Override
+    public long size() {
+        try (final Stream<? extends Triple> triples = stream()) {
+            return triples.count();
+        }
+    }
+
+    @Override
+    public void add(final Triple triple) {
+        throw new UnsupportedOperationException("Cannot add triples to a read-only graph");
+    }
+
+    @Override
+    public void add(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        throw new UnsupportedOperationException("Cannot add triples to a read-only graph");
+    }
+
+    @Override
+    public void remove(final Triple triple) {
+        throw new UnsupportedOperationException("Cannot remove triples from a read-only graph");
+    }
+
+    @Override
+    public void remove(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        throw new UnsupportedOperationException("Cannot remove triples from a read-only graph");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("Cannot clear a read-only graph");
+    }
+}
@@ -14,6 +14,7 @@
 package org.trellisldp.http.impl;
 
 import static java.lang.String.join;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.Date.from;
 import static java.util.Objects.isNull;
@@ -56,6 +57,9 @@ import static org.trellisldp.http.domain.HttpConstants.PREFER;
 import static org.trellisldp.http.domain.HttpConstants.PREFERENCE_APPLIED;
 import static org.trellisldp.http.domain.HttpConstants.RANGE;
 import static org.trellisldp.http.domain.HttpConstants.WANT_DIGEST;
+import static org.trellisldp.http.domain.MementoHeaders.FULL;
+import static org.trellisldp.http.domain.MementoHeaders.NONE;
+import static org.trellisldp.http.domain.MementoHeaders.TIMEMAP;
 import static org.trellisldp.http.domain.Prefer.PREFER_MINIMAL;
 import static org.trellisldp.http.domain.Prefer.PREFER_REPRESENTATION;
 import static org.trellisldp.http.domain.Prefer.PREFER_RETURN;
@@ -98,6 +102,7 @@ import org.trellisldp.api.Binary;
 import org.trellisldp.api.Resource;
 import org.trellisldp.api.ServiceBundler;
 import org.trellisldp.http.domain.LdpRequest;
+import org.trellisldp.http.domain.MementoHeaders;
 import org.trellisldp.http.domain.Prefer;
 import org.trellisldp.http.domain.Version;
 import org.trellisldp.vocabulary.LDP;
@@ -113,6 +118,7 @@ public class GetHandler extends BaseLdpHandler {
     private static final Logger LOGGER = getLogger(GetHandler.class);
 
     private final Boolean isMemento;
+    private final MementoHeaders mementoHeaders;
 
     private RDFSyntax syntax;
 
@@ -126,8 +132,23 @@ public class GetHandler extends BaseLdpHandler {
      */
     public GetHandler(final LdpRequest req, final ServiceBundler trellis, final Boolean isMemento,
             final String baseUrl) {
+        this(req, trellis, isMemento, baseUrl, FULL);
+    }
+
+    /**
+     * A GET response builder.
+     *
+     * @param req the LDP request
+     * @param trellis the Trellis application bundle
+     * @param isMemento true if the resource is a memento; false otherwise
+     * @param baseUrl the base URL
+     * @param mementoHeaders the policy for adding Memento Link headers
+     */
+    public GetHandler(final LdpRequest req, final ServiceBundler trellis, final Boolean isMemento,
+            final String baseUrl, final MementoHeaders mementoHeaders) {
         super(req, trellis, baseUrl);
         this.isMemento = isMemento;
+        this.mementoHeaders = mementoHeaders;
     }
 
     /**
@@ -232,6 +253,21 @@ public class GetHandler extends BaseLdpHandler {
         return getLdpRs(builder, rdfSyntax, profile);
     }
 
+    /**
+     * Fetch the list of Mementos needed for the Memento headers of this response.
+     *
+     * @implNote The {@link org.trellisldp.api.MementoService} is only consulted when
+     *           each Memento will be listed in the response headers.
+     * @param identifier the resource identifier
+     * @return the new completion stage containing the memento ranges
+     */
+    public CompletableFuture<List<Range<Instant>>> fetchMementos(final IRI identifier) {
+        if (FULL.equals(getMementoHeaders())) {
+            return getServices().getMementoService().list(identifier);
+        }
+        return completedFuture(emptyList());
+    }
+
     /**
      * Add the memento headers.
      * @param builder the ResponseBuilder
@@ -239,20 +275,34 @@ public class GetHandler extends BaseLdpHandler {
      * @return the response builder
      */
     public ResponseBuilder addMementoHeaders(final ResponseBuilder builder, final List<Range<Instant>> mementos) {
-        // Only show memento links for the user-managed graph (not ACL)
-        if (!ACL.equals(getRequest().getExt())) {
+        final MementoHeaders policy = getMementoHeaders();
+        if (FULL.equals(policy)) {
             builder.link(getIdentifier(), "original timegate")
                 .links(MementoResource.getMementoLinks(getIdentifier(), mementos).toArray(Link[]::new));
+        } else if (TIMEMAP.equals(policy)) {
+            builder.link(getIdentifier(), "original timegate")
+                .links(MementoResource.getTimeMapLink(getIdentifier()));
         }
         return builder;
     }
 
+    private MementoHeaders getMementoHeaders() {
+        // Only show memento links for the user-managed graph (not ACL)
+        if (ACL.equals(getRequest().getExt())) {
+            return NONE;
+        // HEAD requests don't need the full list of mementos
+        } else if (FULL.equals(mementoHeaders) && HEAD.equals(getRequest().getRequest().getMethod())) {
+            return TIMEMAP;
+        }
+        return mementoHeaders;
+    }
+
     private String getSelfIdentifier() {
         // Add any version or ext parameters
         if (nonNull(getRequest().getVersion()) || nonNull(getRequest().getExt())) {
             final List<String> query = new ArrayList<>();
 
-            ofNullable(getRequest().getVersion()).map(Version::getInstant).map(Instant::toEpochMilli)
+            ofNullable(getRequest().getVersion()).map(Version::getInstant).map(Version::format)
                 .map(x -> "version=" + x).ifPresent(query::add);
 
             if (ACL.equals(getRequest().getExt())) {
@@ -268,7 +318,7 @@ public class GetHandler extends BaseLdpHandler {
     private String getBaseBinaryIdentifier() {
         // Add the version parameter, if present
         return getIdentifier() + ofNullable(getRequest().getVersion()).map(Version::getInstant)
-            .map(Instant::toEpochMilli).map(x -> "?version=" + x).orElse("");
+            .map(Version::format).map(x -> "?version=" + x).orElse("");
     }
 
     private void addAllowHeaders(final ResponseBuilder builder) {
@@ -0,0 +1,141 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.impl;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.RDFTerm;
+
+/**
+ * A dataset that is built the first time it is read or modified.
+ *
+ * <p>This allows the complete state of a resource to be offered to a persistence layer that may only need
+ * a set of changes: the resource is copied only if the persistence layer actually reads the dataset.
+ */
+class LazyDataset implements Dataset {
+
+    private final Supplier<TrellisDataset> supplier;
+    private TrellisDataset dataset;
+
+    /**
+     * Create a lazily built dataset.
+     *
+     * @param supplier the supplier of the dataset
+     */
+    public LazyDataset(final Supplier<TrellisDataset> supplier) {
+        this.supplier = supplier;
+    }
+
+    /**
+     * Determine whether the dataset has been built.
+     *
+     * @return true if the dataset was built; false otherwise
+     */
+    public synchronized boolean isBuilt() {
+        return nonNull(dataset);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (nonNull(dataset)) {
+            dataset.close();
+        }
+    }
+
+    @Override
+    public void add(final Quad quad) {
+        delegate().add(quad);
+    }
+
+    @Override
+    public void add(final BlankNodeOrIRI graphName, final BlankNodeOrIRI subject, final IRI predicate,
+            final RDFTerm object) {
+        delegate().add(graphName, subject, predicate, object);
+    }
+
+    @Override
+    public boolean contains(final Quad quad) {
+        return delegate().contains(quad);
+    }
+
+    @Override
+    public boolean contains(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject,
+            final IRI predicate, final RDFTerm object) {
+        return delegate().contains(graphName, subject, predicate, object);
+    }
+
+    @Override
+    public Graph getGraph() {
+        return delegate().getGraph();
+    }
+
+    @Override
+    public Optional<Graph> getGraph(final BlankNodeOrIRI graphName) {
+        return delegate().getGraph(graphName);
+    }
+
+    @Override
+    public Stream<BlankNodeOrIRI> getGraphNames() {
+        return delegate().getGraphNames();
+    }
+
+    @Override
+    public void remove(final Quad quad) {
+        delegate().remove(quad);
+    }
+
+    @Override
+    public void remove(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject,
+            final IRI predicate, final RDFTerm object) {
+        delegate().remove(graphName, subject, predicate, object);
+    }
+
+    @Override
+    public void clear() {
+        delegate().clear();
+    }
+
+    @Override
+    public long size() {
+        return delegate().size();
+    }
+
+    @Override
+    public Stream<? extends Quad> stream() {
+        return delegate().stream();
+    }
+
+    @Override
+    public Stream<? extends Quad> stream(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject,
+            final IRI predicate, final RDFTerm object) {
+        return delegate().stream(graphName, subject, predicate, object);
+    }
+
+    private synchronized Dataset delegate() {
+        if (isNull(dataset)) {
+            dataset = supplier.get();
+        }
+        return dataset.asDataset();
+    }
+}
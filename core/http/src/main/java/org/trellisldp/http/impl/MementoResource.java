@@ -68,6 +68,7 @@ import org.apache.commons.rdf.api.RDFSyntax;
 import org.apache.commons.rdf.api.Triple;
 import org.trellisldp.api.ServiceBundler;
 import org.trellisldp.http.domain.LdpRequest;
+import org.trellisldp.http.domain.Version;
 import org.trellisldp.vocabulary.Memento;
 import org.trellisldp.vocabulary.Time;
 
@@ -179,7 +180,7 @@ public final class MementoResource {
             final String baseUrl) {
         final String identifier = getBaseUrl(baseUrl, req) + req.getPath();
         return status(FOUND)
-            .location(fromUri(identifier + "?version=" + req.getDatetime().getInstant().toEpochMilli()).build())
+            .location(fromUri(identifier + "?version=" + Version.format(req.getDatetime().getInstant())).build())
             .link(identifier, ORIGINAL + " " + TIMEGATE)
             .links(getMementoLinks(identifier, mementos).toArray(Link[]::new))
             .header(VARY, ACCEPT_DATETIME);
@@ -196,6 +197,16 @@ public final class MementoResource {
         return concat(getTimeMap(identifier, mementos.stream()), mementos.stream().map(mementoToLink(identifier)));
     }
 
+    /**
+     * Get a TimeMap link header without a from/until range.
+     *
+     * @param identifier the public identifier for the resource
+     * @return a link header
+     */
+    public static Link getTimeMapLink(final String identifier) {
+        return Link.fromUri(identifier + TIMEMAP_PARAM).rel(TIMEMAP).type(APPLICATION_LINK_FORMAT).build();
+    }
+
     /**
      * Determine whether a link is a well-formed Memento link.
      * @param link the link header
@@ -220,7 +231,7 @@ public final class MementoResource {
 
     private static Function<Range<Instant>, Link> mementoToLink(final String identifier) {
         return range ->
-            Link.fromUri(identifier + "?version=" + range.getMinimum().toEpochMilli()).rel(MEMENTO)
+            Link.fromUri(identifier + "?version=" + Version.format(range.getMinimum())).rel(MEMENTO)
                 .param(DATETIME, ofInstant(range.getMinimum().minusNanos(1L).plusSeconds(1L), UTC)
                         .format(RFC_1123_DATE_TIME)).build();
     }
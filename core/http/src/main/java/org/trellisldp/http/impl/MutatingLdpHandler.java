@@ -16,11 +16,12 @@ package org.trellisldp.http.impl;
 import static java.util.Arrays.asList;
 import static java.util.Base64.getEncoder;
 import static java.util.Objects.nonNull;
+import static java.util.Optional.of;
 import static java.util.Optional.ofNullable;
-import static java.util.concurrent.CompletableFuture.allOf;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.stream.Collectors.toList;
 import static javax.ws.rs.core.Response.Status.CONFLICT;
+import static javax.ws.rs.core.Response.Status.PRECONDITION_FAILED;
 import static javax.ws.rs.core.Response.status;
 import static org.apache.commons.codec.digest.DigestUtils.getDigest;
 import static org.apache.commons.codec.digest.DigestUtils.updateDigest;
@@ -38,6 +39,9 @@ import java.security.Principal;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import javax.ws.rs.BadRequestException;
@@ -49,7 +53,11 @@ import org.apache.commons.rdf.api.Graph;
 import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.Quad;
 import org.apache.commons.rdf.api.RDFSyntax;
+import org.apache.commons.rdf.api.Triple;
 import org.slf4j.Logger;
+import org.trellisldp.api.ConcurrentUpdateException;
+import org.trellisldp.api.ConstraintService;
+import org.trellisldp.api.ConstraintViolation;
 import org.trellisldp.api.Resource;
 import org.trellisldp.api.RuntimeTrellisException;
 import org.trellisldp.api.ServiceBundler;
@@ -70,6 +78,8 @@ class MutatingLdpHandler extends BaseLdpHandler {
 
     private static final Logger LOGGER = getLogger(MutatingLdpHandler.class);
 
+    private static final long PARALLEL_CONSTRAINT_THRESHOLD = 10000L;
+
     private final File entity;
     private final Session session;
 
@@ -167,13 +177,19 @@ class MutatingLdpHandler extends BaseLdpHandler {
      */
     protected void readEntityIntoDataset(final IRI graphName, final RDFSyntax syntax,
             final TrellisDataset dataset) {
+        final Function<Triple, Triple> skolemizer = skolemizeTriples(getServices().getResourceService(),
+                getBaseUrl());
+        final Function<Triple, Quad> quadMapper = toQuad(graphName);
         try (final InputStream input = new FileInputStream(entity)) {
-            getServices().getIOService().read(input, syntax, getIdentifier())
-                .map(skolemizeTriples(getServices().getResourceService(), getBaseUrl()))
-                .filter(triple -> !RDF.type.equals(triple.getPredicate())
+            // Each triple is added to the dataset as it is parsed
+            getServices().getIOService().read(input, syntax, getIdentifier(), t -> {
+                final Triple triple = skolemizer.apply(t);
+                if ((!RDF.type.equals(triple.getPredicate())
                         || !triple.getObject().ntriplesString().startsWith("<" + LDP.getNamespace()))
-                .filter(triple -> !LDP.contains.equals(triple.getPredicate()))
-                .map(toQuad(graphName)).forEachOrdered(dataset::add);
+                        && !LDP.contains.equals(triple.getPredicate())) {
+                    dataset.add(quadMapper.apply(triple));
+                }
+            });
         } catch (final RuntimeTrellisException ex) {
             LOGGER.error("Invalid RDF content: {}", ex.getMessage());
             throw new BadRequestException("Invalid RDF content: " + ex.getMessage());
@@ -223,8 +239,25 @@ class MutatingLdpHandler extends BaseLdpHandler {
      * @param syntax the output syntax
      */
     protected void checkConstraint(final Graph graph, final IRI type, final RDFSyntax syntax) {
-        ofNullable(graph).map(g ->
-                constraintServices.stream().parallel().flatMap(svc -> svc.constrainedBy(type, g)).collect(toList()))
+        ofNullable(graph).ifPresent(g -> checkConstraints(g, syntax, svc -> svc.constrainedBy(type, g)));
+    }
+
+    /**
+     * Check the constraints of a graph about a resource.
+     * @param graph the graph, or null if the resource has no user-managed triples
+     * @param identifier the resource identifier
+     * @param type the LDP interaction model
+     * @param syntax the output syntax
+     */
+    protected void checkConstraint(final Graph graph, final IRI identifier, final IRI type,
+            final RDFSyntax syntax) {
+        final Graph g = ofNullable(graph).orElseGet(rdf::createGraph);
+        checkConstraints(g, syntax, svc -> svc.constrainedBy(identifier, type, g));
+    }
+
+    private void checkConstraints(final Graph graph, final RDFSyntax syntax,
+            final Function<ConstraintService, Stream<ConstraintViolation>> constraints) {
+        of(getConstraintServices(graph).flatMap(constraints).collect(toList()))
             .filter(violations -> !violations.isEmpty())
             .map(violations -> {
                 final ResponseBuilder err = status(CONFLICT);
@@ -242,6 +275,14 @@ class MutatingLdpHandler extends BaseLdpHandler {
             });
     }
 
+    // Only fan out across the constraint services when the graph is large enough to make it worthwhile
+    private static Stream<ConstraintService> getConstraintServices(final Graph graph) {
+        if (constraintServices.size() > 1 && graph.size() > PARALLEL_CONSTRAINT_THRESHOLD) {
+            return constraintServices.parallelStream();
+        }
+        return constraintServices.stream();
+    }
+
     /**
      * Check for a bad digest value.
      * @param digest the digest header, if present
@@ -278,14 +319,47 @@ class MutatingLdpHandler extends BaseLdpHandler {
 
     protected CompletableFuture<Void> handleResourceReplacement(final TrellisDataset mutable,
             final TrellisDataset immutable) {
-        // update the resource
+        // update the resource, provided that it hasn't changed since it was read
+        final IRI parentId = getServices().getResourceService().getContainer(getResource().getIdentifier())
+            .orElse(null);
+        return getServices().getResourceService()
+            .replace(getResource().getIdentifier(), getResource().getInteractionModel(), mutable.asDataset(),
+                    parentId, getResource().getBinary().orElse(null), getResource().getModified())
+            .exceptionally(MutatingLdpHandler::handleConcurrentUpdate)
+            .thenCompose(future ->
+                    getServices().getResourceService().add(getResource().getIdentifier(), immutable.asDataset()));
+    }
+
+    protected CompletableFuture<Void> handleResourceUpdate(final Supplier<TrellisDataset> mutable,
+            final TrellisDataset immutable, final TrellisDataset additions, final TrellisDataset removals) {
+        // update the resource with a set of changes, provided that it hasn't changed since it was read;
+        // the complete dataset is only built if the persistence layer cannot apply the changes directly
         final IRI parentId = getServices().getResourceService().getContainer(getResource().getIdentifier())
             .orElse(null);
-        return allOf(
-                getServices().getResourceService()
-                    .replace(getResource().getIdentifier(), getResource().getInteractionModel(),
-                        mutable.asDataset(), parentId, getResource().getBinary().orElse(null)),
-                getServices().getResourceService().add(getResource().getIdentifier(), immutable.asDataset()));
+        final LazyDataset dataset = new LazyDataset(mutable);
+        return getServices().getResourceService()
+            .update(getResource().getIdentifier(), getResource().getInteractionModel(), dataset,
+                    parentId, getResource().getBinary().orElse(null), additions.asDataset(), removals.asDataset(),
+                    getResource().getModified())
+            .whenComplete((a, b) -> dataset.close())
+            .exceptionally(MutatingLdpHandler::handleConcurrentUpdate)
+            .thenCompose(future ->
+                    getServices().getResourceService().add(getResource().getIdentifier(), immutable.asDataset()));
+    }
+
+    /**
+     * Report a write that lost a race with another writer as a failed precondition.
+     *
+     * @param err the error from the persistence layer
+     * @return nothing; the error is always rethrown
+     */
+    protected static Void handleConcurrentUpdate(final Throwable err) {
+        final Throwable cause = err instanceof CompletionException ? err.getCause() : err;
+        if (cause instanceof ConcurrentUpdateException) {
+            LOGGER.warn("Rejecting a concurrent update: {}", cause.getMessage());
+            throw new WebApplicationException(cause.getMessage(), PRECONDITION_FAILED);
+        }
+        throw err instanceof CompletionException ? (CompletionException) err : new CompletionException(err);
     }
 
     protected Stream<Quad> getAuditUpdateData() {
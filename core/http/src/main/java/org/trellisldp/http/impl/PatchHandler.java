@@ -13,12 +13,14 @@
  */
 package org.trellisldp.http.impl;
 
+import static java.util.Collections.emptyList;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static java.util.Optional.empty;
 import static java.util.Optional.ofNullable;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN_TYPE;
 import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
 import static javax.ws.rs.core.Response.Status.CONFLICT;
@@ -48,8 +50,10 @@ import static org.trellisldp.vocabulary.Trellis.UnsupportedInteractionModel;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import javax.ws.rs.BadRequestException;
@@ -60,6 +64,7 @@ import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.StreamingOutput;
 
+import org.apache.commons.rdf.api.Graph;
 import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.RDFSyntax;
 import org.apache.commons.rdf.api.Triple;
@@ -164,11 +169,9 @@ public class PatchHandler extends MutatingLdpHandler {
             getLinkTypes(getResource().getInteractionModel()).forEach(type -> builder.link(type, "type"));
         }
 
-        final TrellisDataset mutable = TrellisDataset.createDataset();
         final TrellisDataset immutable = TrellisDataset.createDataset();
 
-        return assembleResponse(mutable, immutable, builder)
-            .whenComplete((a, b) -> mutable.close())
+        return assembleResponse(immutable, builder)
             .whenComplete((a, b) -> immutable.close());
     }
 
@@ -177,27 +180,63 @@ public class PatchHandler extends MutatingLdpHandler {
         return super.getIdentifier() + (ACL.equals(getRequest().getExt()) ? "?ext=acl" : "");
     }
 
-    private List<Triple> updateGraph(final RDFSyntax syntax, final IRI graphName) {
-        final List<Triple> triples;
-        // Update existing graph
+    private DeltaGraph updateGraph(final RDFSyntax syntax, final IRI graphName) {
+        final String context = TRELLIS_DATA_PREFIX + getRequest().getPath()
+            + (ACL.equals(getRequest().getExt()) ? "?ext=acl" : "");
+        final Function<Triple, Triple> skolemizer = skolemizeTriples(getServices().getResourceService(),
+                getBaseUrl());
+        final Supplier<Stream<? extends Triple>> source = () -> getResource().stream(graphName);
+
+        // Simple updates are expressed as a set of changes, without copying the existing graph
+        try (final TrellisGraph additions = TrellisGraph.createGraph();
+                final TrellisGraph removals = TrellisGraph.createGraph()) {
+            if (getServices().getIOService().update(new DeltaGraph(source), updateBody, syntax, context,
+                        additions.asGraph(), removals.asGraph())) {
+                LOGGER.debug("Applying {} additions and {} removals to {}", additions.asGraph().size(),
+                        removals.asGraph().size(), getIdentifier());
+                return new DeltaGraph(source, additions.stream().map(skolemizer).filter(PatchHandler::isNotLdpType)
+                        .collect(toSet()), removals.stream().map(skolemizer).collect(toSet()));
+            }
+        }
+
+        // Otherwise, apply the update to a copy of the existing graph and compare the results
+        final Set<Triple> original;
+        final Set<Triple> triples;
         try (final TrellisGraph graph = TrellisGraph.createGraph()) {
-            try (final Stream<? extends Triple> stream = getResource().stream(graphName)) {
-                stream.forEachOrdered(graph::add);
+            try (final Stream<? extends Triple> stream = source.get()) {
+                original = stream.collect(toSet());
             }
-            getServices().getIOService().update(graph.asGraph(), updateBody, syntax,
-                TRELLIS_DATA_PREFIX + getRequest().getPath() + (ACL.equals(getRequest().getExt()) ? "?ext=acl" : ""));
-            triples = graph.stream().filter(triple -> !RDF.type.equals(triple.getPredicate())
-                || !triple.getObject().ntriplesString().startsWith("<" + LDP.getNamespace())).collect(toList());
+            original.forEach(graph::add);
+            getServices().getIOService().update(graph.asGraph(), updateBody, syntax, context);
+            triples = graph.stream().filter(PatchHandler::isNotLdpType).map(skolemizer).collect(toSet());
         }
+        return new DeltaGraph(source, triples.stream().filter(t -> !original.contains(t)).collect(toSet()),
+                original.stream().filter(t -> !triples.contains(t)).collect(toSet()));
+    }
 
-        return triples;
+    private static boolean isNotLdpType(final Triple triple) {
+        return !RDF.type.equals(triple.getPredicate())
+            || !triple.getObject().ntriplesString().startsWith("<" + LDP.getNamespace());
     }
 
     private static Function<ConstraintService, Stream<ConstraintViolation>> handleConstraintViolations(
-            final TrellisDataset dataset, final IRI graphName, final IRI interactionModel) {
-        final IRI model = PreferAccessControl.equals(graphName) ? LDP.RDFSource : interactionModel;
-        return service -> dataset.getGraph(graphName).map(Stream::of).orElseGet(Stream::empty)
-                .flatMap(g -> service.constrainedBy(model, g));
+            final Graph graph, final IRI graphName, final Resource resource) {
+        if (PreferAccessControl.equals(graphName)) {
+            return service -> service.constrainedBy(LDP.RDFSource, graph);
+        }
+        return service -> service.constrainedBy(resource.getIdentifier(), resource.getInteractionModel(), graph);
+    }
+
+    private TrellisDataset buildDataset(final Graph graph) {
+        final TrellisDataset dataset = TrellisDataset.createDataset();
+        try (final Stream<? extends Triple> stream = graph.stream()) {
+            stream.map(toQuad(graphName)).forEachOrdered(dataset::add);
+        }
+        // When updating User or ACL triples, be sure to add the other category to the dataset
+        try (final Stream<? extends Triple> remaining = getResource().stream(otherGraph)) {
+            remaining.map(toQuad(otherGraph)).forEachOrdered(dataset::add);
+        }
+        return dataset;
     }
 
     private static Stream<String> getLinkTypes(final IRI ldpType) {
@@ -207,24 +246,21 @@ public class PatchHandler extends MutatingLdpHandler {
         return ldpResourceTypes(ldpType).map(IRI::getIRIString);
     }
 
-    private CompletableFuture<ResponseBuilder> assembleResponse(final TrellisDataset mutable,
-            final TrellisDataset immutable, final ResponseBuilder builder) {
+    private CompletableFuture<ResponseBuilder> assembleResponse(final TrellisDataset immutable,
+            final ResponseBuilder builder) {
 
-        // Put triples in buffer, short-circuit on exception
-        final List<Triple> triples;
+        // Compute the changes, short-circuit on exception
+        final DeltaGraph graph;
         try {
-            triples = updateGraph(syntax, graphName);
+            graph = updateGraph(syntax, graphName);
         } catch (final RuntimeTrellisException ex) {
             LOGGER.warn("Invalid RDF: {}", ex.getMessage());
             throw new BadRequestException("Invalid RDF: " + ex.getMessage());
         }
 
-        triples.stream().map(skolemizeTriples(getServices().getResourceService(), getBaseUrl()))
-            .map(toQuad(graphName)).forEachOrdered(mutable::add);
-
-        // Check any constraints on the resulting dataset
+        // Check any constraints on the resulting graph, which is read through the view rather than copied
         final List<ConstraintViolation> violations = constraintServices.stream()
-            .flatMap(handleConstraintViolations(mutable, graphName, getResource().getInteractionModel()))
+            .flatMap(handleConstraintViolations(graph, graphName, getResource()))
             .collect(toList());
 
         // Short-ciruit if there is a constraint violation
@@ -234,14 +270,27 @@ public class PatchHandler extends MutatingLdpHandler {
             throw new WebApplicationException(err.build());
         }
 
-        // When updating User or ACL triples, be sure to add the other category to the dataset
-        try (final Stream<? extends Triple> remaining = getResource().stream(otherGraph)) {
-            remaining.map(toQuad(otherGraph)).forEachOrdered(mutable::add);
+        // The resulting triples are only needed when they are returned in the response
+        final List<Triple> triples;
+        if (nonNull(preference)) {
+            try (final Stream<? extends Triple> stream = graph.stream()) {
+                triples = stream.collect(toList());
+            }
+        } else {
+            triples = emptyList();
         }
 
         // Collect the audit data
         getAuditUpdateData().forEachOrdered(immutable::add);
-        return handleResourceReplacement(mutable, immutable).thenCompose(future -> {
+        // Only the changes need to be persisted; the full dataset is built only if the persistence layer reads it
+        final TrellisDataset additions = TrellisDataset.createDataset();
+        final TrellisDataset removals = TrellisDataset.createDataset();
+        graph.getAdditions().stream().map(toQuad(graphName)).forEachOrdered(additions::add);
+        graph.getRemovals().stream().map(toQuad(graphName)).forEachOrdered(removals::add);
+        return handleResourceUpdate(() -> buildDataset(graph), immutable, additions, removals)
+            .whenComplete((a, b) -> additions.close())
+            .whenComplete((a, b) -> removals.close())
+            .thenCompose(future -> {
                 if (!ACL.equals(getRequest().getExt())) {
                     return emitEvent(getInternalId(), AS.Update, getResource().getInteractionModel());
                 }
@@ -187,7 +187,7 @@ public class PostHandler extends MutatingLdpHandler {
             readEntityIntoDataset(PreferUserManaged, ofNullable(rdfSyntax).orElse(TURTLE), mutable);
 
             // Check for any constraints
-            checkConstraint(mutable.getGraph(PreferUserManaged).orElse(null), ldpType,
+            checkConstraint(mutable.getGraph(PreferUserManaged).orElse(null), internalId, ldpType,
                     ofNullable(rdfSyntax).orElse(TURTLE));
 
             binary = null;
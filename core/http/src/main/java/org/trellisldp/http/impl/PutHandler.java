@@ -194,6 +194,7 @@ public class PutHandler extends MutatingLdpHandler {
     private CompletableFuture<ResponseBuilder> handleResourceUpdate(final TrellisDataset mutable,
             final TrellisDataset immutable, final ResponseBuilder builder, final IRI ldpType) {
         final Binary binary;
+        final IRI binaryLocation;
         final CompletableFuture<Void> persistPromise;
 
         // Add user-supplied data
@@ -202,7 +203,7 @@ public class PutHandler extends MutatingLdpHandler {
             checkForBadDigest(getRequest().getDigest());
             LOGGER.trace("Successfully checked for bad digest value");
             final String mimeType = ofNullable(getRequest().getContentType()).orElse(APPLICATION_OCTET_STREAM);
-            final IRI binaryLocation = rdf.createIRI(getServices().getBinaryService().generateIdentifier());
+            binaryLocation = rdf.createIRI(getServices().getBinaryService().generateIdentifier());
 
             // Persist the content
             persistPromise = persistContent(binaryLocation, singletonMap(CONTENT_TYPE, mimeType)).thenAccept(future ->
@@ -217,11 +218,12 @@ public class PutHandler extends MutatingLdpHandler {
                 checkConstraint(mutable.getGraph(PreferAccessControl).orElse(null), LDP.RDFSource,
                         ofNullable(rdfSyntax).orElse(TURTLE));
             } else {
-                checkConstraint(mutable.getGraph(PreferUserManaged).orElse(null), ldpType,
+                checkConstraint(mutable.getGraph(PreferUserManaged).orElse(null), internalId, ldpType,
                         ofNullable(rdfSyntax).orElse(TURTLE));
             }
             LOGGER.trace("Successfully checked for constraint violations");
             binary = ofNullable(getResource()).flatMap(Resource::getBinary).orElse(null);
+            binaryLocation = null;
             persistPromise = completedFuture(null);
         }
 
@@ -241,10 +243,10 @@ public class PutHandler extends MutatingLdpHandler {
             .forEach(type -> builder.link(type, "type"));
         LOGGER.debug("Persisting mutable data for {} with data: {}", internalId, mutable);
 
-        return allOf(
-                persistPromise,
-                createOrReplace(ldpType, mutable, binary),
-                getServices().getResourceService().add(internalId, immutable.asDataset()))
+        final CompletableFuture<Void> replacePromise = createOrReplace(ldpType, mutable, binary)
+            .whenComplete((x, err) -> purgeUnusedContent(err, persistPromise, binaryLocation));
+        return allOf(persistPromise, replacePromise)
+            .thenCompose(future -> getServices().getResourceService().add(internalId, immutable.asDataset()))
             .thenCompose(future -> handleUpdateEvent(ldpType))
             .thenApply(future -> decorateResponse(builder));
     }
@@ -277,7 +279,25 @@ public class PutHandler extends MutatingLdpHandler {
             return getServices().getResourceService().create(internalId, ldpType, ds.asDataset(), c, b);
         } else {
             LOGGER.debug("Replacing old resource {}", internalId);
-            return getServices().getResourceService().replace(internalId, ldpType, ds.asDataset(), c, b);
+            return getServices().getResourceService().replace(internalId, ldpType, ds.asDataset(), c, b,
+                    resource.getModified()).exceptionally(MutatingLdpHandler::handleConcurrentUpdate);
+        }
+    }
+
+    // New content is written while the resource is stored; if the resource cannot be stored (e.g. because of a
+    // concurrent update), nothing refers to that content, so it is removed once it has been written
+    private void purgeUnusedContent(final Throwable err, final CompletableFuture<Void> persistPromise,
+            final IRI binaryLocation) {
+        if (nonNull(err) && nonNull(binaryLocation)) {
+            persistPromise.handle((x, ex) -> null)
+                .thenCompose(x -> getServices().getBinaryService().purgeContent(binaryLocation))
+                .whenComplete((x, ex) -> {
+                    if (nonNull(ex)) {
+                        LOGGER.warn("Unable to remove unused content at {}: {}", binaryLocation, ex.getMessage());
+                    } else {
+                        LOGGER.debug("Removed unused content at {}", binaryLocation);
+                    }
+                });
         }
     }
 
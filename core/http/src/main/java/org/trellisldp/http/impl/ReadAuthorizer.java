@@ -0,0 +1,92 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.impl;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.trellisldp.api.RDFUtils.TRELLIS_DATA_PREFIX;
+import static org.trellisldp.api.RDFUtils.getInstance;
+import static org.trellisldp.http.domain.HttpConstants.SESSION_PROPERTY;
+
+import java.util.function.Predicate;
+
+import javax.ws.rs.container.ContainerRequestContext;
+
+import org.apache.commons.rdf.api.RDF;
+import org.trellisldp.api.AccessControlService;
+import org.trellisldp.api.Session;
+import org.trellisldp.vocabulary.ACL;
+
+/**
+ * Decides which resources the agent of a request may read, for endpoints that report on resources other than
+ * the one at the request path.
+ *
+ * <p>Resources are given by their external URLs, which are mapped to internal identifiers relative to the base
+ * URL; a URL outside of the base URL is not readable. The agent is taken from the session of the request, as set
+ * by the {@link org.trellisldp.http.AgentAuthorizationFilter}; without a session, the agent is anonymous.
+ */
+public class ReadAuthorizer {
+
+    private static final RDF rdf = getInstance();
+
+    private final AccessControlService accessService;
+    private final String baseUrl;
+
+    /**
+     * Create an authorizer.
+     *
+     * @param accessService the access control service; if {@code null}, all resources are readable
+     * @param baseUrl the base URL; if {@code null}, the base URL of each request is used
+     */
+    public ReadAuthorizer(final AccessControlService accessService, final String baseUrl) {
+        this.accessService = accessService;
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Get a test of whether the agent of a request may read a resource.
+     *
+     * @param ctx the request
+     * @return a predicate that accepts the URLs of the resources that the agent may read
+     */
+    public Predicate<String> getReadable(final ContainerRequestContext ctx) {
+        if (isNull(accessService)) {
+            return url -> true;
+        }
+        final Session session = getSession(ctx);
+        final String base = nonNull(baseUrl) ? baseUrl : ctx.getUriInfo().getBaseUri().toString();
+        final String prefix = base.endsWith("/") ? base : base + "/";
+        return url -> nonNull(url) && (url.startsWith(prefix) || url.equals(base)) && accessService
+            .getAccessModes(rdf.createIRI(TRELLIS_DATA_PREFIX + getPath(url, prefix)), session).contains(ACL.Read);
+    }
+
+    /**
+     * Get the session of a request.
+     *
+     * @param ctx the request
+     * @return the session, or an anonymous session if the request has none
+     */
+    public Session getSession(final ContainerRequestContext ctx) {
+        final Object property = ctx.getProperty(SESSION_PROPERTY);
+        return property instanceof Session ? (Session) property : new HttpSession();
+    }
+
+    private static String getPath(final String url, final String prefix) {
+        if (url.length() <= prefix.length()) {
+            return "";
+        }
+        final String path = url.substring(prefix.length());
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+}
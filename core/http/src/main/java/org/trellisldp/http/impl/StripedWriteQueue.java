@@ -0,0 +1,141 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.impl;
+
+import static java.lang.Math.floorMod;
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.CompletableFuture.allOf;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apache.commons.rdf.api.IRI;
+import org.slf4j.Logger;
+
+/**
+ * A queue that orders write operations per resource.
+ *
+ * <p>Resource identifiers are hashed onto a fixed number of stripes. An operation submitted for a set of
+ * identifiers starts only once every earlier operation on the same stripes has completed, while operations on
+ * unrelated resources proceed concurrently. Nothing blocks while waiting: each operation is chained onto the
+ * completion of its predecessors.
+ */
+public class StripedWriteQueue {
+
+    private static final Logger LOGGER = getLogger(StripedWriteQueue.class);
+
+    private final CompletableFuture<?>[] stripes;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong contended = new AtomicLong();
+    private final AtomicLong waitTime = new AtomicLong();
+
+    /**
+     * Create a striped write queue.
+     *
+     * @param stripes the number of stripes; if this is less than one, operations are not ordered
+     */
+    public StripedWriteQueue(final int stripes) {
+        this.stripes = new CompletableFuture<?>[max(stripes, 0)];
+        for (int i = 0; i < this.stripes.length; ++i) {
+            this.stripes[i] = completedFuture(null);
+        }
+    }
+
+    /**
+     * Submit a write operation.
+     *
+     * @param <T> the type of the result
+     * @param identifiers the resources affected by the operation
+     * @param operation the operation, started once all earlier operations on the same resources have completed
+     * @return the result of the operation
+     */
+    public <T> CompletableFuture<T> submit(final Collection<IRI> identifiers,
+            final Supplier<CompletableFuture<T>> operation) {
+        submitted.incrementAndGet();
+        if (stripes.length == 0) {
+            return operation.get();
+        }
+
+        final int[] indices = identifiers.stream().mapToInt(id -> floorMod(id.hashCode(), stripes.length))
+            .distinct().sorted().toArray();
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        final CompletableFuture<?>[] predecessors = new CompletableFuture<?>[indices.length];
+        // Stripes are always claimed in ascending order and only for as long as it takes to swap the tails
+        synchronized (stripes) {
+            for (int i = 0; i < indices.length; ++i) {
+                predecessors[i] = stripes[indices[i]];
+                stripes[indices[i]] = done;
+            }
+        }
+
+        pending.incrementAndGet();
+        final CompletableFuture<Void> predecessor = allOf(predecessors);
+        if (!predecessor.isDone()) {
+            contended.incrementAndGet();
+            LOGGER.debug("Write to {} queued behind an earlier write", identifiers);
+        }
+        final long start = nanoTime();
+        return predecessor.handle((x, err) -> {
+                // The outcome of an earlier operation has no bearing on this one
+                waitTime.addAndGet(nanoTime() - start);
+                return x;
+            }).thenCompose(x -> operation.get()).whenComplete((x, err) -> {
+                pending.decrementAndGet();
+                done.complete(null);
+            });
+    }
+
+    /**
+     * Get the number of submitted operations that have not yet completed.
+     *
+     * @return the number of pending operations
+     */
+    public int getPending() {
+        return pending.get();
+    }
+
+    /**
+     * Get the total number of submitted operations.
+     *
+     * @return the number of submitted operations
+     */
+    public long getSubmittedCount() {
+        return submitted.get();
+    }
+
+    /**
+     * Get the number of operations that had to wait for an earlier operation.
+     *
+     * @return the number of contended operations
+     */
+    public long getContendedCount() {
+        return contended.get();
+    }
+
+    /**
+     * Get the cumulative time that operations have spent waiting for earlier operations.
+     *
+     * @return the total wait time, in nanoseconds
+     */
+    public long getWaitTime() {
+        return waitTime.get();
+    }
+}
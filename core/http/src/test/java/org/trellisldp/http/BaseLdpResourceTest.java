@@ -222,6 +222,10 @@ abstract class BaseLdpResourceTest extends JerseyTest {
             .thenReturn(completedFuture(null));
         when(mockResourceService.replace(any(IRI.class), any(IRI.class), any(Dataset.class),
                         any(), any())).thenReturn(completedFuture(null));
+        when(mockResourceService.replace(any(IRI.class), any(IRI.class), any(Dataset.class),
+                        any(), any(), any())).thenReturn(completedFuture(null));
+        when(mockResourceService.update(any(IRI.class), any(IRI.class), any(Dataset.class),
+                        any(), any(), any(Dataset.class), any(Dataset.class), any())).thenReturn(completedFuture(null));
         when(mockResourceService.create(any(IRI.class), any(IRI.class), any(Dataset.class),
                         any(), any())).thenReturn(completedFuture(null));
         when(mockResourceService.unskolemize(any(Literal.class))).then(returnsFirstArg());
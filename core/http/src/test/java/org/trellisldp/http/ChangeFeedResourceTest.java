@@ -0,0 +1,209 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Optional.of;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.trellisldp.api.RDFUtils.getInstance;
+import static org.trellisldp.http.ChangeFeedResource.SERVER_SENT_EVENTS;
+import static org.trellisldp.http.domain.HttpConstants.SESSION_PROPERTY;
+
+import java.net.URI;
+
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.TimeoutHandler;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.trellisldp.api.AccessControlService;
+import org.trellisldp.api.ActivityStreamService;
+import org.trellisldp.api.Event;
+import org.trellisldp.api.Session;
+import org.trellisldp.http.impl.ChangeFeed;
+import org.trellisldp.vocabulary.ACL;
+
+/**
+ * Test the change feed resource.
+ */
+public class ChangeFeedResourceTest {
+
+    private static final RDF rdf = getInstance();
+
+    private ChangeFeed feed;
+    private ChangeFeedResource resource;
+
+    @Mock
+    private ActivityStreamService mockSerializer;
+
+    @Mock
+    private Event mockEvent;
+
+    @Mock
+    private Event mockOtherEvent;
+
+    @Mock
+    private AsyncResponse mockResponse;
+
+    @Mock
+    private ContainerRequestContext mockContext;
+
+    @Mock
+    private UriInfo mockUriInfo;
+
+    @Mock
+    private AccessControlService mockAccessService;
+
+    @Mock
+    private Session mockSession;
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+        when(mockEvent.getTarget()).thenReturn(of(rdf.createIRI("http://example.com/container/child")));
+        when(mockOtherEvent.getTarget()).thenReturn(of(rdf.createIRI("http://example.com/other")));
+        when(mockContext.getUriInfo()).thenReturn(mockUriInfo);
+        when(mockContext.getProperty(SESSION_PROPERTY)).thenReturn(mockSession);
+        when(mockUriInfo.getBaseUri()).thenReturn(URI.create("http://example.com/"));
+        when(mockAccessService.getAccessModes(any(IRI.class), any(Session.class))).thenReturn(emptySet());
+        when(mockAccessService.getAccessModes(eq(rdf.createIRI("trellis:data/container/child")), eq(mockSession)))
+            .thenReturn(singleton(ACL.Read));
+        when(mockSerializer.serialize(any())).thenReturn(of("{\"type\":\"Update\"}"));
+        feed = new ChangeFeed(mockSerializer, 10, null, 1024L);
+        resource = new ChangeFeedResource(feed, null, null, 30L);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        feed.close();
+    }
+
+    @Test
+    public void testAvailableChanges() {
+        feed.emit(mockEvent);
+        feed.emit(mockEvent);
+        resource.getChanges(mockResponse, mockContext, "1", "0", null);
+
+        final String body = getResponse().getEntity().toString();
+        assertTrue(body.startsWith("retry: "), "Missing reconnection delay!");
+        assertTrue(body.contains("id: 2\ndata: {\"type\":\"Update\"}\n\n"), "Missing event!");
+        assertFalse(body.contains("id: 1\n"), "Event before the cursor returned!");
+    }
+
+    @Test
+    public void testSinceParameter() {
+        feed.emit(mockEvent);
+        resource.getChanges(mockResponse, mockContext, null, "0", "/container");
+
+        final Response res = getResponse();
+        assertEquals(SERVER_SENT_EVENTS, res.getMediaType().toString(), "Incorrect media type!");
+        assertTrue(res.getEntity().toString().contains("id: 1\n"), "Missing event!");
+    }
+
+    @Test
+    public void testSkippedChanges() {
+        feed.emit(mockEvent);
+        resource.getChanges(mockResponse, mockContext, null, "0", "/other");
+
+        assertEquals(0, feed.getWaitingCount(), "Client waiting after skipped changes!");
+        assertEquals("retry: 100\n\nid: 1\n\n", getResponse().getEntity(), "Cursor not advanced!");
+    }
+
+    @Test
+    public void testAuthorizedChanges() {
+        final ChangeFeedResource authorized = new ChangeFeedResource(feed, mockAccessService, null, 30L);
+        feed.emit(mockEvent);
+        feed.emit(mockOtherEvent);
+        feed.emit(mockEvent);
+        feed.emit(mockOtherEvent);
+        authorized.getChanges(mockResponse, mockContext, "0", null, null);
+
+        final String body = getResponse().getEntity().toString();
+        assertTrue(body.contains("id: 1\ndata: "), "Missing readable event!");
+        assertTrue(body.contains("id: 3\ndata: "), "Missing readable event!");
+        assertFalse(body.contains("id: 2\n"), "Unreadable event sent!");
+        assertTrue(body.endsWith("id: 3\ndata: {\"type\":\"Update\"}\n\nid: 4\n\n"), "Cursor not advanced!");
+    }
+
+    @Test
+    public void testStaleCursor() {
+        resource.getChanges(mockResponse, mockContext, "7", null, null);
+
+        assertEquals(0, feed.getWaitingCount(), "Client with a stale cursor is waiting!");
+        assertEquals("retry: 100\n\nid: 0\n\n", getResponse().getEntity(), "Cursor not reset!");
+    }
+
+    @Test
+    public void testWaitForChanges() {
+        resource.getChanges(mockResponse, mockContext, null, null, "/container");
+        verify(mockResponse).setTimeout(30L, SECONDS);
+        verify(mockResponse, never()).resume(any(Response.class));
+        assertEquals(1, feed.getWaitingCount(), "Client not waiting!");
+
+        feed.emit(mockEvent);
+        final ArgumentCaptor<Response> captor = ArgumentCaptor.forClass(Response.class);
+        verify(mockResponse, timeout(5000)).resume(captor.capture());
+        assertTrue(captor.getValue().getEntity().toString().contains("id: 1\n"), "Missing event!");
+    }
+
+    @Test
+    public void testTimeout() {
+        resource.getChanges(mockResponse, mockContext, null, null, null);
+        final ArgumentCaptor<TimeoutHandler> handler = ArgumentCaptor.forClass(TimeoutHandler.class);
+        verify(mockResponse).setTimeoutHandler(handler.capture());
+
+        handler.getValue().handleTimeout(mockResponse);
+        assertEquals(0, feed.getWaitingCount(), "Client still waiting!");
+        assertEquals("retry: 100\n\n", getResponse().getEntity(), "Incorrect empty response!");
+    }
+
+    @Test
+    public void testInvalidCursor() {
+        resource.getChanges(mockResponse, mockContext, "latest", null, null);
+        assertEquals(400, getResponse().getStatus(), "Invalid cursor accepted!");
+        assertEquals(0, feed.getWaitingCount(), "Client waiting after an invalid request!");
+    }
+
+    @Test
+    public void testNullFeed() {
+        assertThrows(NullPointerException.class, () -> new ChangeFeedResource(null, null, null, 30L),
+                "No exception with a null feed!");
+    }
+
+    private Response getResponse() {
+        final ArgumentCaptor<Response> captor = ArgumentCaptor.forClass(Response.class);
+        verify(mockResponse).resume(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http;
+
+import static java.util.Collections.singletonMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.ws.rs.NotFoundException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the endpoint resource.
+ */
+public class EndpointResourceTest {
+
+    @Test
+    public void testEndpoint() {
+        final Object endpoint = new Object();
+        final EndpointResource resource = new EndpointResource(singletonMap("websub/hub", endpoint));
+        assertEquals(endpoint, resource.getEndpoint("websub/hub"), "Incorrect endpoint!");
+        assertThrows(NotFoundException.class, () -> resource.getEndpoint("hub"), "Unknown endpoint found!");
+    }
+
+    @Test
+    public void testReserved() {
+        assertTrue(EndpointResource.isReserved(".well-known/trellis"), "Reserved path not recognized!");
+        assertTrue(EndpointResource.isReserved(".well-known/trellis/changes"), "Endpoint path not recognized!");
+        assertFalse(EndpointResource.isReserved(".well-known/trellis-data"), "Partial path segment matched!");
+        assertFalse(EndpointResource.isReserved("changes"), "LDP path reserved!");
+    }
+
+    @Test
+    public void testNullEndpoints() {
+        assertThrows(NullPointerException.class, () -> new EndpointResource(null),
+                "No exception with null endpoints!");
+    }
+}
@@ -21,6 +21,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -134,4 +136,16 @@ public class WebACFilterTest {
         assertTrue(challenges2.contains("Foo"), "Foo not among challenges after reset!");
         assertTrue(challenges2.contains("Bar"), "Bar not among challenges after reset!");
     }
+
+    @Test
+    public void testFilterReservedPath() throws Exception {
+        when(mockContext.getMethod()).thenReturn("POST");
+        when(mockUriInfo.getPath()).thenReturn(".well-known/trellis/hub");
+        when(mockAccessControlService.getAccessModes(any(IRI.class), any(Session.class))).thenReturn(emptySet());
+
+        final WebAcFilter filter = new WebAcFilter(mockAccessControlService);
+        assertDoesNotThrow(() -> filter.filter(mockContext), "Unexpected exception for a reserved path!");
+        verify(mockAccessControlService, never()).getAccessModes(any(IRI.class), any(Session.class));
+        verify(mockContext).setProperty(eq("session"), any(Session.class));
+    }
 }
@@ -13,6 +13,7 @@
  */
 package org.trellisldp.http.domain;
 
+import static java.time.Instant.parse;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
@@ -30,9 +31,18 @@ public class VersionTest {
         assertEquals("2017-05-01T13:43:22.676Z", v.toString(), "Check stringified version");
     }
 
+    @Test
+    public void testSubMillisecondVersion() {
+        final Version v = Version.valueOf("1493646202676.000123");
+        assertEquals("2017-05-01T13:43:22.676000123Z", v.getInstant().toString(), "Check datetime string");
+        assertEquals("1493646202676.000123", Version.format(v.getInstant()), "Check formatted version");
+        assertEquals("1493646202676", Version.format(parse("2017-05-01T13:43:22.676Z")), "Check formatted version");
+    }
+
     @Test
     public void testInvalidVersion() {
         assertNull(Version.valueOf("blah"), "Check parsing an invalid version");
+        assertNull(Version.valueOf("1493646202676.123"), "Check parsing a short fraction");
     }
 
     @Test
@@ -0,0 +1,260 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.impl;
+
+import static java.nio.file.Files.createTempDirectory;
+import static java.util.Arrays.asList;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.trellisldp.api.RDFUtils.getInstance;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.commons.rdf.api.RDF;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.trellisldp.api.ActivityStreamService;
+import org.trellisldp.api.Event;
+import org.trellisldp.http.impl.ChangeFeed.Change;
+import org.trellisldp.http.impl.ChangeFeed.Page;
+
+/**
+ * Test the change feed.
+ */
+public class ChangeFeedTest {
+
+    private static final RDF rdf = getInstance();
+
+    @Mock
+    private ActivityStreamService mockSerializer;
+
+    @Mock
+    private Event mockChildEvent;
+
+    @Mock
+    private Event mockOtherEvent;
+
+    @Mock
+    private Event mockNoTargetEvent;
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+        when(mockChildEvent.getTarget()).thenReturn(of(rdf.createIRI("http://example.com/container/child")));
+        when(mockOtherEvent.getTarget()).thenReturn(of(rdf.createIRI("http://example.com/other")));
+        when(mockNoTargetEvent.getTarget()).thenReturn(empty());
+        when(mockSerializer.serialize(any())).thenReturn(of("{\n  \"type\": \"Update\"\n}"));
+    }
+
+    @Test
+    public void testChanges() {
+        try (final ChangeFeed feed = new ChangeFeed(mockSerializer, 10, null, 1024L)) {
+            feed.emit(mockChildEvent);
+            feed.emit(mockOtherEvent);
+            feed.emit(mockNoTargetEvent);
+            assertEquals(3L, feed.getLatestSequence(), "Incorrect latest sequence!");
+            assertEquals(3, feed.getChanges(0L, null, 10).getChanges().size(), "Incorrect number of changes!");
+            assertEquals(2, feed.getChanges(1L, "/", 10).getChanges().size(),
+                    "Incorrect number of changes after cursor!");
+            assertEquals(1, feed.getChanges(0L, null, 1).getChanges().size(), "Limit not applied!");
+
+            final List<Change> changes = feed.getChanges(0L, "/container/", 10).getChanges();
+            assertEquals(1, changes.size(), "Incorrect number of changes in container!");
+            assertEquals(1L, changes.get(0).getSequence(), "Incorrect sequence!");
+            assertEquals("http://example.com/container/child", changes.get(0).getTarget(), "Incorrect target!");
+            assertFalse(changes.get(0).getData().contains("\n"), "Serialized event spans several lines!");
+            assertTrue(feed.getChanges(0L, "contain", 10).getChanges().isEmpty(), "Partial path segment matched!");
+        }
+    }
+
+    @Test
+    public void testEviction() {
+        try (final ChangeFeed feed = new ChangeFeed(mockSerializer, 2, null, 1024L)) {
+            for (int i = 0; i < 5; ++i) {
+                feed.emit(mockChildEvent);
+            }
+            assertEquals(asList(4L, 5L), sequences(feed.getChanges(0L, null, 10)), "Incorrect changes!");
+        }
+    }
+
+    @Test
+    public void testSpill() throws Exception {
+        final File directory = createTempDirectory("trellis-changes").toFile();
+        try (final ChangeFeed feed = new ChangeFeed(mockSerializer, 2, directory.getAbsolutePath(), 1024L)) {
+            for (int i = 0; i < 5; ++i) {
+                feed.emit(i % 2 == 0 ? mockChildEvent : mockOtherEvent);
+            }
+            assertEquals(asList(1L, 2L, 3L, 4L, 5L), sequences(feed.getChanges(0L, null, 10)),
+                    "Incorrect changes!");
+            assertEquals(asList(3L, 5L), sequences(feed.getChanges(2L, "/container", 10)),
+                    "Incorrect changes in container!");
+            assertEquals(asList(1L, 2L), sequences(feed.getChanges(0L, null, 2)), "Limit not applied!");
+        }
+
+        // The feed resumes from the spilled events after a restart
+        try (final ChangeFeed feed = new ChangeFeed(mockSerializer, 2, directory.getAbsolutePath(), 1024L)) {
+            assertEquals(5L, feed.getLatestSequence(), "Sequence not restored!");
+            feed.emit(mockChildEvent);
+            assertEquals(asList(4L, 5L, 6L), sequences(feed.getChanges(3L, null, 10)), "Incorrect changes!");
+        }
+    }
+
+    @Test
+    public void testSpillRotation() throws Exception {
+        final File directory = createTempDirectory("trellis-changes").toFile();
+        try (final ChangeFeed feed = new ChangeFeed(mockSerializer, 1, directory.getAbsolutePath(), 40L)) {
+            for (int i = 0; i < 10; ++i) {
+                feed.emit(mockChildEvent);
+            }
+            final List<Long> sequences = sequences(feed.getChanges(0L, null, 20));
+            assertTrue(sequences.size() < 10, "Spill files not rotated!");
+            assertEquals((Long) 10L, sequences.get(sequences.size() - 1), "Latest change missing!");
+        }
+        assertEquals(2, directory.list().length, "Incorrect number of spill files!");
+    }
+
+    @Test
+    public void testSkippedChanges() {
+        try (final ChangeFeed feed = new ChangeFeed(mockSerializer, 10, null, 1024L)) {
+            feed.emit(mockChildEvent);
+            feed.emit(mockOtherEvent);
+            final Page page = feed.getChanges(0L, "/container", 10);
+            assertEquals(asList(1L), sequences(page), "Incorrect changes!");
+            assertEquals(2L, page.getPosition(), "Position does not include the unmatched change!");
+            assertEquals(1L, feed.getChanges(0L, null, 1).getPosition(), "Position passes the limit!");
+        }
+    }
+
+    @Test
+    public void testStaleCursor() {
+        try (final ChangeFeed feed = new ChangeFeed(mockSerializer, 10, null, 1024L)) {
+            final Page empty = feed.getChanges(7L, null, 10);
+            assertTrue(empty.getChanges().isEmpty(), "Unexpected changes!");
+            assertEquals(0L, empty.getPosition(), "Stale cursor not reset!");
+
+            feed.emit(mockChildEvent);
+            feed.emit(mockOtherEvent);
+            assertEquals(asList(1L, 2L), sequences(feed.getChanges(7L, null, 10)), "Stale cursor not reset!");
+
+            final CompletableFuture<Page> result = new CompletableFuture<>();
+            feed.await(7L, null, 10, result::complete);
+            assertEquals(0, feed.getWaitingCount(), "Client with a stale cursor is waiting!");
+            assertEquals(asList(1L, 2L), sequences(result.join()), "Incorrect changes!");
+        }
+    }
+
+    @Test
+    public void testSpillSeek() throws Exception {
+        final File directory = createTempDirectory("trellis-changes").toFile();
+        try (final ChangeFeed feed = new ChangeFeed(mockSerializer, 10, directory.getAbsolutePath(),
+                    67108864L)) {
+            for (int i = 0; i < 20000; ++i) {
+                feed.emit(i % 100 == 0 ? mockChildEvent : mockOtherEvent);
+            }
+            assertEquals(asList(12346L, 12347L), sequences(feed.getChanges(12345L, null, 2)),
+                    "Incorrect changes after cursor!");
+            assertEquals(asList(12401L, 12501L), sequences(feed.getChanges(12345L, "/container", 2)),
+                    "Incorrect changes in container!");
+            assertEquals(asList(19991L, 19992L), sequences(feed.getChanges(19990L, null, 2)),
+                    "Incorrect changes at the end of the spill!");
+        }
+    }
+
+    @Test
+    public void testSpillScanLimit() throws Exception {
+        final File directory = createTempDirectory("trellis-changes").toFile();
+        try (final ChangeFeed feed = new ChangeFeed(mockSerializer, 10, directory.getAbsolutePath(),
+                    67108864L)) {
+            for (int i = 0; i < 25000; ++i) {
+                feed.emit(mockOtherEvent);
+            }
+            feed.emit(mockChildEvent);
+
+            long cursor = 0L;
+            int reads = 0;
+            Page page = feed.getChanges(cursor, "/container", 10);
+            while (page.getChanges().isEmpty()) {
+                assertTrue(page.getPosition() > cursor, "No progress through the spill files!");
+                cursor = page.getPosition();
+                page = feed.getChanges(cursor, "/container", 10);
+                reads++;
+            }
+            assertTrue(reads > 0, "Spill scan not bounded!");
+            assertEquals(asList(25001L), sequences(page), "Incorrect change!");
+            assertEquals(25001L, page.getPosition(), "Incorrect position!");
+        }
+    }
+
+    @Test
+    public void testAwait() {
+        final CompletableFuture<Page> result = new CompletableFuture<>();
+        try (final ChangeFeed feed = new ChangeFeed(mockSerializer, 10, null, 1024L)) {
+            feed.await(0L, "/container", 10, result::complete);
+            assertEquals(1, feed.getWaitingCount(), "Client not waiting!");
+            feed.emit(mockOtherEvent);
+            assertEquals(1, feed.getWaitingCount(), "Client resumed by an unrelated event!");
+            feed.emit(mockChildEvent);
+            assertEquals(asList(2L), sequences(result.join()), "Incorrect change!");
+            assertEquals(2L, result.join().getPosition(), "Incorrect position!");
+            assertEquals(0, feed.getWaitingCount(), "Client still waiting!");
+
+            final List<Change> received = new ArrayList<>();
+            feed.await(0L, null, 10, page -> received.addAll(page.getChanges()));
+            assertEquals(2, received.size(), "Available changes not returned immediately!");
+        }
+    }
+
+    @Test
+    public void testCancel() {
+        final List<Change> received = new ArrayList<>();
+        try (final ChangeFeed feed = new ChangeFeed(mockSerializer, 10, null, 1024L)) {
+            final Runnable cancel = feed.await(0L, null, 10, page -> received.addAll(page.getChanges()));
+            cancel.run();
+            assertEquals(0, feed.getWaitingCount(), "Client still waiting!");
+            feed.emit(mockChildEvent);
+        }
+        assertTrue(received.isEmpty(), "Cancelled client received changes!");
+    }
+
+    @Test
+    public void testNoSerialization() {
+        when(mockSerializer.serialize(any())).thenReturn(empty());
+        try (final ChangeFeed feed = new ChangeFeed(mockSerializer, 10, null, 1024L)) {
+            feed.emit(mockChildEvent);
+            assertEquals(0L, feed.getLatestSequence(), "Unserialized event recorded!");
+        }
+    }
+
+    @Test
+    public void testNullSerializer() {
+        assertThrows(NullPointerException.class, () -> new ChangeFeed(null, 10, null, 1024L),
+                "No exception with a null serializer!");
+    }
+
+    private static List<Long> sequences(final Page page) {
+        return page.getChanges().stream().map(Change::getSequence).collect(toList());
+    }
+}
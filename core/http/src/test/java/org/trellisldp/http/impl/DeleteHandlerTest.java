@@ -16,6 +16,7 @@ package org.trellisldp.http.impl;
 import static java.util.Collections.emptySet;
 import static java.util.Date.from;
 import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.runAsync;
 import static javax.ws.rs.core.Link.fromUri;
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN_TYPE;
 import static javax.ws.rs.core.Response.Status.NO_CONTENT;
@@ -41,6 +42,7 @@ import org.apache.commons.rdf.api.Dataset;
 import org.apache.commons.rdf.api.IRI;
 import org.junit.jupiter.api.Test;
 import org.trellisldp.api.AuditService;
+import org.trellisldp.api.ConcurrentUpdateException;
 import org.trellisldp.audit.DefaultAuditService;
 import org.trellisldp.vocabulary.LDP;
 
@@ -95,7 +97,7 @@ public class DeleteHandlerTest extends HandlerBaseTest {
 
     @Test
     public void testDeleteACLError() {
-        when(mockResourceService.replace(any(IRI.class), any(IRI.class), any(Dataset.class), any(), any()))
+        when(mockResourceService.replace(any(IRI.class), any(IRI.class), any(Dataset.class), any(), any(), any()))
             .thenReturn(asyncException());
         when(mockLdpRequest.getExt()).thenReturn(ACL);
         final DeleteHandler handler = new DeleteHandler(mockLdpRequest, mockBundler, baseUrl);
@@ -104,9 +106,23 @@ public class DeleteHandlerTest extends HandlerBaseTest {
                 "No exception thrown when an ACL couldn't be deleted!");
     }
 
+    @Test
+    public void testDeleteACLConcurrentUpdate() {
+        when(mockResourceService.replace(any(IRI.class), any(IRI.class), any(Dataset.class), any(), any(), any()))
+            .thenReturn(runAsync(() -> {
+                throw new ConcurrentUpdateException("Expected conflict");
+            }));
+        when(mockLdpRequest.getExt()).thenReturn(ACL);
+        final DeleteHandler handler = new DeleteHandler(mockLdpRequest, mockBundler, baseUrl);
+        final WebApplicationException ex = assertThrows(WebApplicationException.class, () ->
+                unwrapAsyncError(handler.deleteResource(handler.initialize(mockParent, mockResource))),
+                "No exception thrown when the ACL was modified concurrently!");
+        assertEquals(PRECONDITION_FAILED, ex.getResponse().getStatusInfo(), "Incorrect response code!");
+    }
+
     @Test
     public void testDeleteACLAuditError() {
-        when(mockResourceService.replace(any(IRI.class), any(IRI.class), any(Dataset.class), any(), any()))
+        when(mockResourceService.replace(any(IRI.class), any(IRI.class), any(Dataset.class), any(), any(), any()))
             .thenReturn(completedFuture(null));
         when(mockResourceService.add(any(IRI.class), any(Dataset.class))).thenReturn(asyncException());
         when(mockLdpRequest.getExt()).thenReturn(ACL);
@@ -0,0 +1,84 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.impl;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.trellisldp.api.RDFUtils.getInstance;
+
+import java.util.List;
+
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.api.Triple;
+import org.junit.jupiter.api.Test;
+import org.trellisldp.vocabulary.DC;
+
+/**
+ * Test the read-only DeltaGraph view.
+ */
+public class DeltaGraphTest {
+
+    private static final RDF rdf = getInstance();
+
+    private final IRI subject = rdf.createIRI("trellis:data/resource");
+    private final Triple title = rdf.createTriple(subject, DC.title, rdf.createLiteral("A title"));
+    private final Triple subject1 = rdf.createTriple(subject, DC.subject, rdf.createIRI("http://example.com/a"));
+    private final Triple subject2 = rdf.createTriple(subject, DC.subject, rdf.createIRI("http://example.com/b"));
+    private final List<Triple> source = asList(title, subject1);
+
+    @Test
+    public void testUnchanged() {
+        final DeltaGraph graph = new DeltaGraph(source::stream);
+        assertEquals(2L, graph.size(), "Incorrect graph size!");
+        assertTrue(graph.contains(title), "Missing source triple!");
+        assertTrue(graph.getAdditions().isEmpty(), "Unexpected additions!");
+        assertTrue(graph.getRemovals().isEmpty(), "Unexpected removals!");
+    }
+
+    @Test
+    public void testChanges() {
+        final DeltaGraph graph = new DeltaGraph(source::stream, singleton(subject2), singleton(title));
+        assertEquals(2L, graph.size(), "Incorrect graph size!");
+        assertFalse(graph.contains(title), "Removed triple is still present!");
+        assertTrue(graph.contains(subject2), "Added triple is missing!");
+        assertTrue(graph.contains(subject, DC.subject, null), "Missing dc:subject triples!");
+        assertFalse(graph.contains(subject, DC.title, null), "Unexpected dc:title triple!");
+        assertEquals(2L, graph.stream(null, DC.subject, null).count(), "Incorrect number of dc:subject triples!");
+        assertEquals(singleton(subject2), graph.getAdditions(), "Incorrect additions!");
+    }
+
+    @Test
+    public void testDuplicateAddition() {
+        final Graph graph = new DeltaGraph(source::stream, singleton(title), singleton(subject2));
+        assertEquals(2L, graph.size(), "Added triples should not be duplicated!");
+    }
+
+    @Test
+    public void testReadOnly() {
+        final Graph graph = new DeltaGraph(source::stream);
+        assertThrows(UnsupportedOperationException.class, () -> graph.add(title), "Graph is not read-only!");
+        assertThrows(UnsupportedOperationException.class, () -> graph.add(subject, DC.title, subject),
+                "Graph is not read-only!");
+        assertThrows(UnsupportedOperationException.class, () -> graph.remove(title), "Graph is not read-only!");
+        assertThrows(UnsupportedOperationException.class, () -> graph.remove(subject, DC.title, null),
+                "Graph is not read-only!");
+        assertThrows(UnsupportedOperationException.class, graph::clear, "Graph is not read-only!");
+    }
+}
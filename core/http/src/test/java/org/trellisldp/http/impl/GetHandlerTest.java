@@ -21,6 +21,7 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.Date.from;
 import static java.util.Optional.of;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.function.Predicate.isEqual;
 import static java.util.stream.Collectors.toList;
 import static javax.ws.rs.HttpMethod.DELETE;
@@ -39,7 +40,9 @@ import static javax.ws.rs.core.Response.Status.NOT_MODIFIED;
 import static javax.ws.rs.core.Response.Status.NO_CONTENT;
 import static javax.ws.rs.core.Response.Status.OK;
 import static javax.ws.rs.core.Response.notModified;
+import static javax.ws.rs.core.Response.ok;
 import static org.apache.commons.codec.digest.DigestUtils.md5Hex;
+import static org.apache.commons.lang3.Range.between;
 import static org.apache.commons.rdf.api.RDFSyntax.JSONLD;
 import static org.apache.commons.rdf.api.RDFSyntax.NTRIPLES;
 import static org.apache.commons.rdf.api.RDFSyntax.RDFA;
@@ -53,6 +56,9 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.trellisldp.api.Syntax.LD_PATCH;
 import static org.trellisldp.http.domain.HttpConstants.ACCEPT_DATETIME;
@@ -87,9 +93,12 @@ import javax.ws.rs.core.Link;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
+import org.apache.commons.rdf.api.IRI;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 import org.trellisldp.api.Binary;
+import org.trellisldp.api.MementoService;
+import org.trellisldp.http.domain.MementoHeaders;
 import org.trellisldp.http.domain.Prefer;
 import org.trellisldp.vocabulary.LDP;
 import org.trellisldp.vocabulary.OA;
@@ -420,4 +429,85 @@ public class GetHandlerTest extends HandlerBaseTest {
         assertAll("Check LDP type link headers", checkLdpType(res, LDP.RDFSource));
         assertAll("Check Allow headers", checkAllowHeader(res, asList(GET, HEAD, OPTIONS, PATCH)));
     }
+
+    @Test
+    public void testFullMementoHeaders() {
+        final MementoService mockMementoService = mock(MementoService.class);
+        when(mockBundler.getMementoService()).thenReturn(mockMementoService);
+        when(mockMementoService.list(eq(root))).thenReturn(completedFuture(asList(
+                        between(ofEpochSecond(1496260729L), ofEpochSecond(1496261729L)),
+                        between(ofEpochSecond(1496261729L), time))));
+        when(mockRequest.getMethod()).thenReturn(GET);
+
+        final GetHandler handler = new GetHandler(mockLdpRequest, mockBundler, false, baseUrl, MementoHeaders.FULL);
+        final Response res = handler.fetchMementos(root)
+            .thenApply(mementos -> handler.addMementoHeaders(ok(), mementos)).join().build();
+
+        assertTrue(res.getLinks().stream().anyMatch(link -> link.getRels().contains("timemap")), "Missing timemap!");
+        assertEquals(2L, res.getLinks().stream().filter(link -> link.getRels().contains("memento")).count(),
+                "Incorrect number of memento links!");
+        verify(mockMementoService).list(eq(root));
+    }
+
+    @Test
+    public void testTimeMapMementoHeaders() {
+        final MementoService mockMementoService = mock(MementoService.class);
+        when(mockBundler.getMementoService()).thenReturn(mockMementoService);
+        when(mockRequest.getMethod()).thenReturn(GET);
+
+        final GetHandler handler = new GetHandler(mockLdpRequest, mockBundler, false, baseUrl,
+                MementoHeaders.TIMEMAP);
+        final Response res = handler.fetchMementos(root)
+            .thenApply(mementos -> handler.addMementoHeaders(ok(), mementos)).join().build();
+
+        assertTrue(res.getLinks().stream().anyMatch(link -> link.getRels().contains("timemap") &&
+                    link.getUri().toString().endsWith("?ext=timemap")), "Missing timemap link!");
+        assertTrue(res.getLinks().stream().anyMatch(link -> link.getRels().contains("timegate")), "No timegate!");
+        assertFalse(res.getLinks().stream().anyMatch(link -> link.getRels().contains("memento")), "Unexpected link!");
+        verify(mockMementoService, never()).list(any(IRI.class));
+    }
+
+    @Test
+    public void testNoMementoHeaders() {
+        final MementoService mockMementoService = mock(MementoService.class);
+        when(mockBundler.getMementoService()).thenReturn(mockMementoService);
+        when(mockRequest.getMethod()).thenReturn(GET);
+
+        final GetHandler handler = new GetHandler(mockLdpRequest, mockBundler, false, baseUrl, MementoHeaders.NONE);
+        final Response res = handler.fetchMementos(root)
+            .thenApply(mementos -> handler.addMementoHeaders(ok(), mementos)).join().build();
+
+        assertTrue(res.getLinks().isEmpty(), "Unexpected Link headers!");
+        verify(mockMementoService, never()).list(any(IRI.class));
+    }
+
+    @Test
+    public void testHeadMementoHeaders() {
+        final MementoService mockMementoService = mock(MementoService.class);
+        when(mockBundler.getMementoService()).thenReturn(mockMementoService);
+        when(mockRequest.getMethod()).thenReturn(HEAD);
+
+        final GetHandler handler = new GetHandler(mockLdpRequest, mockBundler, false, baseUrl, MementoHeaders.FULL);
+        final Response res = handler.fetchMementos(root)
+            .thenApply(mementos -> handler.addMementoHeaders(ok(), mementos)).join().build();
+
+        assertTrue(res.getLinks().stream().anyMatch(link -> link.getRels().contains("timemap")), "Missing timemap!");
+        assertFalse(res.getLinks().stream().anyMatch(link -> link.getRels().contains("memento")), "Unexpected link!");
+        verify(mockMementoService, never()).list(any(IRI.class));
+    }
+
+    @Test
+    public void testAclMementoHeaders() {
+        final MementoService mockMementoService = mock(MementoService.class);
+        when(mockBundler.getMementoService()).thenReturn(mockMementoService);
+        when(mockRequest.getMethod()).thenReturn(GET);
+        when(mockLdpRequest.getExt()).thenReturn("acl");
+
+        final GetHandler handler = new GetHandler(mockLdpRequest, mockBundler, false, baseUrl);
+        final Response res = handler.fetchMementos(root)
+            .thenApply(mementos -> handler.addMementoHeaders(ok(), mementos)).join().build();
+
+        assertTrue(res.getLinks().isEmpty(), "Unexpected Link headers!");
+        verify(mockMementoService, never()).list(any(IRI.class));
+    }
 }
@@ -41,6 +41,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 import static org.trellisldp.api.RDFUtils.TRELLIS_BNODE_PREFIX;
@@ -225,6 +226,10 @@ abstract class HandlerBaseTest {
             .thenReturn(completedFuture(null));
         when(mockResourceService.replace(any(IRI.class), any(IRI.class), any(Dataset.class), any(), any()))
             .thenReturn(completedFuture(null));
+        when(mockResourceService.replace(any(IRI.class), any(IRI.class), any(Dataset.class), any(), any(), any()))
+            .thenReturn(completedFuture(null));
+        when(mockResourceService.update(any(IRI.class), any(IRI.class), any(Dataset.class), any(), any(),
+                    any(Dataset.class), any(Dataset.class), any())).thenReturn(completedFuture(null));
         when(mockResourceService.delete(any(IRI.class), any(IRI.class), any(Dataset.class)))
             .thenReturn(completedFuture(null));
         when(mockResourceService.add(any(IRI.class), any(Dataset.class))).thenReturn(completedFuture(null));
@@ -262,6 +267,7 @@ abstract class HandlerBaseTest {
     }
 
     private void setUpIoService() {
+        doCallRealMethod().when(mockIoService).read(any(), any(), any(), any());
         when(mockIoService.supportedReadSyntaxes()).thenReturn(asList(TURTLE, JSONLD, RDFA));
         when(mockIoService.supportedWriteSyntaxes()).thenReturn(asList(TURTLE, JSONLD));
         when(mockIoService.supportedUpdateSyntaxes()).thenReturn(asList(SPARQL_UPDATE));
@@ -0,0 +1,71 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.impl;
+
+import static java.util.Optional.of;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.trellisldp.api.RDFUtils.getInstance;
+import static org.trellisldp.vocabulary.Trellis.PreferUserManaged;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.RDF;
+import org.junit.jupiter.api.Test;
+import org.trellisldp.vocabulary.DC;
+
+/**
+ * Test the lazily built LazyDataset.
+ */
+public class LazyDatasetTest {
+
+    private static final RDF rdf = getInstance();
+
+    private final IRI subject = rdf.createIRI("trellis:data/resource");
+    private final Quad title = rdf.createQuad(PreferUserManaged, subject, DC.title, rdf.createLiteral("A title"));
+    private final AtomicInteger built = new AtomicInteger();
+
+    private TrellisDataset build() {
+        built.incrementAndGet();
+        final TrellisDataset dataset = TrellisDataset.createDataset();
+        dataset.add(title);
+        return dataset;
+    }
+
+    @Test
+    public void testUnread() {
+        final LazyDataset dataset = new LazyDataset(this::build);
+        dataset.close();
+        assertFalse(dataset.isBuilt(), "Dataset was built without being read!");
+        assertEquals(0, built.get(), "Supplier was called!");
+    }
+
+    @Test
+    public void testBuiltOnce() {
+        final LazyDataset dataset = new LazyDataset(this::build);
+        assertEquals(1L, dataset.size(), "Incorrect dataset size!");
+        assertTrue(dataset.contains(title), "Missing quad!");
+        assertTrue(dataset.getGraph(PreferUserManaged).isPresent(), "Missing graph!");
+        dataset.add(PreferUserManaged, subject, DC.subject, rdf.createIRI("http://example.com/a"));
+        assertEquals(2L, dataset.stream(of(PreferUserManaged), subject, null, null).count(), "Incorrect quads!");
+        dataset.remove(title);
+        assertFalse(dataset.contains(of(PreferUserManaged), subject, DC.title, null), "Quad not removed!");
+        assertTrue(dataset.isBuilt(), "Dataset was not built!");
+        assertEquals(1, built.get(), "Dataset was built more than once!");
+        dataset.close();
+    }
+}
@@ -15,6 +15,7 @@ package org.trellisldp.http.impl;
 
 import static java.util.Collections.emptySet;
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.CompletableFuture.runAsync;
 import static java.util.stream.Stream.of;
 import static javax.ws.rs.core.Link.fromUri;
 import static javax.ws.rs.core.MediaType.TEXT_HTML_TYPE;
@@ -22,6 +23,7 @@ import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
 import static javax.ws.rs.core.Response.Status.CONFLICT;
 import static javax.ws.rs.core.Response.Status.NO_CONTENT;
 import static javax.ws.rs.core.Response.Status.OK;
+import static javax.ws.rs.core.Response.Status.PRECONDITION_FAILED;
 import static javax.ws.rs.core.Response.status;
 import static org.apache.commons.rdf.api.RDFSyntax.RDFA;
 import static org.junit.jupiter.api.Assertions.assertAll;
@@ -32,6 +34,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.trellisldp.api.Syntax.SPARQL_UPDATE;
@@ -57,6 +60,7 @@ import org.apache.commons.rdf.api.Graph;
 import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.Triple;
 import org.junit.jupiter.api.Test;
+import org.trellisldp.api.ConcurrentUpdateException;
 import org.trellisldp.api.RuntimeTrellisException;
 import org.trellisldp.audit.DefaultAuditService;
 import org.trellisldp.http.domain.Prefer;
@@ -122,7 +126,8 @@ public class PatchHandlerTest extends HandlerBaseTest {
         assertEquals(NO_CONTENT, res.getStatusInfo(), "Incorrect response code!");
 
         verify(mockIoService).update(any(Graph.class), eq(insert), eq(SPARQL_UPDATE), eq(identifier.getIRIString()));
-        verify(mockResourceService).replace(eq(identifier), eq(LDP.RDFSource), any(Dataset.class), any(), any());
+        verify(mockResourceService).update(eq(identifier), eq(LDP.RDFSource), any(Dataset.class), any(), any(),
+                any(Dataset.class), any(Dataset.class), any());
     }
 
     @Test
@@ -183,8 +188,8 @@ public class PatchHandlerTest extends HandlerBaseTest {
     public void testError() {
         when(mockLdpRequest.getContentType()).thenReturn(APPLICATION_SPARQL_UPDATE);
         when(mockLdpRequest.getPath()).thenReturn("resource");
-        when(mockResourceService.replace(eq(identifier), any(IRI.class), any(Dataset.class), any(), any()))
-            .thenReturn(asyncException());
+        when(mockResourceService.update(eq(identifier), any(IRI.class), any(Dataset.class), any(), any(),
+                    any(Dataset.class), any(Dataset.class), any())).thenReturn(asyncException());
 
         final PatchHandler patchHandler = new PatchHandler(mockLdpRequest, insert, mockBundler, null);
         assertThrows(CompletionException.class, () ->
@@ -192,6 +197,23 @@ public class PatchHandlerTest extends HandlerBaseTest {
                 "No exception thrown when the backend triggers an exception!");
     }
 
+    @Test
+    public void testConcurrentUpdate() {
+        when(mockLdpRequest.getContentType()).thenReturn(APPLICATION_SPARQL_UPDATE);
+        when(mockLdpRequest.getPath()).thenReturn("resource");
+        when(mockResourceService.update(eq(identifier), any(IRI.class), any(Dataset.class), any(), any(),
+                    any(Dataset.class), any(Dataset.class), any())).thenReturn(runAsync(() -> {
+                        throw new ConcurrentUpdateException("Expected conflict");
+                    }));
+
+        final PatchHandler patchHandler = new PatchHandler(mockLdpRequest, insert, mockBundler, null);
+        final WebApplicationException ex = assertThrows(WebApplicationException.class, () ->
+                unwrapAsyncError(patchHandler.updateResource(patchHandler.initialize(mockParent, mockResource))),
+                "No exception thrown when the resource was modified concurrently!");
+        assertEquals(PRECONDITION_FAILED, ex.getResponse().getStatusInfo(), "Incorrect response code!");
+        verify(mockResourceService, never()).add(any(IRI.class), any(Dataset.class));
+    }
+
     @Test
     public void testNoLdpRsSupport() {
         when(mockLdpRequest.getContentType()).thenReturn(APPLICATION_SPARQL_UPDATE);
@@ -17,6 +17,8 @@ import static java.time.Instant.ofEpochSecond;
 import static java.util.Collections.emptySet;
 import static java.util.Date.from;
 import static java.util.Optional.of;
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.concurrent.CompletableFuture.runAsync;
 import static javax.ws.rs.core.Link.fromUri;
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
@@ -37,6 +39,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.description;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.trellisldp.api.RDFUtils.TRELLIS_DATA_PREFIX;
@@ -60,6 +63,7 @@ import org.apache.commons.rdf.api.RDFSyntax;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 import org.trellisldp.api.Binary;
+import org.trellisldp.api.ConcurrentUpdateException;
 import org.trellisldp.api.MementoService;
 import org.trellisldp.api.RuntimeTrellisException;
 import org.trellisldp.audit.DefaultAuditService;
@@ -262,7 +266,7 @@ public class PutHandlerTest extends HandlerBaseTest {
         when(mockLdpRequest.getPath()).thenReturn("resource");
         when(mockLdpRequest.getContentType()).thenReturn(TEXT_PLAIN);
         when(mockLdpRequest.getLink()).thenReturn(fromUri(LDP.NonRDFSource.getIRIString()).rel("type").build());
-        when(mockResourceService.replace(eq(identifier), any(IRI.class), any(Dataset.class), any(), any()))
+        when(mockResourceService.replace(eq(identifier), any(IRI.class), any(Dataset.class), any(), any(), any()))
             .thenReturn(asyncException());
 
         final PutHandler handler = buildPutHandler("/simpleData.txt", null);
@@ -293,7 +297,7 @@ public class PutHandlerTest extends HandlerBaseTest {
         when(mockLdpRequest.getContentType()).thenReturn(TEXT_PLAIN);
         when(mockLdpRequest.getLink()).thenReturn(fromUri(LDP.NonRDFSource.getIRIString()).rel("type").build());
         when(mockResourceService.replace(eq(rdf.createIRI(TRELLIS_DATA_PREFIX + "resource")), any(IRI.class),
-                    any(Dataset.class), any(), any())).thenReturn(asyncException());
+                    any(Dataset.class), any(), any(), any())).thenReturn(asyncException());
 
         final File entity = new File(getClass().getResource("/simpleData.txt").getFile() + ".non-existent-suffix");
         final PutHandler handler = new PutHandler(mockLdpRequest, entity, mockBundler, null);
@@ -303,6 +307,29 @@ public class PutHandlerTest extends HandlerBaseTest {
                 "No exception when there's a problem with the backend binary service!");
     }
 
+    @Test
+    public void testBinaryConcurrentUpdate() {
+        final IRI binaryLocation = rdf.createIRI("file:///" + randomUUID());
+        when(mockBinaryService.generateIdentifier()).thenReturn(binaryLocation.getIRIString());
+        when(mockBinaryService.purgeContent(any(IRI.class))).thenReturn(completedFuture(null));
+        when(mockResource.getInteractionModel()).thenReturn(LDP.NonRDFSource);
+        when(mockLdpRequest.getContentType()).thenReturn(TEXT_PLAIN);
+        when(mockLdpRequest.getLink()).thenReturn(fromUri(LDP.NonRDFSource.getIRIString()).rel("type").build());
+        when(mockResourceService.replace(any(IRI.class), any(IRI.class), any(Dataset.class), any(), any(), any()))
+            .thenReturn(runAsync(() -> {
+                throw new ConcurrentUpdateException("Expected conflict");
+            }));
+
+        final PutHandler handler = buildPutHandler("/simpleData.txt", null);
+        final CompletionException ex = assertThrows(CompletionException.class, () ->
+                handler.setResource(handler.initialize(mockParent, mockResource)).join(),
+                "No exception when the resource was modified concurrently!");
+        assertEquals(PRECONDITION_FAILED, ((WebApplicationException) ex.getCause()).getResponse().getStatusInfo(),
+                "Incorrect response code!");
+        verify(mockBinaryService, timeout(1000).description("Unused binary content wasn't removed!"))
+            .purgeContent(eq(binaryLocation));
+    }
+
     private PutHandler buildPutHandler(final String resourceName, final String baseUrl) {
         return new PutHandler(mockLdpRequest, new File(getClass().getResource(resourceName).getFile()), mockBundler,
                 baseUrl);
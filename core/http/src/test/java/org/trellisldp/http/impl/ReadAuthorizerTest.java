@@ -0,0 +1,105 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.impl;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.trellisldp.api.RDFUtils.getInstance;
+import static org.trellisldp.http.domain.HttpConstants.SESSION_PROPERTY;
+
+import java.net.URI;
+import java.util.function.Predicate;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.UriInfo;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.trellisldp.api.AccessControlService;
+import org.trellisldp.api.Session;
+import org.trellisldp.vocabulary.ACL;
+import org.trellisldp.vocabulary.Trellis;
+
+/**
+ * Test the read authorizer.
+ */
+public class ReadAuthorizerTest {
+
+    private static final RDF rdf = getInstance();
+
+    @Mock
+    private AccessControlService mockAccessService;
+
+    @Mock
+    private ContainerRequestContext mockContext;
+
+    @Mock
+    private UriInfo mockUriInfo;
+
+    @Mock
+    private Session mockSession;
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+        when(mockContext.getUriInfo()).thenReturn(mockUriInfo);
+        when(mockUriInfo.getBaseUri()).thenReturn(URI.create("http://example.com/"));
+        when(mockAccessService.getAccessModes(any(IRI.class), any(Session.class))).thenReturn(emptySet());
+        when(mockAccessService.getAccessModes(eq(rdf.createIRI("trellis:data/container")), any(Session.class)))
+            .thenReturn(singleton(ACL.Read));
+    }
+
+    @Test
+    public void testReadable() {
+        when(mockContext.getProperty(SESSION_PROPERTY)).thenReturn(mockSession);
+        final Predicate<String> readable = new ReadAuthorizer(mockAccessService, null).getReadable(mockContext);
+        assertTrue(readable.test("http://example.com/container"), "Readable resource rejected!");
+        assertTrue(readable.test("http://example.com/container/"), "Readable container rejected!");
+        assertFalse(readable.test("http://example.com/other"), "Unreadable resource accepted!");
+        assertFalse(readable.test("http://example.org/container"), "Resource at another base URL accepted!");
+        assertFalse(readable.test(null), "Missing resource accepted!");
+        verify(mockAccessService).getAccessModes(rdf.createIRI("trellis:data/other"), mockSession);
+    }
+
+    @Test
+    public void testBaseUrl() {
+        final Predicate<String> readable = new ReadAuthorizer(mockAccessService, "http://example.org/trellis")
+            .getReadable(mockContext);
+        assertTrue(readable.test("http://example.org/trellis/container"), "Readable resource rejected!");
+        assertFalse(readable.test("http://example.com/container"), "Resource at the request URL accepted!");
+
+        readable.test("http://example.org/trellis");
+        final ArgumentCaptor<Session> session = ArgumentCaptor.forClass(Session.class);
+        verify(mockAccessService).getAccessModes(eq(rdf.createIRI("trellis:data/")), session.capture());
+        assertEquals(Trellis.AnonymousAgent, session.getValue().getAgent(), "Agent is not anonymous!");
+    }
+
+    @Test
+    public void testNoAccessControl() {
+        final Predicate<String> readable = new ReadAuthorizer(null, null).getReadable(mockContext);
+        assertTrue(readable.test("http://example.com/other"), "Resource rejected without access control!");
+    }
+}
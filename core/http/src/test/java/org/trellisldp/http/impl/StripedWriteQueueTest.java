@@ -0,0 +1,125 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.http.impl;
+
+import static java.lang.Math.floorMod;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.trellisldp.api.RDFUtils.TRELLIS_DATA_PREFIX;
+import static org.trellisldp.api.RDFUtils.getInstance;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.junit.jupiter.api.Test;
+import org.trellisldp.api.RuntimeTrellisException;
+
+/**
+ * Test the ordering of write operations.
+ */
+public class StripedWriteQueueTest {
+
+    private static final RDF rdf = getInstance();
+
+    private final IRI resource = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource");
+    private final IRI child = rdf.createIRI(TRELLIS_DATA_PREFIX + "resource/child");
+
+    @Test
+    public void testSameResource() {
+        final StripedWriteQueue queue = new StripedWriteQueue(16);
+        final CompletableFuture<String> first = new CompletableFuture<>();
+        final AtomicBoolean started = new AtomicBoolean();
+
+        final CompletableFuture<String> result1 = queue.submit(singleton(resource), () -> first);
+        final CompletableFuture<String> result2 = queue.submit(singleton(resource), () -> {
+            started.set(true);
+            return completedFuture("second");
+        });
+
+        assertFalse(started.get(), "Second write started before the first completed!");
+        assertEquals(2, queue.getPending(), "Incorrect number of pending writes!");
+        first.complete("first");
+        assertEquals("first", result1.join(), "Incorrect result for the first write!");
+        assertEquals("second", result2.join(), "Incorrect result for the second write!");
+        assertTrue(started.get(), "Second write never started!");
+        assertEquals(0, queue.getPending(), "Writes still pending!");
+        assertEquals(2L, queue.getSubmittedCount(), "Incorrect number of submitted writes!");
+        assertEquals(1L, queue.getContendedCount(), "Incorrect number of contended writes!");
+    }
+
+    @Test
+    public void testOverlappingResources() {
+        final StripedWriteQueue queue = new StripedWriteQueue(16);
+        final CompletableFuture<String> first = new CompletableFuture<>();
+        final AtomicBoolean started = new AtomicBoolean();
+
+        queue.submit(singleton(resource), () -> first);
+        final CompletableFuture<String> result = queue.submit(asList(resource, child), () -> {
+            started.set(true);
+            return completedFuture("child");
+        });
+
+        assertFalse(started.get(), "Write to a child started before the write to its parent completed!");
+        first.complete("parent");
+        assertEquals("child", result.join(), "Incorrect result for the child write!");
+    }
+
+    @Test
+    public void testUnrelatedResources() {
+        final StripedWriteQueue queue = new StripedWriteQueue(1024);
+        final IRI other = rdf.createIRI(TRELLIS_DATA_PREFIX + "other");
+        final CompletableFuture<String> first = new CompletableFuture<>();
+
+        queue.submit(singleton(resource), () -> first);
+        if (floorMod(resource.hashCode(), 1024) != floorMod(other.hashCode(), 1024)) {
+            assertEquals("other", queue.submit(singleton(other), () -> completedFuture("other")).join(),
+                    "Unrelated write was not applied!");
+            assertEquals(0L, queue.getContendedCount(), "Unrelated writes should not contend!");
+        }
+        first.complete("first");
+    }
+
+    @Test
+    public void testFailedWrite() {
+        final StripedWriteQueue queue = new StripedWriteQueue(16);
+        final CompletableFuture<String> result1 = queue.submit(singleton(resource), () -> {
+            throw new RuntimeTrellisException("Expected exception");
+        });
+        final CompletableFuture<String> result2 = queue.submit(singleton(resource), () -> completedFuture("second"));
+
+        assertThrows(CompletionException.class, result1::join, "No exception from a failed write!");
+        assertEquals("second", result2.join(), "A failed write should not block later writes!");
+        assertEquals(0, queue.getPending(), "Writes still pending!");
+    }
+
+    @Test
+    public void testNoStripes() {
+        final StripedWriteQueue queue = new StripedWriteQueue(0);
+        final CompletableFuture<String> first = new CompletableFuture<>();
+
+        queue.submit(singleton(resource), () -> first);
+        assertEquals("second", queue.submit(singleton(resource), () -> completedFuture("second")).join(),
+                "Writes should not be ordered without any stripes!");
+        assertEquals(0L, queue.getContendedCount(), "Writes should not contend without any stripes!");
+        assertEquals(2L, queue.getSubmittedCount(), "Incorrect number of submitted writes!");
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.vocabulary;
+
+import static org.trellisldp.vocabulary.VocabUtils.createIRI;
+
+import org.apache.commons.rdf.api.IRI;
+
+/**
+ * RDF Terms from the W3C SHACL Vocabulary.
+ *
+ * @see <a href="https://www.w3.org/TR/shacl/">SHACL Vocabulary</a>
+ */
+public final class SHACL {
+
+    /* Namespace */
+    private static final String URI = "http://www.w3.org/ns/shacl#";
+
+    /* Classes */
+    public static final IRI NodeShape = createIRI(getNamespace() + "NodeShape");
+    public static final IRI PropertyShape = createIRI(getNamespace() + "PropertyShape");
+    public static final IRI ValidationResult = createIRI(getNamespace() + "ValidationResult");
+
+    /* Properties */
+    public static final IRI closed = createIRI(getNamespace() + "closed");
+    public static final IRI datatype = createIRI(getNamespace() + "datatype");
+    public static final IRI deactivated = createIRI(getNamespace() + "deactivated");
+    public static final IRI flags = createIRI(getNamespace() + "flags");
+    public static final IRI focusNode = createIRI(getNamespace() + "focusNode");
+    public static final IRI hasValue = createIRI(getNamespace() + "hasValue");
+    public static final IRI ignoredProperties = createIRI(getNamespace() + "ignoredProperties");
+    public static final IRI in_ = createIRI(getNamespace() + "in");
+    public static final IRI maxCount = createIRI(getNamespace() + "maxCount");
+    public static final IRI maxLength = createIRI(getNamespace() + "maxLength");
+    public static final IRI minCount = createIRI(getNamespace() + "minCount");
+    public static final IRI minLength = createIRI(getNamespace() + "minLength");
+    public static final IRI nodeKind = createIRI(getNamespace() + "nodeKind");
+    public static final IRI path = createIRI(getNamespace() + "path");
+    public static final IRI pattern = createIRI(getNamespace() + "pattern");
+    public static final IRI property = createIRI(getNamespace() + "property");
+    public static final IRI resultPath = createIRI(getNamespace() + "resultPath");
+    public static final IRI resultSeverity = createIRI(getNamespace() + "resultSeverity");
+    public static final IRI sourceConstraintComponent = createIRI(getNamespace() + "sourceConstraintComponent");
+    public static final IRI sourceShape = createIRI(getNamespace() + "sourceShape");
+    public static final IRI targetClass = createIRI(getNamespace() + "targetClass");
+    public static final IRI targetNode = createIRI(getNamespace() + "targetNode");
+    public static final IRI targetObjectsOf = createIRI(getNamespace() + "targetObjectsOf");
+    public static final IRI targetSubjectsOf = createIRI(getNamespace() + "targetSubjectsOf");
+    public static final IRI value = createIRI(getNamespace() + "value");
+
+    /* Node Kinds */
+    public static final IRI BlankNode = createIRI(getNamespace() + "BlankNode");
+    public static final IRI BlankNodeOrIRI = createIRI(getNamespace() + "BlankNodeOrIRI");
+    public static final IRI BlankNodeOrLiteral = createIRI(getNamespace() + "BlankNodeOrLiteral");
+    public static final IRI IRI = createIRI(getNamespace() + "IRI");
+    public static final IRI IRIOrLiteral = createIRI(getNamespace() + "IRIOrLiteral");
+    public static final IRI Literal = createIRI(getNamespace() + "Literal");
+
+    /* Severities */
+    public static final IRI Violation = createIRI(getNamespace() + "Violation");
+
+    /* Constraint Components */
+    public static final IRI ClosedConstraintComponent = createIRI(getNamespace() + "ClosedConstraintComponent");
+    public static final IRI DatatypeConstraintComponent = createIRI(getNamespace() + "DatatypeConstraintComponent");
+    public static final IRI HasValueConstraintComponent = createIRI(getNamespace() + "HasValueConstraintComponent");
+    public static final IRI InConstraintComponent = createIRI(getNamespace() + "InConstraintComponent");
+    public static final IRI MaxCountConstraintComponent = createIRI(getNamespace() + "MaxCountConstraintComponent");
+    public static final IRI MaxLengthConstraintComponent = createIRI(getNamespace() + "MaxLengthConstraintComponent");
+    public static final IRI MinCountConstraintComponent = createIRI(getNamespace() + "MinCountConstraintComponent");
+    public static final IRI MinLengthConstraintComponent = createIRI(getNamespace() + "MinLengthConstraintComponent");
+    public static final IRI NodeKindConstraintComponent = createIRI(getNamespace() + "NodeKindConstraintComponent");
+    public static final IRI PatternConstraintComponent = createIRI(getNamespace() + "PatternConstraintComponent");
+
+    /**
+     * get the namespace.
+     *
+     * @return namespace
+     */
+    public static String getNamespace() {
+        return URI;
+    }
+
+    private SHACL() {
+        // prevent instantiation
+    }
+}
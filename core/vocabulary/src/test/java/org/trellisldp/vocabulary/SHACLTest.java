@@ -0,0 +1,30 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.vocabulary;
+
+/**
+ * Test the SHACL Vocabulary Class.
+ */
+public class SHACLTest extends AbstractVocabularyTest {
+
+    @Override
+    public String namespace() {
+        return "http://www.w3.org/ns/shacl#";
+    }
+
+    @Override
+    public Class<SHACL> vocabulary() {
+        return SHACL.class;
+    }
+}
@@ -22,6 +22,8 @@ import com.rabbitmq.client.AMQP.BasicProperties;
 import com.rabbitmq.client.Channel;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Optional;
 
 import javax.inject.Inject;
 
@@ -40,6 +42,8 @@ import org.trellisldp.api.RuntimeTrellisException;
 public class AmqpPublisher implements EventService {
 
     private static final Logger LOGGER = getLogger(AmqpPublisher.class);
+    private static final BasicProperties PROPERTIES = new BasicProperties().builder()
+            .contentType("application/ld+json").contentEncoding("UTF-8").build();
     private static ActivityStreamService service = findFirst(ActivityStreamService.class)
         .orElseThrow(() -> new RuntimeTrellisException("No ActivityStream service available!"));
 
@@ -111,15 +115,42 @@ public class AmqpPublisher implements EventService {
     public void emit(final Event event) {
         requireNonNull(event, "Cannot emit a null event!");
 
-        final BasicProperties props = new BasicProperties().builder()
-                .contentType("application/ld+json").contentEncoding("UTF-8").build();
-
         service.serialize(event).ifPresent(message -> {
             try {
-                channel.basicPublish(exchangeName, routingKey, mandatory, immediate, props, message.getBytes());
+                channel.basicPublish(exchangeName, routingKey, mandatory, immediate, PROPERTIES, message.getBytes());
             } catch (final IOException ex) {
                 LOGGER.error("Error writing to broker: {}", ex.getMessage());
             }
         });
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If publisher confirms are enabled on the channel, this waits once for the broker to confirm
+     * the entire batch rather than once per message. Unlike {@link #emit}, which logs delivery errors,
+     * this method reports them to the caller so that the batch can be retried.
+     */
+    @Override
+    public void emitAll(final Collection<? extends Event> events) {
+        requireNonNull(events, "Cannot emit a null batch of events!");
+
+        try {
+            for (final Event event : events) {
+                final Optional<String> message = service.serialize(event);
+                if (message.isPresent()) {
+                    channel.basicPublish(exchangeName, routingKey, mandatory, immediate, PROPERTIES,
+                            message.get().getBytes());
+                }
+            }
+            if (channel.getNextPublishSeqNo() > 0 && !channel.waitForConfirms()) {
+                throw new RuntimeTrellisException("Broker did not confirm a batch of " + events.size() + " events");
+            }
+        } catch (final IOException ex) {
+            throw new RuntimeTrellisException("Error writing batch of " + events.size() + " events to broker", ex);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeTrellisException("Interrupted while waiting for broker confirmation", ex);
+        }
+    }
 }
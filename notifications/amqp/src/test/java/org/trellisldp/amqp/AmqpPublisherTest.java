@@ -14,14 +14,18 @@
 package org.trellisldp.amqp;
 
 import static java.time.Instant.now;
+import static java.util.Arrays.asList;
 import static java.util.Collections.singleton;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -40,6 +44,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.trellisldp.api.Event;
 import org.trellisldp.api.EventService;
+import org.trellisldp.api.RuntimeTrellisException;
 import org.trellisldp.vocabulary.AS;
 import org.trellisldp.vocabulary.LDP;
 import org.trellisldp.vocabulary.Trellis;
@@ -104,4 +109,42 @@ public class AmqpPublisherTest {
         verify(mockChannel).basicPublish(eq(exchangeName), eq(queueName), anyBoolean(), anyBoolean(),
                 any(BasicProperties.class), any(byte[].class));
     }
+
+    @Test
+    public void testAmqpBatch() throws IOException, InterruptedException {
+        final EventService svc = new AmqpPublisher(mockChannel, exchangeName, queueName);
+        svc.emitAll(asList(mockEvent, mockEvent, mockEvent));
+
+        verify(mockChannel, times(3)).basicPublish(eq(exchangeName), eq(queueName), anyBoolean(), anyBoolean(),
+                any(BasicProperties.class), any(byte[].class));
+        verify(mockChannel, never()).waitForConfirms();
+    }
+
+    @Test
+    public void testAmqpBatchConfirms() throws IOException, InterruptedException {
+        when(mockChannel.getNextPublishSeqNo()).thenReturn(4L);
+        when(mockChannel.waitForConfirms()).thenReturn(false);
+
+        final EventService svc = new AmqpPublisher(mockChannel, exchangeName, queueName);
+        assertThrows(RuntimeTrellisException.class, () -> svc.emitAll(asList(mockEvent, mockEvent)),
+                "No exception when the broker does not confirm a batch!");
+
+        verify(mockChannel, times(2)).basicPublish(eq(exchangeName), eq(queueName), anyBoolean(), anyBoolean(),
+                any(BasicProperties.class), any(byte[].class));
+        verify(mockChannel).waitForConfirms();
+    }
+
+    @Test
+    public void testBatchError() throws IOException, InterruptedException {
+        doThrow(IOException.class).when(mockChannel).basicPublish(eq(exchangeName), eq(queueName),
+                anyBoolean(), anyBoolean(), any(BasicProperties.class), any(byte[].class));
+
+        final EventService svc = new AmqpPublisher(mockChannel, exchangeName, queueName);
+        assertThrows(RuntimeTrellisException.class, () -> svc.emitAll(asList(mockEvent, mockEvent)),
+                "No exception when the broker rejects a batch!");
+
+        verify(mockChannel).basicPublish(eq(exchangeName), eq(queueName), anyBoolean(), anyBoolean(),
+                any(BasicProperties.class), any(byte[].class));
+        verify(mockChannel, never()).waitForConfirms();
+    }
 }
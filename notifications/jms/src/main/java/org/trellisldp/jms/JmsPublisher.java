@@ -13,18 +13,26 @@
  */
 package org.trellisldp.jms;
 
+import static java.util.Objects.isNull;
 import static java.util.Objects.requireNonNull;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
 import static javax.jms.Session.AUTO_ACKNOWLEDGE;
 import static org.slf4j.LoggerFactory.getLogger;
 import static org.trellisldp.api.RDFUtils.findFirst;
 
+import java.util.Collection;
+import java.util.Optional;
+
 import javax.inject.Inject;
+import javax.jms.BytesMessage;
 import javax.jms.Connection;
 import javax.jms.JMSException;
 import javax.jms.Message;
 import javax.jms.MessageProducer;
 import javax.jms.Session;
 
+import org.apache.tamaya.Configuration;
 import org.apache.tamaya.ConfigurationProvider;
 import org.slf4j.Logger;
 import org.trellisldp.api.ActivityStreamService;
@@ -42,6 +50,9 @@ public class JmsPublisher implements EventService {
     /** The configuration key controlling the JMS queue name. **/
     public static final String JMS_QUEUE_NAME = "trellis.jms.queue";
 
+    /** The configuration key controlling whether messages are sent in a transacted session. **/
+    public static final String JMS_TRANSACTED = "trellis.jms.transacted";
+
     private static final Logger LOGGER = getLogger(JmsPublisher.class);
 
     private static ActivityStreamService service = findFirst(ActivityStreamService.class)
@@ -51,6 +62,8 @@ public class JmsPublisher implements EventService {
 
     private final Session session;
 
+    private final ActivityStreamService serializer;
+
     /**
      * Create a new JMS Publisher.
      * @param conn the connection
@@ -58,21 +71,45 @@ public class JmsPublisher implements EventService {
      */
     @Inject
     public JmsPublisher(final Connection conn) throws JMSException {
-        this(conn.createSession(false, AUTO_ACKNOWLEDGE),
-                ConfigurationProvider.getConfiguration().get(JMS_QUEUE_NAME));
+        this(conn, ConfigurationProvider.getConfiguration());
+    }
+
+    private JmsPublisher(final Connection conn, final Configuration config) throws JMSException {
+        this(conn.createSession(config.getOrDefault(JMS_TRANSACTED, Boolean.class, false), AUTO_ACKNOWLEDGE),
+                config.get(JMS_QUEUE_NAME));
     }
 
     /**
      * Create a new JMS Publisher.
+     *
+     * <p>When the session is transacted, each call to {@link #emitAll} is committed as a single transaction.
+     *
      * @param session the JMS session
      * @param queueName the name of the queue
      * @throws JMSException when there is a connection error
      */
     public JmsPublisher(final Session session, final String queueName) throws JMSException {
+        this(session, queueName, null);
+    }
+
+    /**
+     * Create a new JMS Publisher that sends events as binary messages.
+     *
+     * <p>Each event is serialized with {@link ActivityStreamService#serializeBytes} and sent as a
+     * {@link BytesMessage} whose {@code Content-Type} property is the media type of the serializer.
+     *
+     * @param session the JMS session
+     * @param queueName the name of the queue
+     * @param serializer the event serializer, or {@code null} to send JSON-LD text messages
+     * @throws JMSException when there is a connection error
+     */
+    public JmsPublisher(final Session session, final String queueName, final ActivityStreamService serializer)
+            throws JMSException {
         requireNonNull(session, "JMS Session may not be null!");
         requireNonNull(queueName, "JMS Queue name may not be null!");
 
         this.session = session;
+        this.serializer = serializer;
         this.producer = session.createProducer(session.createQueue(queueName));
     }
 
@@ -80,14 +117,76 @@ public class JmsPublisher implements EventService {
     public void emit(final Event event) {
         requireNonNull(event, "Cannot emit a null event!");
 
-        service.serialize(event).ifPresent(json -> {
-            try {
-                final Message message = session.createTextMessage(json);
+        try {
+            final Optional<Message> message = buildMessage(event);
+            if (message.isPresent()) {
+                producer.send(message.get());
+                commit();
+            }
+        } catch (final JMSException ex) {
+            LOGGER.error("Error writing to broker: {}", ex.getMessage());
+            rollback();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Unlike {@link #emit}, which logs delivery errors, this method reports them to the caller
+     * so that the batch can be retried.
+     */
+    @Override
+    public void emitAll(final Collection<? extends Event> events) {
+        requireNonNull(events, "Cannot emit a null batch of events!");
+
+        try {
+            for (final Event event : events) {
+                final Optional<Message> message = buildMessage(event);
+                if (message.isPresent()) {
+                    producer.send(message.get());
+                }
+            }
+            commit();
+        } catch (final JMSException ex) {
+            rollback();
+            throw new RuntimeTrellisException("Error writing batch of " + events.size() + " events to broker", ex);
+        }
+    }
+
+    private Optional<Message> buildMessage(final Event event) throws JMSException {
+        if (isNull(serializer)) {
+            final Optional<String> json = service.serialize(event);
+            if (json.isPresent()) {
+                final Message message = session.createTextMessage(json.get());
                 message.setStringProperty("Content-Type", "application/ld+json");
-                producer.send(message);
-            } catch (final JMSException ex) {
-                LOGGER.error("Error writing to broker: {}", ex.getMessage());
+                return of(message);
+            }
+            return empty();
+        }
+
+        final Optional<byte[]> data = serializer.serializeBytes(event);
+        if (data.isPresent()) {
+            final BytesMessage message = session.createBytesMessage();
+            message.writeBytes(data.get());
+            message.setStringProperty("Content-Type", serializer.getMediaType());
+            return of(message);
+        }
+        return empty();
+    }
+
+    private void commit() throws JMSException {
+        if (session.getTransacted()) {
+            session.commit();
+        }
+    }
+
+    private void rollback() {
+        try {
+            if (session.getTransacted()) {
+                session.rollback();
             }
-        });
+        } catch (final JMSException ex) {
+            LOGGER.warn("Error rolling back JMS transaction: {}", ex.getMessage());
+        }
     }
 }
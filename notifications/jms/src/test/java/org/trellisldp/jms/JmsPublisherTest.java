@@ -14,16 +14,20 @@
 package org.trellisldp.jms;
 
 import static java.time.Instant.now;
+import static java.util.Arrays.asList;
 import static java.util.Collections.singleton;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static javax.jms.Session.AUTO_ACKNOWLEDGE;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -31,6 +35,7 @@ import static org.trellisldp.api.RDFUtils.TRELLIS_DATA_PREFIX;
 
 import java.time.Instant;
 
+import javax.jms.BytesMessage;
 import javax.jms.Connection;
 import javax.jms.JMSException;
 import javax.jms.MessageProducer;
@@ -45,6 +50,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.trellisldp.api.Event;
 import org.trellisldp.api.EventService;
+import org.trellisldp.api.RuntimeTrellisException;
+import org.trellisldp.event.BinaryEventSerializer;
 import org.trellisldp.vocabulary.AS;
 import org.trellisldp.vocabulary.LDP;
 import org.trellisldp.vocabulary.Trellis;
@@ -75,6 +82,9 @@ public class JmsPublisherTest {
     @Mock
     private TextMessage mockMessage;
 
+    @Mock
+    private BytesMessage mockBytesMessage;
+
     @Mock
     private MessageProducer mockProducer;
 
@@ -92,6 +102,7 @@ public class JmsPublisherTest {
         when(mockConnection.createSession(anyBoolean(), eq(AUTO_ACKNOWLEDGE))).thenReturn(mockSession);
         when(mockSession.createQueue(eq(queueName))).thenReturn(mockQueue);
         when(mockSession.createTextMessage(anyString())).thenReturn(mockMessage);
+        when(mockSession.createBytesMessage()).thenReturn(mockBytesMessage);
         when(mockSession.createProducer(any(Queue.class))).thenReturn(mockProducer);
 
         doNothing().when(mockProducer).send(any(TextMessage.class));
@@ -114,4 +125,49 @@ public class JmsPublisherTest {
 
         verify(mockProducer).send(eq(mockMessage));
     }
+
+    @Test
+    public void testJmsBatch() throws JMSException {
+        when(mockSession.getTransacted()).thenReturn(true);
+
+        final EventService svc = new JmsPublisher(mockSession, queueName);
+        svc.emitAll(asList(mockEvent, mockEvent, mockEvent));
+
+        verify(mockProducer, times(3)).send(eq(mockMessage));
+        verify(mockSession).commit();
+    }
+
+    @Test
+    public void testJmsBatchNonTransacted() throws JMSException {
+        final EventService svc = new JmsPublisher(mockSession, queueName);
+        svc.emitAll(asList(mockEvent, mockEvent));
+
+        verify(mockProducer, times(2)).send(eq(mockMessage));
+        verify(mockSession, never()).commit();
+    }
+
+    @Test
+    public void testBatchError() throws JMSException {
+        when(mockSession.getTransacted()).thenReturn(true);
+        doThrow(JMSException.class).when(mockProducer).send(eq(mockMessage));
+
+        final EventService svc = new JmsPublisher(mockSession, queueName);
+        assertThrows(RuntimeTrellisException.class, () -> svc.emitAll(asList(mockEvent, mockEvent)),
+                "No exception when the broker rejects a batch!");
+
+        verify(mockProducer).send(eq(mockMessage));
+        verify(mockSession, never()).commit();
+        verify(mockSession).rollback();
+    }
+
+    @Test
+    public void testJmsBinary() throws JMSException {
+        final EventService svc = new JmsPublisher(mockSession, queueName, new BinaryEventSerializer());
+        svc.emit(mockEvent);
+
+        verify(mockBytesMessage).writeBytes(any(byte[].class));
+        verify(mockBytesMessage).setStringProperty("Content-Type", BinaryEventSerializer.MEDIA_TYPE);
+        verify(mockProducer).send(eq(mockBytesMessage));
+        verify(mockSession, never()).createTextMessage(anyString());
+    }
 }
@@ -0,0 +1,183 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.kafka;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.slf4j.Logger;
+import org.trellisldp.api.Event;
+import org.trellisldp.api.EventService;
+import org.trellisldp.api.RuntimeTrellisException;
+
+/**
+ * A base class for Kafka message producers, keyed by the target resource of each event.
+ *
+ * <p>Because records are keyed by the target resource, all of the events for a resource are written to
+ * the same partition and, with an idempotent producer, are stored in the order in which they were sent.
+ * The outcome of each send is recorded in the delivery counters. Events that {@link #emit} could not
+ * deliver are passed to the failure handler, if one is set; otherwise they are logged.
+ *
+ * @param <T> the type of the serialized message
+ */
+public abstract class AbstractKafkaPublisher<T> implements EventService {
+
+    private static final Logger LOGGER = getLogger(AbstractKafkaPublisher.class);
+
+    private final Producer<String, T> producer;
+    private final String topic;
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong acknowledged = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile Consumer<Event> failureHandler;
+
+    /**
+     * Create a new Kafka Publisher.
+     * @param producer the producer
+     * @param topic the name of the kafka topic
+     */
+    protected AbstractKafkaPublisher(final Producer<String, T> producer, final String topic) {
+        requireNonNull(producer, "Kafka producer may not be null!");
+        requireNonNull(topic, "Kafka topic name may not be null!");
+
+        this.producer = producer;
+        this.topic = topic;
+    }
+
+    /**
+     * Serialize an event.
+     * @param event the event
+     * @return the serialized message, if the event could be serialized
+     */
+    protected abstract Optional<T> serialize(Event event);
+
+    /**
+     * Set the handler for events that could not be delivered by {@link #emit}.
+     *
+     * <p>The handler is called from the producer's I/O thread, so it should not block for long.
+     *
+     * @param failureHandler the failure handler, or {@code null} to log undelivered events
+     */
+    public void setFailureHandler(final Consumer<Event> failureHandler) {
+        this.failureHandler = failureHandler;
+    }
+
+    /**
+     * Get the number of messages handed to the producer.
+     * @return the number of messages sent
+     */
+    public long getSentCount() {
+        return sent.get();
+    }
+
+    /**
+     * Get the number of messages acknowledged by the cluster.
+     * @return the number of messages acknowledged
+     */
+    public long getAcknowledgedCount() {
+        return acknowledged.get();
+    }
+
+    /**
+     * Get the number of messages that could not be delivered.
+     * @return the number of failed messages
+     */
+    public long getFailureCount() {
+        return failed.get();
+    }
+
+    @Override
+    public void emit(final Event event) {
+        requireNonNull(event, "Cannot emit a null event!");
+
+        serialize(event).ifPresent(message -> {
+            LOGGER.debug("Sending message to Kafka topic: {}", topic);
+            send(event, message, ex -> handleFailure(event, ex));
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>All of the messages are handed to the producer, which batches them internally, and this method
+     * then waits until the cluster has acknowledged each of them.
+     */
+    @Override
+    public void emitAll(final Collection<? extends Event> events) {
+        requireNonNull(events, "Cannot emit a null batch of events!");
+
+        final List<Future<RecordMetadata>> results = new ArrayList<>(events.size());
+        for (final Event event : events) {
+            final Optional<T> message = serialize(event);
+            if (message.isPresent()) {
+                // Failures are reported to the caller, which is responsible for retrying the batch
+                results.add(send(event, message.get(), ex -> { }));
+            }
+        }
+        LOGGER.debug("Sent batch of {} messages to Kafka topic: {}", results.size(), topic);
+        try {
+            for (final Future<RecordMetadata> result : results) {
+                result.get();
+            }
+        } catch (final ExecutionException ex) {
+            throw new RuntimeTrellisException("Error writing batch of " + events.size() + " events to Kafka", ex);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeTrellisException("Interrupted while waiting for Kafka acknowledgement", ex);
+        }
+    }
+
+    private Future<RecordMetadata> send(final Event event, final T message, final Consumer<Exception> onFailure) {
+        sent.incrementAndGet();
+        return producer.send(new ProducerRecord<>(topic, event.getTarget().map(IRI::getIRIString).orElse(null),
+                    message), (metadata, ex) -> {
+            if (isNull(ex)) {
+                acknowledged.incrementAndGet();
+            } else {
+                failed.incrementAndGet();
+                onFailure.accept(ex);
+            }
+        });
+    }
+
+    private void handleFailure(final Event event, final Exception ex) {
+        final Consumer<Event> handler = failureHandler;
+        if (isNull(handler)) {
+            LOGGER.error("Error writing to Kafka topic {}: {}", topic, ex.getMessage());
+            return;
+        }
+        LOGGER.warn("Routing undelivered event {} to the failure handler: {}", event.getIdentifier(),
+                ex.getMessage());
+        try {
+            handler.accept(event);
+        } catch (final RuntimeException err) {
+            LOGGER.error("Error handling undelivered event {}: {}", event.getIdentifier(), err.getMessage());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.kafka;
+
+import static java.util.Objects.requireNonNull;
+import static org.trellisldp.kafka.KafkaPublisher.KAFKA_TOPIC;
+
+import java.util.Optional;
+
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.tamaya.ConfigurationProvider;
+import org.trellisldp.api.ActivityStreamService;
+import org.trellisldp.api.Event;
+
+/**
+ * A Kafka message producer that publishes events in the binary form produced by an {@link ActivityStreamService}.
+ *
+ * <p>This is typically used with a compact serialization, such as the {@code BinaryEventSerializer}, whose
+ * messages are written to the topic without any additional text encoding.
+ */
+public class KafkaBinaryPublisher extends AbstractKafkaPublisher<byte[]> {
+
+    private final ActivityStreamService serializer;
+
+    /**
+     * Create a new Kafka Publisher.
+     * @param producer the producer
+     * @param serializer the event serializer
+     */
+    public KafkaBinaryPublisher(final Producer<String, byte[]> producer, final ActivityStreamService serializer) {
+        this(producer, ConfigurationProvider.getConfiguration().get(KAFKA_TOPIC), serializer);
+    }
+
+    /**
+     * Create a new Kafka Publisher.
+     * @param producer the producer
+     * @param topic the name of the kafka topic
+     * @param serializer the event serializer
+     */
+    public KafkaBinaryPublisher(final Producer<String, byte[]> producer, final String topic,
+            final ActivityStreamService serializer) {
+        super(producer, topic);
+        requireNonNull(serializer, "Event serializer may not be null!");
+        this.serializer = serializer;
+    }
+
+    @Override
+    protected Optional<byte[]> serialize(final Event event) {
+        return serializer.serializeBytes(event);
+    }
+}
@@ -13,37 +13,29 @@
  */
 package org.trellisldp.kafka;
 
-import static java.util.Objects.requireNonNull;
-import static org.slf4j.LoggerFactory.getLogger;
 import static org.trellisldp.api.RDFUtils.findFirst;
 
+import java.util.Optional;
+
 import javax.inject.Inject;
 
-import org.apache.commons.rdf.api.IRI;
 import org.apache.kafka.clients.producer.Producer;
-import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.tamaya.ConfigurationProvider;
-import org.slf4j.Logger;
 import org.trellisldp.api.ActivityStreamService;
 import org.trellisldp.api.Event;
-import org.trellisldp.api.EventService;
 import org.trellisldp.api.RuntimeTrellisException;
 
 /**
  * A Kafka message producer capable of publishing messages to a Kafka cluster.
  */
-public class KafkaPublisher implements EventService {
+public class KafkaPublisher extends AbstractKafkaPublisher<String> {
 
-    private static final Logger LOGGER = getLogger(KafkaPublisher.class);
     private static ActivityStreamService service = findFirst(ActivityStreamService.class)
         .orElseThrow(() -> new RuntimeTrellisException("No ActivityStream service available!"));
 
     /** The configuration key controlling the name of the kafka topic. **/
     public static final String KAFKA_TOPIC = "trellis.kafka.topic";
 
-    private final Producer<String, String> producer;
-    private final String topic;
-
     /**
      * Create a new Kafka Publisher.
      * @param producer the producer
@@ -59,22 +51,11 @@ public class KafkaPublisher implements EventService {
      * @param topic the name of the kafka topic
      */
     public KafkaPublisher(final Producer<String, String> producer, final String topic) {
-        requireNonNull(producer, "Kafka producer may not be null!");
-        requireNonNull(topic, "Kafka topic name may not be null!");
-
-        this.producer = producer;
-        this.topic = topic;
+        super(producer, topic);
     }
 
     @Override
-    public void emit(final Event event) {
-        requireNonNull(event, "Cannot emit a null event!");
-
-        service.serialize(event).ifPresent(message -> {
-            LOGGER.debug("Sending message to Kafka topic: {}", topic);
-            producer.send(
-                new ProducerRecord<>(topic, event.getTarget().map(IRI::getIRIString).orElse(null),
-                        message));
-        });
+    protected Optional<String> serialize(final Event event) {
+        return service.serialize(event);
     }
 }
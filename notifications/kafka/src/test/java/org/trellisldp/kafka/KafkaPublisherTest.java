@@ -14,26 +14,37 @@
 package org.trellisldp.kafka;
 
 import static java.time.Instant.now;
+import static java.util.Arrays.asList;
 import static java.util.Collections.singleton;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.commons.rdf.api.RDF;
 import org.apache.commons.rdf.simple.SimpleRDF;
 import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.trellisldp.api.Event;
 import org.trellisldp.api.EventService;
+import org.trellisldp.api.RuntimeTrellisException;
+import org.trellisldp.event.BinaryEventSerializer;
 import org.trellisldp.vocabulary.AS;
 import org.trellisldp.vocabulary.LDP;
 import org.trellisldp.vocabulary.Trellis;
@@ -55,6 +66,9 @@ public class KafkaPublisherTest {
     @Mock
     private Event mockEvent;
 
+    @Mock
+    private Producer<String, String> mockProducer;
+
     @BeforeEach
     public void setUp() {
         initMocks(this);
@@ -76,4 +90,70 @@ public class KafkaPublisherTest {
         assertEquals(1L, records.size(), "Incorrect total records size!");
         assertEquals(1L, records.stream().filter(r -> r.topic().equals(queueName)).count(), "Incorrect filtered size!");
     }
+
+    @Test
+    public void testKafkaBatch() {
+        final EventService svc = new KafkaPublisher(producer);
+        svc.emitAll(asList(mockEvent, mockEvent, mockEvent));
+
+        final List<ProducerRecord<String, String>> records = producer.history();
+        assertEquals(3L, records.size(), "Incorrect total records size!");
+        assertEquals(3L, records.stream().filter(r -> r.topic().equals(queueName)).count(), "Incorrect filtered size!");
+    }
+
+    @Test
+    public void testKafkaBatchError() {
+        final CompletableFuture<RecordMetadata> failure = new CompletableFuture<>();
+        failure.completeExceptionally(new RuntimeException("Expected exception"));
+        when(mockProducer.send(any(), any())).thenReturn(failure);
+
+        final EventService svc = new KafkaPublisher(mockProducer, queueName);
+        assertThrows(RuntimeTrellisException.class, () -> svc.emitAll(asList(mockEvent, mockEvent)),
+                "No exception when the cluster rejects a batch!");
+    }
+
+    @Test
+    public void testKafkaBinary() {
+        final MockProducer<String, byte[]> binaryProducer = new MockProducer<>(true, new StringSerializer(),
+                new ByteArraySerializer());
+        final BinaryEventSerializer serializer = new BinaryEventSerializer();
+        final EventService svc = new KafkaBinaryPublisher(binaryProducer, serializer);
+        svc.emit(mockEvent);
+
+        final List<ProducerRecord<String, byte[]>> records = binaryProducer.history();
+        assertEquals(1L, records.size(), "Incorrect total records size!");
+        assertEquals(queueName, records.get(0).topic(), "Incorrect topic!");
+        assertEquals("trellis:data/resource", records.get(0).key(), "Incorrect record key!");
+        assertTrue(serializer.deserialize(records.get(0).value()).isPresent(), "Record could not be read!");
+    }
+
+    @Test
+    public void testKafkaDeliveryCounts() {
+        final MockProducer<String, String> manualProducer = new MockProducer<>(false, new StringSerializer(),
+                new StringSerializer());
+        final KafkaPublisher svc = new KafkaPublisher(manualProducer, queueName);
+        svc.emit(mockEvent);
+        svc.emit(mockEvent);
+        assertEquals(2L, svc.getSentCount(), "Incorrect count of sent messages!");
+        assertEquals(0L, svc.getAcknowledgedCount(), "Unexpected acknowledged messages!");
+
+        manualProducer.completeNext();
+        manualProducer.errorNext(new RuntimeException("Expected exception"));
+        assertEquals(1L, svc.getAcknowledgedCount(), "Incorrect count of acknowledged messages!");
+        assertEquals(1L, svc.getFailureCount(), "Incorrect count of failed messages!");
+    }
+
+    @Test
+    public void testKafkaFailureHandler() {
+        final MockProducer<String, String> manualProducer = new MockProducer<>(false, new StringSerializer(),
+                new StringSerializer());
+        final List<Event> undelivered = new ArrayList<>();
+        final KafkaPublisher svc = new KafkaPublisher(manualProducer, queueName);
+        svc.setFailureHandler(undelivered::add);
+        svc.emit(mockEvent);
+        manualProducer.errorNext(new RuntimeException("Expected exception"));
+
+        assertEquals(1L, undelivered.size(), "Undelivered event not routed to the failure handler!");
+        assertEquals(mockEvent, undelivered.get(0), "Incorrect undelivered event!");
+    }
 }
@@ -0,0 +1,688 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.websub;
+
+import static java.lang.Math.min;
+import static java.lang.System.currentTimeMillis;
+import static java.net.URLEncoder.encode;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptySet;
+import static java.util.Locale.ROOT;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.Executors.newScheduledThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toSet;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.trellisldp.api.RDFUtils.findFirst;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URL;
+import java.security.GeneralSecurityException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.ConfigurationProvider;
+import org.slf4j.Logger;
+import org.trellisldp.api.ActivityStreamService;
+import org.trellisldp.api.Event;
+import org.trellisldp.api.EventService;
+import org.trellisldp.api.RuntimeTrellisException;
+
+/**
+ * An embedded WebSub hub, which delivers notifications to the subscribers of a resource.
+ *
+ * <p>A subscription to a resource receives the notifications about that resource; a subscription to a
+ * container also receives the notifications about the container's direct children. Subscription and
+ * unsubscription requests are verified with the subscriber's callback before they take effect, and
+ * subscriptions expire when their lease ends. A subscription may be limited to the resources that its
+ * agent can read, in which case every notification is checked before it is delivered.
+ *
+ * <p>Requests are verified on their own bounded pool of threads, so that slow callbacks do not delay deliveries.
+ * The number of subscriptions is limited, both in total and for each agent, and callbacks at loopback,
+ * link-local or private network addresses are refused unless their host is explicitly allowed.
+ *
+ * <p>Each subscriber has its own bounded queue of notifications and receives at most one request at a time,
+ * so that notifications arrive in order. Up to the configured batch size, queued notifications are sent
+ * together as a JSON-LD array. A failed delivery is retried with exponential backoff; a subscriber that
+ * responds with {@code 410 Gone} is removed. Deliveries to a subscriber are limited to the configured
+ * number of requests per second.
+ *
+ * @see <a href="https://www.w3.org/TR/websub/">WebSub</a>
+ */
+public class WebSubHub implements EventService, AutoCloseable {
+
+    /** The configuration key controlling the number of delivery threads. **/
+    public static final String WEBSUB_THREADS = "trellis.websub.threads";
+
+    /** The configuration key controlling the maximum number of notifications in a single delivery. **/
+    public static final String WEBSUB_BATCH_SIZE = "trellis.websub.batchsize";
+
+    /** The configuration key controlling the maximum number of notifications queued for a subscriber. **/
+    public static final String WEBSUB_QUEUE_SIZE = "trellis.websub.queuesize";
+
+    /** The configuration key controlling the maximum number of deliveries per second to a subscriber. **/
+    public static final String WEBSUB_RATE_LIMIT = "trellis.websub.ratelimit";
+
+    /** The configuration key controlling the number of times a failed delivery is retried. **/
+    public static final String WEBSUB_RETRIES = "trellis.websub.retries";
+
+    /** The configuration key controlling the initial retry delay, in milliseconds. **/
+    public static final String WEBSUB_RETRY_DELAY = "trellis.websub.retrydelay";
+
+    /** The configuration key controlling the default subscription lease, in seconds. **/
+    public static final String WEBSUB_LEASE = "trellis.websub.lease";
+
+    /** The configuration key controlling the timeout of requests to subscribers, in milliseconds. **/
+    public static final String WEBSUB_TIMEOUT = "trellis.websub.timeout";
+
+    /** The configuration key controlling the number of threads that verify subscription requests. **/
+    public static final String WEBSUB_VERIFY_THREADS = "trellis.websub.verifythreads";
+
+    /** The configuration key controlling the maximum number of subscriptions. **/
+    public static final String WEBSUB_MAX_SUBSCRIPTIONS = "trellis.websub.maxsubscriptions";
+
+    /** The configuration key controlling the maximum number of subscriptions for a single agent. **/
+    public static final String WEBSUB_MAX_AGENT_SUBSCRIPTIONS = "trellis.websub.maxagentsubscriptions";
+
+    /**
+     * The configuration key listing the callback hosts that are allowed even though they resolve to a loopback,
+     * link-local or private network address (comma-delimited).
+     **/
+    public static final String WEBSUB_ALLOWED_HOSTS = "trellis.websub.allowedhosts";
+
+    private static final Logger LOGGER = getLogger(WebSubHub.class);
+    private static final String SUBSCRIBE = "subscribe";
+    private static final String UNSUBSCRIBE = "unsubscribe";
+    private static final String HMAC = "HmacSHA256";
+    private static final long MAX_RETRY_DELAY = 300000L;
+    private static final int MAX_PENDING_VERIFICATIONS = 1000;
+    private static final long EXPIRY_INTERVAL = 60L;
+
+    private static ActivityStreamService service = findFirst(ActivityStreamService.class)
+        .orElseThrow(() -> new RuntimeTrellisException("No ActivityStream service available!"));
+
+    private final Map<String, Map<String, Subscriber>> subscriptions = new ConcurrentHashMap<>();
+    private final Map<String, Integer> agentSubscriptions = new HashMap<>();
+    private final ScheduledExecutorService executor;
+    private final ExecutorService verifier;
+    private final int batchSize;
+    private final int queueSize;
+    private final double rateLimit;
+    private final int maxRetries;
+    private final long retryDelay;
+    private final long defaultLease;
+    private final int timeout;
+    private final int maxSubscriptions;
+    private final int maxAgentSubscriptions;
+    private final Set<String> allowedHosts;
+    private int totalSubscriptions;
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Create a WebSub hub.
+     */
+    public WebSubHub() {
+        this(ConfigurationProvider.getConfiguration());
+    }
+
+    private WebSubHub(final Configuration config) {
+        this(config.getOrDefault(WEBSUB_THREADS, Integer.class, 4),
+                config.getOrDefault(WEBSUB_BATCH_SIZE, Integer.class, 10),
+                config.getOrDefault(WEBSUB_QUEUE_SIZE, Integer.class, 1000),
+                config.getOrDefault(WEBSUB_RATE_LIMIT, Double.class, 10.0),
+                config.getOrDefault(WEBSUB_RETRIES, Integer.class, 5),
+                config.getOrDefault(WEBSUB_RETRY_DELAY, Long.class, 1000L),
+                config.getOrDefault(WEBSUB_LEASE, Long.class, 86400L),
+                config.getOrDefault(WEBSUB_TIMEOUT, Integer.class, 10000),
+                config.getOrDefault(WEBSUB_VERIFY_THREADS, Integer.class, 2),
+                config.getOrDefault(WEBSUB_MAX_SUBSCRIPTIONS, Integer.class, 10000),
+                config.getOrDefault(WEBSUB_MAX_AGENT_SUBSCRIPTIONS, Integer.class, 100),
+                intoSet(config.getOrDefault(WEBSUB_ALLOWED_HOSTS, "")));
+    }
+
+    /**
+     * Create a WebSub hub.
+     * @param threads the number of delivery threads
+     * @param batchSize the maximum number of notifications in a single delivery
+     * @param queueSize the maximum number of notifications queued for a subscriber
+     * @param rateLimit the maximum number of deliveries per second to a subscriber; zero disables the limit
+     * @param maxRetries the number of times a failed delivery is retried
+     * @param retryDelay the initial retry delay, in milliseconds
+     * @param defaultLease the subscription lease, in seconds, when a subscriber does not request one
+     * @param timeout the timeout of requests to subscribers, in milliseconds
+     */
+    public WebSubHub(final int threads, final int batchSize, final int queueSize, final double rateLimit,
+            final int maxRetries, final long retryDelay, final long defaultLease, final int timeout) {
+        this(threads, batchSize, queueSize, rateLimit, maxRetries, retryDelay, defaultLease, timeout, 2, 10000, 100,
+                emptySet());
+    }
+
+    /**
+     * Create a WebSub hub.
+     * @param threads the number of delivery threads
+     * @param batchSize the maximum number of notifications in a single delivery
+     * @param queueSize the maximum number of notifications queued for a subscriber
+     * @param rateLimit the maximum number of deliveries per second to a subscriber; zero disables the limit
+     * @param maxRetries the number of times a failed delivery is retried
+     * @param retryDelay the initial retry delay, in milliseconds
+     * @param defaultLease the subscription lease, in seconds, when a subscriber does not request one
+     * @param timeout the timeout of requests to subscribers, in milliseconds
+     * @param verifyThreads the number of threads that verify subscription requests
+     * @param maxSubscriptions the maximum number of subscriptions, including those awaiting verification
+     * @param maxAgentSubscriptions the maximum number of subscriptions for a single agent
+     * @param allowedHosts the callback hosts that are allowed even though they resolve to a loopback, link-local
+     *                     or private network address
+     */
+    public WebSubHub(final int threads, final int batchSize, final int queueSize, final double rateLimit,
+            final int maxRetries, final long retryDelay, final long defaultLease, final int timeout,
+            final int verifyThreads, final int maxSubscriptions, final int maxAgentSubscriptions,
+            final Set<String> allowedHosts) {
+        requireNonNull(allowedHosts, "WebSub allowed hosts may not be null!");
+        this.executor = newScheduledThreadPool(threads);
+        this.verifier = new ThreadPoolExecutor(verifyThreads, verifyThreads, 0L, MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_PENDING_VERIFICATIONS));
+        this.batchSize = batchSize;
+        this.queueSize = queueSize;
+        this.rateLimit = rateLimit;
+        this.maxRetries = maxRetries;
+        this.retryDelay = retryDelay;
+        this.defaultLease = defaultLease;
+        this.timeout = timeout;
+        this.maxSubscriptions = maxSubscriptions;
+        this.maxAgentSubscriptions = maxAgentSubscriptions;
+        this.allowedHosts = allowedHosts.stream().map(host -> host.toLowerCase(ROOT)).collect(toSet());
+        executor.scheduleWithFixedDelay(this::expire, EXPIRY_INTERVAL, EXPIRY_INTERVAL, SECONDS);
+    }
+
+    /**
+     * Request a subscription. The subscription takes effect once the subscriber has confirmed it.
+     * @param topic the location of the resource
+     * @param callback the location to which notifications are delivered
+     * @param leaseSeconds the requested lease, in seconds, or {@code null} for the default lease
+     * @param secret the secret used to sign notifications, or {@code null} for unsigned notifications
+     * @return true if the request was accepted for verification; false if the hub cannot accept more subscriptions
+     */
+    public boolean subscribe(final String topic, final String callback, final Long leaseSeconds,
+            final String secret) {
+        return subscribe(topic, callback, leaseSeconds, secret, null, url -> true);
+    }
+
+    /**
+     * Request a subscription. The subscription takes effect once the subscriber has confirmed it.
+     * @param topic the location of the resource
+     * @param callback the location to which notifications are delivered
+     * @param leaseSeconds the requested lease, in seconds, or {@code null} for the default lease
+     * @param secret the secret used to sign notifications, or {@code null} for unsigned notifications
+     * @param agent the agent making the request, or {@code null} for an anonymous agent
+     * @param readable a test of whether the subscriber may read a resource, given its location; notifications
+     *                 about other resources are not delivered
+     * @return true if the request was accepted for verification; false if the hub cannot accept more subscriptions
+     */
+    public boolean subscribe(final String topic, final String callback, final Long leaseSeconds, final String secret,
+            final String agent, final Predicate<String> readable) {
+        requireNonNull(topic, "WebSub topic may not be null!");
+        requireNonNull(callback, "WebSub callback may not be null!");
+        requireNonNull(readable, "WebSub read access test may not be null!");
+        final long lease = isNull(leaseSeconds) || leaseSeconds <= 0 ? defaultLease : leaseSeconds;
+        final String key = normalize(topic);
+        final String owner = isNull(agent) ? "" : agent;
+
+        // Each request holds a place until it is resolved; renewals of an existing subscription are never refused
+        final Map<String, Subscriber> existing = subscriptions.get(key);
+        if (!reserve(owner, nonNull(existing) && existing.containsKey(callback))) {
+            LOGGER.warn("Refusing a subscription of {} to {}: too many subscriptions", callback, topic);
+            return false;
+        }
+        final boolean accepted = verifyLater(() -> {
+            if (isAllowedCallback(callback) && verify(SUBSCRIBE, topic, callback, lease)) {
+                final Subscriber created = new Subscriber(topic, callback, owner);
+                final Subscriber previous = subscriptions.computeIfAbsent(key, k -> new ConcurrentHashMap<>())
+                    .putIfAbsent(callback, created);
+                if (nonNull(previous)) {
+                    release(owner);
+                }
+                (isNull(previous) ? created : previous)
+                    .renew(secret, readable, currentTimeMillis() + SECONDS.toMillis(lease));
+                LOGGER.info("Subscribed {} to {} for {} seconds", callback, topic, lease);
+            } else {
+                release(owner);
+            }
+        });
+        if (!accepted) {
+            release(owner);
+        }
+        return accepted;
+    }
+
+    /**
+     * Request that a subscription be removed. The subscription ends once the subscriber has confirmed it.
+     * @param topic the location of the resource
+     * @param callback the location to which notifications are delivered
+     * @return true if the request was accepted for verification; false if the hub is too busy to accept it
+     */
+    public boolean unsubscribe(final String topic, final String callback) {
+        requireNonNull(topic, "WebSub topic may not be null!");
+        requireNonNull(callback, "WebSub callback may not be null!");
+        return verifyLater(() -> {
+            if (isAllowedCallback(callback) && verify(UNSUBSCRIBE, topic, callback, 0L)) {
+                remove(normalize(topic), callback);
+                LOGGER.info("Unsubscribed {} from {}", callback, topic);
+            }
+        });
+    }
+
+    @Override
+    public void emit(final Event event) {
+        requireNonNull(event, "Cannot emit a null event!");
+        final String location = event.getTarget().map(IRI::getIRIString).orElse(null);
+        if (isNull(location)) {
+            return;
+        }
+
+        final String target = normalize(location);
+
+        final List<Subscriber> recipients = new ArrayList<>();
+        addSubscribers(recipients, target);
+        addSubscribers(recipients, getParent(target));
+        if (!recipients.isEmpty()) {
+            service.serialize(event).ifPresent(message -> recipients.forEach(subscriber -> enqueue(subscriber,
+                            new Notification(location, message))));
+        }
+    }
+
+    /**
+     * Stop delivering notifications.
+     */
+    @Override
+    public void close() {
+        verifier.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Get the number of active subscriptions.
+     * @return the number of subscriptions
+     */
+    public int getSubscriptionCount() {
+        return subscriptions.values().stream().mapToInt(Map::size).sum();
+    }
+
+    /**
+     * Get the number of notifications delivered to subscribers.
+     * @return the number of delivered notifications
+     */
+    public long getDeliveredCount() {
+        return delivered.get();
+    }
+
+    /**
+     * Get the number of notifications that could not be delivered after all retries.
+     * @return the number of failed notifications
+     */
+    public long getFailureCount() {
+        return failed.get();
+    }
+
+    /**
+     * Get the number of notifications discarded because a subscriber's queue was full.
+     * @return the number of dropped notifications
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private boolean verifyLater(final Runnable verification) {
+        try {
+            verifier.execute(verification);
+            return true;
+        } catch (final RejectedExecutionException ex) {
+            LOGGER.warn("Too many WebSub requests are awaiting verification");
+            return false;
+        }
+    }
+
+    private boolean reserve(final String agent, final boolean renewal) {
+        synchronized (agentSubscriptions) {
+            final int count = agentSubscriptions.getOrDefault(agent, 0);
+            if (!renewal && (totalSubscriptions >= maxSubscriptions || count >= maxAgentSubscriptions)) {
+                return false;
+            }
+            agentSubscriptions.put(agent, count + 1);
+            totalSubscriptions++;
+            return true;
+        }
+    }
+
+    private void release(final String agent) {
+        synchronized (agentSubscriptions) {
+            agentSubscriptions.computeIfPresent(agent, (k, count) -> count > 1 ? count - 1 : null);
+            totalSubscriptions--;
+        }
+    }
+
+    private void expire() {
+        subscriptions.values().forEach(subscribers -> subscribers.values().stream().filter(Subscriber::isExpired)
+                .forEach(subscriber -> remove(normalize(subscriber.topic), subscriber.callback)));
+    }
+
+    private boolean isAllowedCallback(final String callback) {
+        try {
+            final String host = new URL(callback).getHost().toLowerCase(ROOT);
+            if (allowedHosts.contains(host)) {
+                return true;
+            }
+            for (final InetAddress address : InetAddress.getAllByName(host)) {
+                if (isInternal(address)) {
+                    LOGGER.warn("Refusing the callback {} at the internal address {}", callback, address);
+                    return false;
+                }
+            }
+            return true;
+        } catch (final IOException ex) {
+            LOGGER.warn("Cannot resolve the callback {}: {}", callback, ex.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean isInternal(final InetAddress address) {
+        return address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress()
+            || address.isSiteLocalAddress() || address.isMulticastAddress()
+            // IPv6 unique local addresses, fc00::/7
+            || address instanceof Inet6Address && (address.getAddress()[0] & 0xfe) == 0xfc;
+    }
+
+    private void addSubscribers(final List<Subscriber> recipients, final String topic) {
+        if (nonNull(topic)) {
+            final Map<String, Subscriber> subscribers = subscriptions.get(topic);
+            if (nonNull(subscribers)) {
+                recipients.addAll(subscribers.values());
+            }
+        }
+    }
+
+    private void enqueue(final Subscriber subscriber, final Notification notification) {
+        synchronized (subscriber) {
+            if (subscriber.pending.size() >= queueSize) {
+                subscriber.pending.removeFirst();
+                dropped.incrementAndGet();
+            }
+            subscriber.pending.addLast(notification);
+            if (!subscriber.scheduled) {
+                subscriber.scheduled = true;
+                executor.execute(() -> deliver(subscriber));
+            }
+        }
+    }
+
+    private void deliver(final Subscriber subscriber) {
+        if (subscriber.isExpired()) {
+            LOGGER.info("Subscription of {} to {} has expired", subscriber.callback, subscriber.topic);
+            remove(normalize(subscriber.topic), subscriber.callback);
+            return;
+        }
+
+        final long wait = subscriber.acquire(rateLimit);
+        if (wait > 0) {
+            executor.schedule(() -> deliver(subscriber), wait, MILLISECONDS);
+            return;
+        }
+
+        // Notifications are checked against the subscriber's access when they are sent, not when they are queued,
+        // and outside of the subscriber's lock so that emitting an event is never delayed by an access check
+        if (subscriber.inflight.isEmpty()) {
+            final List<Notification> candidates = new ArrayList<>();
+            synchronized (subscriber) {
+                while (candidates.size() < batchSize && !subscriber.pending.isEmpty()) {
+                    candidates.add(subscriber.pending.removeFirst());
+                }
+            }
+            candidates.stream().filter(notification -> subscriber.readable.test(notification.target))
+                .map(notification -> notification.message).forEachOrdered(subscriber.inflight::add);
+            if (subscriber.inflight.isEmpty()) {
+                complete(subscriber);
+                return;
+            }
+        }
+
+        final List<String> batch = new ArrayList<>(subscriber.inflight);
+        final int status = post(subscriber, batch.size() == 1 ? batch.get(0) : "[" + String.join(",", batch) + "]");
+        if (status == 410) {
+            LOGGER.info("Subscriber {} to {} is gone", subscriber.callback, subscriber.topic);
+            remove(normalize(subscriber.topic), subscriber.callback);
+            return;
+        } else if (status >= 200 && status < 300) {
+            delivered.addAndGet(batch.size());
+        } else if (subscriber.attempts < maxRetries) {
+            final long delay = min(retryDelay << subscriber.attempts, MAX_RETRY_DELAY);
+            subscriber.attempts++;
+            LOGGER.warn("Delivery to {} failed with status {}, retrying in {} ms", subscriber.callback, status,
+                    delay);
+            executor.schedule(() -> deliver(subscriber), delay, MILLISECONDS);
+            return;
+        } else {
+            LOGGER.error("Delivery to {} failed after {} attempts", subscriber.callback, subscriber.attempts + 1);
+            failed.addAndGet(batch.size());
+        }
+
+        subscriber.attempts = 0;
+        subscriber.inflight.clear();
+        complete(subscriber);
+    }
+
+    private void complete(final Subscriber subscriber) {
+        synchronized (subscriber) {
+            if (subscriber.pending.isEmpty()) {
+                subscriber.scheduled = false;
+            } else {
+                executor.execute(() -> deliver(subscriber));
+            }
+        }
+    }
+
+    private int post(final Subscriber subscriber, final String body) {
+        // The callback's host is resolved again, in case its address has changed since it was verified
+        if (!isAllowedCallback(subscriber.callback)) {
+            return -1;
+        }
+        final byte[] data = body.getBytes(UTF_8);
+        try {
+            final HttpURLConnection conn = (HttpURLConnection) new URL(subscriber.callback).openConnection();
+            conn.setConnectTimeout(timeout);
+            conn.setReadTimeout(timeout);
+            conn.setRequestMethod("POST");
+            conn.setDoOutput(true);
+            conn.setRequestProperty("Content-Type", service.getMediaType());
+            conn.setRequestProperty("Link", "<" + subscriber.topic + ">; rel=\"self\"");
+            final String secret = subscriber.secret;
+            if (nonNull(secret)) {
+                conn.setRequestProperty("X-Hub-Signature", "sha256=" + sign(secret, data));
+            }
+            try (final OutputStream out = conn.getOutputStream()) {
+                out.write(data);
+            }
+            final int status = conn.getResponseCode();
+            conn.disconnect();
+            return status;
+        } catch (final IOException ex) {
+            LOGGER.debug("Error delivering notification to {}: {}", subscriber.callback, ex.getMessage());
+            return -1;
+        }
+    }
+
+    private boolean verify(final String mode, final String topic, final String callback, final long lease) {
+        final String challenge = randomUUID().toString();
+        final StringBuilder url = new StringBuilder(callback).append(callback.contains("?") ? '&' : '?')
+            .append("hub.mode=").append(mode)
+            .append("&hub.topic=").append(encode(topic, UTF_8))
+            .append("&hub.challenge=").append(challenge);
+        if (SUBSCRIBE.equals(mode)) {
+            url.append("&hub.lease_seconds=").append(lease);
+        }
+        try {
+            final HttpURLConnection conn = (HttpURLConnection) new URL(url.toString()).openConnection();
+            conn.setConnectTimeout(timeout);
+            conn.setReadTimeout(timeout);
+            final int status = conn.getResponseCode();
+            if (status >= 200 && status < 300) {
+                try (final InputStream input = conn.getInputStream()) {
+                    if (challenge.equals(read(input).trim())) {
+                        return true;
+                    }
+                }
+            }
+            LOGGER.warn("Subscriber {} did not confirm the {} request for {}", callback, mode, topic);
+        } catch (final IOException ex) {
+            LOGGER.warn("Error verifying the {} request of {} for {}: {}", mode, callback, topic, ex.getMessage());
+        }
+        return false;
+    }
+
+    private void remove(final String topic, final String callback) {
+        subscriptions.computeIfPresent(topic, (k, subscribers) -> {
+            final Subscriber subscriber = subscribers.remove(callback);
+            if (nonNull(subscriber)) {
+                release(subscriber.agent);
+            }
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private static Set<String> intoSet(final String property) {
+        return Stream.of(property.split(",")).map(String::trim).filter(x -> !x.isEmpty()).collect(toSet());
+    }
+
+    private static String read(final InputStream input) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1024];
+        int len;
+        while ((len = input.read(buffer)) != -1 && out.size() < 4096) {
+            out.write(buffer, 0, len);
+        }
+        return new String(out.toByteArray(), UTF_8);
+    }
+
+    private static String sign(final String secret, final byte[] data) {
+        try {
+            final Mac mac = Mac.getInstance(HMAC);
+            mac.init(new SecretKeySpec(secret.getBytes(UTF_8), HMAC));
+            final StringBuilder hex = new StringBuilder();
+            for (final byte b : mac.doFinal(data)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (final GeneralSecurityException ex) {
+            throw new RuntimeTrellisException("Error signing WebSub notification", ex);
+        }
+    }
+
+    private static String normalize(final String topic) {
+        return topic.endsWith("/") ? topic.substring(0, topic.length() - 1) : topic;
+    }
+
+    private static String getParent(final String target) {
+        final int index = target.lastIndexOf('/');
+        // Do not go above the root of the server, e.g. http://example.com
+        return index > target.indexOf("//") + 1 ? target.substring(0, index) : null;
+    }
+
+    private static final class Notification {
+        private final String target;
+        private final String message;
+
+        private Notification(final String target, final String message) {
+            this.target = target;
+            this.message = message;
+        }
+    }
+
+    private static final class Subscriber {
+        private final String topic;
+        private final String callback;
+        private final String agent;
+        private final Deque<Notification> pending = new ArrayDeque<>();
+        private final List<String> inflight = new ArrayList<>();
+        private volatile String secret;
+        private volatile Predicate<String> readable = url -> false;
+        private volatile long expires;
+        private boolean scheduled;
+        private int attempts;
+        private double tokens = 1.0;
+        private long refilled = currentTimeMillis();
+
+        private Subscriber(final String topic, final String callback, final String agent) {
+            this.topic = topic;
+            this.callback = callback;
+            this.agent = agent;
+        }
+
+        private void renew(final String secret, final Predicate<String> readable, final long expires) {
+            this.secret = secret;
+            this.readable = readable;
+            this.expires = expires;
+        }
+
+        private boolean isExpired() {
+            return currentTimeMillis() > expires;
+        }
+
+        /**
+         * Take a token from the subscriber's bucket.
+         * @return zero if a token was taken; otherwise, the time in milliseconds until one is available
+         */
+        private synchronized long acquire(final double rate) {
+            if (rate <= 0) {
+                return 0L;
+            }
+            final long now = currentTimeMillis();
+            tokens = Math.min(Math.max(rate, 1.0), tokens + (now - refilled) * rate / 1000.0);
+            refilled = now;
+            if (tokens >= 1.0) {
+                tokens -= 1.0;
+                return 0L;
+            }
+            return (long) Math.ceil((1.0 - tokens) * 1000.0 / rate);
+        }
+    }
+}
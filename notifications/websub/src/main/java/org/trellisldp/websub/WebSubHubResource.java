@@ -0,0 +1,155 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.websub;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+import static javax.ws.rs.core.MediaType.APPLICATION_FORM_URLENCODED;
+import static javax.ws.rs.core.Response.Status.ACCEPTED;
+import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
+import static javax.ws.rs.core.Response.Status.FORBIDDEN;
+import static javax.ws.rs.core.Response.Status.SERVICE_UNAVAILABLE;
+import static javax.ws.rs.core.Response.Status.TOO_MANY_REQUESTS;
+import static javax.ws.rs.core.Response.status;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.trellisldp.http.domain.HttpConstants.CONFIGURATION_BASE_URL;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.function.Predicate;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.FormParam;
+import javax.ws.rs.POST;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Response;
+
+import org.apache.tamaya.ConfigurationProvider;
+import org.slf4j.Logger;
+import org.trellisldp.api.AccessControlService;
+import org.trellisldp.http.impl.ReadAuthorizer;
+
+/**
+ * A JAX-RS resource that accepts WebSub subscription requests for a {@link WebSubHub}.
+ *
+ * <p>Requests are verified with the subscriber asynchronously, so a valid request is answered with
+ * {@code 202 Accepted}; a request with a missing or malformed parameter is answered with {@code 400 Bad Request}.
+ * A subscription is only accepted if the agent of the request may read the topic; otherwise, the request is
+ * answered with {@code 403 Forbidden}. The agent's access is also checked for each notification that is delivered,
+ * so that a subscription to a container does not reveal children that the agent cannot read. If the hub cannot
+ * accept more subscriptions, for instance because the agent has reached its limit, the request is answered with
+ * {@code 429 Too Many Requests}.
+ *
+ * <p>The hub is served as an endpoint of the {@link org.trellisldp.http.EndpointResource}, so that it does not hide
+ * an LDP resource.
+ *
+ * @see <a href="https://www.w3.org/TR/websub/#subscriber-sends-subscription-request">WebSub</a>
+ */
+public class WebSubHubResource {
+
+    private static final Logger LOGGER = getLogger(WebSubHubResource.class);
+    private static final int MAX_SECRET_BYTES = 200;
+
+    private final WebSubHub hub;
+    private final ReadAuthorizer authorizer;
+
+    /**
+     * Create a WebSub hub resource.
+     * @param hub the WebSub hub
+     * @param accessService the access control service; if {@code null}, subscriptions to any topic are accepted
+     */
+    public WebSubHubResource(final WebSubHub hub, final AccessControlService accessService) {
+        this(hub, accessService, ConfigurationProvider.getConfiguration().get(CONFIGURATION_BASE_URL));
+    }
+
+    /**
+     * Create a WebSub hub resource.
+     * @param hub the WebSub hub
+     * @param accessService the access control service; if {@code null}, subscriptions to any topic are accepted
+     * @param baseUrl the base URL; if {@code null}, the base URL of each request is used
+     */
+    public WebSubHubResource(final WebSubHub hub, final AccessControlService accessService, final String baseUrl) {
+        this.hub = requireNonNull(hub, "WebSub hub may not be null!");
+        this.authorizer = new ReadAuthorizer(accessService, baseUrl);
+    }
+
+    /**
+     * Handle a subscription or unsubscription request.
+     * @param ctx the request
+     * @param mode the request mode, either {@code subscribe} or {@code unsubscribe}
+     * @param topic the location of the resource
+     * @param callback the location to which notifications are delivered
+     * @param leaseSeconds the requested lease, in seconds; may be {@code null}
+     * @param secret the secret used to sign notifications; may be {@code null}
+     * @return the response
+     */
+    @POST
+    @Consumes(APPLICATION_FORM_URLENCODED)
+    public Response subscribe(@Context final ContainerRequestContext ctx, @FormParam("hub.mode") final String mode,
+            @FormParam("hub.topic") final String topic, @FormParam("hub.callback") final String callback,
+            @FormParam("hub.lease_seconds") final String leaseSeconds, @FormParam("hub.secret") final String secret) {
+
+        if (!isHttpUrl(topic) || !isHttpUrl(callback)) {
+            return badRequest("hub.topic and hub.callback must be HTTP URLs");
+        }
+
+        if ("subscribe".equals(mode)) {
+            if (nonNull(secret) && (secret.isEmpty() || secret.getBytes(UTF_8).length >= MAX_SECRET_BYTES)) {
+                return badRequest("hub.secret must be less than " + MAX_SECRET_BYTES + " bytes");
+            }
+            final Long lease;
+            try {
+                lease = isNull(leaseSeconds) ? null : Long.valueOf(leaseSeconds);
+            } catch (final NumberFormatException ex) {
+                return badRequest("hub.lease_seconds must be a number");
+            }
+            final Predicate<String> readable = authorizer.getReadable(ctx);
+            if (!readable.test(topic)) {
+                LOGGER.debug("Subscription to {} is not authorized", topic);
+                return status(FORBIDDEN).entity("hub.topic is not readable").build();
+            }
+            final String agent = authorizer.getSession(ctx).getAgent().getIRIString();
+            if (!hub.subscribe(topic, callback, lease, secret, agent, readable)) {
+                return status(TOO_MANY_REQUESTS).entity("The hub cannot accept more subscriptions").build();
+            }
+        } else if ("unsubscribe".equals(mode)) {
+            if (!hub.unsubscribe(topic, callback)) {
+                return status(SERVICE_UNAVAILABLE).entity("The hub is too busy to accept requests").build();
+            }
+        } else {
+            return badRequest("hub.mode must be subscribe or unsubscribe");
+        }
+        return status(ACCEPTED).build();
+    }
+
+    private static Response badRequest(final String message) {
+        LOGGER.debug("Invalid WebSub request: {}", message);
+        return status(BAD_REQUEST).entity(message).build();
+    }
+
+    private static boolean isHttpUrl(final String value) {
+        if (isNull(value)) {
+            return false;
+        }
+        try {
+            final URI uri = new URI(value);
+            return ("http".equals(uri.getScheme()) || "https".equals(uri.getScheme())) && nonNull(uri.getHost());
+        } catch (final URISyntaxException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.websub;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.trellisldp.api.RDFUtils.getInstance;
+import static org.trellisldp.http.domain.HttpConstants.SESSION_PROPERTY;
+
+import java.net.URI;
+import java.util.function.Predicate;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.UriInfo;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.trellisldp.api.AccessControlService;
+import org.trellisldp.api.Session;
+import org.trellisldp.vocabulary.ACL;
+import org.trellisldp.vocabulary.Trellis;
+
+/**
+ * Test the WebSub hub resource.
+ */
+public class WebSubHubResourceTest {
+
+    private static final String TOPIC = "http://example.com/resource";
+    private static final String CALLBACK = "https://subscriber.example.com/callback";
+    private static final RDF rdf = getInstance();
+
+    @Mock
+    private WebSubHub mockHub;
+
+    @Mock
+    private AccessControlService mockAccessService;
+
+    @Mock
+    private ContainerRequestContext mockContext;
+
+    @Mock
+    private UriInfo mockUriInfo;
+
+    @Captor
+    private ArgumentCaptor<Predicate<String>> readable;
+
+    private WebSubHubResource resource;
+
+    @BeforeEach
+    public void setUp() {
+        initMocks(this);
+        when(mockContext.getUriInfo()).thenReturn(mockUriInfo);
+        when(mockUriInfo.getBaseUri()).thenReturn(URI.create("http://example.com/"));
+        when(mockAccessService.getAccessModes(any(IRI.class), any(Session.class))).thenReturn(emptySet());
+        when(mockAccessService.getAccessModes(eq(rdf.createIRI("trellis:data/resource")), any(Session.class)))
+            .thenReturn(singleton(ACL.Read));
+        when(mockHub.subscribe(any(), any(), any(), any(), any(), any())).thenReturn(true);
+        when(mockHub.unsubscribe(any(), any())).thenReturn(true);
+        resource = new WebSubHubResource(mockHub, mockAccessService, null);
+    }
+
+    @Test
+    public void testSubscribe() {
+        assertEquals(202, resource.subscribe(mockContext, "subscribe", TOPIC, CALLBACK, "3600", "secret").getStatus(),
+                "Incorrect response to a subscription request!");
+        verify(mockHub).subscribe(eq(TOPIC), eq(CALLBACK), eq(3600L), eq("secret"),
+                eq(Trellis.AnonymousAgent.getIRIString()), readable.capture());
+        assertTrue(readable.getValue().test(TOPIC), "Topic is not readable!");
+        assertFalse(readable.getValue().test("http://example.com/private"), "Unreadable resource is readable!");
+    }
+
+    @Test
+    public void testSubscribeDefaults() {
+        assertEquals(202, resource.subscribe(mockContext, "subscribe", TOPIC, CALLBACK, null, null).getStatus(),
+                "Incorrect response to a subscription request!");
+        verify(mockHub).subscribe(eq(TOPIC), eq(CALLBACK), eq(null), eq(null), any(), any());
+    }
+
+    @Test
+    public void testUnsubscribe() {
+        assertEquals(202, resource.subscribe(mockContext, "unsubscribe", TOPIC, CALLBACK, null, null).getStatus(),
+                "Incorrect response to an unsubscription request!");
+        verify(mockHub).unsubscribe(TOPIC, CALLBACK);
+    }
+
+    @Test
+    public void testSessionAgent() {
+        final Session mockSession = mock(Session.class);
+        when(mockSession.getAgent()).thenReturn(rdf.createIRI("https://people.example.com/card#i"));
+        when(mockContext.getProperty(SESSION_PROPERTY)).thenReturn(mockSession);
+        assertEquals(202, resource.subscribe(mockContext, "subscribe", TOPIC, CALLBACK, null, null).getStatus(),
+                "Incorrect response to a subscription request!");
+        verify(mockHub).subscribe(eq(TOPIC), eq(CALLBACK), eq(null), eq(null),
+                eq("https://people.example.com/card#i"), any());
+    }
+
+    @Test
+    public void testHubFull() {
+        when(mockHub.subscribe(any(), any(), any(), any(), any(), any())).thenReturn(false);
+        when(mockHub.unsubscribe(any(), any())).thenReturn(false);
+        assertEquals(429, resource.subscribe(mockContext, "subscribe", TOPIC, CALLBACK, null, null).getStatus(),
+                "Subscription accepted by a full hub!");
+        assertEquals(503, resource.subscribe(mockContext, "unsubscribe", TOPIC, CALLBACK, null, null).getStatus(),
+                "Unsubscription accepted by a busy hub!");
+    }
+
+    @Test
+    public void testUnauthorizedTopic() {
+        assertEquals(403, resource.subscribe(mockContext, "subscribe", "http://example.com/private", CALLBACK, null,
+                    null).getStatus(), "Subscription to an unreadable topic accepted!");
+        assertEquals(403, resource.subscribe(mockContext, "subscribe", "http://example.org/resource", CALLBACK, null,
+                    null).getStatus(), "Subscription to a topic at another base URL accepted!");
+        verify(mockHub, never()).subscribe(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void testNoAccessControl() {
+        final WebSubHubResource open = new WebSubHubResource(mockHub, null, null);
+        assertEquals(202, open.subscribe(mockContext, "subscribe", "http://example.com/private", CALLBACK, null,
+                    null).getStatus(), "Incorrect response without access control!");
+        verify(mockHub).subscribe(eq("http://example.com/private"), eq(CALLBACK), eq(null), eq(null), any(),
+                readable.capture());
+        assertTrue(readable.getValue().test("http://example.com/other"), "Resource is not readable!");
+    }
+
+    @Test
+    public void testInvalidRequests() {
+        assertEquals(400, resource.subscribe(mockContext, "publish", TOPIC, CALLBACK, null, null).getStatus(),
+                "Invalid mode accepted!");
+        assertEquals(400, resource.subscribe(mockContext, "subscribe", null, CALLBACK, null, null).getStatus(),
+                "Missing topic accepted!");
+        assertEquals(400, resource.subscribe(mockContext, "subscribe", TOPIC, "ftp://example.com/callback", null, null)
+                .getStatus(), "Invalid callback accepted!");
+        assertEquals(400, resource.subscribe(mockContext, "subscribe", TOPIC, "http://exa mple.com", null, null)
+                .getStatus(), "Malformed callback accepted!");
+        assertEquals(400, resource.subscribe(mockContext, "subscribe", TOPIC, CALLBACK, "forever", null).getStatus(),
+                "Invalid lease accepted!");
+        assertEquals(400, resource.subscribe(mockContext, "subscribe", TOPIC, CALLBACK, null, new String(new char[200]))
+                .getStatus(), "Oversized secret accepted!");
+        verify(mockHub, never()).subscribe(any(), any(), any(), any(), any(), any());
+        verify(mockHub, never()).unsubscribe(any(), any());
+    }
+
+    @Test
+    public void testNullHub() {
+        assertThrows(NullPointerException.class, () -> new WebSubHubResource(null, null, null),
+                "No exception with a null hub!");
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trellisldp.websub;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.Instant.now;
+import static java.util.Collections.singleton;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.trellisldp.api.Event;
+import org.trellisldp.vocabulary.AS;
+import org.trellisldp.vocabulary.LDP;
+import org.trellisldp.vocabulary.Trellis;
+
+/**
+ * Test the WebSub hub.
+ */
+public class WebSubHubTest {
+
+    private static final RDF rdf = new SimpleRDF();
+    private static final String TOPIC = "http://example.com/container/resource";
+    private static final String CHILD = "http://example.com/container/child";
+    private static final Set<String> LOCAL = singleton("localhost");
+
+    private final List<String> notifications = new CopyOnWriteArrayList<>();
+    private final List<String> signatures = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failures = new AtomicInteger();
+    private HttpServer server;
+    private String callback;
+    private volatile int status = 204;
+
+    @Mock
+    private Event mockEvent;
+
+    @Mock
+    private Event mockOtherEvent;
+
+    @Mock
+    private Event mockChildEvent;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        initMocks(this);
+        setUpEvent(mockEvent, TOPIC);
+        setUpEvent(mockOtherEvent, "http://example.com/other");
+        setUpEvent(mockChildEvent, CHILD);
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/callback", this::handle);
+        server.start();
+        callback = "http://localhost:" + server.getAddress().getPort() + "/callback";
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testDelivery() {
+        try (final WebSubHub hub = new WebSubHub(2, 10, 100, 0.0, 0, 10L, 60L, 5000, 1, 10, 10, LOCAL)) {
+            hub.subscribe(TOPIC, callback, null, "secret");
+            await().until(() -> hub.getSubscriptionCount() == 1);
+            hub.emit(mockEvent);
+            hub.emit(mockOtherEvent);
+            await().until(() -> hub.getDeliveredCount() == 1L);
+            assertEquals(1, notifications.size(), "Incorrect number of notifications!");
+            assertTrue(notifications.get(0).contains(TOPIC), "Notification does not describe the resource!");
+            assertTrue(signatures.get(0).startsWith("sha256="), "Notification is not signed!");
+        }
+    }
+
+    @Test
+    public void testContainerSubscription() {
+        try (final WebSubHub hub = new WebSubHub(2, 10, 100, 0.0, 0, 10L, 60L, 5000, 1, 10, 10, LOCAL)) {
+            hub.subscribe("http://example.com/container/", callback, 60L, null);
+            await().until(() -> hub.getSubscriptionCount() == 1);
+            hub.emit(mockEvent);
+            hub.emit(mockOtherEvent);
+            await().until(() -> hub.getDeliveredCount() == 1L);
+            assertTrue(signatures.isEmpty(), "Unexpected notification signature!");
+        }
+    }
+
+    @Test
+    public void testUnreadableChild() {
+        try (final WebSubHub hub = new WebSubHub(2, 10, 100, 0.0, 0, 10L, 60L, 5000, 1, 10, 10, LOCAL)) {
+            hub.subscribe("http://example.com/container/", callback, 60L, null, null, url -> !url.equals(TOPIC));
+            await().until(() -> hub.getSubscriptionCount() == 1);
+            hub.emit(mockEvent);
+            hub.emit(mockChildEvent);
+            await().until(() -> hub.getDeliveredCount() == 1L);
+            assertEquals(1, notifications.size(), "Incorrect number of notifications!");
+            assertFalse(notifications.get(0).contains(TOPIC), "Unreadable resource was delivered!");
+            assertTrue(notifications.get(0).contains(CHILD), "Readable resource was not delivered!");
+        }
+    }
+
+    @Test
+    public void testBatching() {
+        try (final WebSubHub hub = new WebSubHub(2, 10, 100, 1.0, 0, 10L, 60L, 5000, 1, 10, 10, LOCAL)) {
+            hub.subscribe(TOPIC, callback, null, null);
+            await().until(() -> hub.getSubscriptionCount() == 1);
+            for (int i = 0; i < 5; ++i) {
+                hub.emit(mockEvent);
+            }
+            await().until(() -> hub.getDeliveredCount() == 5L);
+            assertTrue(notifications.size() < 5, "Notifications were not batched!");
+            assertTrue(notifications.get(notifications.size() - 1).startsWith("["), "Batch is not a JSON array!");
+        }
+    }
+
+    @Test
+    public void testQueueLimit() {
+        status = 500;
+        try (final WebSubHub hub = new WebSubHub(2, 1, 2, 0.0, 1, 1000L, 60L, 5000, 1, 10, 10, LOCAL)) {
+            hub.subscribe(TOPIC, callback, null, null);
+            await().until(() -> hub.getSubscriptionCount() == 1);
+            for (int i = 0; i < 5; ++i) {
+                hub.emit(mockEvent);
+            }
+            await().until(() -> hub.getDroppedCount() >= 2L);
+        }
+    }
+
+    @Test
+    public void testRetry() {
+        status = 503;
+        try (final WebSubHub hub = new WebSubHub(2, 10, 100, 0.0, 5, 10L, 60L, 5000, 1, 10, 10, LOCAL)) {
+            hub.subscribe(TOPIC, callback, null, null);
+            await().until(() -> hub.getSubscriptionCount() == 1);
+            hub.emit(mockEvent);
+            await().until(() -> failures.get() >= 2);
+            status = 200;
+            await().until(() -> hub.getDeliveredCount() == 1L);
+            assertEquals(0L, hub.getFailureCount(), "Unexpected delivery failures!");
+        }
+    }
+
+    @Test
+    public void testRetriesExhausted() {
+        status = 500;
+        try (final WebSubHub hub = new WebSubHub(2, 10, 100, 0.0, 2, 10L, 60L, 5000, 1, 10, 10, LOCAL)) {
+            hub.subscribe(TOPIC, callback, null, null);
+            await().until(() -> hub.getSubscriptionCount() == 1);
+            hub.emit(mockEvent);
+            await().until(() -> hub.getFailureCount() == 1L);
+            assertEquals(3, failures.get(), "Incorrect number of delivery attempts!");
+            assertEquals(1, hub.getSubscriptionCount(), "Subscription was removed!");
+        }
+    }
+
+    @Test
+    public void testGone() {
+        status = 410;
+        try (final WebSubHub hub = new WebSubHub(2, 10, 100, 0.0, 3, 10L, 60L, 5000, 1, 10, 10, LOCAL)) {
+            hub.subscribe(TOPIC, callback, null, null);
+            await().until(() -> hub.getSubscriptionCount() == 1);
+            hub.emit(mockEvent);
+            await().until(() -> hub.getSubscriptionCount() == 0);
+        }
+    }
+
+    @Test
+    public void testUnconfirmed() {
+        try (final WebSubHub hub = new WebSubHub(1, 10, 100, 0.0, 0, 10L, 60L, 5000, 1, 10, 10, LOCAL)) {
+            hub.subscribe(TOPIC, callback + "?reject=true", null, null);
+            hub.subscribe(TOPIC, "http://localhost:1/missing", null, null);
+            hub.subscribe(TOPIC, callback, null, null);
+            // With a single thread, the requests are verified in order
+            await().until(() -> hub.getSubscriptionCount() == 1);
+            hub.emit(mockEvent);
+            await().until(() -> hub.getDeliveredCount() == 1L);
+            assertEquals(1, notifications.size(), "Incorrect number of notifications!");
+        }
+    }
+
+    @Test
+    public void testUnsubscribe() {
+        try (final WebSubHub hub = new WebSubHub(2, 10, 100, 0.0, 0, 10L, 60L, 5000, 1, 10, 10, LOCAL)) {
+            hub.subscribe(TOPIC, callback, null, null);
+            await().until(() -> hub.getSubscriptionCount() == 1);
+            hub.unsubscribe(TOPIC + "/", callback);
+            await().until(() -> hub.getSubscriptionCount() == 0);
+        }
+    }
+
+    @Test
+    public void testExpiredLease() {
+        try (final WebSubHub hub = new WebSubHub(2, 10, 100, 0.0, 0, 10L, 60L, 5000, 1, 10, 10, LOCAL)) {
+            hub.subscribe(TOPIC, callback, 1L, null);
+            await().until(() -> hub.getSubscriptionCount() == 1);
+            await().pollDelay(1100L, MILLISECONDS).until(() -> true);
+            hub.emit(mockEvent);
+            await().until(() -> hub.getSubscriptionCount() == 0);
+            assertEquals(0L, hub.getDeliveredCount(), "Unexpected deliveries!");
+        }
+    }
+
+    @Test
+    public void testInternalCallback() {
+        try (final WebSubHub hub = new WebSubHub(2, 10, 100, 0.0, 0, 10L, 60L, 5000)) {
+            assertTrue(hub.subscribe(TOPIC, callback, null, null), "Subscription request refused!");
+            assertTrue(hub.subscribe(TOPIC, "http://127.0.0.1:" + server.getAddress().getPort() + "/callback", null,
+                        null), "Subscription request refused!");
+            await().pollDelay(200L, MILLISECONDS).until(() -> true);
+            assertEquals(0, hub.getSubscriptionCount(), "Callback at a loopback address was accepted!");
+        }
+    }
+
+    @Test
+    public void testAgentLimit() {
+        try (final WebSubHub hub = new WebSubHub(2, 10, 100, 0.0, 0, 10L, 60L, 5000, 1, 3, 2, LOCAL)) {
+            assertTrue(hub.subscribe(TOPIC, callback, null, null, "agent1", url -> true), "Request refused!");
+            assertTrue(hub.subscribe(TOPIC, callback + "?2", null, null, "agent1", url -> true), "Request refused!");
+            assertFalse(hub.subscribe(TOPIC, callback + "?3", null, null, "agent1", url -> true),
+                    "Request above the agent limit accepted!");
+            assertTrue(hub.subscribe(TOPIC, callback + "?3", null, null, "agent2", url -> true), "Request refused!");
+            assertFalse(hub.subscribe(TOPIC, callback + "?4", null, null, "agent3", url -> true),
+                    "Request above the total limit accepted!");
+            await().until(() -> hub.getSubscriptionCount() == 3);
+            // Renewing an existing subscription is always possible
+            assertTrue(hub.subscribe(TOPIC, callback, 120L, null, "agent1", url -> true), "Renewal refused!");
+            hub.unsubscribe(TOPIC, callback + "?2");
+            await().until(() -> hub.getSubscriptionCount() == 2);
+            assertTrue(hub.subscribe(TOPIC, callback + "?4", null, null, "agent1", url -> true),
+                    "Request refused after an unsubscription!");
+            await().until(() -> hub.getSubscriptionCount() == 3);
+        }
+    }
+
+    @Test
+    public void testFailedVerificationReleasesLimit() {
+        try (final WebSubHub hub = new WebSubHub(2, 10, 100, 0.0, 0, 10L, 60L, 5000, 1, 1, 1, LOCAL)) {
+            assertTrue(hub.subscribe(TOPIC, callback + "?reject=true", null, null, "agent", url -> true),
+                    "Request refused!");
+            await().until(() -> hub.subscribe(TOPIC, callback, null, null, "agent", url -> true));
+            await().until(() -> hub.getSubscriptionCount() == 1);
+        }
+    }
+
+    @Test
+    public void testConfiguration() {
+        try (final WebSubHub hub = new WebSubHub()) {
+            hub.emit(mockEvent);
+            assertEquals(0, hub.getSubscriptionCount(), "Unexpected subscriptions!");
+            assertEquals(0L, hub.getDeliveredCount(), "Unexpected deliveries!");
+        }
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        if ("GET".equals(exchange.getRequestMethod())) {
+            final String query = exchange.getRequestURI().getQuery();
+            if (query.contains("reject=true")) {
+                respond(exchange, 404, "");
+            } else {
+                respond(exchange, 200, query.replaceAll(".*hub\\.challenge=([^&]*).*", "$1"));
+            }
+            return;
+        }
+
+        final String body = read(exchange.getRequestBody());
+        if (status >= 200 && status < 300) {
+            notifications.add(body);
+            final String signature = exchange.getRequestHeaders().getFirst("X-Hub-Signature");
+            if (signature != null) {
+                signatures.add(signature);
+            }
+        } else {
+            failures.incrementAndGet();
+        }
+        respond(exchange, status, "");
+    }
+
+    private static void respond(final HttpExchange exchange, final int code, final String body) throws IOException {
+        final byte[] data = body.getBytes(UTF_8);
+        exchange.sendResponseHeaders(code, data.length == 0 ? -1 : data.length);
+        try (final OutputStream out = exchange.getResponseBody()) {
+            out.write(data);
+        }
+    }
+
+    private static String read(final InputStream input) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1024];
+        int len;
+        while ((len = input.read(buffer)) != -1) {
+            out.write(buffer, 0, len);
+        }
+        return new String(out.toByteArray(), UTF_8);
+    }
+
+    private static void setUpEvent(final Event event, final String target) {
+        when(event.getIdentifier()).thenReturn(rdf.createIRI("urn:test:event"));
+        when(event.getAgents()).thenReturn(singleton(Trellis.AdministratorAgent));
+        when(event.getTarget()).thenReturn(of(rdf.createIRI(target)));
+        when(event.getTypes()).thenReturn(singleton(AS.Update));
+        when(event.getTargetTypes()).thenReturn(singleton(LDP.RDFSource));
+        when(event.getCreated()).thenReturn(now());
+        when(event.getInbox()).thenReturn(empty());
+    }
+}